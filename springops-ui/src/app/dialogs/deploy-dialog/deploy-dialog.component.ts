@@ -1,6 +1,7 @@
 import { Component, Inject, OnInit } from '@angular/core';
 import { MAT_DIALOG_DATA, MatDialogRef } from '@angular/material/dialog';
 import { GitService } from '../../services/git.service';
+import { MavenRepositoryService } from '../../services/maven-repository.service';
 
 @Component({
   selector: 'app-deploy-dialog',
@@ -18,7 +19,7 @@ import { GitService } from '../../services/git.service';
           [matAutocomplete]="auto"
           placeholder="Enter or select a branch"
         />
-        <mat-autocomplete #auto="matAutocomplete">
+        <mat-autocomplete #auto="matAutocomplete" (optionSelected)="prefetchDependencies($event.option.value)">
           <mat-option *ngFor="let branch of branches" [value]="branch">
             {{ branch }}
           </mat-option>
@@ -50,7 +51,8 @@ export class DeployDialogComponent implements OnInit {
   constructor(
     private dialogRef: MatDialogRef<DeployDialogComponent>,
     @Inject(MAT_DIALOG_DATA) public data: { appId: number; gitUrl: string },
-    private gitService: GitService
+    private gitService: GitService,
+    private mavenRepositoryService: MavenRepositoryService
   ) {}
 
   ngOnInit(): void {
@@ -71,6 +73,16 @@ export class DeployDialogComponent implements OnInit {
     });
   }
 
+  /**
+   * Warms the Maven repository with the dependencies of the selected branch while the user confirms.
+   * A failed prefetch does not block the deployment, the build resolves missing dependencies itself.
+   */
+  prefetchDependencies(branch: string): void {
+    this.mavenRepositoryService.prefetch(this.data.appId, branch).subscribe({
+      error: () => console.error()
+    });
+  }
+
   confirm(): void {
     this.dialogRef.close(this.branchName.trim());
   }
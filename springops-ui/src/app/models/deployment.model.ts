@@ -20,6 +20,24 @@ export interface DeploymentResultDto {
   builtJar: string;
 }
 
+export type DeploymentJobStatus = 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED';
+
+export interface DeploymentJobDto {
+  jobId: string;
+  applicationId: number;
+  branchName: string;
+  deploymentType: string;
+  commitSha?: string;
+  port?: number;
+  blueGreen: boolean;
+  status: DeploymentJobStatus;
+  message: string;
+  submittedAt: string; // ISO 8601 format
+  startedAt?: string; // ISO 8601 format
+  finishedAt?: string; // ISO 8601 format
+  results: CommandResultDto[];
+}
+
 export interface Page<T> {
   content: T[];
   totalElements: number;
@@ -37,6 +55,7 @@ export interface DeploymentDto {
   createdAt?: string; // ISO 8601 format
   applicationId: number;
   branch?: string;
+  commitSha?: string;
   logsPath?: string;
   notes?: string;
   timeTaken?: number; // in seconds
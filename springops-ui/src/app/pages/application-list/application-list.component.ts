@@ -9,6 +9,8 @@ import { DeploymentStatusDto } from '../../models/deployment.model';
 import { DeployDialogComponent } from '../../dialogs/deploy-dialog/deploy-dialog.component';
 import {ManageEnvDialogComponent} from "../../dialogs/manage-env-dialog/manage-env-dialog.component";
 import { Router } from '@angular/router';
+import { MatSnackBar } from '@angular/material/snack-bar';
+import { switchMap } from 'rxjs';
 import {ViewLogsDialogComponent} from "../../dialogs/view-logs-dialog/view-logs-dialog.component";
 import {StatsDialogComponent} from "../../dialogs/stats-dialog/stats-dialog.component";
 import {
@@ -31,7 +33,8 @@ export class ApplicationListComponent implements OnInit {
     private applicationService: ApplicationService,
     private deploymentService: DeploymentService,
     private dialog: MatDialog,
-    private router: Router
+    private router: Router,
+    private snackBar: MatSnackBar
   ) {}
 
   ngOnInit(): void {
@@ -134,13 +137,21 @@ export class ApplicationListComponent implements OnInit {
             this.setLoading(appId, 'deploy', true);
             this.globalLoading = true;
 
-            this.deploymentService.deployApplication(appId, branch, deployType).subscribe({
-              next: res => {
-                console.log('Deployment result:', res);
+            this.deploymentService.deployApplication(appId, branch, deployType).pipe(
+              switchMap(job => this.deploymentService.awaitJob(job.jobId))
+            ).subscribe({
+              next: job => {
                 this.setLoading(appId, 'deploy', false);
                 this.globalLoading = false;
                 this.loadApplications();
-                this.router.navigate(['/deployments'], { queryParams: { 'new-deploy': true } });
+                if (job.status === 'SUCCEEDED') {
+                  this.router.navigate(['/deployments'], { queryParams: { 'new-deploy': true } });
+                } else {
+                  this.snackBar.open(`Deployment failed: ${job.message}`, 'Close', {
+                    duration: 8000,
+                    panelClass: ['error-snackbar']
+                  });
+                }
               },
               error: err => {
                 console.error();
@@ -7,6 +7,8 @@ import { FormBuilder, FormGroup } from '@angular/forms';
 import { PageEvent } from '@angular/material/paginator';
 import {ActivatedRoute, Router} from "@angular/router";
 import {NotesDialogComponent} from "../../dialogs/notes-dialog/notes-dialog.component";
+import { MatSnackBar } from '@angular/material/snack-bar';
+import { switchMap } from 'rxjs';
 
 @Component({
   selector: 'app-deployments-list',
@@ -33,7 +35,8 @@ export class DeploymentsListComponent implements OnInit {
     private dialog: MatDialog,
     private fb: FormBuilder,
     private route: ActivatedRoute,
-    private router: Router
+    private router: Router,
+    private snackBar: MatSnackBar
   ) {
     this.filterForm = this.fb.group({
       applicationId: [''],
@@ -162,13 +165,25 @@ export class DeploymentsListComponent implements OnInit {
           this.deploymentService.deployApplication(
             targetDeployment.applicationId,
             targetDeployment.branch!,
-            'ROLLBACK'
+            'ROLLBACK',
+            targetDeployment.commitSha
+          ).pipe(
+            switchMap(job => this.deploymentService.awaitJob(job.jobId))
           ).subscribe({
-            next: () => {
+            next: job => {
               if (hasRunningPid) this.setLoading(runningDeployment!.id!, 'kill', false);
               this.setLoading(targetDeployment.applicationId, 'deploy', false);
               this.isDeploying = false;
-              window.location.href = '/deployments?new-deploy=true';
+              if (job.status === 'SUCCEEDED') {
+                window.location.href = '/deployments?new-deploy=true';
+              } else {
+                const stopped = hasRunningPid ? ' (the previously running version was stopped)' : '';
+                this.snackBar.open(`Rollback failed${stopped}: ${job.message}`, 'Close', {
+                  duration: 10000,
+                  panelClass: ['error-snackbar']
+                });
+                this.loadDeployments();
+              }
             },
             error: err => {
               console.error();
@@ -1,8 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { Observable, exhaustMap, last, takeWhile, timer } from 'rxjs';
 import { environment } from '../../environments/environment';
-import {DeploymentDto, DeploymentResultDto, DeploymentStatusDto, Page} from "../models/deployment.model";
+import {DeploymentDto, DeploymentJobDto, DeploymentStatusDto, Page} from "../models/deployment.model";
 
 @Injectable({
   providedIn: 'root'
@@ -10,6 +10,8 @@ import {DeploymentDto, DeploymentResultDto, DeploymentStatusDto, Page} from "../
 export class DeploymentService {
   private apiUrlManager = environment.apiUrl + '/deployment-manager';
   private apiUrl = environment.apiUrl + '/deployments';
+  private apiUrlJobs = environment.apiUrl + '/deployment-jobs';
+  private jobPollIntervalMs = 2000;
 
   constructor(private http: HttpClient) {}
 
@@ -20,14 +22,31 @@ export class DeploymentService {
     });
   }
 
-  deployApplication(applicationId: number, branchName: string, deployType: 'CLASSIC' | 'ROLLBACK'): Observable<DeploymentResultDto> {
-    return this.http.post<DeploymentResultDto>(`${this.apiUrlManager}/deploy`, null, {
-      params: {
-        applicationId: applicationId.toString(),
-        branchName,
-        deployType
-      }
-    });
+  deployApplication(applicationId: number, branchName: string, deployType: 'CLASSIC' | 'ROLLBACK', commitSha?: string): Observable<DeploymentJobDto> {
+    let params = new HttpParams()
+      .set('applicationId', applicationId.toString())
+      .set('branchName', branchName)
+      .set('deployType', deployType);
+    if (commitSha) {
+      params = params.set('commitSha', commitSha);
+    }
+    return this.http.post<DeploymentJobDto>(`${this.apiUrlManager}/deploy`, null, { params });
+  }
+
+  // Deployment Job endpoints
+  getJob(jobId: string): Observable<DeploymentJobDto> {
+    return this.http.get<DeploymentJobDto>(`${this.apiUrlJobs}/${jobId}`);
+  }
+
+  /**
+   * Polls a deployment job until it reaches a terminal state and emits the final job.
+   */
+  awaitJob(jobId: string): Observable<DeploymentJobDto> {
+    return timer(0, this.jobPollIntervalMs).pipe(
+      exhaustMap(() => this.getJob(jobId)),
+      takeWhile(job => job.status === 'QUEUED' || job.status === 'RUNNING', true),
+      last()
+    );
   }
 
   killProcess(pid: number): Observable<string> {
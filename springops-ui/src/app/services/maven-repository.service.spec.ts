@@ -0,0 +1,16 @@
+import { TestBed } from '@angular/core/testing';
+
+import { MavenRepositoryService } from './maven-repository.service';
+
+describe('MavenRepositoryService', () => {
+  let service: MavenRepositoryService;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({});
+    service = TestBed.inject(MavenRepositoryService);
+  });
+
+  it('should be created', () => {
+    expect(service).toBeTruthy();
+  });
+});
@@ -0,0 +1,25 @@
+import { HttpClient } from '@angular/common/http';
+import { Injectable } from '@angular/core';
+import { Observable } from 'rxjs';
+import {environment} from "../../environments/environment";
+
+@Injectable({
+  providedIn: 'root',
+})
+export class MavenRepositoryService {
+  private baseUrl = environment.apiUrl + '/maven-repositories';
+
+  constructor(private http: HttpClient) {}
+
+  /**
+   * Asks the backend to resolve the dependencies of a branch in the background,
+   * so that the next build of that branch finds them in the local repository.
+   * @param applicationId The ID of the application.
+   * @param branchName The branch whose dependencies should be resolved.
+   */
+  prefetch(applicationId: number, branchName: string): Observable<void> {
+    return this.http.post<void>(`${this.baseUrl}/prefetch`, null, {
+      params: { applicationId: applicationId.toString(), branchName }
+    });
+  }
+}
@@ -3,9 +3,7 @@ package org.kreyzon.springops.audits.repository;
 import org.kreyzon.springops.audits.entity.Audit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -20,16 +18,6 @@ import java.util.List;
  */
 @Repository
 public interface AuditRepository extends JpaRepository<Audit, Integer>, JpaSpecificationExecutor<Audit> {
-    /**
-     * Deletes all audits older than the specified number of months.
-     *
-     * @param months number of months
-     */
-    @Modifying
-    @Query(value = "DELETE FROM audits WHERE timestamp < CURRENT_DATE - CAST(:months || ' months' AS INTERVAL)", nativeQuery = true)
-    void deleteOlderThanNMonths(@Param("months") Integer months);
-
-
     /**
      * Finds all distinct actions from the Audit table.
      *
@@ -1,7 +1,6 @@
 package org.kreyzon.springops.audits.service;
 
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.kreyzon.springops.audits.entity.Audit;
@@ -11,6 +10,7 @@ import org.kreyzon.springops.auth.service.UserService;
 import org.kreyzon.springops.auth.util.JwtUtil;
 import org.kreyzon.springops.common.dto.audits.AuditDto;
 import org.kreyzon.springops.common.dto.audits.AuditStatusDto;
+import org.kreyzon.springops.core.partition_maintenance.service.PartitionMaintenanceService;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -24,6 +24,8 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 
@@ -43,6 +45,7 @@ public class AuditService {
     private final AuditRepository auditRepository;
     private final JwtUtil jwtUtil;
     private final UserService userService;
+    private final PartitionMaintenanceService partitionMaintenanceService;
 
     private HttpServletRequest getCurrentRequest() {
         var attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
@@ -73,6 +76,10 @@ public class AuditService {
         try {
             log.debug("Saving audit: {}", auditDto);
             var entity = AuditDto.toEntity(auditDto);
+            if (entity.getTimestamp() == null) {
+                // The timestamp is the partition key of the audits table
+                entity.setTimestamp(Instant.now());
+            }
 
             try {
                 String username = extractUsernameFromRequest();
@@ -110,13 +117,15 @@ public class AuditService {
 
     /**
      * Deletes all audit records that are older than the specified number of months.
+     * Audits are dropped a monthly partition at a time, once the whole month is past the threshold.
      *
      * @param months number of months to use as threshold for deletion
      */
-    @Transactional
     public void deleteAuditsOlderThanNMonths(Integer months) {
         log.info("Deleting audits older than {} month(s)", months);
-        auditRepository.deleteOlderThanNMonths(months);
+        int dropped = partitionMaintenanceService.dropPartitionsOlderThan(PartitionMaintenanceService.AUDITS,
+                LocalDateTime.now(ZoneOffset.UTC).minusMonths(months));
+        log.info("Dropped {} expired audit partition(s)", dropped);
     }
 
     /**
@@ -3,6 +3,7 @@ package org.kreyzon.springops.common.dto.application;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Value;
+import org.kreyzon.springops.common.enums.ReadinessProbeType;
 import org.kreyzon.springops.core.application.entity.Application;
 import org.kreyzon.springops.core.system_version.entity.SystemVersion;
 
@@ -28,7 +29,12 @@ public class ApplicationDto implements Serializable {
     Integer port;
     String javaMinimumMemory;
     String javaMaximumMemory;
-
+    Boolean mavenOffline;
+    String mavenThreads;
+    ReadinessProbeType readinessProbeType;
+    String readinessProbeTarget;
+    Integer readinessTimeoutSeconds;
+    Integer alternatePort;
 
     /**
      * Converts an {@link Application} entity to an {@link ApplicationDto}.
@@ -49,7 +55,13 @@ public class ApplicationDto implements Serializable {
                 application.getGitProjectSshUrl(),
                 application.getPort() != null ? application.getPort() : 0,
                 application.getJavaMinimumMemory() != null ? application.getJavaMinimumMemory() : "512m",
-                application.getJavaMaximumMemory() != null ? application.getJavaMaximumMemory() : "1024m"
+                application.getJavaMaximumMemory() != null ? application.getJavaMaximumMemory() : "1024m",
+                application.isMavenOffline(),
+                application.getMavenThreads(),
+                application.getReadinessProbeType() != null ? application.getReadinessProbeType() : ReadinessProbeType.TCP,
+                application.getReadinessProbeTarget(),
+                application.getReadinessTimeoutSeconds() != null ? application.getReadinessTimeoutSeconds() : 120,
+                application.getAlternatePort()
         );
     }
 
@@ -71,6 +83,16 @@ public class ApplicationDto implements Serializable {
                 .port(applicationDto.getPort())
                 .javaMinimumMemory(applicationDto.getJavaMinimumMemory())
                 .javaMaximumMemory(applicationDto.getJavaMaximumMemory())
+                .mavenOffline(Boolean.TRUE.equals(applicationDto.getMavenOffline()))
+                .mavenThreads(applicationDto.getMavenThreads() != null && !applicationDto.getMavenThreads().isBlank()
+                        ? applicationDto.getMavenThreads().trim()
+                        : null)
+                .readinessProbeType(applicationDto.getReadinessProbeType() != null ? applicationDto.getReadinessProbeType() : ReadinessProbeType.TCP)
+                .readinessProbeTarget(applicationDto.getReadinessProbeTarget() != null && !applicationDto.getReadinessProbeTarget().isBlank()
+                        ? applicationDto.getReadinessProbeTarget().trim()
+                        : null)
+                .readinessTimeoutSeconds(applicationDto.getReadinessTimeoutSeconds() != null ? applicationDto.getReadinessTimeoutSeconds() : 120)
+                .alternatePort(applicationDto.getAlternatePort())
                 .build();
     }
 }
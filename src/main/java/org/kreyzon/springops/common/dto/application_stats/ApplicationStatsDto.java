@@ -1,16 +1,20 @@
 package org.kreyzon.springops.common.dto.application_stats;
 
 import org.kreyzon.springops.core.application_stats.entity.ApplicationStats;
+import org.kreyzon.springops.core.application_stats.entity.ApplicationStatsRollup;
 import org.kreyzon.springops.core.application.entity.Application;
 
 import java.time.OffsetDateTime;
 
 /**
- * Represents resource usage statistics for a process at a given time.
+ * Represents resource usage statistics for a process at a given time,
+ * or for an application over a time bucket, in which case the values are bucket averages.
  *
  * @param memoryMb    Resident memory usage in megabytes (RSS)
  * @param cpuLoad     CPU usage of the process (0.0–1.0)
  * @param availMemMb  Available system memory in megabytes
+ * @param jvm         JVM metrics of the process, null if the process is not an attachable JVM
+ * @param aggregate   Spread of the samples of the bucket, null for raw samples
  *
  * @author Lorenzo Orlando
  * @email orlandolorenzo@kreyzon.com
@@ -20,9 +24,23 @@ public record ApplicationStatsDto(
         Double cpuLoad,
         Double availMemMb,
 
-        String timestamp
+        String timestamp,
+
+        JvmMetricsDto jvm,
+
+        StatsAggregateDto aggregate
 ) {
 
+    /**
+     * Returns a copy of these statistics carrying the given JVM metrics.
+     *
+     * @param jvmMetrics the JVM metrics, may be null
+     * @return a new ApplicationStatsDto
+     */
+    public ApplicationStatsDto withJvm(JvmMetricsDto jvmMetrics) {
+        return new ApplicationStatsDto(memoryMb, cpuLoad, availMemMb, timestamp, jvmMetrics, aggregate);
+    }
+
     /**
      * Build a DTO from a JPA entity.
      *
@@ -34,7 +52,44 @@ public record ApplicationStatsDto(
                 entity.getMemoryMb().longValue(),
                 entity.getCpuLoad(),
                 entity.getAvailMemMb(),
-                entity.getTimestamp().toString()
+                entity.getTimestamp().toString(),
+                entity.getHeapUsedMb() != null
+                        ? new JvmMetricsDto(entity.getHeapUsedMb(), entity.getHeapCommittedMb(), entity.getGcCount(),
+                                entity.getGcTimeMs(), entity.getThreadCount(), entity.getLoadedClasses())
+                        : null,
+                null
+        );
+    }
+
+    /**
+     * Build a DTO from a rollup entity, carrying the bucket averages and their spread.
+     *
+     * @param rollup the ApplicationStatsRollup entity
+     * @return a DTO containing the data
+     */
+    public static ApplicationStatsDto fromRollup(ApplicationStatsRollup rollup) {
+        return new ApplicationStatsDto(
+                Math.round(rollup.getMemoryMbAvg()),
+                rollup.getCpuLoadAvg(),
+                rollup.getAvailMemMbAvg(),
+                rollup.getBucketStart().toString(),
+                rollup.getHeapUsedMbAvg() != null
+                        ? new JvmMetricsDto(rollup.getHeapUsedMbAvg(), rollup.getHeapCommittedMbAvg(), rollup.getGcCountMax(),
+                                rollup.getGcTimeMsMax(), rollup.getThreadCountMax(), rollup.getLoadedClassesMax())
+                        : null,
+                new StatsAggregateDto(
+                        rollup.getResolutionSeconds(),
+                        rollup.getSampleCount(),
+                        rollup.getMemoryMbMin(),
+                        rollup.getMemoryMbMax(),
+                        rollup.getMemoryMbP95(),
+                        rollup.getCpuLoadMin(),
+                        rollup.getCpuLoadMax(),
+                        rollup.getCpuLoadP95(),
+                        rollup.getHeapUsedMbMin(),
+                        rollup.getHeapUsedMbMax(),
+                        rollup.getHeapUsedMbP95()
+                )
         );
     }
 
@@ -54,6 +109,12 @@ public record ApplicationStatsDto(
                 .memoryMb((double) memoryMb)
                 .cpuLoad(cpuLoad)
                 .availMemMb(availMemMb)
+                .heapUsedMb(jvm != null ? jvm.heapUsedMb() : null)
+                .heapCommittedMb(jvm != null ? jvm.heapCommittedMb() : null)
+                .gcCount(jvm != null ? jvm.gcCount() : null)
+                .gcTimeMs(jvm != null ? jvm.gcTimeMs() : null)
+                .threadCount(jvm != null ? jvm.threadCount() : null)
+                .loadedClasses(jvm != null ? jvm.loadedClasses() : null)
                 .build();
     }
 }
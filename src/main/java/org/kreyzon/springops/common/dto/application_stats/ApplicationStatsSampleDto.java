@@ -0,0 +1,18 @@
+package org.kreyzon.springops.common.dto.application_stats;
+
+/**
+ * Represents a statistics sample of a deployment's process, awaiting persistence.
+ *
+ * @param applicationId ID of the application the process belongs to
+ * @param pid           Process ID of the deployment
+ * @param stats         Sampled statistics
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record ApplicationStatsSampleDto(
+        Integer applicationId,
+        Integer pid,
+        ApplicationStatsDto stats
+) {
+}
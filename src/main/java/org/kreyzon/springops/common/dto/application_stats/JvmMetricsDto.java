@@ -0,0 +1,24 @@
+package org.kreyzon.springops.common.dto.application_stats;
+
+/**
+ * Represents JVM level metrics of a deployed application at a given time.
+ *
+ * @param heapUsedMb      Heap memory used in megabytes
+ * @param heapCommittedMb Heap memory committed in megabytes
+ * @param gcCount         Total number of collections across all garbage collectors
+ * @param gcTimeMs        Total time spent in garbage collection in milliseconds
+ * @param threadCount     Number of live threads
+ * @param loadedClasses   Number of currently loaded classes
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record JvmMetricsDto(
+        Double heapUsedMb,
+        Double heapCommittedMb,
+        Long gcCount,
+        Long gcTimeMs,
+        Integer threadCount,
+        Integer loadedClasses
+) {
+}
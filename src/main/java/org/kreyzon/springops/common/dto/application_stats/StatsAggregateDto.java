@@ -0,0 +1,34 @@
+package org.kreyzon.springops.common.dto.application_stats;
+
+/**
+ * Represents the spread of the samples aggregated into a statistics bucket.
+ *
+ * @param resolutionSeconds Width of the bucket in seconds
+ * @param sampleCount       Number of raw samples in the bucket
+ * @param memoryMbMin       Lowest resident memory usage in megabytes
+ * @param memoryMbMax       Highest resident memory usage in megabytes
+ * @param memoryMbP95       95th percentile of the resident memory usage in megabytes
+ * @param cpuLoadMin        Lowest CPU usage
+ * @param cpuLoadMax        Highest CPU usage
+ * @param cpuLoadP95        95th percentile of the CPU usage
+ * @param heapUsedMbMin     Lowest JVM heap usage in megabytes, null without JVM metrics
+ * @param heapUsedMbMax     Highest JVM heap usage in megabytes, null without JVM metrics
+ * @param heapUsedMbP95     95th percentile of the JVM heap usage in megabytes, null without JVM metrics
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record StatsAggregateDto(
+        Integer resolutionSeconds,
+        Integer sampleCount,
+        Double memoryMbMin,
+        Double memoryMbMax,
+        Double memoryMbP95,
+        Double cpuLoadMin,
+        Double cpuLoadMax,
+        Double cpuLoadP95,
+        Double heapUsedMbMin,
+        Double heapUsedMbMax,
+        Double heapUsedMbP95
+) {
+}
@@ -3,18 +3,28 @@ package org.kreyzon.springops.common.dto.deployment;
 import org.kreyzon.springops.common.enums.DeploymentType;
 import org.kreyzon.springops.core.system_version.entity.SystemVersion;
 
+import java.util.List;
+import java.util.UUID;
+
 public record DeploymentContextDto(
         String authenticatedUrl,
         String sourcePath,
+        String mirrorPath,
+        String buildCachePath,
+        String logPath,
         SystemVersion javaVersion,
         SystemVersion mavenVersion,
+        String mavenRepositoryPath,
+        List<String> mavenOptions,
         String branchName,
+        String commitSha,
         DeploymentType deploymentType,
 
         String environmentVariables,
         Integer port,
         String javaMinimumMemory,
-        String javaMaximumMemory
+        String javaMaximumMemory,
+        UUID jobId
 ) {
 
 }
\ No newline at end of file
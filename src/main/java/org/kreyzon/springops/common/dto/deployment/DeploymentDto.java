@@ -31,10 +31,16 @@ public class DeploymentDto implements Serializable {
     Instant createdAt;
     Integer applicationId;
     String branch;
+    String commitSha;
     String logsPath;
     @Size(max = 500)
     String notes;
     Integer timeTaken;
+    Integer timeToReadyMs;
+    Integer port;
+    Integer previousPid;
+    Integer previousPort;
+    Instant stoppedAt;
     /**
      * Constructs a DeploymentDto from a Deployment entity.
      *
@@ -51,9 +57,15 @@ public class DeploymentDto implements Serializable {
                 deployment.getCreatedAt(),
                 deployment.getApplication().getId(),
                 deployment.getBranch(),
+                deployment.getCommitSha(),
                 deployment.getLogsPath(),
                 deployment.getNotes(),
-                deployment.getTimeTaken()
+                deployment.getTimeTaken(),
+                deployment.getTimeToReadyMs(),
+                deployment.getPort(),
+                deployment.getPreviousPid(),
+                deployment.getPreviousPort(),
+                deployment.getStoppedAt()
         );
     }
 
@@ -72,9 +84,15 @@ public class DeploymentDto implements Serializable {
                 .type(deployment.getType())
                 .createdAt(deployment.getCreatedAt())
                 .branch(deployment.getBranch())
+                .commitSha(deployment.getCommitSha())
                 .logsPath(deployment.getLogsPath())
                 .notes(deployment.getNotes())
                 .timeTaken(deployment.getTimeTaken())
+                .timeToReadyMs(deployment.getTimeToReadyMs())
+                .port(deployment.getPort())
+                .previousPid(deployment.getPreviousPid())
+                .previousPort(deployment.getPreviousPort())
+                .stoppedAt(deployment.getStoppedAt())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package org.kreyzon.springops.common.dto.deployment;
+
+/**
+ * The instance currently serving an application, replaced by a blue/green deployment.
+ *
+ * @param pid  the process ID of the instance
+ * @param port the port the instance listens on
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record RunningInstanceDto(
+        Integer pid,
+        Integer port
+) {
+}
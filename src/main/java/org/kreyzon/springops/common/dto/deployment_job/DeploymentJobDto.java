@@ -0,0 +1,47 @@
+package org.kreyzon.springops.common.dto.deployment_job;
+
+import lombok.Builder;
+import lombok.Value;
+import org.kreyzon.springops.common.dto.deployment.CommandResultDto;
+import org.kreyzon.springops.common.enums.DeploymentJobStatus;
+import org.kreyzon.springops.common.enums.DeploymentType;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents the state of an asynchronous deployment job.
+ * A job is created when a deployment is submitted and is updated as it moves
+ * from the queue to execution and completion.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Value
+@Builder(toBuilder = true)
+public class DeploymentJobDto implements Serializable {
+    UUID jobId;
+    Integer applicationId;
+    String branchName;
+    DeploymentType deploymentType;
+    String commitSha;
+    Integer port;
+    boolean blueGreen;
+    DeploymentJobStatus status;
+    String message;
+    Instant submittedAt;
+    Instant startedAt;
+    Instant finishedAt;
+    List<CommandResultDto> results;
+
+    /**
+     * Checks whether the job has not reached a terminal state yet.
+     *
+     * @return true if the job is queued or running, false otherwise
+     */
+    public boolean isActive() {
+        return status == DeploymentJobStatus.QUEUED || status == DeploymentJobStatus.RUNNING;
+    }
+}
@@ -0,0 +1,46 @@
+package org.kreyzon.springops.common.dto.deployment_stack;
+
+import lombok.Builder;
+import lombok.Value;
+import org.kreyzon.springops.common.enums.DeploymentJobStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Represents the state of a stack deployment.
+ * Applications are deployed layer by layer following their dependencies; the deployment
+ * job of every application is recorded so it can be followed individually.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Value
+@Builder(toBuilder = true)
+public class DeploymentStackDto implements Serializable {
+    UUID stackId;
+    Set<Integer> applicationIds;
+    List<List<Integer>> layers;
+    Integer currentLayer;
+    Map<Integer, String> branches;
+    Map<Integer, UUID> jobIds;
+    List<Integer> skippedApplicationIds;
+    DeploymentJobStatus status;
+    String message;
+    Instant submittedAt;
+    Instant startedAt;
+    Instant finishedAt;
+
+    /**
+     * Checks whether the stack deployment has not reached a terminal state yet.
+     *
+     * @return true if the stack is queued or running, false otherwise
+     */
+    public boolean isActive() {
+        return status == DeploymentJobStatus.QUEUED || status == DeploymentJobStatus.RUNNING;
+    }
+}
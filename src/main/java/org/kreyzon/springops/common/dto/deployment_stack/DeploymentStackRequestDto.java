@@ -0,0 +1,26 @@
+package org.kreyzon.springops.common.dto.deployment_stack;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents a request to deploy a stack of applications.
+ * The stack consists of the requested applications and all their transitive dependencies.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeploymentStackRequestDto {
+    private Set<Integer> applicationIds;
+    private String defaultBranch;
+    private Map<Integer, String> branches;
+}
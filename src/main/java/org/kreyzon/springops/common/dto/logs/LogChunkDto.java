@@ -0,0 +1,22 @@
+package org.kreyzon.springops.common.dto.logs;
+
+/**
+ * Represents a contiguous part of a log file.
+ *
+ * @param content    Text of the chunk, made of whole lines unless a single line exceeds the chunk size
+ * @param offset     Byte offset of the chunk in the file
+ * @param nextOffset Byte offset following the chunk, to request the next page
+ * @param fileSize   Size of the file in bytes when the chunk was read
+ * @param eof        Whether the chunk reaches the end of the file
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record LogChunkDto(
+        String content,
+        long offset,
+        long nextOffset,
+        long fileSize,
+        boolean eof
+) {
+}
@@ -0,0 +1,26 @@
+package org.kreyzon.springops.common.dto.logs;
+
+import java.util.List;
+
+/**
+ * Represents a log line matching a search, with its surrounding lines.
+ *
+ * @param filename   Name of the log file holding the line
+ * @param lineNumber Number of the line in the file, starting at 1
+ * @param offset     Byte offset of the line in the file, to read the log from there
+ * @param line       Text of the matching line
+ * @param before     Lines preceding the matching line, oldest first
+ * @param after      Lines following the matching line
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record LogSearchMatchDto(
+        String filename,
+        long lineNumber,
+        long offset,
+        String line,
+        List<String> before,
+        List<String> after
+) {
+}
@@ -0,0 +1,26 @@
+package org.kreyzon.springops.common.dto.logs;
+
+import java.util.List;
+
+/**
+ * Represents a page of log search results.
+ *
+ * @param query   The searched query
+ * @param matches Matching lines of the page, newest file first and in file order within a file
+ * @param page    Index of the page, starting at 0
+ * @param size    Maximum number of matches per page
+ * @param hasMore Whether further matches are available on the next page
+ * @param partial Whether some files are not fully indexed yet, so recent matches may be missing until a later search
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record LogSearchResultDto(
+        String query,
+        List<LogSearchMatchDto> matches,
+        int page,
+        int size,
+        boolean hasMore,
+        boolean partial
+) {
+}
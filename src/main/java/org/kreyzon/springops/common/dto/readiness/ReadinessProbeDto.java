@@ -0,0 +1,28 @@
+package org.kreyzon.springops.common.dto.readiness;
+
+import org.kreyzon.springops.common.enums.ReadinessProbeType;
+
+import java.time.Duration;
+
+/**
+ * Describes how the readiness of a launched application is probed.
+ *
+ * @param type      the kind of probe
+ * @param target    the HTTP path or log pattern, null to use the default of the probe type
+ * @param port      the port the application listens on
+ * @param logFile   the log file the application writes to
+ * @param logOffset the size of the log file when the application was launched, log probes only match what follows
+ * @param timeout   the maximum time to wait for the application to become ready
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record ReadinessProbeDto(
+        ReadinessProbeType type,
+        String target,
+        Integer port,
+        String logFile,
+        long logOffset,
+        Duration timeout
+) {
+}
@@ -0,0 +1,18 @@
+package org.kreyzon.springops.common.dto.readiness;
+
+/**
+ * Outcome of a readiness probe.
+ *
+ * @param ready         whether the application became ready
+ * @param timeToReadyMs the time between the process start and readiness, in milliseconds
+ * @param message       a human readable description of the outcome
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public record ReadinessResultDto(
+        boolean ready,
+        long timeToReadyMs,
+        String message
+) {
+}
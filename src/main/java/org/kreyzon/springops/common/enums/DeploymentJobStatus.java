@@ -0,0 +1,13 @@
+package org.kreyzon.springops.common.enums;
+
+/**
+ * Enum representing the lifecycle of an asynchronous deployment job.
+ *
+ * @author Lorenzo Orlando
+ */
+public enum DeploymentJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,20 @@
+package org.kreyzon.springops.common.enums;
+
+/**
+ * Enum representing how SpringOps decides that a launched application is ready.
+ *
+ * <ul>
+ *     <li>{@code PROCESS}: the process is alive</li>
+ *     <li>{@code TCP}: the application port accepts connections</li>
+ *     <li>{@code HTTP}: a GET on the probe path returns a 2xx or 3xx status</li>
+ *     <li>{@code LOG}: a line of the application log matches the probe pattern</li>
+ * </ul>
+ *
+ * @author Lorenzo Orlando
+ */
+public enum ReadinessProbeType {
+    PROCESS,
+    TCP,
+    HTTP,
+    LOG
+}
@@ -0,0 +1,30 @@
+package org.kreyzon.springops.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Enum representing the storage tiers of application statistics, from the finest to the coarsest.
+ *
+ * <ul>
+ *     <li>{@code RAW}: the samples as collected, one per deployment and tick</li>
+ *     <li>{@code MINUTE}: one rollup per application and minute</li>
+ *     <li>{@code FIFTEEN_MINUTES}: one rollup per application and 15 minutes</li>
+ *     <li>{@code HOUR}: one rollup per application and hour</li>
+ * </ul>
+ *
+ * @author Lorenzo Orlando
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StatsResolution {
+    RAW(0),
+    MINUTE(60),
+    FIFTEEN_MINUTES(900),
+    HOUR(3600);
+
+    /**
+     * Width of the buckets of the tier, in seconds; 0 for raw samples.
+     */
+    private final int seconds;
+}
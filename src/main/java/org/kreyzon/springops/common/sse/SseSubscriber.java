@@ -0,0 +1,183 @@
+package org.kreyzon.springops.common.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * SSE subscriber owning a queue of pending events, so that producers never write to its socket.
+ * Producers queue events, typically while holding their own lock to keep events in order, and a single
+ * drain task per subscriber sends them on the given executor. A subscriber whose pending events exceed
+ * the given number of characters cannot keep up and is dropped, instead of being buffered without bound.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Slf4j
+public final class SseSubscriber {
+
+    /**
+     * An event waiting to be sent.
+     *
+     * @param id   the event ID, or null
+     * @param name the event name
+     * @param data the event data
+     * @param last whether the emitter is completed once the event is sent
+     */
+    private record Event(String id, String name, String data, boolean last) {
+    }
+
+    private final SseEmitter emitter;
+
+    private final Executor executor;
+
+    private final long maxPendingChars;
+
+    private final Deque<Event> pending = new ArrayDeque<>();
+
+    private long pendingChars = 0;
+
+    /**
+     * Whether a drain task is scheduled or running.
+     */
+    private boolean draining = false;
+
+    /**
+     * Whether the terminal event was queued or the subscriber was dropped; no event is accepted afterwards.
+     */
+    private boolean closed = false;
+
+    /**
+     * Error to complete the emitter with once the running drain task notices it.
+     */
+    private Exception failure;
+
+    public SseSubscriber(SseEmitter emitter, Executor executor, long maxPendingChars) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.maxPendingChars = maxPendingChars;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues an event for delivery.
+     *
+     * @param id   the event ID, or null
+     * @param name the event name
+     * @param data the event data
+     * @return false if the subscriber is closed or was dropped for being too slow, and should be forgotten
+     */
+    public boolean send(String id, String name, String data) {
+        return enqueue(new Event(id, name, data, false));
+    }
+
+    /**
+     * Queues the terminal {@code end} event; the emitter is completed once it is sent.
+     */
+    public void end() {
+        enqueue(new Event(null, "end", "", true));
+    }
+
+    /**
+     * Tells whether the subscriber still accepts events.
+     *
+     * @return false once the terminal event was queued or the subscriber was dropped
+     */
+    public synchronized boolean isOpen() {
+        return !closed;
+    }
+
+    private boolean enqueue(Event event) {
+        boolean accepted;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (pendingChars + event.data().length() > maxPendingChars) {
+                log.debug("Dropping SSE subscriber with {} pending characters", pendingChars);
+                closed = true;
+                pending.clear();
+                pendingChars = 0;
+                failure = new IOException("Subscriber is too slow to keep up with the events");
+                accepted = false;
+            } else {
+                pending.add(event);
+                pendingChars += event.data().length();
+                closed = event.last();
+                accepted = true;
+            }
+            if (draining) {
+                return accepted;
+            }
+            draining = true;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+                pendingChars = 0;
+                draining = false;
+            }
+            emitter.completeWithError(e);
+            return false;
+        }
+        return accepted;
+    }
+
+    /**
+     * Sends the queued events until the queue is empty.
+     */
+    private void drain() {
+        while (true) {
+            Event event;
+            Exception error;
+            synchronized (this) {
+                event = pending.poll();
+                error = failure;
+                if (event == null) {
+                    draining = false;
+                } else {
+                    pendingChars -= event.data().length();
+                }
+            }
+            if (event == null) {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                }
+                return;
+            }
+            try {
+                SseEmitter.SseEventBuilder builder = SseEmitter.event();
+                if (event.id() != null) {
+                    builder.id(event.id());
+                }
+                emitter.send(builder.name(event.name()).data(event.data()));
+                if (event.last()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping SSE subscriber: {}", e.getMessage());
+                synchronized (this) {
+                    closed = true;
+                    pending.clear();
+                    pendingChars = 0;
+                    draining = false;
+                }
+                emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+}
@@ -8,7 +8,7 @@ import java.io.InputStreamReader;
 
 /**
  * Utility class for deployment-related operations.
- * Provides methods to check if a process is running and to get the ports on which a process is listening.
+ * Provides a method to get the ports on which a process is listening.
  *
  * @author Lorenzo Orlando
  * @email orlandolorenzo@kreyzon.com
@@ -18,25 +18,9 @@ import java.io.InputStreamReader;
 public class DeploymentUtils {
 
     /**
-     * Check if a process with the given PID is running.
-     *
-     * @param pid the process ID to check
-     * @return true if running, false otherwise
-     */
-    public boolean isPidRunning(Integer pid) {
-        if (pid == null) return false;
-        try {
-            Process process = new ProcessBuilder("kill", "-0", pid.toString()).start();
-            int exitCode = process.waitFor();
-            return exitCode == 0;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    /**
-     * Get the port(s) on which the process with given PID is listening.
+     * Get the port(s) on which the process with given PID is listening using {@code lsof}.
      * Returns a comma-separated string of ports or empty string if none found.
+     * Only used on hosts without {@code /proc}, see PortInspectorService.
      *
      * @param os  the operating system name
      * @param pid the process ID
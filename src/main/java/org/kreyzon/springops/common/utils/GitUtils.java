@@ -74,4 +74,20 @@ public class GitUtils {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Resolves the URL used to clone a repository: the SSH URL when configured,
+     * otherwise the HTTPS URL with the personal access token embedded.
+     *
+     * @param sshUrl   the SSH URL of the repository, may be null or blank
+     * @param httpsUrl the HTTPS URL of the repository
+     * @param gitToken personal access token
+     * @return the URL to clone from
+     */
+    public String resolveCloneUrl(String sshUrl, String httpsUrl, String gitToken) {
+        if (sshUrl != null && !sshUrl.isBlank()) {
+            return sshUrl;
+        }
+        return httpsUrl.replace("https://", "https://" + gitToken + "@");
+    }
+
 }
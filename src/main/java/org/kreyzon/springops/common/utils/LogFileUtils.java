@@ -0,0 +1,286 @@
+package org.kreyzon.springops.common.utils;
+
+import lombok.experimental.UtilityClass;
+import org.kreyzon.springops.common.dto.logs.LogChunkDto;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Utility class for reading parts of log files.
+ * All reads are positional {@link FileChannel} reads of a bounded size, so memory usage does not depend on
+ * the size of the file. Chunks are cut at line boundaries so that consecutive pages can be concatenated.
+ * Gzip-compressed log segments are read transparently; offsets then refer to the decompressed content,
+ * which is streamed from the start of the segment up to the requested part.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@UtilityClass
+public class LogFileUtils {
+
+    /**
+     * Size of the blocks scanned backwards when looking for the last lines of a file.
+     */
+    private static final int TAIL_BLOCK_SIZE = 8192;
+
+    private static final int DECOMPRESS_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * File name suffix of compressed log segments.
+     */
+    public static final String COMPRESSED_SUFFIX = ".gz";
+
+    /**
+     * Tells whether a log file is a compressed segment.
+     *
+     * @param path the log file
+     * @return true if the file is gzip-compressed
+     */
+    public static boolean isCompressed(Path path) {
+        return path.getFileName().toString().endsWith(COMPRESSED_SUFFIX);
+    }
+
+    /**
+     * Opens a stream over the decompressed content of a compressed log segment.
+     *
+     * @param path the compressed log segment
+     * @return the decompressed content, to be closed by the caller
+     * @throws IOException if the file cannot be read or is not in gzip format
+     */
+    public static InputStream openDecompressed(Path path) throws IOException {
+        return new GZIPInputStream(Files.newInputStream(path), DECOMPRESS_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads a page of a log file starting at a byte offset.
+     * The page ends after its last complete line, unless it reaches the end of the file or holds no line break.
+     *
+     * @param path     the log file
+     * @param offset   the byte offset to start at, clamped to the file size
+     * @param maxBytes the maximum number of bytes to read
+     * @return the page
+     * @throws IOException if the file cannot be read
+     */
+    public static LogChunkDto readPage(Path path, long offset, int maxBytes) throws IOException {
+        if (isCompressed(path)) {
+            return readCompressedPage(path, offset, maxBytes);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = Math.min(Math.max(0, offset), size);
+            byte[] bytes = read(channel, start, (int) Math.min(maxBytes, size - start));
+
+            int length = bytes.length;
+            if (start + length < size) {
+                int lastLineBreak = lastIndexOf(bytes, length);
+                if (lastLineBreak >= 0) {
+                    length = lastLineBreak + 1;
+                }
+            }
+            long end = start + length;
+            return new LogChunkDto(new String(bytes, 0, length, StandardCharsets.UTF_8), start, end, size, end >= size);
+        }
+    }
+
+    /**
+     * Reads the last lines of a log file.
+     * If the lines exceed {@code maxBytes}, only the complete lines within the last {@code maxBytes} are returned.
+     *
+     * @param path     the log file
+     * @param lines    the number of lines to return
+     * @param maxBytes the maximum number of bytes to read
+     * @return the chunk holding the last lines, its next offset is the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static LogChunkDto tail(Path path, int lines, int maxBytes) throws IOException {
+        if (isCompressed(path)) {
+            return tailCompressed(path, lines, maxBytes);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long limit = Math.max(0, size - maxBytes);
+            long start = findTailStart(channel, size, lines, limit);
+
+            byte[] bytes = read(channel, start, (int) (size - start));
+            int skip = 0;
+            if (start > 0 && start == limit) {
+                // The window starts mid-line, drop the partial first line unless it is the only one
+                skip = indexOf(bytes) + 1;
+            }
+            return new LogChunkDto(new String(bytes, skip, bytes.length - skip, StandardCharsets.UTF_8), start + skip, size, size, true);
+        }
+    }
+
+    /**
+     * Scans a file backwards for the start of its last lines, without going before a limit.
+     * A line break terminating the scanned range does not start a new line.
+     *
+     * @param channel the open log file
+     * @param size    the end of the range to scan, usually the file size
+     * @param lines   the number of lines to find
+     * @param limit   the offset the scan stops at
+     * @return the byte offset of the first of the last lines, or the limit if they start before it
+     * @throws IOException if the file cannot be read
+     */
+    public static long findTailStart(FileChannel channel, long size, int lines, long limit) throws IOException {
+        if (lines <= 0) {
+            return size;
+        }
+        int found = 0;
+        long position = size;
+        while (position > limit) {
+            int length = (int) Math.min(TAIL_BLOCK_SIZE, position - limit);
+            position -= length;
+            byte[] block = read(channel, position, length);
+            for (int i = length - 1; i >= 0; i--) {
+                if (block[i] == '\n' && position + i != size - 1 && ++found == lines) {
+                    return position + i + 1;
+                }
+            }
+        }
+        return limit;
+    }
+
+    private static LogChunkDto readCompressedPage(Path path, long offset, int maxBytes) throws IOException {
+        try (InputStream in = openDecompressed(path)) {
+            long start = skip(in, Math.max(0, offset));
+            byte[] bytes = in.readNBytes(maxBytes);
+            boolean eof = in.read() < 0;
+
+            int length = bytes.length;
+            if (!eof) {
+                int lastLineBreak = lastIndexOf(bytes, length);
+                if (lastLineBreak >= 0) {
+                    length = lastLineBreak + 1;
+                }
+            }
+            long end = start + length;
+            long size = eof ? start + bytes.length : Math.max(uncompressedSize(path), start + bytes.length + 1);
+            return new LogChunkDto(new String(bytes, 0, length, StandardCharsets.UTF_8), start, end, size, eof);
+        }
+    }
+
+    /**
+     * Reads the last lines of a compressed segment, keeping only the last {@code maxBytes} decompressed bytes in memory.
+     */
+    private static LogChunkDto tailCompressed(Path path, int lines, int maxBytes) throws IOException {
+        byte[] window = new byte[Math.max(1, maxBytes)];
+        long total = 0;
+        try (InputStream in = openDecompressed(path)) {
+            byte[] block = new byte[DECOMPRESS_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(block)) >= 0) {
+                int from = Math.max(0, read - window.length);
+                long position = total + from;
+                while (from < read) {
+                    int index = (int) (position % window.length);
+                    int length = Math.min(read - from, window.length - index);
+                    System.arraycopy(block, from, window, index, length);
+                    from += length;
+                    position += length;
+                }
+                total += read;
+            }
+        }
+
+        int length = (int) Math.min(total, maxBytes);
+        byte[] bytes = new byte[length];
+        int first = (int) ((total - length) % window.length);
+        int head = Math.min(length, window.length - first);
+        System.arraycopy(window, first, bytes, 0, head);
+        System.arraycopy(window, 0, bytes, head, length - head);
+
+        long windowStart = total - length;
+        int start = length;
+        if (lines > 0) {
+            int found = 0;
+            start = 0;
+            for (int i = length - 1; i >= 0; i--) {
+                if (bytes[i] == '\n' && i != length - 1 && ++found == lines) {
+                    start = i + 1;
+                    break;
+                }
+            }
+            if (start == 0 && windowStart > 0) {
+                // The window starts mid-line, drop the partial first line unless it is the only one
+                start = indexOf(bytes) + 1;
+            }
+        }
+        return new LogChunkDto(new String(bytes, start, length - start, StandardCharsets.UTF_8), windowStart + start, total, total, true);
+    }
+
+    /**
+     * Skips bytes of a stream.
+     *
+     * @return the number of skipped bytes, less than requested if the stream ends first
+     */
+    private static long skip(InputStream in, long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count) {
+            long step = in.skip(count - skipped);
+            if (step <= 0) {
+                if (in.read() < 0) {
+                    break;
+                }
+                step = 1;
+            }
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    /**
+     * Reads the decompressed size recorded in the gzip trailer, which is only exact for segments below 4 GiB.
+     */
+    private static long uncompressedSize(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 4) {
+                return 0;
+            }
+            return ByteBuffer.wrap(read(channel, size - 4, 4)).order(ByteOrder.LITTLE_ENDIAN).getInt() & 0xFFFFFFFFL;
+        }
+    }
+
+    /**
+     * Reads exactly {@code length} bytes at a position.
+     */
+    private static byte[] read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Log file truncated while reading");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static int lastIndexOf(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
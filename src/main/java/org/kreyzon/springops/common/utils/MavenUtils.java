@@ -0,0 +1,37 @@
+package org.kreyzon.springops.common.utils;
+
+import lombok.experimental.UtilityClass;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.springframework.http.HttpStatus;
+
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for Maven-related operations.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@UtilityClass
+public class MavenUtils {
+
+    /**
+     * Accepted values for Maven's {@code -T} option, e.g. {@code 4}, {@code 1C} or {@code 1.5C}.
+     */
+    private static final Pattern THREADS_PATTERN = Pattern.compile("\\d+(\\.\\d+)?C?");
+
+    /**
+     * Validates the value of Maven's {@code -T} option. A null or blank value means a single-threaded build.
+     *
+     * @param threads the thread count to validate
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the value is not a valid thread count
+     */
+    public void validateThreads(String threads) {
+        if (threads == null || threads.isBlank()) {
+            return;
+        }
+        if (!THREADS_PATTERN.matcher(threads.trim()).matches()) {
+            throw new SpringOpsException("Maven threads must be a number or a multiple of cores such as 1C", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -37,4 +37,21 @@ public class PortUtils {
             throw new SpringOpsException("Port number must be between 0 and 65535", HttpStatus.BAD_REQUEST);
         }
     }
+
+    /**
+     * Validates the alternate port used by blue/green deployments.
+     *
+     * @param port          the primary port of the application
+     * @param alternatePort the alternate port, may be null
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the alternate port is invalid or equal to the primary port
+     */
+    public void validateAlternatePort(int port, Integer alternatePort) {
+        if (alternatePort == null) {
+            return;
+        }
+        validatePort(alternatePort);
+        if (alternatePort == port) {
+            throw new SpringOpsException("Alternate port must differ from the application port", HttpStatus.BAD_REQUEST);
+        }
+    }
 }
\ No newline at end of file
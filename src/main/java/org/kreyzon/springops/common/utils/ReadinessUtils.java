@@ -0,0 +1,61 @@
+package org.kreyzon.springops.common.utils;
+
+import lombok.experimental.UtilityClass;
+import org.kreyzon.springops.common.enums.ReadinessProbeType;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.springframework.http.HttpStatus;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Utility class for readiness probe configuration.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@UtilityClass
+public class ReadinessUtils {
+
+    /**
+     * Path requested by HTTP probes without a configured target.
+     */
+    public static final String DEFAULT_HTTP_PATH = "/";
+
+    /**
+     * Pattern matched by log probes without a configured target, Spring Boot's startup line.
+     */
+    public static final String DEFAULT_LOG_PATTERN = "Started \\S+ in [0-9.]+ seconds";
+
+    /**
+     * Maximum readiness timeout, in seconds.
+     */
+    private static final int MAXIMUM_TIMEOUT_SECONDS = 3600;
+
+    /**
+     * Validates a readiness probe configuration. Null values fall back to the defaults.
+     *
+     * @param type           the probe type
+     * @param target         the HTTP path or log pattern
+     * @param timeoutSeconds the readiness timeout in seconds
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the configuration is invalid
+     */
+    public void validateProbe(ReadinessProbeType type, String target, Integer timeoutSeconds) {
+        if (timeoutSeconds != null && (timeoutSeconds < 1 || timeoutSeconds > MAXIMUM_TIMEOUT_SECONDS)) {
+            throw new SpringOpsException("Readiness timeout must be between 1 and " + MAXIMUM_TIMEOUT_SECONDS + " seconds", HttpStatus.BAD_REQUEST);
+        }
+        if (target == null || target.isBlank()) {
+            return;
+        }
+        if (type == ReadinessProbeType.HTTP && !target.trim().startsWith("/")) {
+            throw new SpringOpsException("Readiness HTTP path must start with '/'", HttpStatus.BAD_REQUEST);
+        }
+        if (type == ReadinessProbeType.LOG) {
+            try {
+                Pattern.compile(target.trim());
+            } catch (PatternSyntaxException e) {
+                throw new SpringOpsException("Readiness log pattern is not a valid regular expression", HttpStatus.BAD_REQUEST);
+            }
+        }
+    }
+}
@@ -71,6 +71,36 @@ public class ApplicationConfig {
      */
     private String directoryBackups;
 
+    /**
+     * Subdirectory within the application directory holding the persistent bare Git mirror.
+     */
+    private String directoryMirror;
+
+    /**
+     * Subdirectory within the application directory holding cached build artifacts.
+     */
+    private String directoryBuildCache;
+
+    /**
+     * Maximum number of cached builds kept per application.
+     */
+    private Integer buildCacheMaxEntries;
+
+    /**
+     * Directory holding the shared local Maven repositories, one per Maven system version.
+     */
+    private String directoryMavenRepositories;
+
+    /**
+     * Number of threads used to pre-resolve Maven dependencies in the background.
+     */
+    private Integer mavenPrefetchPoolSize;
+
+    /**
+     * Maximum number of pending dependency pre-resolutions.
+     */
+    private Integer mavenPrefetchQueueCapacity;
+
     /**
      * Maximum number of environment files allowed per application.
      */
@@ -95,4 +125,159 @@ public class ApplicationConfig {
      * Directory where system version files are stored (Java, Maven).
      */
     private String directorySystemVersions;
+
+    /**
+     * Directory the bundled shell scripts are extracted to, one subdirectory per scripts version.
+     */
+    private String directoryScripts;
+
+    /**
+     * Maximum number of deployment jobs executed concurrently.
+     */
+    private Integer deploymentJobsPoolSize;
+
+    /**
+     * Maximum number of deployment jobs waiting for a free worker.
+     */
+    private Integer deploymentJobsQueueCapacity;
+
+    /**
+     * Number of finished deployment jobs kept in memory for polling.
+     */
+    private Integer deploymentJobsHistorySize;
+
+    /**
+     * Number of recent deployment output lines buffered per job for late subscribers.
+     */
+    private Integer deploymentOutputBufferLines;
+
+    /**
+     * Number of stack deployments that can be coordinated concurrently.
+     */
+    private Integer deploymentStacksPoolSize;
+
+    /**
+     * Maximum number of queued stack deployments.
+     */
+    private Integer deploymentStacksQueueCapacity;
+
+    /**
+     * Maximum time, in minutes, a stack deployment waits for a single application to be deployed.
+     */
+    private Integer deploymentStacksJobTimeoutMinutes;
+
+    /**
+     * Time, in seconds, the replaced instance of a blue/green deployment is given to shut down gracefully before it is killed.
+     */
+    private Integer blueGreenStopTimeoutSeconds;
+
+    /**
+     * Whether deployment locks are also taken as PostgreSQL advisory locks, serializing operations across SpringOps nodes.
+     */
+    private Boolean deploymentLockAdvisoryEnabled;
+
+    /**
+     * Interval, in milliseconds, between two refreshes of the process liveness snapshot.
+     */
+    private Long processLivenessRefreshMillis;
+
+    /**
+     * Time, in milliseconds, the listening ports of managed processes are cached.
+     */
+    private Long listeningPortsCacheMillis;
+
+    /**
+     * Whether JVM metrics (heap, GC, threads, classes) of deployed applications are collected over local JMX.
+     */
+    private Boolean jvmMetricsEnabled;
+
+    /**
+     * Maximum time, in seconds, a stats tick waits for the samples of all deployments before discarding the missing ones.
+     */
+    private Integer statsSampleTimeoutSeconds;
+
+    /**
+     * Time, in hours, raw application stats samples are kept.
+     */
+    private Integer statsRawRetentionHours;
+
+    /**
+     * Time, in days, one-minute application stats rollups are kept.
+     */
+    private Integer statsMinuteRetentionDays;
+
+    /**
+     * Time, in days, fifteen-minute application stats rollups are kept.
+     */
+    private Integer statsFifteenMinutesRetentionDays;
+
+    /**
+     * Time, in days, hourly application stats rollups are kept.
+     */
+    private Integer statsHourRetentionDays;
+
+    /**
+     * Maximum number of points returned by a bucketed application stats query.
+     */
+    private Integer statsMaxPoints;
+
+    /**
+     * Maximum number of bytes returned by a single paged or tail log read.
+     */
+    private Integer logReadMaxBytes;
+
+    /**
+     * Interval, in milliseconds, between two reads of the followed log files.
+     */
+    private Long logFollowPollMillis;
+
+    /**
+     * Interval, in milliseconds, between two incremental refreshes of the log search index.
+     */
+    private Long logIndexRefreshMillis;
+
+    /**
+     * Size, in bytes, above which the output log of an application is rotated into a compressed segment.
+     */
+    private Long logRotationMaxBytes;
+
+    /**
+     * Interval, in hours, after which the output log of an application is rotated whatever its size.
+     */
+    private Integer logRotationIntervalHours;
+
+    /**
+     * Maximum number of compressed segments kept per application output log.
+     */
+    private Integer logRotationMaxSegments;
+
+    /**
+     * Time, in days, compressed segments of the application output logs are kept.
+     */
+    private Integer logRotationRetentionDays;
+
+    /**
+     * Whether uncompressed log files are gzip-encoded on the fly for downloading clients that accept it.
+     */
+    private Boolean logDownloadGzipEnabled;
+
+    /**
+     * Maximum number of characters queued for a single SSE subscriber before it is dropped as too slow.
+     */
+    private Long sseMaxPendingChars;
+
+    /**
+     * Maximum number of distinct tokens indexed per log file, bounding the memory of the log search index.
+     */
+    private Integer logIndexMaxTokens;
+
+    /**
+     * Number of finished stack deployments kept in memory for polling.
+     */
+    private Integer deploymentStacksHistorySize;
+
+    /**
+     * Time, in days, the scripts directory of another version is kept after it was last used by an instance.
+     */
+    private Integer scriptsRetentionDays;
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package org.kreyzon.springops.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration class for the executors running deployment jobs, stack deployments and background dependency resolution.
+ * Deployments are executed on a bounded pool so that long-running clones and builds
+ * never occupy HTTP request threads or database connections.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Configuration
+@RequiredArgsConstructor
+public class DeploymentExecutorConfig {
+
+    private final ApplicationConfig applicationConfig;
+
+    /**
+     * Creates the bounded {@link ThreadPoolTaskExecutor} used for deployment jobs.
+     * Submissions beyond the queue capacity are rejected instead of piling up.
+     *
+     * @return the deployment executor
+     */
+    @Bean(name = "deploymentExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor deploymentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(applicationConfig.getDeploymentJobsPoolSize());
+        executor.setMaxPoolSize(applicationConfig.getDeploymentJobsPoolSize());
+        executor.setQueueCapacity(applicationConfig.getDeploymentJobsQueueCapacity());
+        executor.setThreadNamePrefix("springops-deploy-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Creates the bounded {@link ThreadPoolTaskExecutor} used to pre-resolve Maven dependencies.
+     * It is kept separate from the deployment executor so prefetching never delays a deployment.
+     *
+     * @return the Maven prefetch executor
+     */
+    @Bean(name = "mavenPrefetchExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor mavenPrefetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(applicationConfig.getMavenPrefetchPoolSize());
+        executor.setMaxPoolSize(applicationConfig.getMavenPrefetchPoolSize());
+        executor.setQueueCapacity(applicationConfig.getMavenPrefetchQueueCapacity());
+        executor.setThreadNamePrefix("springops-prefetch-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Creates the {@link ThreadPoolTaskExecutor} coordinating stack deployments.
+     * Coordinators only wait for deployment jobs, so they must not run on the deployment executor
+     * where they could starve the jobs they are waiting for.
+     *
+     * @return the deployment stack executor
+     */
+    @Bean(name = "deploymentStackExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor deploymentStackExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(applicationConfig.getDeploymentStacksPoolSize());
+        executor.setMaxPoolSize(applicationConfig.getDeploymentStacksPoolSize());
+        executor.setQueueCapacity(applicationConfig.getDeploymentStacksQueueCapacity());
+        executor.setThreadNamePrefix("springops-stack-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
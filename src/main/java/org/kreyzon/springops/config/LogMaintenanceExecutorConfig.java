@@ -0,0 +1,59 @@
+package org.kreyzon.springops.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration class for the executors running the log maintenance tasks.
+ * Indexing and rotating large logs can take minutes, so these tasks run on their own threads instead of the
+ * scheduler pool, where they would delay the log followers, the liveness checks and the other scheduled tasks.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Configuration
+@Slf4j
+public class LogMaintenanceExecutorConfig {
+
+    /**
+     * Creates the single-thread {@link ThreadPoolTaskExecutor} refreshing the log search index.
+     *
+     * @return the log index executor
+     */
+    @Bean(name = "logIndexExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor logIndexExecutor() {
+        return singleRunExecutor("springops-log-index-");
+    }
+
+    /**
+     * Creates the single-thread {@link ThreadPoolTaskExecutor} rotating the application output logs.
+     *
+     * @return the log rotation executor
+     */
+    @Bean(name = "logRotationExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor logRotationExecutor() {
+        return singleRunExecutor("springops-log-rotation-");
+    }
+
+    /**
+     * Creates an executor running one task at a time without queueing.
+     * A run triggered while the previous one is still in progress is skipped, the next run catches up.
+     *
+     * @param threadNamePrefix the prefix of the thread name
+     * @return the executor
+     */
+    private ThreadPoolTaskExecutor singleRunExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Skipping a run of {}, the previous run is still in progress", threadNamePrefix));
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
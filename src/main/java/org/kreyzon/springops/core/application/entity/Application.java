@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.Fetch;
+import org.kreyzon.springops.common.enums.ReadinessProbeType;
 import org.kreyzon.springops.core.system_version.entity.SystemVersion;
 
 import java.time.Instant;
@@ -68,6 +69,25 @@ public class Application {
     @Column(name = "java_maximum_memory")
     private String javaMaximumMemory;
 
+    @Column(name = "maven_offline", nullable = false)
+    private boolean mavenOffline;
+
+    @Column(name = "maven_threads", length = 10)
+    private String mavenThreads;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "readiness_probe_type", nullable = false, length = 20)
+    private ReadinessProbeType readinessProbeType;
+
+    @Column(name = "readiness_probe_target")
+    private String readinessProbeTarget;
+
+    @Column(name = "readiness_timeout_seconds", nullable = false)
+    private Integer readinessTimeoutSeconds;
+
+    @Column(name = "alternate_port")
+    private Integer alternatePort;
+
     @ManyToMany
     @JoinTable(
             name = "application_dependencies",
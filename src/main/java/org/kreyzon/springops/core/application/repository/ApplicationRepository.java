@@ -1,12 +1,14 @@
 package org.kreyzon.springops.core.application.repository;
 
 import org.kreyzon.springops.core.application.entity.Application;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Represents the repository interface for managing Application entities.
@@ -23,4 +25,21 @@ public interface ApplicationRepository extends JpaRepository<Application, Intege
      * @return the Application if found, null otherwise
      */
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    /**
+     * Finds an Application by its ID, eagerly fetching its dependencies.
+     *
+     * @param id the ID of the Application
+     * @return an Optional containing the Application with its dependencies initialized
+     */
+    @EntityGraph(attributePaths = "dependencies")
+    Optional<Application> findWithDependenciesById(Integer id);
+
+    /**
+     * Finds all Applications, eagerly fetching their dependencies.
+     *
+     * @return the list of Applications with their dependencies initialized
+     */
+    @EntityGraph(attributePaths = "dependencies")
+    List<Application> findAllWithDependenciesBy();
+}
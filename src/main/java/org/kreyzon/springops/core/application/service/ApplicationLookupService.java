@@ -10,6 +10,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Represents the service layer for managing Application entities.
@@ -36,6 +39,42 @@ public class ApplicationLookupService {
                 .orElseThrow(() -> new SpringOpsException("Application with ID '" + id + "' does not exist", HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Finds all Application entities.
+     *
+     * @return the list of all Application entities
+     */
+    public List<Application> findAllEntities() {
+        return applicationRepository.findAll();
+    }
+
+    /**
+     * Finds an Application entity by its ID with its dependencies initialized,
+     * so they can be navigated outside of a transaction.
+     *
+     * @param id the ID of the Application to find
+     * @return the Application entity with its dependencies
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the Application with the given ID does not exist
+     */
+    public Application findEntityWithDependenciesById(Integer id) {
+        return applicationRepository.findWithDependenciesById(id)
+                .orElseThrow(() -> new SpringOpsException("Application with ID '" + id + "' does not exist", HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Returns the dependency graph of all Applications.
+     *
+     * @return a map from each Application ID to the IDs of the Applications it depends on
+     */
+    public Map<Integer, Set<Integer>> findDependencyGraph() {
+        return applicationRepository.findAllWithDependenciesBy().stream()
+                .collect(Collectors.toMap(
+                        Application::getId,
+                        application -> application.getDependencies().stream()
+                                .map(Application::getId)
+                                .collect(Collectors.toSet())
+                ));
+    }
 
     /**
      * Checks if a port is already in use by another application.
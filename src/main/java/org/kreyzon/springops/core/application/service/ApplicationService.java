@@ -7,7 +7,9 @@ import org.kreyzon.springops.common.dto.application.ApplicationDto;
 import org.kreyzon.springops.common.dto.deployment.DeploymentStatusDto;
 import org.kreyzon.springops.common.dto.system_version.SystemVersionDto;
 import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.common.utils.MavenUtils;
 import org.kreyzon.springops.common.utils.PortUtils;
+import org.kreyzon.springops.common.utils.ReadinessUtils;
 import org.kreyzon.springops.config.ApplicationConfig;
 import org.kreyzon.springops.config.annotations.Audit;
 import org.kreyzon.springops.core.application.entity.Application;
@@ -86,6 +88,9 @@ public class ApplicationService {
         SystemVersion javaVersion = SystemVersionDto.toEntity(javaSystemVersion);
 
         PortUtils.validatePort(applicationDto.getPort());
+        PortUtils.validateAlternatePort(applicationDto.getPort(), applicationDto.getAlternatePort());
+        MavenUtils.validateThreads(applicationDto.getMavenThreads());
+        ReadinessUtils.validateProbe(applicationDto.getReadinessProbeType(), applicationDto.getReadinessProbeTarget(), applicationDto.getReadinessTimeoutSeconds());
 
         if (applicationRepository.existsByName(applicationDto.getName())) {
             log.warn("Application with name '{}' already exists", applicationDto.getName());
@@ -128,6 +133,9 @@ public class ApplicationService {
         SystemVersion javaVersion = SystemVersionDto.toEntity(javaSystemVersion);
 
         PortUtils.validatePort(applicationDto.getPort());
+        PortUtils.validateAlternatePort(applicationDto.getPort(), applicationDto.getAlternatePort());
+        MavenUtils.validateThreads(applicationDto.getMavenThreads());
+        ReadinessUtils.validateProbe(applicationDto.getReadinessProbeType(), applicationDto.getReadinessProbeTarget(), applicationDto.getReadinessTimeoutSeconds());
 
         Application existingApplication = applicationRepository.findById(id)
                 .orElseThrow(() -> new SpringOpsException("Application with ID '" + id + "' does not exist", HttpStatus.NOT_FOUND));
@@ -28,18 +28,27 @@ public class ApplicationStatsController {
 
     /**
      * Retrieves application statistics for a given application ID over a time period.
+     * When {@code step} or {@code maxPoints} is given, the statistics are aggregated server-side into buckets
+     * carrying avg/min/max/p95 values, and the number of returned points is bounded whatever the period.
      *
      * @param applicationId the ID of the application
      * @param startTimestamp the start of the time period
      * @param endTimestamp the end of the time period
+     * @param step the requested bucket width in seconds, optional
+     * @param maxPoints the maximum number of buckets to return, optional
      * @return a list of ApplicationStatsDto within the time period
      */
     @GetMapping
     public List<ApplicationStatsDto> getStatsOverTimePeriod(
             @RequestParam Integer applicationId,
             @RequestParam String startTimestamp,
-            @RequestParam String endTimestamp
+            @RequestParam String endTimestamp,
+            @RequestParam(required = false) Integer step,
+            @RequestParam(required = false) Integer maxPoints
     ) {
+        if (step != null || maxPoints != null) {
+            return applicationStatsService.getBucketedStats(applicationId, startTimestamp, endTimestamp, step, maxPoints);
+        }
         return applicationStatsService.getStatsOverTimePeriod(applicationId, startTimestamp, endTimestamp);
     }
 }
\ No newline at end of file
@@ -53,4 +53,22 @@ public class ApplicationStats {
     @NotNull
     @Column(name = "avail_mem_mb", nullable = false)
     private Double availMemMb;
+
+    @Column(name = "heap_used_mb")
+    private Double heapUsedMb;
+
+    @Column(name = "heap_committed_mb")
+    private Double heapCommittedMb;
+
+    @Column(name = "gc_count")
+    private Long gcCount;
+
+    @Column(name = "gc_time_ms")
+    private Long gcTimeMs;
+
+    @Column(name = "thread_count")
+    private Integer threadCount;
+
+    @Column(name = "loaded_classes")
+    private Integer loadedClasses;
 }
\ No newline at end of file
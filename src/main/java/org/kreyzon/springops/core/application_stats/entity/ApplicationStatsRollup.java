@@ -0,0 +1,113 @@
+package org.kreyzon.springops.core.application_stats.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.kreyzon.springops.core.application.entity.Application;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Entity representing the statistics of an application aggregated over a time bucket.
+ * Rollups are written by {@link org.kreyzon.springops.core.application_stats.repository.ApplicationStatsRollupRepository#rollUp}
+ * and only read through JPA.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "application_stats_rollups")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApplicationStatsRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "application_id", nullable = false)
+    private Application application;
+
+    @NotNull
+    @Column(name = "resolution_seconds", nullable = false)
+    private Integer resolutionSeconds;
+
+    @NotNull
+    @Column(name = "bucket_start", nullable = false)
+    private OffsetDateTime bucketStart;
+
+    @NotNull
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    @NotNull
+    @Column(name = "memory_mb_min", nullable = false)
+    private Double memoryMbMin;
+
+    @NotNull
+    @Column(name = "memory_mb_avg", nullable = false)
+    private Double memoryMbAvg;
+
+    @NotNull
+    @Column(name = "memory_mb_max", nullable = false)
+    private Double memoryMbMax;
+
+    @NotNull
+    @Column(name = "memory_mb_p95", nullable = false)
+    private Double memoryMbP95;
+
+    @NotNull
+    @Column(name = "cpu_load_min", nullable = false)
+    private Double cpuLoadMin;
+
+    @NotNull
+    @Column(name = "cpu_load_avg", nullable = false)
+    private Double cpuLoadAvg;
+
+    @NotNull
+    @Column(name = "cpu_load_max", nullable = false)
+    private Double cpuLoadMax;
+
+    @NotNull
+    @Column(name = "cpu_load_p95", nullable = false)
+    private Double cpuLoadP95;
+
+    @NotNull
+    @Column(name = "avail_mem_mb_avg", nullable = false)
+    private Double availMemMbAvg;
+
+    @Column(name = "heap_used_mb_min")
+    private Double heapUsedMbMin;
+
+    @Column(name = "heap_used_mb_avg")
+    private Double heapUsedMbAvg;
+
+    @Column(name = "heap_used_mb_max")
+    private Double heapUsedMbMax;
+
+    @Column(name = "heap_used_mb_p95")
+    private Double heapUsedMbP95;
+
+    @Column(name = "heap_committed_mb_avg")
+    private Double heapCommittedMbAvg;
+
+    @Column(name = "gc_count_max")
+    private Long gcCountMax;
+
+    @Column(name = "gc_time_ms_max")
+    private Long gcTimeMsMax;
+
+    @Column(name = "thread_count_max")
+    private Integer threadCountMax;
+
+    @Column(name = "loaded_classes_max")
+    private Integer loadedClassesMax;
+}
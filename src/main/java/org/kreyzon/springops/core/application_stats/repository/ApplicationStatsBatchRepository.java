@@ -0,0 +1,25 @@
+package org.kreyzon.springops.core.application_stats.repository;
+
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsSampleDto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Repository fragment for bulk ingestion of application statistics.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public interface ApplicationStatsBatchRepository {
+
+    /**
+     * Inserts the samples of a scheduler tick in a single statement.
+     * Samples of applications deleted in the meantime and samples already stored for the same PID and timestamp are skipped.
+     *
+     * @param samples   the samples to insert
+     * @param timestamp the timestamp shared by all samples
+     * @return the number of inserted rows
+     */
+    int insertBatch(List<ApplicationStatsSampleDto> samples, OffsetDateTime timestamp);
+}
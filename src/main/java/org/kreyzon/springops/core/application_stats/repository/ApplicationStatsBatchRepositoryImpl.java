@@ -0,0 +1,88 @@
+package org.kreyzon.springops.core.application_stats.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsDto;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsSampleDto;
+import org.kreyzon.springops.common.dto.application_stats.JvmMetricsDto;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * JDBC implementation of {@link ApplicationStatsBatchRepository}.
+ * The columns of all samples are bound as PostgreSQL arrays and expanded with {@code unnest}, so a tick
+ * is a single multi-row {@code INSERT} and a single round trip however many applications are sampled.
+ * Applications are referenced by ID and IDs come from the column default, so nothing is loaded beforehand.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@RequiredArgsConstructor
+public class ApplicationStatsBatchRepositoryImpl implements ApplicationStatsBatchRepository {
+
+    private static final String INSERT_BATCH = """
+            INSERT INTO application_stats (pid, application_id, "timestamp", memory_mb, cpu_load, avail_mem_mb,
+                                           heap_used_mb, heap_committed_mb, gc_count, gc_time_ms, thread_count, loaded_classes)
+            SELECT s.pid, s.application_id, ?, s.memory_mb, s.cpu_load, s.avail_mem_mb,
+                   s.heap_used_mb, s.heap_committed_mb, s.gc_count, s.gc_time_ms, s.thread_count, s.loaded_classes
+            FROM unnest(?::integer[], ?::integer[], ?::float8[], ?::float8[], ?::float8[],
+                        ?::float8[], ?::float8[], ?::bigint[], ?::bigint[], ?::integer[], ?::integer[])
+                 AS s(pid, application_id, memory_mb, cpu_load, avail_mem_mb,
+                      heap_used_mb, heap_committed_mb, gc_count, gc_time_ms, thread_count, loaded_classes)
+            WHERE EXISTS (SELECT 1 FROM applications a WHERE a.id = s.application_id)
+            ON CONFLICT (pid, "timestamp") DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertBatch(List<ApplicationStatsSampleDto> samples, OffsetDateTime timestamp) {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+        Integer inserted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_BATCH)) {
+                int index = 1;
+                statement.setObject(index++, timestamp);
+                statement.setArray(index++, array(connection, "integer", samples, ApplicationStatsSampleDto::pid));
+                statement.setArray(index++, array(connection, "integer", samples, ApplicationStatsSampleDto::applicationId));
+                statement.setArray(index++, array(connection, "float8", samples, sample -> (double) sample.stats().memoryMb()));
+                statement.setArray(index++, array(connection, "float8", samples, sample -> sample.stats().cpuLoad()));
+                statement.setArray(index++, array(connection, "float8", samples, sample -> sample.stats().availMemMb()));
+                statement.setArray(index++, array(connection, "float8", samples, jvm(JvmMetricsDto::heapUsedMb)));
+                statement.setArray(index++, array(connection, "float8", samples, jvm(JvmMetricsDto::heapCommittedMb)));
+                statement.setArray(index++, array(connection, "bigint", samples, jvm(JvmMetricsDto::gcCount)));
+                statement.setArray(index++, array(connection, "bigint", samples, jvm(JvmMetricsDto::gcTimeMs)));
+                statement.setArray(index++, array(connection, "integer", samples, jvm(JvmMetricsDto::threadCount)));
+                statement.setArray(index, array(connection, "integer", samples, jvm(JvmMetricsDto::loadedClasses)));
+                return statement.executeUpdate();
+            }
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    /**
+     * Builds a SQL array holding one column of the samples.
+     */
+    private static Array array(Connection connection, String type, List<ApplicationStatsSampleDto> samples,
+                               Function<ApplicationStatsSampleDto, Object> column) throws SQLException {
+        return connection.createArrayOf(type, samples.stream().map(column).toArray());
+    }
+
+    /**
+     * Adapts a JVM metric accessor to a sample column, null for samples without JVM metrics.
+     */
+    private static Function<ApplicationStatsSampleDto, Object> jvm(Function<JvmMetricsDto, Object> metric) {
+        return sample -> {
+            ApplicationStatsDto stats = sample.stats();
+            return stats.jvm() != null ? metric.apply(stats.jvm()) : null;
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package org.kreyzon.springops.core.application_stats.repository;
+
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsDto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Repository fragment aggregating application statistics into fixed-width buckets in the database.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public interface ApplicationStatsBucketRepository {
+
+    /**
+     * Aggregates the raw samples of an application into buckets.
+     *
+     * @param applicationId the ID of the application
+     * @param start         the start of the period, inclusive
+     * @param end           the end of the period, inclusive
+     * @param stepSeconds   the bucket width in seconds
+     * @return one DTO per non-empty bucket, ordered by bucket start
+     */
+    List<ApplicationStatsDto> findRawBuckets(Integer applicationId, OffsetDateTime start, OffsetDateTime end, int stepSeconds);
+
+    /**
+     * Aggregates the rollups of an application at a resolution into coarser buckets.
+     * Averages are weighted by sample count; the p95 of a bucket is the highest p95 of its rollups,
+     * an upper bound since percentiles cannot be merged exactly.
+     *
+     * @param applicationId     the ID of the application
+     * @param resolutionSeconds the resolution of the rollups to read
+     * @param start             the start of the period, inclusive
+     * @param end               the end of the period, inclusive
+     * @param stepSeconds       the bucket width in seconds, a multiple of the resolution
+     * @return one DTO per non-empty bucket, ordered by bucket start
+     */
+    List<ApplicationStatsDto> findRollupBuckets(Integer applicationId, int resolutionSeconds, OffsetDateTime start, OffsetDateTime end, int stepSeconds);
+}
@@ -0,0 +1,118 @@
+package org.kreyzon.springops.core.application_stats.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsDto;
+import org.kreyzon.springops.common.dto.application_stats.JvmMetricsDto;
+import org.kreyzon.springops.common.dto.application_stats.StatsAggregateDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ApplicationStatsBucketRepository}.
+ * Buckets are aligned to multiples of the step since the epoch, so the same step always yields the same buckets.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@RequiredArgsConstructor
+public class ApplicationStatsBucketRepositoryImpl implements ApplicationStatsBucketRepository {
+
+    private static final String RAW_BUCKETS = """
+            SELECT floor(extract(epoch FROM s."timestamp") / ?) * ? AS bucket_epoch,
+                   count(*) AS sample_count,
+                   min(s.memory_mb) AS memory_mb_min, avg(s.memory_mb) AS memory_mb_avg, max(s.memory_mb) AS memory_mb_max,
+                   percentile_cont(0.95) WITHIN GROUP (ORDER BY s.memory_mb) AS memory_mb_p95,
+                   min(s.cpu_load) AS cpu_load_min, avg(s.cpu_load) AS cpu_load_avg, max(s.cpu_load) AS cpu_load_max,
+                   percentile_cont(0.95) WITHIN GROUP (ORDER BY s.cpu_load) AS cpu_load_p95,
+                   avg(s.avail_mem_mb) AS avail_mem_mb_avg,
+                   min(s.heap_used_mb) AS heap_used_mb_min, avg(s.heap_used_mb) AS heap_used_mb_avg, max(s.heap_used_mb) AS heap_used_mb_max,
+                   percentile_cont(0.95) WITHIN GROUP (ORDER BY s.heap_used_mb) AS heap_used_mb_p95,
+                   avg(s.heap_committed_mb) AS heap_committed_mb_avg,
+                   max(s.gc_count) AS gc_count_max, max(s.gc_time_ms) AS gc_time_ms_max,
+                   max(s.thread_count) AS thread_count_max, max(s.loaded_classes) AS loaded_classes_max
+            FROM application_stats s
+            WHERE s.application_id = ? AND s."timestamp" BETWEEN ? AND ?
+            GROUP BY 1
+            ORDER BY 1
+            """;
+
+    private static final String ROLLUP_BUCKETS = """
+            SELECT floor(extract(epoch FROM r.bucket_start) / ?) * ? AS bucket_epoch,
+                   sum(r.sample_count) AS sample_count,
+                   min(r.memory_mb_min) AS memory_mb_min,
+                   sum(r.memory_mb_avg * r.sample_count) / sum(r.sample_count) AS memory_mb_avg,
+                   max(r.memory_mb_max) AS memory_mb_max, max(r.memory_mb_p95) AS memory_mb_p95,
+                   min(r.cpu_load_min) AS cpu_load_min,
+                   sum(r.cpu_load_avg * r.sample_count) / sum(r.sample_count) AS cpu_load_avg,
+                   max(r.cpu_load_max) AS cpu_load_max, max(r.cpu_load_p95) AS cpu_load_p95,
+                   sum(r.avail_mem_mb_avg * r.sample_count) / sum(r.sample_count) AS avail_mem_mb_avg,
+                   min(r.heap_used_mb_min) AS heap_used_mb_min,
+                   sum(r.heap_used_mb_avg * r.sample_count) / nullif(sum(CASE WHEN r.heap_used_mb_avg IS NOT NULL THEN r.sample_count END), 0) AS heap_used_mb_avg,
+                   max(r.heap_used_mb_max) AS heap_used_mb_max, max(r.heap_used_mb_p95) AS heap_used_mb_p95,
+                   sum(r.heap_committed_mb_avg * r.sample_count) / nullif(sum(CASE WHEN r.heap_committed_mb_avg IS NOT NULL THEN r.sample_count END), 0) AS heap_committed_mb_avg,
+                   max(r.gc_count_max) AS gc_count_max, max(r.gc_time_ms_max) AS gc_time_ms_max,
+                   max(r.thread_count_max) AS thread_count_max, max(r.loaded_classes_max) AS loaded_classes_max
+            FROM application_stats_rollups r
+            WHERE r.application_id = ? AND r.resolution_seconds = ? AND r.bucket_start BETWEEN ? AND ?
+            GROUP BY 1
+            ORDER BY 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ApplicationStatsDto> findRawBuckets(Integer applicationId, OffsetDateTime start, OffsetDateTime end, int stepSeconds) {
+        return jdbcTemplate.query(RAW_BUCKETS, bucketMapper(stepSeconds),
+                stepSeconds, stepSeconds, applicationId, start, end);
+    }
+
+    @Override
+    public List<ApplicationStatsDto> findRollupBuckets(Integer applicationId, int resolutionSeconds, OffsetDateTime start, OffsetDateTime end, int stepSeconds) {
+        return jdbcTemplate.query(ROLLUP_BUCKETS, bucketMapper(stepSeconds),
+                stepSeconds, stepSeconds, applicationId, resolutionSeconds, start, end);
+    }
+
+    private static RowMapper<ApplicationStatsDto> bucketMapper(int stepSeconds) {
+        return (resultSet, rowNum) -> {
+            OffsetDateTime bucketStart = OffsetDateTime.ofInstant(
+                    Instant.ofEpochSecond(resultSet.getLong("bucket_epoch")), ZoneOffset.UTC);
+            Double heapUsedMbAvg = getDouble(resultSet, "heap_used_mb_avg");
+            return new ApplicationStatsDto(
+                    Math.round(resultSet.getDouble("memory_mb_avg")),
+                    resultSet.getDouble("cpu_load_avg"),
+                    resultSet.getDouble("avail_mem_mb_avg"),
+                    bucketStart.toString(),
+                    heapUsedMbAvg != null
+                            ? new JvmMetricsDto(heapUsedMbAvg, getDouble(resultSet, "heap_committed_mb_avg"),
+                                    resultSet.getObject("gc_count_max", Long.class), resultSet.getObject("gc_time_ms_max", Long.class),
+                                    resultSet.getObject("thread_count_max", Integer.class), resultSet.getObject("loaded_classes_max", Integer.class))
+                            : null,
+                    new StatsAggregateDto(
+                            stepSeconds,
+                            resultSet.getInt("sample_count"),
+                            resultSet.getDouble("memory_mb_min"),
+                            resultSet.getDouble("memory_mb_max"),
+                            resultSet.getDouble("memory_mb_p95"),
+                            resultSet.getDouble("cpu_load_min"),
+                            resultSet.getDouble("cpu_load_max"),
+                            resultSet.getDouble("cpu_load_p95"),
+                            getDouble(resultSet, "heap_used_mb_min"),
+                            getDouble(resultSet, "heap_used_mb_max"),
+                            getDouble(resultSet, "heap_used_mb_p95")
+                    )
+            );
+        };
+    }
+
+    private static Double getDouble(ResultSet resultSet, String column) throws SQLException {
+        double value = resultSet.getDouble(column);
+        return resultSet.wasNull() ? null : value;
+    }
+}
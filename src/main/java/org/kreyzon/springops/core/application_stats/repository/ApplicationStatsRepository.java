@@ -9,13 +9,15 @@ import java.util.List;
 
 /**
  * Repository interface for managing application statistics.
- * This interface extends JpaRepository to provide CRUD operations
+ * This interface extends JpaRepository to provide CRUD operations,
+ * {@link ApplicationStatsBatchRepository} for bulk ingestion of samples
+ * and {@link ApplicationStatsBucketRepository} for bucketed queries.
  *
  * @author Lorenzo Orlando
  * @email orlandolorenzo@kreyzon.com
  */
 @Repository
-public interface ApplicationStatsRepository extends JpaRepository<ApplicationStats, Integer> {
+public interface ApplicationStatsRepository extends JpaRepository<ApplicationStats, Integer>, ApplicationStatsBatchRepository, ApplicationStatsBucketRepository {
 
     /**
      * Finds application statistics by application ID and timestamp range.
@@ -23,15 +25,7 @@ public interface ApplicationStatsRepository extends JpaRepository<ApplicationSta
      * @param applicationId the ID of the application
      * @param start the start of the timestamp range
      * @param end the end of the timestamp range
-     * @return a list of ApplicationStats entities matching the criteria
+     * @return a list of ApplicationStats entities matching the criteria, ordered by timestamp
      */
-    List<ApplicationStats> findByApplicationIdAndTimestampBetween(Integer applicationId, OffsetDateTime start, OffsetDateTime end);
-
-    /**
-     * Finds application statistics by cutoff date.
-     *
-     * @param cutoffDate the date before which statistics should be retrieved
-     * @return a list of ApplicationStats entities with timestamps before the cutoff date
-     */
-    List<ApplicationStats> findByTimestampBefore(OffsetDateTime cutoffDate);
+    List<ApplicationStats> findByApplicationIdAndTimestampBetweenOrderByTimestamp(Integer applicationId, OffsetDateTime start, OffsetDateTime end);
 }
\ No newline at end of file
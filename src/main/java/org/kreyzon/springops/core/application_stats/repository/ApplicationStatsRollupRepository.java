@@ -0,0 +1,102 @@
+package org.kreyzon.springops.core.application_stats.repository;
+
+import org.kreyzon.springops.core.application_stats.entity.ApplicationStatsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing application statistics rollups.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Repository
+public interface ApplicationStatsRollupRepository extends JpaRepository<ApplicationStatsRollup, Long> {
+
+    /**
+     * Finds the rollups of an application at a resolution within a bucket range, ordered by bucket.
+     *
+     * @param applicationId     the ID of the application
+     * @param resolutionSeconds the bucket width in seconds
+     * @param start             the start of the range, inclusive
+     * @param end               the end of the range, inclusive
+     * @return the rollups ordered by bucket start
+     */
+    List<ApplicationStatsRollup> findByApplicationIdAndResolutionSecondsAndBucketStartBetweenOrderByBucketStart(
+            Integer applicationId, Integer resolutionSeconds, OffsetDateTime start, OffsetDateTime end);
+
+    /**
+     * Finds the start of the latest bucket rolled up at a resolution.
+     *
+     * @param resolutionSeconds the bucket width in seconds
+     * @return the latest bucket start, or null if nothing has been rolled up yet
+     */
+    @Query("SELECT MAX(r.bucketStart) FROM ApplicationStatsRollup r WHERE r.resolutionSeconds = ?1")
+    OffsetDateTime findLatestBucketStart(Integer resolutionSeconds);
+
+    /**
+     * Aggregates the raw samples of a time range into buckets of the given width.
+     * Existing buckets are recomputed, so a bucket that received late samples is corrected on the next run.
+     *
+     * @param resolutionSeconds the bucket width in seconds
+     * @param from              the start of the range, inclusive and aligned to a bucket
+     * @param to                the end of the range, exclusive and aligned to a bucket
+     * @return the number of written buckets
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO application_stats_rollups (application_id, resolution_seconds, bucket_start, sample_count,
+                    memory_mb_min, memory_mb_avg, memory_mb_max, memory_mb_p95,
+                    cpu_load_min, cpu_load_avg, cpu_load_max, cpu_load_p95, avail_mem_mb_avg,
+                    heap_used_mb_min, heap_used_mb_avg, heap_used_mb_max, heap_used_mb_p95, heap_committed_mb_avg,
+                    gc_count_max, gc_time_ms_max, thread_count_max, loaded_classes_max)
+            SELECT s.application_id, :resolution,
+                   to_timestamp(floor(extract(epoch FROM s."timestamp") / :resolution) * :resolution),
+                   count(*),
+                   min(s.memory_mb), avg(s.memory_mb), max(s.memory_mb),
+                   percentile_cont(0.95) WITHIN GROUP (ORDER BY s.memory_mb),
+                   min(s.cpu_load), avg(s.cpu_load), max(s.cpu_load),
+                   percentile_cont(0.95) WITHIN GROUP (ORDER BY s.cpu_load),
+                   avg(s.avail_mem_mb),
+                   min(s.heap_used_mb), avg(s.heap_used_mb), max(s.heap_used_mb),
+                   percentile_cont(0.95) WITHIN GROUP (ORDER BY s.heap_used_mb),
+                   avg(s.heap_committed_mb),
+                   max(s.gc_count), max(s.gc_time_ms), max(s.thread_count), max(s.loaded_classes)
+            FROM application_stats s
+            WHERE s."timestamp" >= :from AND s."timestamp" < :to
+            GROUP BY s.application_id, 3
+            ON CONFLICT (application_id, resolution_seconds, bucket_start) DO UPDATE SET
+                    sample_count = EXCLUDED.sample_count,
+                    memory_mb_min = EXCLUDED.memory_mb_min, memory_mb_avg = EXCLUDED.memory_mb_avg,
+                    memory_mb_max = EXCLUDED.memory_mb_max, memory_mb_p95 = EXCLUDED.memory_mb_p95,
+                    cpu_load_min = EXCLUDED.cpu_load_min, cpu_load_avg = EXCLUDED.cpu_load_avg,
+                    cpu_load_max = EXCLUDED.cpu_load_max, cpu_load_p95 = EXCLUDED.cpu_load_p95,
+                    avail_mem_mb_avg = EXCLUDED.avail_mem_mb_avg,
+                    heap_used_mb_min = EXCLUDED.heap_used_mb_min, heap_used_mb_avg = EXCLUDED.heap_used_mb_avg,
+                    heap_used_mb_max = EXCLUDED.heap_used_mb_max, heap_used_mb_p95 = EXCLUDED.heap_used_mb_p95,
+                    heap_committed_mb_avg = EXCLUDED.heap_committed_mb_avg,
+                    gc_count_max = EXCLUDED.gc_count_max, gc_time_ms_max = EXCLUDED.gc_time_ms_max,
+                    thread_count_max = EXCLUDED.thread_count_max, loaded_classes_max = EXCLUDED.loaded_classes_max
+            """)
+    int rollUp(@Param("resolution") int resolutionSeconds, @Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    /**
+     * Deletes the rollups of a resolution older than a cutoff.
+     *
+     * @param resolutionSeconds the bucket width in seconds
+     * @param cutoff            buckets starting before this time are deleted
+     * @return the number of deleted rollups
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ApplicationStatsRollup r WHERE r.resolutionSeconds = ?1 AND r.bucketStart < ?2")
+    int deleteByResolutionSecondsAndBucketStartBefore(Integer resolutionSeconds, OffsetDateTime cutoff);
+}
@@ -3,19 +3,27 @@ package org.kreyzon.springops.core.application_stats.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsDto;
-import org.kreyzon.springops.core.application.entity.Application;
-import org.kreyzon.springops.core.application.service.ApplicationLookupService;
-import org.kreyzon.springops.core.application_stats.entity.ApplicationStats;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsSampleDto;
+import org.kreyzon.springops.common.enums.StatsResolution;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
 import org.kreyzon.springops.core.application_stats.repository.ApplicationStatsRepository;
+import org.kreyzon.springops.core.application_stats.repository.ApplicationStatsRollupRepository;
+import org.kreyzon.springops.core.partition_maintenance.service.PartitionMaintenanceService;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Service class for managing application statistics.
  * This class is responsible for handling business logic related to application statistics,
+ * including their rollup into one-minute, fifteen-minute and hourly tiers with per-tier retention.
  *
  * @author Lorenzo Orlando
  * @email orlandolorenzo@kreyzon.com
@@ -27,40 +35,34 @@ public class ApplicationStatsService {
 
     private final ApplicationStatsRepository applicationStatsRepository;
 
-    private final ApplicationLookupService applicationLookupService;
+    private final ApplicationStatsRollupRepository applicationStatsRollupRepository;
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    private final ApplicationConfig applicationConfig;
 
     /**
-     * Saves the application statistics for a given process ID and application ID.
+     * Saves the statistics samples of a scheduler tick as a single batch insert.
+     * All samples share the timestamp of the tick.
      *
-     * @param statsDto the DTO containing the statistics to save
-     * @param pid the process ID
-     * @param applicationId the ID of the application
-     * @param timestamp the timestamp of the statistics
-     * @return the saved ApplicationStatsDto
+     * @param samples   the samples to save
+     * @param timestamp the timestamp of the tick
+     * @return the number of saved samples
      */
-    public ApplicationStatsDto save(ApplicationStatsDto statsDto, Integer pid, Integer applicationId, String timestamp) {
-        log.debug("Saving application stats for PID {} of application {} at {}", pid, applicationId, timestamp);
-
-        Application application = applicationLookupService.findEntityById(applicationId);
-
-        ApplicationStats statsEntity = statsDto.toEntity(
-                application,
-                pid,
-                java.time.OffsetDateTime.parse(timestamp)
-        );
-
-        ApplicationStats savedStats = applicationStatsRepository.save(statsEntity);
-
-        return ApplicationStatsDto.fromEntity(savedStats);
+    public int saveAll(List<ApplicationStatsSampleDto> samples, OffsetDateTime timestamp) {
+        log.debug("Saving {} application stats samples at {}", samples.size(), timestamp);
+        return applicationStatsRepository.insertBatch(samples, timestamp);
     }
 
     /**
      * Retrieves application statistics for a given application ID over a time period.
+     * The statistics come from the finest tier whose retention still covers the start of the period:
+     * raw samples for recent periods, then one-minute, fifteen-minute and hourly rollups.
      *
      * @param applicationId the ID of the application
      * @param startTimestamp the start of the time period
      * @param endTimestamp the end of the time period
-     * @return a list of ApplicationStatsDto within the time period
+     * @return a list of ApplicationStatsDto within the time period, ordered by timestamp
      */
     public List<ApplicationStatsDto> getStatsOverTimePeriod(Integer applicationId, String startTimestamp, String endTimestamp) {
         log.info("Fetching application stats for application {} between {} and {}", applicationId, startTimestamp, endTimestamp);
@@ -68,32 +70,151 @@ public class ApplicationStatsService {
         OffsetDateTime start = OffsetDateTime.parse(startTimestamp);
         OffsetDateTime end = OffsetDateTime.parse(endTimestamp);
 
-        List<ApplicationStats> statsList = applicationStatsRepository.findByApplicationIdAndTimestampBetween(applicationId, start, end);
+        StatsResolution resolution = resolveResolution(start, OffsetDateTime.now(), 0);
+        log.debug("Reading application stats for application {} at resolution {}", applicationId, resolution);
 
-        return statsList.stream()
-                .map(ApplicationStatsDto::fromEntity)
+        if (resolution == StatsResolution.RAW) {
+            return applicationStatsRepository.findByApplicationIdAndTimestampBetweenOrderByTimestamp(applicationId, start, end).stream()
+                    .map(ApplicationStatsDto::fromEntity)
+                    .collect(Collectors.toList());
+        }
+        return applicationStatsRollupRepository.findByApplicationIdAndResolutionSecondsAndBucketStartBetweenOrderByBucketStart(
+                        applicationId, resolution.getSeconds(), floor(start, resolution.getSeconds()), end).stream()
+                .map(ApplicationStatsDto::fromRollup)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Deletes application statistics older than a specified number of days.
+     * Retrieves application statistics for a given application ID over a time period, aggregated into buckets.
+     * The bucket width is the requested step, widened so that at most {@code maxPoints} buckets are returned,
+     * and never above the configured maximum whatever the period. The buckets are computed in the database
+     * from the coarsest tier that is no coarser than the step and still covers the start of the period.
+     *
+     * @param applicationId  the ID of the application
+     * @param startTimestamp the start of the time period
+     * @param endTimestamp   the end of the time period
+     * @param step           the requested bucket width in seconds, may be null
+     * @param maxPoints      the maximum number of buckets, may be null for the configured maximum
+     * @return one ApplicationStatsDto per non-empty bucket, ordered by timestamp
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the period or the parameters are invalid
+     */
+    public List<ApplicationStatsDto> getBucketedStats(Integer applicationId, String startTimestamp, String endTimestamp,
+                                                      Integer step, Integer maxPoints) {
+        OffsetDateTime start = OffsetDateTime.parse(startTimestamp);
+        OffsetDateTime end = OffsetDateTime.parse(endTimestamp);
+        if (!start.isBefore(end)) {
+            throw new SpringOpsException("Start timestamp must be before end timestamp", HttpStatus.BAD_REQUEST);
+        }
+        if ((step != null && step <= 0) || (maxPoints != null && maxPoints <= 0)) {
+            throw new SpringOpsException("Step and maxPoints must be positive", HttpStatus.BAD_REQUEST);
+        }
+
+        int points = Math.min(maxPoints != null ? maxPoints : applicationConfig.getStatsMaxPoints(), applicationConfig.getStatsMaxPoints());
+        long rangeSeconds = Duration.between(start, end).toSeconds();
+        // Epoch-aligned buckets may straddle both ends of the period, hence one bucket of slack
+        long minStep = Math.max(1, -Math.floorDiv(-rangeSeconds, Math.max(1, points - 1)));
+        int bucketSeconds = (int) Math.min(Integer.MAX_VALUE, Math.max(step != null ? step : 0, minStep));
+
+        StatsResolution resolution = resolveResolution(start, OffsetDateTime.now(), bucketSeconds);
+        log.info("Fetching application stats for application {} between {} and {} in {}s buckets from {}",
+                applicationId, startTimestamp, endTimestamp, bucketSeconds, resolution);
+
+        if (resolution == StatsResolution.RAW) {
+            return applicationStatsRepository.findRawBuckets(applicationId, start, end, bucketSeconds);
+        }
+        // Buckets must hold whole rollups, so the step is rounded up to a multiple of the resolution
+        int seconds = resolution.getSeconds();
+        bucketSeconds = (int) Math.min(Integer.MAX_VALUE, -Math.floorDiv(-(long) bucketSeconds, seconds) * seconds);
+        return applicationStatsRepository.findRollupBuckets(applicationId, seconds, floor(start, seconds), end, bucketSeconds);
+    }
+
+    /**
+     * Rolls the raw samples up into every rollup tier.
+     * Each tier resumes from its latest bucket, which is recomputed to include late samples,
+     * and stops at the current bucket, which is still filling up.
      *
-     * @param days the number of days to keep; stats older than this will be deleted
-     * @return true if any records were deleted, false otherwise
+     * @return the number of written buckets
      */
-    public boolean deleteStatsOlderThanDays(int days) {
-        log.debug("Deleting application stats older than {} days", days);
+    public int rollUp() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime rawHorizon = now.minus(retentionOf(StatsResolution.RAW));
+        int written = 0;
+        for (StatsResolution resolution : StatsResolution.values()) {
+            if (resolution == StatsResolution.RAW) {
+                continue;
+            }
+            int seconds = resolution.getSeconds();
+            OffsetDateTime latest = applicationStatsRollupRepository.findLatestBucketStart(seconds);
+            OffsetDateTime from = floor(latest != null && latest.isAfter(rawHorizon) ? latest : rawHorizon, seconds);
+            OffsetDateTime to = floor(now, seconds);
+            if (from.isBefore(to)) {
+                written += applicationStatsRollupRepository.rollUp(seconds, from, to);
+            }
+        }
+        log.debug("Rolled up {} application stats buckets", written);
+        return written;
+    }
 
-        OffsetDateTime cutoffDate = OffsetDateTime.now().minusDays(days);
-        List<ApplicationStats> oldStats = applicationStatsRepository.findByTimestampBefore(cutoffDate);
+    /**
+     * Deletes the raw samples and rollups that are past the retention of their tier.
+     * Raw samples are dropped a daily partition at a time, once the whole day is past the retention.
+     *
+     * @return the number of dropped raw partitions and deleted rollups
+     */
+    public int deleteExpiredStats() {
+        OffsetDateTime now = OffsetDateTime.now();
+        int deleted = partitionMaintenanceService.dropPartitionsOlderThan(PartitionMaintenanceService.APPLICATION_STATS,
+                now.minus(retentionOf(StatsResolution.RAW)).atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+        for (StatsResolution resolution : StatsResolution.values()) {
+            if (resolution != StatsResolution.RAW) {
+                deleted += applicationStatsRollupRepository.deleteByResolutionSecondsAndBucketStartBefore(
+                        resolution.getSeconds(), now.minus(retentionOf(resolution)));
+            }
+        }
+        log.info("Deleted {} expired application stats partitions and rollups.", deleted);
+        return deleted;
+    }
 
-        if (oldStats.isEmpty()) {
-            log.info("No old stats found to delete.");
-            return false;
+    /**
+     * Resolves the tier to read a period from: the coarsest tier no coarser than the requested bucket width
+     * that still holds data at the start of the period, or else the finest tier holding data there.
+     *
+     * @param start         the start of the period
+     * @param now           the current time
+     * @param bucketSeconds the requested bucket width in seconds, 0 for the finest available data
+     * @return the tier to read from, the coarsest one if the period starts before every retention
+     */
+    private StatsResolution resolveResolution(OffsetDateTime start, OffsetDateTime now, int bucketSeconds) {
+        StatsResolution resolved = null;
+        for (StatsResolution resolution : StatsResolution.values()) {
+            if (start.isBefore(now.minus(retentionOf(resolution)))) {
+                continue;
+            }
+            if (resolved == null || resolution.getSeconds() <= bucketSeconds) {
+                resolved = resolution;
+            }
         }
+        return resolved != null ? resolved : StatsResolution.HOUR;
+    }
 
-        applicationStatsRepository.deleteAll(oldStats);
-        log.info("Deleted {} old application stats records.", oldStats.size());
-        return true;
+    private Duration retentionOf(StatsResolution resolution) {
+        return switch (resolution) {
+            case RAW -> Duration.ofHours(applicationConfig.getStatsRawRetentionHours());
+            case MINUTE -> Duration.ofDays(applicationConfig.getStatsMinuteRetentionDays());
+            case FIFTEEN_MINUTES -> Duration.ofDays(applicationConfig.getStatsFifteenMinutesRetentionDays());
+            case HOUR -> Duration.ofDays(applicationConfig.getStatsHourRetentionDays());
+        };
+    }
+
+    /**
+     * Aligns a time to the start of its bucket.
+     *
+     * @param time    the time to align
+     * @param seconds the bucket width in seconds
+     * @return the start of the bucket holding the time, in UTC
+     */
+    private static OffsetDateTime floor(OffsetDateTime time, int seconds) {
+        long epochSecond = Math.floorDiv(time.toEpochSecond(), seconds) * seconds;
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
     }
 }
@@ -0,0 +1,190 @@
+package org.kreyzon.springops.core.build_cache.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.dto.deployment.DeploymentContextDto;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Service for the content-addressed build artifact cache.
+ * Built jars are stored per application under a key derived from the commit, the Java and Maven
+ * toolchains and the build arguments, so an unchanged commit never has to be rebuilt. Each entry records
+ * the jar the build selected, so a cache hit deploys the same jar as the build it replaces, never a
+ * {@code -sources} or {@code -plain} jar built next to it.
+ * <p>
+ * Cache failures are never fatal: any I/O error is logged and treated as a cache miss.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BuildCacheService {
+
+    /**
+     * Name of the marker file written once a cache entry is complete, holding the name of the selected jar.
+     */
+    private static final String COMPLETE_MARKER = ".complete";
+
+    private final ApplicationConfig applicationConfig;
+
+    /**
+     * Computes the cache key for a build.
+     *
+     * @param commitSha the SHA of the commit being built
+     * @param context   the deployment context holding the Java and Maven system versions
+     * @param buildArgs the arguments the build is run with
+     * @return the hex-encoded SHA-256 cache key
+     */
+    public String computeKey(String commitSha, DeploymentContextDto context, List<String> buildArgs) {
+        String material = String.join("\n",
+                commitSha,
+                context.javaVersion().getVersion(),
+                context.javaVersion().getPath(),
+                context.mavenVersion().getVersion(),
+                context.mavenVersion().getPath(),
+                String.join(" ", buildArgs));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Restores cached jars into the project's target directory.
+     *
+     * @param cachePath  the application's build cache directory
+     * @param key        the cache key
+     * @param targetPath the directory to copy the jars into
+     * @return the name of the jar selected by the cached build, or empty on a cache miss
+     */
+    public Optional<String> restore(String cachePath, String key, Path targetPath) {
+        Path entry = Paths.get(cachePath, key);
+        Path marker = entry.resolve(COMPLETE_MARKER);
+        if (!Files.exists(marker)) {
+            log.info("Build cache miss for key {}", key);
+            return Optional.empty();
+        }
+
+        try {
+            String selectedJar = Files.readString(marker, StandardCharsets.UTF_8).trim();
+            if (selectedJar.isEmpty() || !Files.isRegularFile(entry.resolve(selectedJar))) {
+                // Entries stored before the selected jar was recorded cannot tell which jar to deploy
+                log.info("Build cache entry {} does not record its selected jar, treating it as a miss", key);
+                return Optional.empty();
+            }
+            Files.createDirectories(targetPath);
+            List<String> jars = new ArrayList<>();
+            for (Path jar : listJars(entry)) {
+                Files.copy(jar, targetPath.resolve(jar.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                jars.add(jar.getFileName().toString());
+            }
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            log.info("Build cache hit for key {}, restored {} and selected {}", key, jars, selectedJar);
+            return Optional.of(selectedJar);
+        } catch (IOException e) {
+            log.warn("Failed to restore build cache entry {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the jars of a successful build in the cache and evicts the least recently used entries.
+     *
+     * @param cachePath   the application's build cache directory
+     * @param key         the cache key
+     * @param targetPath  the directory containing the built jars
+     * @param selectedJar the name of the jar the build selected for deployment
+     */
+    public void store(String cachePath, String key, Path targetPath, String selectedJar) {
+        Path cacheRoot = Paths.get(cachePath);
+        Path entry = cacheRoot.resolve(key);
+        Path staging = cacheRoot.resolve(key + ".tmp");
+
+        try {
+            List<Path> jars = listJars(targetPath);
+            if (jars.isEmpty()) {
+                log.warn("No jars found in {}, nothing to cache", targetPath);
+                return;
+            }
+
+            deleteRecursively(staging);
+            Files.createDirectories(staging);
+            for (Path jar : jars) {
+                Files.copy(jar, staging.resolve(jar.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(staging.resolve(COMPLETE_MARKER), selectedJar, StandardCharsets.UTF_8);
+
+            deleteRecursively(entry);
+            Files.move(staging, entry, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Stored build artifacts in cache under key {}", key);
+
+            evict(cacheRoot);
+        } catch (IOException e) {
+            log.warn("Failed to store build cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the least recently used cache entries beyond the configured maximum.
+     *
+     * @param cacheRoot the application's build cache directory
+     * @throws IOException if the cache directory cannot be listed
+     */
+    private void evict(Path cacheRoot) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> stream = Files.list(cacheRoot)) {
+            entries = stream
+                    .filter(Files::isDirectory)
+                    .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparingLong((Path path) -> path.toFile().lastModified()).reversed())
+                    .toList();
+        }
+
+        for (int i = applicationConfig.getBuildCacheMaxEntries(); i < entries.size(); i++) {
+            log.info("Evicting build cache entry {}", entries.get(i).getFileName());
+            deleteRecursively(entries.get(i));
+        }
+    }
+
+    private List<Path> listJars(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(".jar"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            for (Path file : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -3,15 +3,15 @@ package org.kreyzon.springops.core.deployment.controller;
 import lombok.RequiredArgsConstructor;
 import org.kreyzon.springops.common.dto.deployment.DeploymentDto;
 import org.kreyzon.springops.core.deployment.service.DeploymentService;
-import org.springframework.core.io.ByteArrayResource;
+import org.kreyzon.springops.core.file_download.service.FileDownloadService;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -30,6 +30,8 @@ public class DeploymentController {
 
     private final DeploymentService deploymentService;
 
+    private final FileDownloadService fileDownloadService;
+
     /**
      * Retrieves a deployment by its ID.
      *
@@ -106,20 +108,17 @@ public class DeploymentController {
 
     /**
      * Downloads a log file for a deployment.
+     * The file is sent without copying it through the heap, gzip-encoded for clients accepting it,
+     * and HTTP {@code Range} and conditional requests are honored.
      *
      * @param filename the name of the log file to download
-     * @return a ResponseEntity containing the log file as a ByteArrayResource
+     * @param request  the current request
+     * @return a ResponseEntity streaming the log file
      */
     @GetMapping("/logs")
-    public ResponseEntity<ByteArrayResource> downloadLog(@RequestParam String filename) {
-        byte[] content = deploymentService.downloadLogFile(filename);
-        ByteArrayResource resource = new ByteArrayResource(content);
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + Paths.get(filename).getFileName())
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(content.length)
-                .body(resource);
+    public ResponseEntity<?> downloadLog(@RequestParam String filename, ServletWebRequest request) {
+        Path path = deploymentService.downloadLogFile(filename);
+        return fileDownloadService.download(path, MediaType.APPLICATION_OCTET_STREAM, request);
     }
 
     /**
@@ -2,16 +2,15 @@ package org.kreyzon.springops.core.deployment.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.jgit.api.errors.GitAPIException;
-import org.kreyzon.springops.common.dto.deployment.CommandResultDto;
-import org.kreyzon.springops.common.dto.deployment.DeploymentResultDto;
 import org.kreyzon.springops.common.dto.deployment.DeploymentStatusDto;
+import org.kreyzon.springops.common.dto.deployment_job.DeploymentJobDto;
 import org.kreyzon.springops.common.enums.DeploymentType;
 import org.kreyzon.springops.core.deployment.service.DeploymentManagerService;
+import org.kreyzon.springops.core.deployment_job.service.DeploymentJobService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -22,6 +21,8 @@ public class DeploymentManagerController {
 
     private final DeploymentManagerService deploymentManagerService;
 
+    private final DeploymentJobService deploymentJobService;
+
     /**
      * Endpoint to get the current deployment status of an application.
      *
@@ -49,17 +50,23 @@ public class DeploymentManagerController {
 
     /**
      * Endpoint to trigger deployment operations.
+     * The deployment is queued as a job and runs asynchronously; poll {@code /deployment-jobs/{jobId}} for its state.
      *
      * @param applicationId the ID of the application to deploy
      * @param branchName the branch name to use for the update operation
-     * @return ResponseEntity indicating the status of the deployment
+     * @param commitSha the commit of the deployment to roll back to, checked out instead of the tip of the branch
+     * @param blueGreen whether to start the new version next to the running one and switch over once it is ready
+     * @return ResponseEntity containing the queued deployment job
      */
     @PostMapping("/deploy")
-    public ResponseEntity<List<CommandResultDto>> deployApplication(
+    public ResponseEntity<DeploymentJobDto> deployApplication(
             @RequestParam Integer applicationId,
             @RequestParam String branchName,
             @RequestParam DeploymentType deployType,
-            @RequestParam(required = false) Integer port) throws GitAPIException {
-        return ResponseEntity.ok(deploymentManagerService.manageDeployment(applicationId, branchName, deployType, port));
+            @RequestParam(required = false) String commitSha,
+            @RequestParam(required = false) Integer port,
+            @RequestParam(defaultValue = "false") boolean blueGreen) {
+        DeploymentJobDto job = deploymentJobService.submit(applicationId, branchName, deployType, commitSha, port, blueGreen);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
     }
 }
\ No newline at end of file
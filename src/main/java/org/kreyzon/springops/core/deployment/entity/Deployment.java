@@ -62,6 +62,9 @@ public class Deployment {
     @Column(name = "branch")
     private String branch;
 
+    @Column(name = "commit_sha", length = 40)
+    private String commitSha;
+
     @Column(name = "logs_path")
     private String logsPath;
 
@@ -70,4 +73,19 @@ public class Deployment {
 
     @Column(name = "time_taken")
     private Integer timeTaken;
+
+    @Column(name = "time_to_ready_ms")
+    private Integer timeToReadyMs;
+
+    @Column(name = "port")
+    private Integer port;
+
+    @Column(name = "previous_pid")
+    private Integer previousPid;
+
+    @Column(name = "previous_port")
+    private Integer previousPort;
+
+    @Column(name = "stopped_at")
+    private Instant stoppedAt;
 }
\ No newline at end of file
@@ -5,9 +5,12 @@ import org.kreyzon.springops.core.application.entity.Application;
 import org.kreyzon.springops.core.deployment.entity.Deployment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,4 +58,19 @@ public interface DeploymentRepository extends JpaRepository<Deployment, Integer>
      */
     @Query("SELECT d FROM Deployment d WHERE d.status = ?1")
     List<Deployment> findByStatus(DeploymentStatus deploymentStatus);
-}
\ No newline at end of file
+
+    /**
+     * Records the exit of a deployment's process: sets the exit time and moves a RUNNING deployment to STOPPED.
+     * Deployments whose exit time is already set are left untouched.
+     *
+     * @param deploymentId the ID of the deployment
+     * @param stoppedAt    the time the process exited
+     * @return the number of updated deployments
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Deployment d SET d.stoppedAt = ?2, d.status = CASE WHEN d.status = org.kreyzon.springops.common.enums.DeploymentStatus.RUNNING " +
+            "THEN org.kreyzon.springops.common.enums.DeploymentStatus.STOPPED ELSE d.status END " +
+            "WHERE d.id = ?1 AND d.stoppedAt IS NULL")
+    int markStopped(Integer deploymentId, Instant stoppedAt);
+}
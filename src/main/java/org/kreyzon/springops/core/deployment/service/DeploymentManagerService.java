@@ -1,16 +1,16 @@
 package org.kreyzon.springops.core.deployment.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.kreyzon.springops.common.dto.deployment.*;
 import org.kreyzon.springops.common.dto.application_env.ApplicationEnvDto;
+import org.kreyzon.springops.common.dto.readiness.ReadinessProbeDto;
+import org.kreyzon.springops.common.dto.readiness.ReadinessResultDto;
 import org.kreyzon.springops.common.enums.DeploymentStatus;
 import org.kreyzon.springops.common.enums.DeploymentType;
 import org.kreyzon.springops.common.exception.SpringOpsException;
-import org.kreyzon.springops.common.utils.DeploymentUtils;
 import org.kreyzon.springops.common.utils.EncryptionUtils;
 import org.kreyzon.springops.common.utils.GitUtils;
 import org.kreyzon.springops.common.utils.PortUtils;
@@ -19,8 +19,18 @@ import org.kreyzon.springops.config.annotations.Audit;
 import org.kreyzon.springops.core.application.entity.Application;
 import org.kreyzon.springops.core.application.service.ApplicationLookupService;
 import org.kreyzon.springops.core.application_env.service.ApplicationEnvService;
+import org.kreyzon.springops.core.build_cache.service.BuildCacheService;
 import org.kreyzon.springops.core.deployment.entity.Deployment;
+import org.kreyzon.springops.core.deployment_job.service.DeploymentJobOutputService;
+import org.kreyzon.springops.core.deployment_lock.service.DeploymentLockService;
+import org.kreyzon.springops.core.logs.service.LogRotationService;
+import org.kreyzon.springops.core.maven_repository.service.MavenRepositoryService;
 import org.kreyzon.springops.core.os_info.service.OsInfoService;
+import org.kreyzon.springops.core.port_inspector.service.PortInspectorService;
+import org.kreyzon.springops.core.process_liveness.service.ProcessLivenessService;
+import org.kreyzon.springops.core.process_supervisor.service.ProcessSupervisorService;
+import org.kreyzon.springops.core.readiness.service.ReadinessService;
+import org.kreyzon.springops.core.script_registry.service.ScriptRegistryService;
 import org.kreyzon.springops.setup.domain.Setup;
 import org.kreyzon.springops.setup.service.SetupService;
 import org.springframework.http.HttpStatus;
@@ -28,14 +38,24 @@ import org.springframework.stereotype.Service;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing deployments of applications.
@@ -56,6 +76,26 @@ public class DeploymentManagerService {
     private final ApplicationEnvService applicationEnvService;
     private final DeploymentService deploymentService;
     private final OsInfoService osInfoService;
+    private final DeploymentJobOutputService deploymentJobOutputService;
+    private final BuildCacheService buildCacheService;
+    private final MavenRepositoryService mavenRepositoryService;
+    private final ScriptRegistryService scriptRegistryService;
+    private final ReadinessService readinessService;
+    private final DeploymentLockService deploymentLockService;
+    private final ProcessLivenessService processLivenessService;
+    private final PortInspectorService portInspectorService;
+    private final ProcessSupervisorService processSupervisorService;
+    private final LogRotationService logRotationService;
+
+    /**
+     * Prefix of the line carrying the JSON result of a deployment script.
+     */
+    private static final String RESULT_PREFIX = "springops-result=";
+
+    /**
+     * Number of trailing output lines kept to report scripts that exit without a result line.
+     */
+    private static final int MAX_OUTPUT_TAIL_LINES = 200;
 
     /**
      * Retrieves the deployment status of the latest deployment for a given application.
@@ -81,11 +121,11 @@ public class DeploymentManagerService {
 
         Integer pid = latestDeployment.getPid();
         boolean isRunning = latestDeployment.getStatus().equals(DeploymentStatus.RUNNING)
-                && DeploymentUtils.isPidRunning(pid);
+                && processLivenessService.isAlive(pid);
 
         statusDto.setIsRunning(isRunning);
         if (isRunning) {
-            String ports = DeploymentUtils.getListeningPorts(osInfoService.determineOsType(), pid);
+            String ports = portInspectorService.getListeningPorts(osInfoService.determineOsType(), pid);
             statusDto.setPort(ports);
             statusDto.setPid(pid.toString());
         } else {
@@ -96,9 +136,12 @@ public class DeploymentManagerService {
 
     /**
      * Kills the deployment process with the given PID.
+     * The kill holds the application's deployment lock, so it cannot interleave with a deployment.
      *
      * @param pid the process ID of the deployment to kill
      * @return true if the process was successfully killed, false otherwise
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if no deployment has the given PID
+     * @throws SpringOpsException with {@link HttpStatus#CONFLICT} if a deployment of the application is in progress
      */
     @Audit
     public boolean killDeploymentProcess(Integer pid) {
@@ -106,7 +149,20 @@ public class DeploymentManagerService {
             log.warn("PID is null, nothing to kill.");
             return false;
         }
-        if (!DeploymentUtils.isPidRunning(pid)) {
+        Integer applicationId = deploymentService.findByPid(pid).getApplication().getId();
+        try (DeploymentLockService.Lease ignored = deploymentLockService.acquire(applicationId, "kill")) {
+            return killProcess(pid);
+        }
+    }
+
+    /**
+     * Kills a deployment process and marks its deployment as stopped.
+     *
+     * @param pid the process ID of the deployment to kill
+     * @return true if the process was successfully killed, false otherwise
+     */
+    private boolean killProcess(Integer pid) {
+        if (!processLivenessService.isAliveNow(pid)) {
             log.info("Process with PID {} is not running.", pid);
             return false;
         }
@@ -116,8 +172,12 @@ public class DeploymentManagerService {
             int exitCode = killProcess.waitFor();
             if (exitCode == 0) {
                 log.info("Successfully killed process with PID {}", pid);
+                processLivenessService.markStopped(pid);
                 Deployment deployment = deploymentService.findByPid(pid);
                 deployment.setStatus(DeploymentStatus.STOPPED);
+                if (deployment.getStoppedAt() == null) {
+                    deployment.setStoppedAt(Instant.now());
+                }
                 deploymentService.update(DeploymentDto.fromEntity(deployment));
                 return true;
             } else {
@@ -132,24 +192,51 @@ public class DeploymentManagerService {
 
     /**
      * Manages the deployment of an application by updating the project, building it, and running it.
+     * This method is intentionally not transactional: it runs for minutes on the deployment executor
+     * and must not hold a database connection while cloning, building and launching.
+     * In blue/green mode the new version is built and started on a spare port while the running
+     * instance keeps serving; the old instance is only stopped once the new one has passed readiness.
+     * The whole deployment, rollbacks included, holds the application's deployment lock.
+     * A rollback given the commit SHA of an earlier deployment checks out that commit, because the
+     * recorded branch may have moved since.
      *
      * @param applicationId the ID of the application to deploy
      * @param branchName    the name of the branch to deploy
+     * @param commitSha     the commit to check out instead of the tip of the branch, may be null
+     * @param blueGreen     whether to deploy next to the running instance instead of requiring it to be stopped
+     * @param jobId         the ID of the deployment job whose output channel receives the script output, may be null
      * @throws SpringOpsException if the deployment process fails due to:
-     *  *         - The application is already running ({@link HttpStatus#CONFLICT}).
+     *  *         - Another deploy, rollback or kill of the application is in progress ({@link HttpStatus#CONFLICT}).
+     *  *         - The application is already running and blue/green is not requested ({@link HttpStatus#CONFLICT}).
+     *  *         - Blue/green is requested without an alternate port for the application ({@link HttpStatus#BAD_REQUEST}).
      *  *         - Missing Maven or Java system versions ({@link HttpStatus#BAD_REQUEST}).
      *  *         - Missing Git token configuration ({@link HttpStatus#BAD_REQUEST}).
      *  *         - Error decrypting environment variables ({@link HttpStatus#INTERNAL_SERVER_ERROR}).
      * @return a DeploymentResultDto containing the results of the deployment process
      */
     @Audit
-    @Transactional
-    public List<CommandResultDto> manageDeployment(Integer applicationId, String branchName, DeploymentType deploymentType, Integer port) throws GitAPIException {
-        log.info("Starting deployment for application ID: {}, branch: {}, deployment type: {}, port: {}", applicationId, branchName, deploymentType, port);
+    public List<CommandResultDto> manageDeployment(Integer applicationId, String branchName, DeploymentType deploymentType, String commitSha, Integer port, boolean blueGreen, UUID jobId) throws GitAPIException {
+        log.info("Starting deployment for application ID: {}, branch: {}, commit: {}, deployment type: {}, port: {}, blue/green: {}", applicationId, branchName, commitSha, deploymentType, port, blueGreen);
 
-        Application application = validateAndPrepareDeployment(applicationId);
+        try (DeploymentLockService.Lease ignored = deploymentLockService.acquire(applicationId, deploymentType == DeploymentType.ROLLBACK ? "rollback" : "deploy")) {
+            return deploy(applicationId, branchName, deploymentType, commitSha, port, blueGreen, jobId);
+        }
+    }
+
+    /**
+     * Runs a deployment while the application's deployment lock is held.
+     *
+     * @see #manageDeployment(Integer, String, DeploymentType, String, Integer, boolean, UUID)
+     */
+    private List<CommandResultDto> deploy(Integer applicationId, String branchName, DeploymentType deploymentType, String commitSha, Integer port, boolean blueGreen, UUID jobId) throws GitAPIException {
+        Application application = validateAndPrepareDeployment(applicationId, blueGreen);
         logDeploymentStart(application, branchName);
 
+        RunningInstanceDto activeInstance = blueGreen ? findActiveInstance(application) : null;
+        if (blueGreen && activeInstance == null) {
+            log.info("Application ID {} is not running, blue/green deployment proceeds as a regular deployment", applicationId);
+        }
+
         Set<Application> dependencies = application.getDependencies();
         List<DeploymentDto> runningDeployments = deploymentService.findActiveRunningDeployments();
 
@@ -168,7 +255,11 @@ public class DeploymentManagerService {
 
         long startTime = System.currentTimeMillis();
 
-        Integer portForDeployment = port != null ? port : application.getPort();
+        Integer portForDeployment = port != null ? port : resolveDeploymentPort(application, activeInstance);
+        if (activeInstance != null && portForDeployment.equals(activeInstance.port())) {
+            log.warn("Blue/green deployment of application ID {} requested on the port of the running instance {}", applicationId, portForDeployment);
+            throw new SpringOpsException("Blue/green deployment requires a port different from the running instance", HttpStatus.CONFLICT);
+        }
 
         if (applicationLookupService.isPortAlreadyInUseByOtherApplications(portForDeployment)) {
             log.warn("Another deployment is already running on port {}", portForDeployment);
@@ -182,6 +273,8 @@ public class DeploymentManagerService {
 
         if (GitUtils.branchExists(application.getGitProjectHttpsUrl(), branchName, applicationConfig.getGitToken())) {
             log.info("Branch {} exists in the repository, proceeding with deployment.", branchName);
+        } else if (commitSha != null) {
+            log.info("Branch {} no longer exists in the repository, deploying commit {} from the mirror.", branchName, commitSha);
         } else {
             log.error("Branch {} does not exist in the repository, aborting deployment.", branchName);
             throw new SpringOpsException("Branch does not exist in the repository", HttpStatus.BAD_REQUEST);
@@ -189,7 +282,7 @@ public class DeploymentManagerService {
 
         DeploymentResultDto deploymentResult = new DeploymentResultDto();
         try {
-            DeploymentContextDto context = prepareDeploymentContext(application, branchName, deploymentType, portForDeployment);
+            DeploymentContextDto context = prepareDeploymentContext(application, branchName, commitSha, deploymentType, portForDeployment, jobId);
 
             List<CommandResultDto> commandResultDtos = executeDeploymentSteps(application, context, deploymentResult);
 
@@ -204,9 +297,11 @@ public class DeploymentManagerService {
             String jarName = commandResultDtos.get(1).getData().get(0).toString();
             Integer pid = commandResultDtos.get(2).getData().get(0) != null ? Integer.parseInt(commandResultDtos.get(2).getData().get(1).toString()) : null;
             String branch = commandResultDtos.get(0).getData().get(0) != null ? commandResultDtos.get(0).getData().get(0).toString() : "unknown";
+            String deployedCommitSha = extractCommitSha(commandResultDtos.get(0));
+            Integer timeToReadyMs = commandResultDtos.get(3).getData() != null ? Integer.parseInt(commandResultDtos.get(3).getData().get(0).toString()) : null;
             long endTime = System.currentTimeMillis();
             long timeTaken = (endTime - startTime) / 1000; // Convert milliseconds to seconds
-            handleSuccessfulDeployment(applicationId, status.get(), jarName, pid, branch, deploymentType, commandResultDtos, (int) timeTaken);
+            handleSuccessfulDeployment(applicationId, status.get(), jarName, pid, portForDeployment, branch, deployedCommitSha, deploymentType, commandResultDtos, (int) timeTaken, timeToReadyMs, activeInstance, jobId);
             return commandResultDtos;
         } catch (SpringOpsException e) {
             throw e; // Re-throw known exceptions
@@ -218,16 +313,17 @@ public class DeploymentManagerService {
 
     /**
      * Validates the application and prepares it for deployment.
-     * Checks if the application is already running and validates system versions.
+     * Checks if the application is already running, unless a blue/green deployment is requested, and validates system versions.
      *
      * @param applicationId the ID of the application to validate
+     * @param blueGreen     whether the application may keep running during the deployment
      * @return the validated Application entity
      * @throws SpringOpsException if the application is already running or if system versions are not set
      */
-    private Application validateAndPrepareDeployment(Integer applicationId) {
-        Application application = applicationLookupService.findEntityById(applicationId);
+    private Application validateAndPrepareDeployment(Integer applicationId, boolean blueGreen) {
+        Application application = applicationLookupService.findEntityWithDependenciesById(applicationId);
 
-        if (getDeploymentStatus(applicationId).getIsRunning()) {
+        if (!blueGreen && getDeploymentStatus(applicationId).getIsRunning()) {
             log.warn("Application ID {} is already running. Deployment aborted.", applicationId);
             throw new SpringOpsException("Application is already running. Please stop it before redeploying.", HttpStatus.CONFLICT);
         }
@@ -254,6 +350,47 @@ public class DeploymentManagerService {
         }
     }
 
+    /**
+     * Finds the instance currently serving an application.
+     *
+     * @param application the Application entity
+     * @return the running instance, or null if the application is not running
+     */
+    private RunningInstanceDto findActiveInstance(Application application) {
+        List<Deployment> deployments = deploymentService.findByApplicationId(application.getId());
+        if (deployments.isEmpty()) {
+            return null;
+        }
+        Deployment latestDeployment = deployments.get(deployments.size() - 1);
+        if (!processLivenessService.isAliveNow(latestDeployment.getPid())) {
+            return null;
+        }
+        // Deployments recorded before ports were tracked always ran on the application port
+        Integer port = latestDeployment.getPort() != null ? latestDeployment.getPort() : application.getPort();
+        return new RunningInstanceDto(latestDeployment.getPid(), port);
+    }
+
+    /**
+     * Resolves the port of a new deployment.
+     * Blue/green deployments alternate between the application port and its alternate port,
+     * always picking the one the running instance is not using.
+     *
+     * @param application    the Application entity being deployed
+     * @param activeInstance the running instance to replace, or null for a regular deployment
+     * @return the port to deploy on
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if no alternate port is configured
+     */
+    private Integer resolveDeploymentPort(Application application, RunningInstanceDto activeInstance) {
+        if (activeInstance == null || !activeInstance.port().equals(application.getPort())) {
+            return application.getPort();
+        }
+        if (application.getAlternatePort() == null) {
+            log.error("Application ID {} has no alternate port configured for blue/green deployments", application.getId());
+            throw new SpringOpsException("An alternate port must be configured for blue/green deployments", HttpStatus.BAD_REQUEST);
+        }
+        return application.getAlternatePort();
+    }
+
     /**
      * Logs the start of the deployment process for an application.
      *
@@ -277,45 +414,84 @@ public class DeploymentManagerService {
      *
      * @param application the Application entity to prepare
      * @param branchName  the name of the branch to deploy
+     * @param commitSha   the commit to check out instead of the tip of the branch, may be null
      * @param port        the port to use for deployment
+     * @param jobId       the ID of the deployment job, may be null
      * @return a DeploymentContextDto containing the prepared context
      */
-    private DeploymentContextDto prepareDeploymentContext(Application application, String branchName, DeploymentType deploymentType, Integer port) {
+    private DeploymentContextDto prepareDeploymentContext(Application application, String branchName, String commitSha, DeploymentType deploymentType, Integer port, UUID jobId) {
         log.info("Preparing deployment context for application ID: {}, branch: {}", application.getId(), branchName);
         Setup setup = setupService.getSetup();
         String gitToken = validateAndGetGitToken();
 
-        String repositoryUrl;
-        if (application.getGitProjectSshUrl() != null && !application.getGitProjectSshUrl().isBlank()) {
-            repositoryUrl = application.getGitProjectSshUrl(); // use SSH
-        } else {
-            repositoryUrl = application.getGitProjectHttpsUrl().replace("https://", "https://" + gitToken + "@"); // fallback to HTTPS
-        }
+        String repositoryUrl = GitUtils.resolveCloneUrl(application.getGitProjectSshUrl(), application.getGitProjectHttpsUrl(), gitToken);
 
         log.info("Using repository URL: {}", repositoryUrl);
 
-        String sourcePath = Paths.get(
+        Path applicationPath = Paths.get(
                 setup.getFilesRoot(),
                 applicationConfig.getRootDirectoryName(),
                 applicationConfig.getDirectoryApplications(),
-                application.getName().trim().toLowerCase().replaceAll("\\s+", "-"),
-                applicationConfig.getDirectorySource()
-        ).toString();
+                application.getName().trim().toLowerCase().replaceAll("\\s+", "-")
+        );
+        String sourcePath = applicationPath.resolve(resolveSourceDirectory(application, port)).toString();
+        String mirrorPath = applicationPath.resolve(applicationConfig.getDirectoryMirror()).toString();
+        String buildCachePath = applicationPath.resolve(applicationConfig.getDirectoryBuildCache()).toString();
+        String logPath = applicationPath.resolve("logs").resolve(resolveLogFileName(application, port)).toString();
 
         return new DeploymentContextDto(
                 repositoryUrl,
                 sourcePath,
+                mirrorPath,
+                buildCachePath,
+                logPath,
                 application.getJavaSystemVersion(),
                 application.getMvnSystemVersion(),
+                mavenRepositoryService.resolveRepositoryPath(application.getMvnSystemVersion()),
+                mavenRepositoryService.buildOptions(application),
                 branchName,
+                commitSha,
                 deploymentType,
                 prepareEnvironmentVariables(application.getId()),
                 port,
                 application.getJavaMinimumMemory() != null ? application.getJavaMinimumMemory() : "512m",
-                application.getJavaMaximumMemory() != null ? application.getJavaMaximumMemory() : "1024m"
+                application.getJavaMaximumMemory() != null ? application.getJavaMaximumMemory() : "1024m",
+                jobId
         );
     }
 
+    /**
+     * Resolves the worktree directory for a deployment port.
+     * Every port other than the application port gets its own worktree, so building a blue/green
+     * deployment never touches the files of the instance that is still serving.
+     *
+     * @param application the Application entity being deployed
+     * @param port        the port of the deployment
+     * @return the name of the source directory
+     */
+    private String resolveSourceDirectory(Application application, Integer port) {
+        if (port.equals(application.getPort())) {
+            return applicationConfig.getDirectorySource();
+        }
+        return applicationConfig.getDirectorySource() + "-" + port;
+    }
+
+    /**
+     * Resolves the output log file name for a deployment port.
+     * Like worktrees, every port other than the application port gets its own log, so the instance
+     * started by a blue/green deployment never truncates or rotates the log of the instance still serving.
+     *
+     * @param application the Application entity being deployed
+     * @param port        the port of the deployment
+     * @return the name of the output log file
+     */
+    private String resolveLogFileName(Application application, Integer port) {
+        if (port.equals(application.getPort())) {
+            return LogRotationService.APPLICATION_LOG;
+        }
+        return LogRotationService.applicationLogName(port);
+    }
+
     /**
      * Validates the Git token configuration and retrieves the token.
      *
@@ -368,7 +544,7 @@ public class DeploymentManagerService {
 
     /**
      * Executes the deployment steps for the application.
-     * This includes updating the project, building it, and running the application.
+     * This includes updating the project, building it, running the application and waiting for it to become ready.
      *
      * @param application the Application entity being deployed
      * @param context     the DeploymentContextDto containing the deployment context
@@ -379,15 +555,20 @@ public class DeploymentManagerService {
         log.info("Executing deployment steps for application ID: {}", application.getId());
 
         CommandResultDto updateResult = updateProject(application, context, result);
-        CommandResultDto buildResult = buildProject(application, context, result);
+        String commitSha = extractCommitSha(updateResult);
+        CommandResultDto buildResult = buildProject(application, context, result, commitSha);
         result.setBuiltJar(buildResult.getData().get(0).toString());
+        long logOffset = rotateOutputLog(context);
         CommandResultDto runResult = runProject(context, result);
+        CommandResultDto readinessResult = awaitReadiness(application, context, runResult, logOffset);
 
-        return List.of(updateResult, buildResult, runResult);
+        return List.of(updateResult, buildResult, runResult, readinessResult);
     }
 
     /**
      * Updates the project by executing the update script.
+     * The script incrementally fetches the branch into the application's persistent bare mirror
+     * and checks out a fresh worktree into the source path, at the requested commit if any.
      *
      * @param application the Application entity being deployed
      * @param context     the DeploymentContextDto containing the deployment context
@@ -398,26 +579,106 @@ public class DeploymentManagerService {
      */
     private CommandResultDto updateProject(Application application, DeploymentContextDto context, DeploymentResultDto result) throws IOException, InterruptedException {
         return executeCommand(context, "update_project.sh",
-                context.authenticatedUrl(), context.branchName(), context.sourcePath(), context.deploymentType().name());
+                context.authenticatedUrl(), context.branchName(), context.sourcePath(), context.deploymentType().name(), context.mirrorPath(),
+                context.commitSha() != null ? context.commitSha() : "");
+    }
+
+    /**
+     * Extracts the checked out commit SHA reported by the update script.
+     *
+     * @param updateResult the result of the update command
+     * @return the commit SHA, or null if the script did not report one
+     */
+    private String extractCommitSha(CommandResultDto updateResult) {
+        List<Object> data = updateResult.getData();
+        if (updateResult.getExitCode() != 0 || data == null || data.size() < 2 || data.get(1) == null) {
+            return null;
+        }
+        String commitSha = data.get(1).toString();
+        return commitSha.isBlank() ? null : commitSha;
     }
 
     /**
      * Builds the project by executing the build script.
+     * If artifacts for the same commit, toolchain and build arguments are already cached,
+     * they are restored and the build is skipped entirely.
      *
      * @param application the Application entity being deployed
      * @param context     the DeploymentContextDto containing the deployment context
      * @param result      the DeploymentResultDto to store the results of the deployment
+     * @param commitSha   the SHA of the checked out commit, or null if unknown
      * @return a CommandResultDto containing the result of the build command
      * @throws IOException          if an I/O error occurs
      * @throws InterruptedException if the process is interrupted
      */
-    private CommandResultDto buildProject(Application application, DeploymentContextDto context, DeploymentResultDto result) throws IOException, InterruptedException {
-        return captureCommandOutput(context,
-                "build_project.sh",
+    private CommandResultDto buildProject(Application application, DeploymentContextDto context, DeploymentResultDto result, String commitSha) throws IOException, InterruptedException {
+        String cacheKey = commitSha != null ? buildCacheService.computeKey(commitSha, context, buildArguments(context)) : null;
+        Path targetPath = Paths.get(context.sourcePath(), "target");
+
+        if (cacheKey != null) {
+            Optional<String> cachedJar = buildCacheService.restore(context.buildCachePath(), cacheKey, targetPath);
+            if (cachedJar.isPresent()) {
+                String message = "Build skipped, reused cached artifacts for commit " + commitSha;
+                deploymentJobOutputService.publish(context.jobId(), "build_project.sh", message);
+                return CommandResultDto.builder()
+                        .exitCode(0)
+                        .output("")
+                        .status("SUCCESS")
+                        .message(message)
+                        .data(new ArrayList<>(List.of(cachedJar.get())))
+                        .deploymentContext(context)
+                        .build();
+            }
+        }
+
+        List<String> scriptArgs = new ArrayList<>(List.of(
                 context.javaVersion().getPath(),
                 context.mavenVersion().getPath(),
                 context.sourcePath(),
-                context.javaVersion().getVersion());
+                context.javaVersion().getVersion(),
+                context.mavenRepositoryPath()));
+        scriptArgs.addAll(context.mavenOptions());
+        CommandResultDto buildResult = captureCommandOutput(context, "build_project.sh", scriptArgs.toArray(String[]::new));
+
+        List<Object> builtJars = buildResult.getData();
+        if (cacheKey != null && buildResult.getExitCode() == 0 && builtJars != null && !builtJars.isEmpty()) {
+            buildCacheService.store(context.buildCachePath(), cacheKey, targetPath, builtJars.get(0).toString());
+        }
+        return buildResult;
+    }
+
+    /**
+     * Returns the Maven arguments used by build_project.sh, so they can be part of the build cache key.
+     *
+     * @param context the DeploymentContextDto containing the deployment context
+     * @return the list of build arguments
+     */
+    private List<String> buildArguments(DeploymentContextDto context) {
+        List<String> arguments = new ArrayList<>(List.of("clean", "install", "-Dmaven.compiler.release=" + context.javaVersion().getVersion(), "-DskipTests"));
+        arguments.addAll(context.mavenOptions());
+        return arguments;
+    }
+
+    /**
+     * Rotates the output log of the previous run on this port, keeping it as a compressed segment.
+     * A log that cannot be rotated is left in place, run_project.sh appends the new output to it.
+     *
+     * @param context the DeploymentContextDto containing the deployment context
+     * @return the size of the output log before the application is launched, where the output of the new run starts
+     */
+    private long rotateOutputLog(DeploymentContextDto context) {
+        Path logFile = Paths.get(context.logPath());
+        try {
+            logRotationService.rotate(logFile);
+        } catch (IOException e) {
+            log.warn("Failed to rotate log file {} before starting the application: {}", logFile, e.getMessage());
+        }
+        try {
+            return Files.exists(logFile) ? Files.size(logFile) : 0;
+        } catch (IOException e) {
+            log.warn("Failed to read the size of log file {}, readiness will scan it from the start: {}", logFile, e.getMessage());
+            return 0;
+        }
     }
 
     /**
@@ -439,9 +700,79 @@ public class DeploymentManagerService {
                 context.port().toString(),
                 context.javaMinimumMemory(),
                 context.javaMaximumMemory(),
+                context.logPath(),
                 context.environmentVariables());
     }
 
+    /**
+     * Waits for the launched application to pass its readiness probe.
+     * An application that exits or does not become ready within the configured timeout is killed,
+     * so a failed deployment never leaves a half-started process behind.
+     *
+     * @param application the Application entity being deployed
+     * @param context     the DeploymentContextDto containing the deployment context
+     * @param runResult   the result of the run command
+     * @param logOffset   the size of the output log when the application was launched
+     * @return a CommandResultDto whose data holds the time-to-ready in milliseconds if the application is ready
+     * @throws InterruptedException if the process is interrupted
+     */
+    private CommandResultDto awaitReadiness(Application application, DeploymentContextDto context, CommandResultDto runResult, long logOffset) throws InterruptedException {
+        List<Object> runData = runResult.getData();
+        if (runResult.getExitCode() != 0 || runData == null || runData.size() < 2 || runData.get(1) == null) {
+            return CommandResultDto.builder()
+                    .exitCode(1)
+                    .output("")
+                    .status(DeploymentStatus.FAILED.name())
+                    .message("Readiness probe skipped, the application was not launched")
+                    .data(null)
+                    .deploymentContext(context)
+                    .build();
+        }
+
+        long pid = Long.parseLong(runData.get(1).toString());
+        String logFile = runData.size() > 2 && runData.get(2) != null
+                ? runData.get(2).toString()
+                : context.logPath();
+        ReadinessProbeDto probe = new ReadinessProbeDto(
+                application.getReadinessProbeType(),
+                application.getReadinessProbeTarget(),
+                context.port(),
+                logFile,
+                logOffset,
+                Duration.ofSeconds(application.getReadinessTimeoutSeconds())
+        );
+
+        ReadinessResultDto readiness = readinessService.awaitReadiness(probe, pid,
+                line -> deploymentJobOutputService.publish(context.jobId(), "readiness", line));
+        deploymentJobOutputService.publish(context.jobId(), "readiness", readiness.message());
+
+        if (!readiness.ready()) {
+            log.error("Application ID {} did not become ready: {}", application.getId(), readiness.message());
+            ProcessHandle.of(pid).ifPresent(process -> {
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+            });
+            processLivenessService.markStopped((int) pid);
+            return CommandResultDto.builder()
+                    .exitCode(1)
+                    .output("")
+                    .status(DeploymentStatus.FAILED.name())
+                    .message(readiness.message())
+                    .data(null)
+                    .deploymentContext(context)
+                    .build();
+        }
+
+        return CommandResultDto.builder()
+                .exitCode(0)
+                .output("")
+                .status("SUCCESS")
+                .message(readiness.message())
+                .data(new ArrayList<>(List.of(readiness.timeToReadyMs())))
+                .deploymentContext(context)
+                .build();
+    }
+
     /**
      * Handles the successful deployment of an application.
      * Updates the deployment records and logs the success message.
@@ -450,20 +781,63 @@ public class DeploymentManagerService {
      * @param status        the status of the deployment
      * @param jarName       the name of the built JAR file
      * @param pid           the process ID of the running application
+     * @param port          the port the application was deployed on
      * @param branch        the branch that was deployed
+     * @param commitSha     the SHA of the deployed commit, may be null
      * @param deploymentType the type of deployment (e.g., ROLLBACK, LATEST)
      * @param finalResult   the final result of the deployment process
+     * @param timeToReadyMs the time between process start and readiness in milliseconds
+     * @param replacedInstance the instance replaced by a blue/green deployment, or null
+     * @param jobId         the ID of the deployment job, may be null
      */
-    private void handleSuccessfulDeployment(Integer applicationId, String status, String jarName, Integer pid, String branch, DeploymentType deploymentType, List<CommandResultDto> finalResult, Integer timeTaken) {
+    private void handleSuccessfulDeployment(Integer applicationId, String status, String jarName, Integer pid, Integer port, String branch, String commitSha, DeploymentType deploymentType, List<CommandResultDto> finalResult, Integer timeTaken, Integer timeToReadyMs, RunningInstanceDto replacedInstance, UUID jobId) {
         if (status.equalsIgnoreCase(DeploymentStatus.SUCCEEDED.name())) {
             log.info("Deployment for application ID {} completed successfully", applicationId);
-            updateDeploymentRecords(applicationId, jarName, pid, branch, deploymentType, finalResult, timeTaken);
+            updateDeploymentRecords(applicationId, jarName, pid, port, branch, commitSha, deploymentType, finalResult, timeTaken, timeToReadyMs, replacedInstance);
+            if (replacedInstance != null) {
+                stopReplacedInstance(replacedInstance, jobId);
+            }
+        } else if (replacedInstance != null) {
+            log.error("Blue/green deployment for application ID {} failed, PID {} keeps serving on port {}",
+                    applicationId, replacedInstance.pid(), replacedInstance.port());
         } else {
             log.error("Deployment for application ID {} failed",
                     applicationId);
         }
     }
 
+    /**
+     * Stops the instance replaced by a blue/green deployment.
+     * The process tree receives SIGTERM so the application can shut down gracefully, and is killed
+     * if it is still alive after the configured timeout.
+     *
+     * @param replacedInstance the instance that was replaced
+     * @param jobId            the ID of the deployment job, may be null
+     */
+    private void stopReplacedInstance(RunningInstanceDto replacedInstance, UUID jobId) {
+        Optional<ProcessHandle> process = ProcessHandle.of(replacedInstance.pid());
+        if (process.isEmpty()) {
+            return;
+        }
+        String message = "Switched over, stopping previous instance PID " + replacedInstance.pid() + " on port " + replacedInstance.port();
+        log.info(message);
+        deploymentJobOutputService.publish(jobId, "blue-green", message);
+
+        List<ProcessHandle> processTree = Stream.concat(process.get().descendants(), Stream.of(process.get())).toList();
+        processTree.forEach(ProcessHandle::destroy);
+        CompletableFuture<?>[] exits = processTree.stream().map(ProcessHandle::onExit).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(exits).get(applicationConfig.getBlueGreenStopTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Previous instance PID {} did not stop gracefully, killing it", replacedInstance.pid());
+            processTree.forEach(ProcessHandle::destroyForcibly);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            processTree.forEach(ProcessHandle::destroyForcibly);
+        }
+        processLivenessService.markStopped(replacedInstance.pid());
+    }
+
     /**
      * Updates the deployment records in the database.
      * This includes updating the latest deployment to PREVIOUS status and creating a new deployment record.
@@ -471,17 +845,24 @@ public class DeploymentManagerService {
      * @param applicationId the ID of the application being deployed
      * @param jarName       the name of the built JAR file
      * @param pid           the process ID of the running application
+     * @param port          the port the application was deployed on
      * @param branch        the branch that was deployed
+     * @param commitSha     the SHA of the deployed commit, may be null
      * @param deploymentType the type of deployment (e.g., ROLLBACK, LATEST)
      * @param finalResult   the final result of the deployment process
+     * @param timeToReadyMs the time between process start and readiness in milliseconds, may be null
+     * @param replacedInstance the instance replaced by a blue/green deployment, or null
      */
-    public void updateDeploymentRecords(Integer applicationId, String jarName, Integer pid, String branch, DeploymentType deploymentType, List<CommandResultDto> finalResult, Integer timeTaken) {
+    public void updateDeploymentRecords(Integer applicationId, String jarName, Integer pid, Integer port, String branch, String commitSha, DeploymentType deploymentType, List<CommandResultDto> finalResult, Integer timeTaken, Integer timeToReadyMs, RunningInstanceDto replacedInstance) {
         Deployment latestDeployment = deploymentService.findLatestByApplicationId(applicationId);
         if (latestDeployment != null) {
             if (!deploymentType.equals(DeploymentType.ROLLBACK)) {
                 latestDeployment.setType(DeploymentType.PREVIOUS);
             }
             latestDeployment.setStatus(DeploymentStatus.STOPPED);
+            if (latestDeployment.getStoppedAt() == null) {
+                latestDeployment.setStoppedAt(Instant.now());
+            }
             deploymentService.update(DeploymentDto.fromEntity(latestDeployment));
         }
 
@@ -491,10 +872,16 @@ public class DeploymentManagerService {
                 .type(deploymentType == DeploymentType.ROLLBACK ? DeploymentType.ROLLBACK : DeploymentType.LATEST)            .createdAt(Instant.now())
                 .applicationId(applicationId)
                 .pid(pid)
+                .port(port)
+                .previousPid(replacedInstance != null ? replacedInstance.pid() : null)
+                .previousPort(replacedInstance != null ? replacedInstance.port() : null)
                 .branch(branch)
+                .commitSha(commitSha)
                 .timeTaken(timeTaken)
+                .timeToReadyMs(timeToReadyMs)
                 .build();
         DeploymentDto result = deploymentService.save(newDeployment);
+        processSupervisorService.supervise(result.getId(), pid);
 
         ObjectMapper mapper = new ObjectMapper();
         String finalResultJson;
@@ -525,6 +912,8 @@ public class DeploymentManagerService {
 
     /**
      * Executes a shell command to run a script with the provided arguments.
+     * Output lines are published to the job's output channel as they are produced; only the
+     * trailing {@code springops-result} block and a bounded tail of the output are retained.
      *
      * @param scriptName the name of the script to execute
      * @param args       the arguments to pass to the script
@@ -538,19 +927,11 @@ public class DeploymentManagerService {
         String os = osInfoService.determineOsType();
         log.info("Detected OS type: {}", os);
 
-        InputStream scriptStream = getClass().getClassLoader().getResourceAsStream("scripts/" + os + "/" + scriptName);
-        if (scriptStream == null) {
-            throw new IOException("Script not found in resources/scripts/: " + scriptName);
-        }
-
-        File tempScript = File.createTempFile("springops-script-", ".sh");
-        tempScript.deleteOnExit();
-        Files.copy(scriptStream, tempScript.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        tempScript.setExecutable(true);
+        Path script = scriptRegistryService.resolve(os, scriptName);
 
         List<String> command = new ArrayList<>();
         command.add("/bin/bash");
-        command.add(tempScript.getAbsolutePath());
+        command.add(script.toString());
         command.addAll(List.of(args));
 
         log.info("Command to be executed: {}", String.join(" ", command));
@@ -558,49 +939,53 @@ public class DeploymentManagerService {
         ProcessBuilder processBuilder = new ProcessBuilder(command);
         Process process = processBuilder.start();
 
-        List<String> outputLines;
+        List<String> resultLines = new ArrayList<>();
+        Deque<String> outputTail = new ArrayDeque<>();
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            outputLines = reader.lines().toList();
-        }
-
-        int exitCode = process.waitFor();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!resultLines.isEmpty() || line.startsWith(RESULT_PREFIX)) {
+                    resultLines.add(line);
+                    continue;
+                }
 
-        String rawOutput = String.join(System.lineSeparator(), outputLines);
-        if (applicationConfig.getDisplayProcessLogs()) {
-            log.info("Output from script {}:\n{}", scriptName, rawOutput);
-        } else {
-            log.debug("Output from script {}:\n{}", scriptName, rawOutput);
-        }
+                deploymentJobOutputService.publish(context.jobId(), scriptName, line);
+                if (applicationConfig.getDisplayProcessLogs()) {
+                    log.info("[{}] {}", scriptName, line);
+                } else {
+                    log.debug("[{}] {}", scriptName, line);
+                }
 
-        int startIndex = -1;
-        for (int i = 0; i < outputLines.size(); i++) {
-            if (outputLines.get(i).startsWith("springops-result=")) {
-                startIndex = i;
-                break;
+                if (outputTail.size() == MAX_OUTPUT_TAIL_LINES) {
+                    outputTail.removeFirst();
+                }
+                outputTail.addLast(line);
             }
         }
 
-        if (startIndex == -1) {
+        int exitCode = process.waitFor();
+
+        if (resultLines.isEmpty()) {
             log.error("Script {} did not return a valid springops-result line.", scriptName);
             return CommandResultDto.builder()
                     .exitCode(exitCode)
-                    .output(rawOutput)
+                    .output(String.join(System.lineSeparator(), outputTail))
                     .status("FAILED")
                     .message("Missing springops-result line in script output")
                     .data(null)
                     .build();
         }
 
-        String joined = outputLines.subList(startIndex, outputLines.size()).stream()
-                .collect(Collectors.joining(System.lineSeparator()));
+        String joined = String.join(System.lineSeparator(), resultLines);
 
-        String json = joined.substring("springops-result=".length()).trim();
+        String json = joined.substring(RESULT_PREFIX.length()).trim();
 
         try {
             ObjectMapper mapper = new ObjectMapper();
-            log.info("Parsing JSON from springops-result: {}", json);
+            log.debug("Parsing JSON from springops-result: {}", json);
             CommandResultDto dto = mapper.readValue(json, CommandResultDto.class);
             dto.setDeploymentContext(context);
+            deploymentJobOutputService.publish(context.jobId(), scriptName, dto.getStatus() + ": " + dto.getMessage());
             return dto;
         } catch (Exception e) {
             log.error("Failed to parse JSON from springops-result: {}", e.getMessage());
@@ -7,13 +7,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.kreyzon.springops.common.dto.deployment.DeploymentDto;
 import org.kreyzon.springops.common.enums.DeploymentStatus;
 import org.kreyzon.springops.common.exception.SpringOpsException;
-import org.kreyzon.springops.common.utils.DeploymentUtils;
 import org.kreyzon.springops.config.ApplicationConfig;
 import org.kreyzon.springops.config.annotations.Audit;
 import org.kreyzon.springops.core.application.entity.Application;
 import org.kreyzon.springops.core.application.service.ApplicationLookupService;
 import org.kreyzon.springops.core.deployment.entity.Deployment;
 import org.kreyzon.springops.core.deployment.repository.DeploymentRepository;
+import org.kreyzon.springops.core.process_liveness.service.ProcessLivenessService;
 import org.kreyzon.springops.setup.domain.Setup;
 import org.kreyzon.springops.setup.service.SetupService;
 import org.springframework.data.domain.Page;
@@ -23,7 +23,6 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -52,6 +51,8 @@ public class DeploymentService {
 
     private final ApplicationConfig applicationConfig;
 
+    private final ProcessLivenessService processLivenessService;
+
     /**
      * Finds a deployment by its ID.
      *
@@ -234,28 +235,45 @@ public class DeploymentService {
     }
 
     /**
-     * Downloads a specific log file for the given application.
+     * Resolves a specific log file for the given application, to be streamed by the caller.
      *
      * @param filename      the name of the log file to be downloaded
-     * @return byte array containing the contents of the log file
+     * @return the path of the log file
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the log file does not exist
+     *                            or is not inside the logs directory of an application
      */
     @Audit
-    public byte[] downloadLogFile(String filename) {
+    public Path downloadLogFile(String filename) {
         log.info("Downloading log file '{}'", filename);
 
-        Path path = Paths.get(filename);
+        Path path = Paths.get(filename).toAbsolutePath().normalize();
+
+        // Only deploy logs of the managed applications can be downloaded, any other path is reported as missing
+        boolean inLogsDirectory = applicationLookupService.findAllEntities().stream()
+                .map(this::logsDirectory)
+                .anyMatch(path::startsWith);
 
-        if (!Files.exists(path) || !Files.isRegularFile(path)) {
-            log.error("Log file '{}' not found at path: {}", filename, filename);
+        if (!inLogsDirectory || !Files.exists(path) || !Files.isRegularFile(path)) {
+            log.error("Log file '{}' not found in the logs directories, resolved to: {}", filename, path);
             throw new SpringOpsException("Log file not found", HttpStatus.NOT_FOUND);
         }
 
-        try {
-            return Files.readAllBytes(path);
-        } catch (IOException e) {
-            log.error("Failed to read log file: {}", filename, e);
-            throw new RuntimeException("Error reading log file", e);
-        }
+        return path;
+    }
+
+    /**
+     * Resolves the logs directory of an application, where its deploy logs are written.
+     *
+     * @param application the application
+     * @return the absolute, normalized logs directory
+     */
+    private Path logsDirectory(Application application) {
+        Setup setup = setupService.getSetup();
+        return Paths.get(setup.getFilesRoot(),
+                applicationConfig.getRootDirectoryName(),
+                applicationConfig.getDirectoryApplications(),
+                application.getName().toLowerCase().replace(" ", "-"),
+                "logs").toAbsolutePath().normalize();
     }
 
     /**
@@ -288,7 +306,7 @@ public class DeploymentService {
     public List<DeploymentDto> findActiveRunningDeployments() {
         return deploymentRepository.findByStatus(DeploymentStatus.RUNNING).stream()
                 .filter(deployment -> {
-                    boolean alive = DeploymentUtils.isPidRunning(deployment.getPid());
+                    boolean alive = processLivenessService.isAlive(deployment.getPid());
                     if (!alive) {
                         log.warn("PID {} for deployment ID {} is not active; skipping", deployment.getPid(), deployment.getId());
                     }
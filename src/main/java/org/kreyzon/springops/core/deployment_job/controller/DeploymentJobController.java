@@ -0,0 +1,64 @@
+package org.kreyzon.springops.core.deployment_job.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.kreyzon.springops.common.dto.deployment_job.DeploymentJobDto;
+import org.kreyzon.springops.core.deployment_job.service.DeploymentJobService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for polling asynchronous deployment jobs.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@RestController
+@RequestMapping("/deployment-jobs")
+@RequiredArgsConstructor
+public class DeploymentJobController {
+
+    private final DeploymentJobService deploymentJobService;
+
+    /**
+     * Retrieves the state of a deployment job.
+     *
+     * @param jobId the ID of the job to retrieve
+     * @return the DeploymentJobDto representing the job
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<DeploymentJobDto> findById(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(deploymentJobService.findById(jobId));
+    }
+
+    /**
+     * Lists deployment jobs, optionally filtered by application.
+     *
+     * @param applicationId the ID of the application to filter by (optional)
+     * @return a list of DeploymentJobDto, most recent first
+     */
+    @GetMapping
+    public ResponseEntity<List<DeploymentJobDto>> findAll(@RequestParam(required = false) Integer applicationId) {
+        return ResponseEntity.ok(deploymentJobService.findAll(applicationId));
+    }
+
+    /**
+     * Streams the output of a deployment job as Server-Sent Events.
+     * Each {@code line} event carries its sequence number as event ID, so reconnecting clients
+     * resume from {@code Last-Event-ID}; an {@code end} event is sent once the job has finished.
+     *
+     * @param jobId       the ID of the job to follow
+     * @param lastEventId the ID of the last event received by the client (optional)
+     * @return an SseEmitter streaming the job output
+     */
+    @GetMapping(value = "/{jobId}/output", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOutput(
+            @PathVariable UUID jobId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return deploymentJobService.streamOutput(jobId, lastEventId != null ? lastEventId + 1 : null);
+    }
+}
@@ -0,0 +1,177 @@
+package org.kreyzon.springops.core.deployment_job.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.sse.SseSubscriber;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service that streams the output of deployment scripts to subscribers while a job is running.
+ * Each job owns a bounded {@link LineRingBuffer}, so late subscribers can catch up on recent output
+ * without the full build log ever being held in memory. Lines are queued per subscriber and sent on virtual threads,
+ * so a slow client never blocks the deployment producing the output; clients falling too far behind are dropped.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeploymentJobOutputService {
+
+    /**
+     * Timeout applied to SSE connections, in milliseconds.
+     */
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final ApplicationConfig applicationConfig;
+
+    private final Map<UUID, OutputChannel> channels = new ConcurrentHashMap<>();
+
+    private final ExecutorService deliveryExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("springops-output-", 0).factory());
+
+    /**
+     * Opens the output channel for a job. Publishing to a job without a channel is a no-op.
+     *
+     * @param jobId the ID of the job
+     */
+    public void open(UUID jobId) {
+        channels.computeIfAbsent(jobId, id -> new OutputChannel(applicationConfig.getDeploymentOutputBufferLines()));
+    }
+
+    /**
+     * Publishes a line of script output to the buffer and all current subscribers of a job.
+     *
+     * @param jobId  the ID of the job, may be null when the deployment is not tracked as a job
+     * @param step   the name of the deployment step producing the line
+     * @param line   the output line
+     */
+    public void publish(UUID jobId, String step, String line) {
+        if (jobId == null) {
+            return;
+        }
+        OutputChannel channel = channels.get(jobId);
+        if (channel != null) {
+            channel.publish("[" + step + "] " + line);
+        }
+    }
+
+    /**
+     * Marks the output of a job as complete and closes all its subscribers.
+     * The buffered lines remain available until {@link #remove(UUID)} is called.
+     *
+     * @param jobId the ID of the job
+     */
+    public void complete(UUID jobId) {
+        OutputChannel channel = channels.get(jobId);
+        if (channel != null) {
+            channel.complete();
+        }
+    }
+
+    /**
+     * Discards the output channel of a job.
+     *
+     * @param jobId the ID of the job
+     */
+    public void remove(UUID jobId) {
+        OutputChannel channel = channels.remove(jobId);
+        if (channel != null) {
+            channel.complete();
+        }
+    }
+
+    /**
+     * Subscribes to the output of a job. Buffered lines starting at {@code fromSequence} are replayed
+     * first, then new lines are pushed as they are produced.
+     *
+     * @param jobId        the ID of the job
+     * @param fromSequence the first line sequence to replay, or null to replay the whole buffer
+     * @return an SseEmitter delivering {@code line} events and a final {@code end} event
+     */
+    public SseEmitter subscribe(UUID jobId, Long fromSequence) {
+        SseSubscriber subscriber = new SseSubscriber(new SseEmitter(EMITTER_TIMEOUT_MS), deliveryExecutor,
+                applicationConfig.getSseMaxPendingChars());
+        OutputChannel channel = channels.get(jobId);
+        if (channel == null) {
+            subscriber.end();
+            return subscriber.getEmitter();
+        }
+        channel.subscribe(subscriber, fromSequence != null ? fromSequence : 0L);
+        return subscriber.getEmitter();
+    }
+
+    /**
+     * Stops the delivery of queued output lines.
+     */
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdownNow();
+    }
+
+    /**
+     * Output of a single job: a bounded buffer plus the currently connected subscribers.
+     * All operations lock on the channel so replayed and live lines are queued in order; the lock is never
+     * held while writing to a subscriber.
+     */
+    private static final class OutputChannel {
+
+        private final LineRingBuffer buffer;
+
+        private final List<SseSubscriber> subscribers = new ArrayList<>();
+
+        private boolean completed = false;
+
+        private OutputChannel(int capacity) {
+            this.buffer = new LineRingBuffer(capacity);
+        }
+
+        private synchronized void publish(String line) {
+            long sequence = buffer.append(line);
+            subscribers.removeIf(subscriber -> !send(subscriber, sequence, line));
+        }
+
+        private synchronized void subscribe(SseSubscriber subscriber, long fromSequence) {
+            for (LineRingBuffer.Entry entry : buffer.since(fromSequence)) {
+                if (!send(subscriber, entry.sequence(), entry.line())) {
+                    return;
+                }
+            }
+            if (completed) {
+                subscriber.end();
+                return;
+            }
+            subscribers.add(subscriber);
+            SseEmitter emitter = subscriber.getEmitter();
+            emitter.onCompletion(() -> removeSubscriber(subscriber));
+            emitter.onTimeout(() -> removeSubscriber(subscriber));
+            emitter.onError(e -> removeSubscriber(subscriber));
+        }
+
+        private synchronized void complete() {
+            completed = true;
+            subscribers.forEach(SseSubscriber::end);
+            subscribers.clear();
+        }
+
+        private synchronized void removeSubscriber(SseSubscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        private static boolean send(SseSubscriber subscriber, long sequence, String line) {
+            return subscriber.send(String.valueOf(sequence), "line", line);
+        }
+    }
+}
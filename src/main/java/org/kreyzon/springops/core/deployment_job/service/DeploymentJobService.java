@@ -0,0 +1,262 @@
+package org.kreyzon.springops.core.deployment_job.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.dto.deployment.CommandResultDto;
+import org.kreyzon.springops.common.dto.deployment_job.DeploymentJobDto;
+import org.kreyzon.springops.common.enums.DeploymentJobStatus;
+import org.kreyzon.springops.common.enums.DeploymentType;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.config.annotations.Audit;
+import org.kreyzon.springops.core.application.service.ApplicationLookupService;
+import org.kreyzon.springops.core.deployment.service.DeploymentManagerService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Service responsible for running deployments as asynchronous jobs.
+ * Submitting a deployment returns a job immediately; the actual update, build and run steps
+ * are executed on the bounded deployment executor and the job state can be polled.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@Slf4j
+public class DeploymentJobService {
+
+    private final DeploymentManagerService deploymentManagerService;
+
+    private final ApplicationLookupService applicationLookupService;
+
+    private final ApplicationConfig applicationConfig;
+
+    private final ThreadPoolTaskExecutor deploymentExecutor;
+
+    private final DeploymentJobOutputService deploymentJobOutputService;
+
+    private final Map<UUID, DeploymentJobDto> jobs = new ConcurrentHashMap<>();
+
+    private final Map<UUID, CompletableFuture<DeploymentJobDto>> completions = new ConcurrentHashMap<>();
+
+    public DeploymentJobService(DeploymentManagerService deploymentManagerService,
+                                ApplicationLookupService applicationLookupService,
+                                ApplicationConfig applicationConfig,
+                                @Qualifier("deploymentExecutor") ThreadPoolTaskExecutor deploymentExecutor,
+                                DeploymentJobOutputService deploymentJobOutputService) {
+        this.deploymentManagerService = deploymentManagerService;
+        this.applicationLookupService = applicationLookupService;
+        this.applicationConfig = applicationConfig;
+        this.deploymentExecutor = deploymentExecutor;
+        this.deploymentJobOutputService = deploymentJobOutputService;
+    }
+
+    /**
+     * Submits a deployment job for the given application.
+     *
+     * @param applicationId  the ID of the application to deploy
+     * @param branchName     the branch to deploy
+     * @param deploymentType the type of deployment
+     * @param commitSha      the commit to check out instead of the tip of the branch, may be null
+     * @param port           the port to use, or null to use the application's port
+     * @param blueGreen      whether to deploy next to the running instance and switch over once the new one is ready
+     * @return the DeploymentJobDto representing the queued job
+     * @throws SpringOpsException with {@link HttpStatus#CONFLICT} if a job is already active for the application
+     * @throws SpringOpsException with {@link HttpStatus#SERVICE_UNAVAILABLE} if the deployment queue is full
+     */
+    @Audit
+    public DeploymentJobDto submit(Integer applicationId, String branchName, DeploymentType deploymentType, String commitSha, Integer port, boolean blueGreen) {
+        applicationLookupService.findEntityById(applicationId);
+
+        DeploymentJobDto job = DeploymentJobDto.builder()
+                .jobId(UUID.randomUUID())
+                .applicationId(applicationId)
+                .branchName(branchName)
+                .deploymentType(deploymentType)
+                .commitSha(commitSha)
+                .port(port)
+                .blueGreen(blueGreen)
+                .status(DeploymentJobStatus.QUEUED)
+                .message("Deployment queued")
+                .submittedAt(Instant.now())
+                .results(List.of())
+                .build();
+
+        synchronized (jobs) {
+            boolean alreadyActive = jobs.values().stream()
+                    .anyMatch(existing -> existing.getApplicationId().equals(applicationId) && existing.isActive());
+            if (alreadyActive) {
+                log.warn("A deployment job is already active for application ID {}", applicationId);
+                throw new SpringOpsException("A deployment is already in progress for this application", HttpStatus.CONFLICT);
+            }
+            evictFinishedJobs();
+            jobs.put(job.getJobId(), job);
+            completions.put(job.getJobId(), new CompletableFuture<>());
+            deploymentJobOutputService.open(job.getJobId());
+        }
+
+        try {
+            deploymentExecutor.execute(() -> runJob(job.getJobId()));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getJobId());
+            completions.remove(job.getJobId());
+            deploymentJobOutputService.remove(job.getJobId());
+            log.error("Deployment queue is full, rejecting job for application ID {}", applicationId);
+            throw new SpringOpsException("Too many deployments in progress, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        log.info("Submitted deployment job {} for application ID {}", job.getJobId(), applicationId);
+        return job;
+    }
+
+    /**
+     * Finds a deployment job by its ID.
+     *
+     * @param jobId the ID of the job
+     * @return the DeploymentJobDto representing the job
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the job does not exist
+     */
+    public DeploymentJobDto findById(UUID jobId) {
+        DeploymentJobDto job = jobs.get(jobId);
+        if (job == null) {
+            throw new SpringOpsException("Deployment job with ID '" + jobId + "' does not exist", HttpStatus.NOT_FOUND);
+        }
+        return job;
+    }
+
+    /**
+     * Lists the known deployment jobs, most recent first.
+     *
+     * @param applicationId optional application ID to filter by
+     * @return a list of DeploymentJobDto
+     */
+    public List<DeploymentJobDto> findAll(Integer applicationId) {
+        return jobs.values().stream()
+                .filter(job -> applicationId == null || job.getApplicationId().equals(applicationId))
+                .sorted(Comparator.comparing(DeploymentJobDto::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Blocks until a deployment job has reached a terminal state.
+     *
+     * @param jobId   the ID of the job
+     * @param timeout the maximum time to wait
+     * @return the DeploymentJobDto in its terminal state
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the job does not exist
+     * @throws SpringOpsException with {@link HttpStatus#GATEWAY_TIMEOUT} if the job does not finish in time
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public DeploymentJobDto awaitCompletion(UUID jobId, Duration timeout) throws InterruptedException {
+        CompletableFuture<DeploymentJobDto> completion = completions.get(jobId);
+        if (completion == null) {
+            return findById(jobId);
+        }
+        try {
+            return completion.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new SpringOpsException("Deployment job '" + jobId + "' did not finish within " + timeout.toMinutes() + " minutes", HttpStatus.GATEWAY_TIMEOUT);
+        } catch (ExecutionException e) {
+            return findById(jobId);
+        }
+    }
+
+    /**
+     * Subscribes to the live output of a deployment job.
+     *
+     * @param jobId        the ID of the job
+     * @param fromSequence the first output line to replay, or null to replay all buffered lines
+     * @return an SseEmitter streaming the job output
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the job does not exist
+     */
+    public SseEmitter streamOutput(UUID jobId, Long fromSequence) {
+        findById(jobId);
+        return deploymentJobOutputService.subscribe(jobId, fromSequence);
+    }
+
+    /**
+     * Executes a queued job on the deployment executor and records its outcome.
+     *
+     * @param jobId the ID of the job to run
+     */
+    private void runJob(UUID jobId) {
+        DeploymentJobDto job = updateJob(jobId, current -> current.toBuilder()
+                .status(DeploymentJobStatus.RUNNING)
+                .message("Deployment running")
+                .startedAt(Instant.now())
+                .build());
+
+        try {
+            List<CommandResultDto> results = deploymentManagerService.manageDeployment(
+                    job.getApplicationId(), job.getBranchName(), job.getDeploymentType(), job.getCommitSha(), job.getPort(), job.isBlueGreen(), jobId);
+
+            boolean succeeded = !results.isEmpty() && results.stream().allMatch(result -> result.getExitCode() == 0);
+            updateJob(jobId, current -> current.toBuilder()
+                    .status(succeeded ? DeploymentJobStatus.SUCCEEDED : DeploymentJobStatus.FAILED)
+                    .message(succeeded ? "Deployment completed successfully" : "Deployment failed, check the command results")
+                    .results(results)
+                    .finishedAt(Instant.now())
+                    .build());
+            log.info("Deployment job {} finished with success: {}", jobId, succeeded);
+        } catch (Exception e) {
+            log.error("Deployment job {} failed: {}", jobId, e.getMessage());
+            updateJob(jobId, current -> current.toBuilder()
+                    .status(DeploymentJobStatus.FAILED)
+                    .message(e.getMessage())
+                    .finishedAt(Instant.now())
+                    .build());
+        } finally {
+            deploymentJobOutputService.complete(jobId);
+            CompletableFuture<DeploymentJobDto> completion = completions.get(jobId);
+            if (completion != null) {
+                completion.complete(jobs.get(jobId));
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces the state of a job.
+     *
+     * @param jobId   the ID of the job to update
+     * @param updater function producing the new state from the current one
+     * @return the updated DeploymentJobDto
+     */
+    private DeploymentJobDto updateJob(UUID jobId, UnaryOperator<DeploymentJobDto> updater) {
+        return jobs.computeIfPresent(jobId, (id, current) -> updater.apply(current));
+    }
+
+    /**
+     * Removes the oldest finished jobs once the configured history size is exceeded.
+     */
+    private void evictFinishedJobs() {
+        int historySize = applicationConfig.getDeploymentJobsHistorySize();
+        List<DeploymentJobDto> finished = jobs.values().stream()
+                .filter(job -> !job.isActive())
+                .sorted(Comparator.comparing(DeploymentJobDto::getSubmittedAt))
+                .toList();
+
+        for (int i = 0; i < finished.size() - historySize; i++) {
+            UUID jobId = finished.get(i).getJobId();
+            jobs.remove(jobId);
+            completions.remove(jobId);
+            deploymentJobOutputService.remove(jobId);
+        }
+    }
+}
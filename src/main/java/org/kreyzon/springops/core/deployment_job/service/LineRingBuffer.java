@@ -0,0 +1,76 @@
+package org.kreyzon.springops.core.deployment_job.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity ring buffer of output lines.
+ * Every appended line receives a monotonically increasing sequence number so that
+ * late subscribers can catch up from a known position; once the capacity is reached
+ * the oldest lines are overwritten.
+ * <p>
+ * This class is not thread-safe; callers are expected to synchronize access.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public final class LineRingBuffer {
+
+    /**
+     * A line stored in the buffer together with its sequence number.
+     *
+     * @param sequence the sequence number of the line, starting at 0
+     * @param line     the line content
+     */
+    public record Entry(long sequence, String line) {
+    }
+
+    private final String[] lines;
+
+    private long nextSequence = 0;
+
+    public LineRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.lines = new String[capacity];
+    }
+
+    /**
+     * Appends a line, overwriting the oldest one if the buffer is full.
+     *
+     * @param line the line to append
+     * @return the sequence number assigned to the line
+     */
+    public long append(String line) {
+        long sequence = nextSequence++;
+        lines[(int) (sequence % lines.length)] = line;
+        return sequence;
+    }
+
+    /**
+     * Returns the buffered lines whose sequence number is greater than or equal to the given one.
+     * Lines that have already been overwritten are silently skipped.
+     *
+     * @param fromSequence the first sequence number to return
+     * @return the buffered entries, oldest first
+     */
+    public List<Entry> since(long fromSequence) {
+        long oldest = Math.max(0, nextSequence - lines.length);
+        long start = Math.max(oldest, fromSequence);
+        List<Entry> result = new ArrayList<>((int) Math.max(0, nextSequence - start));
+        for (long sequence = start; sequence < nextSequence; sequence++) {
+            result.add(new Entry(sequence, lines[(int) (sequence % lines.length)]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sequence number that will be assigned to the next appended line.
+     *
+     * @return the next sequence number
+     */
+    public long nextSequence() {
+        return nextSequence;
+    }
+}
@@ -0,0 +1,171 @@
+package org.kreyzon.springops.core.deployment_lock.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service serializing the operations that mutate the workspace or the process of an application
+ * (deploy, rollback and kill).
+ * Each application has its own in-JVM lock, backed by a PostgreSQL session-level advisory lock so
+ * that several SpringOps nodes sharing the same database cannot operate on the same application
+ * at once. A request that finds the application locked is rejected instead of waiting behind a
+ * deployment that may run for minutes.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeploymentLockService {
+
+    /**
+     * First key of the two-key advisory lock, namespacing SpringOps locks from other advisory lock users.
+     */
+    private static final int ADVISORY_LOCK_NAMESPACE = 0x53504f50;
+
+    private final DataSource dataSource;
+
+    private final ApplicationConfig applicationConfig;
+
+    private final Map<Integer, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Operation currently holding the lock of each application, for error messages.
+     */
+    private final Map<Integer, String> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Acquires the lock of an application without waiting.
+     * The lock is reentrant for the thread holding it, so an operation can call another locked operation
+     * on the same application.
+     *
+     * @param applicationId the ID of the application
+     * @param operation     a short description of the operation, e.g. {@code deploy}
+     * @return the lease to close once the operation is done
+     * @throws SpringOpsException with {@link HttpStatus#CONFLICT} if another operation holds the lock
+     * @throws SpringOpsException with {@link HttpStatus#SERVICE_UNAVAILABLE} if the advisory lock cannot be checked
+     */
+    public Lease acquire(Integer applicationId, String operation) {
+        ReentrantLock lock = locks.computeIfAbsent(applicationId, id -> new ReentrantLock());
+        if (lock.isHeldByCurrentThread()) {
+            lock.lock();
+            return new Lease(applicationId, lock, null);
+        }
+        if (!lock.tryLock()) {
+            String owner = owners.getOrDefault(applicationId, "another operation");
+            log.warn("Rejected {} of application ID {}: {} is in progress", operation, applicationId, owner);
+            throw new SpringOpsException("Cannot " + operation + " the application while a " + owner + " is in progress", HttpStatus.CONFLICT);
+        }
+
+        Connection connection = null;
+        try {
+            if (applicationConfig.getDeploymentLockAdvisoryEnabled()) {
+                connection = acquireAdvisoryLock(applicationId, operation);
+            }
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+        owners.put(applicationId, operation);
+        log.debug("Acquired {} lock for application ID {}", operation, applicationId);
+        return new Lease(applicationId, lock, connection);
+    }
+
+    /**
+     * Tries to take the advisory lock of an application on a dedicated connection.
+     * Session-level advisory locks live as long as the connection, so the connection is kept
+     * until the lease is closed; if the node dies, PostgreSQL releases the lock with the session.
+     *
+     * @param applicationId the ID of the application
+     * @param operation     a short description of the operation
+     * @return the connection holding the advisory lock
+     */
+    private Connection acquireAdvisoryLock(Integer applicationId, String operation) {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+                statement.setInt(1, ADVISORY_LOCK_NAMESPACE);
+                statement.setInt(2, applicationId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next() && resultSet.getBoolean(1)) {
+                        return connection;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            log.error("Failed to acquire advisory lock for application ID {}: {}", applicationId, e.getMessage());
+            throw new SpringOpsException("Unable to lock the application, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        closeQuietly(connection);
+        log.warn("Rejected {} of application ID {}: locked by another SpringOps node", operation, applicationId);
+        throw new SpringOpsException("Cannot " + operation + " the application while another SpringOps node is operating on it", HttpStatus.CONFLICT);
+    }
+
+    private void releaseAdvisoryLock(Integer applicationId, Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, ADVISORY_LOCK_NAMESPACE);
+            statement.setInt(2, applicationId);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Failed to release advisory lock for application ID {}: {}", applicationId, e.getMessage());
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close lock connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lock held on an application, released when closed.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Integer applicationId;
+
+        private final ReentrantLock lock;
+
+        private final Connection connection;
+
+        private Lease(Integer applicationId, ReentrantLock lock, Connection connection) {
+            this.applicationId = applicationId;
+            this.lock = lock;
+            this.connection = connection;
+        }
+
+        @Override
+        public void close() {
+            if (lock.getHoldCount() == 1) {
+                owners.remove(applicationId);
+                if (connection != null) {
+                    releaseAdvisoryLock(applicationId, connection);
+                }
+            }
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.kreyzon.springops.core.deployment_stack.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.kreyzon.springops.common.dto.deployment_stack.DeploymentStackDto;
+import org.kreyzon.springops.common.dto.deployment_stack.DeploymentStackRequestDto;
+import org.kreyzon.springops.core.deployment_stack.service.DeploymentStackService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for deploying whole application stacks in dependency order.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@RestController
+@RequestMapping("/deployment-stacks")
+@RequiredArgsConstructor
+public class DeploymentStackController {
+
+    private final DeploymentStackService deploymentStackService;
+
+    /**
+     * Submits the deployment of the given applications and all their dependencies.
+     *
+     * @param request the applications to deploy and their branches
+     * @return a ResponseEntity with a 202 status containing the queued DeploymentStackDto
+     */
+    @PostMapping
+    public ResponseEntity<DeploymentStackDto> submit(@RequestBody DeploymentStackRequestDto request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(deploymentStackService.submit(request));
+    }
+
+    /**
+     * Retrieves the state of a stack deployment.
+     *
+     * @param stackId the ID of the stack deployment
+     * @return the DeploymentStackDto representing the stack deployment
+     */
+    @GetMapping("/{stackId}")
+    public ResponseEntity<DeploymentStackDto> findById(@PathVariable UUID stackId) {
+        return ResponseEntity.ok(deploymentStackService.findById(stackId));
+    }
+
+    /**
+     * Lists stack deployments, most recent first.
+     *
+     * @return a list of DeploymentStackDto
+     */
+    @GetMapping
+    public ResponseEntity<List<DeploymentStackDto>> findAll() {
+        return ResponseEntity.ok(deploymentStackService.findAll());
+    }
+}
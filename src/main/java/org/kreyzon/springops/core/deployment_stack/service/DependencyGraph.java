@@ -0,0 +1,102 @@
+package org.kreyzon.springops.core.deployment_stack.service;
+
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.springframework.http.HttpStatus;
+
+import java.util.*;
+
+/**
+ * Helper for ordering applications by their dependencies.
+ * Applications are grouped into layers: every application only depends on applications of
+ * earlier layers, so all applications of a layer can be deployed in parallel.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+public final class DependencyGraph {
+
+    private DependencyGraph() {
+    }
+
+    /**
+     * Collects the given applications together with all their transitive dependencies.
+     *
+     * @param graph a map from each application ID to the IDs it depends on
+     * @param roots the application IDs to start from
+     * @return the IDs of the roots and everything they depend on
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if an application does not exist
+     */
+    public static Set<Integer> closure(Map<Integer, Set<Integer>> graph, Collection<Integer> roots) {
+        Set<Integer> visited = new LinkedHashSet<>();
+        Deque<Integer> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            Integer id = pending.pop();
+            if (!graph.containsKey(id)) {
+                throw new SpringOpsException("Application with ID '" + id + "' does not exist", HttpStatus.NOT_FOUND);
+            }
+            if (visited.add(id)) {
+                pending.addAll(graph.get(id));
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Sorts the given applications topologically into layers (Kahn's algorithm).
+     * Dependencies outside of {@code ids} are ignored. IDs within a layer are sorted ascending.
+     *
+     * @param graph a map from each application ID to the IDs it depends on
+     * @param ids   the application IDs to sort
+     * @return the layers, the first one holding the applications without dependencies
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the dependencies contain a cycle
+     */
+    public static List<List<Integer>> layers(Map<Integer, Set<Integer>> graph, Set<Integer> ids) {
+        Map<Integer, Integer> remainingDependencies = new HashMap<>();
+        Map<Integer, List<Integer>> dependents = new HashMap<>();
+        for (Integer id : ids) {
+            int count = 0;
+            for (Integer dependency : graph.getOrDefault(id, Set.of())) {
+                if (ids.contains(dependency) && !dependency.equals(id)) {
+                    dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(id);
+                    count++;
+                } else if (dependency.equals(id)) {
+                    throw new SpringOpsException("Application with ID '" + id + "' depends on itself", HttpStatus.BAD_REQUEST);
+                }
+            }
+            remainingDependencies.put(id, count);
+        }
+
+        List<List<Integer>> layers = new ArrayList<>();
+        List<Integer> current = remainingDependencies.entrySet().stream()
+                .filter(entry -> entry.getValue() == 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        int placed = 0;
+
+        while (!current.isEmpty()) {
+            layers.add(current);
+            placed += current.size();
+            List<Integer> next = new ArrayList<>();
+            for (Integer id : current) {
+                for (Integer dependent : dependents.getOrDefault(id, List.of())) {
+                    if (remainingDependencies.merge(dependent, -1, Integer::sum) == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            Collections.sort(next);
+            current = next;
+        }
+
+        if (placed != ids.size()) {
+            List<Integer> cyclic = remainingDependencies.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            throw new SpringOpsException("Application dependencies contain a cycle, unable to order IDs " + cyclic, HttpStatus.BAD_REQUEST);
+        }
+        return layers;
+    }
+}
@@ -0,0 +1,302 @@
+package org.kreyzon.springops.core.deployment_stack.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.dto.deployment_job.DeploymentJobDto;
+import org.kreyzon.springops.common.dto.deployment_stack.DeploymentStackDto;
+import org.kreyzon.springops.common.dto.deployment_stack.DeploymentStackRequestDto;
+import org.kreyzon.springops.common.enums.DeploymentJobStatus;
+import org.kreyzon.springops.common.enums.DeploymentType;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.config.annotations.Audit;
+import org.kreyzon.springops.core.application.service.ApplicationLookupService;
+import org.kreyzon.springops.core.deployment.service.DeploymentManagerService;
+import org.kreyzon.springops.core.deployment_job.service.DeploymentJobService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Service responsible for deploying a whole stack of applications.
+ * The requested applications and their transitive dependencies are sorted into dependency layers;
+ * every layer is deployed in parallel through {@link DeploymentJobService} and the next layer only
+ * starts once all applications of the current one are deployed and running.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@Slf4j
+public class DeploymentStackService {
+
+    private final ApplicationLookupService applicationLookupService;
+
+    private final DeploymentJobService deploymentJobService;
+
+    private final DeploymentManagerService deploymentManagerService;
+
+    private final ApplicationConfig applicationConfig;
+
+    private final ThreadPoolTaskExecutor deploymentStackExecutor;
+
+    private final Map<UUID, DeploymentStackDto> stacks = new ConcurrentHashMap<>();
+
+    public DeploymentStackService(ApplicationLookupService applicationLookupService,
+                                  DeploymentJobService deploymentJobService,
+                                  DeploymentManagerService deploymentManagerService,
+                                  ApplicationConfig applicationConfig,
+                                  @Qualifier("deploymentStackExecutor") ThreadPoolTaskExecutor deploymentStackExecutor) {
+        this.applicationLookupService = applicationLookupService;
+        this.deploymentJobService = deploymentJobService;
+        this.deploymentManagerService = deploymentManagerService;
+        this.applicationConfig = applicationConfig;
+        this.deploymentStackExecutor = deploymentStackExecutor;
+    }
+
+    /**
+     * Submits the deployment of a stack of applications.
+     *
+     * @param request the applications to deploy and the branches to deploy them from
+     * @return the DeploymentStackDto representing the queued stack deployment
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if no application is given, a branch is missing or the dependencies contain a cycle
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if an application does not exist
+     * @throws SpringOpsException with {@link HttpStatus#CONFLICT} if another active stack deployment contains one of the applications
+     * @throws SpringOpsException with {@link HttpStatus#SERVICE_UNAVAILABLE} if the stack deployment queue is full
+     */
+    @Audit
+    public DeploymentStackDto submit(DeploymentStackRequestDto request) {
+        if (request.getApplicationIds() == null || request.getApplicationIds().isEmpty()) {
+            throw new SpringOpsException("At least one application must be provided", HttpStatus.BAD_REQUEST);
+        }
+
+        Map<Integer, Set<Integer>> graph = applicationLookupService.findDependencyGraph();
+        Set<Integer> stackIds = DependencyGraph.closure(graph, request.getApplicationIds());
+        List<List<Integer>> layers = DependencyGraph.layers(graph, stackIds);
+        Map<Integer, String> branches = resolveBranches(request, stackIds);
+
+        DeploymentStackDto stack = DeploymentStackDto.builder()
+                .stackId(UUID.randomUUID())
+                .applicationIds(Set.copyOf(request.getApplicationIds()))
+                .layers(layers)
+                .branches(branches)
+                .jobIds(Map.of())
+                .skippedApplicationIds(List.of())
+                .status(DeploymentJobStatus.QUEUED)
+                .message("Stack deployment queued")
+                .submittedAt(Instant.now())
+                .build();
+
+        synchronized (stacks) {
+            boolean overlapping = stacks.values().stream()
+                    .filter(DeploymentStackDto::isActive)
+                    .anyMatch(existing -> existing.getBranches().keySet().stream().anyMatch(stackIds::contains));
+            if (overlapping) {
+                log.warn("A stack deployment containing one of the applications {} is already active", stackIds);
+                throw new SpringOpsException("A stack deployment containing one of these applications is already in progress", HttpStatus.CONFLICT);
+            }
+            evictFinishedStacks();
+            stacks.put(stack.getStackId(), stack);
+        }
+
+        try {
+            deploymentStackExecutor.execute(() -> runStack(stack.getStackId()));
+        } catch (TaskRejectedException e) {
+            stacks.remove(stack.getStackId());
+            log.error("Stack deployment queue is full, rejecting stack {}", stackIds);
+            throw new SpringOpsException("Too many stack deployments in progress, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        log.info("Submitted stack deployment {} with layers {}", stack.getStackId(), layers);
+        return stack;
+    }
+
+    /**
+     * Finds a stack deployment by its ID.
+     *
+     * @param stackId the ID of the stack deployment
+     * @return the DeploymentStackDto representing the stack deployment
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the stack deployment does not exist
+     */
+    public DeploymentStackDto findById(UUID stackId) {
+        DeploymentStackDto stack = stacks.get(stackId);
+        if (stack == null) {
+            throw new SpringOpsException("Stack deployment with ID '" + stackId + "' does not exist", HttpStatus.NOT_FOUND);
+        }
+        return stack;
+    }
+
+    /**
+     * Lists the known stack deployments, most recent first.
+     *
+     * @return a list of DeploymentStackDto
+     */
+    public List<DeploymentStackDto> findAll() {
+        return stacks.values().stream()
+                .sorted(Comparator.comparing(DeploymentStackDto::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Resolves the branch to deploy for every application of the stack.
+     *
+     * @param request  the stack deployment request
+     * @param stackIds the IDs of all applications of the stack
+     * @return a map from application ID to branch name
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if no branch is known for an application
+     */
+    private Map<Integer, String> resolveBranches(DeploymentStackRequestDto request, Set<Integer> stackIds) {
+        Map<Integer, String> requested = request.getBranches() != null ? request.getBranches() : Map.of();
+        Map<Integer, String> branches = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : stackIds) {
+            String branch = requested.getOrDefault(id, request.getDefaultBranch());
+            if (branch == null || branch.isBlank()) {
+                missing.add(id);
+            } else {
+                branches.put(id, branch);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new SpringOpsException("No branch given for applications with IDs " + missing, HttpStatus.BAD_REQUEST);
+        }
+        return Map.copyOf(branches);
+    }
+
+    /**
+     * Deploys the layers of a stack one after the other and records the outcome.
+     *
+     * @param stackId the ID of the stack deployment to run
+     */
+    private void runStack(UUID stackId) {
+        DeploymentStackDto stack = updateStack(stackId, current -> current.toBuilder()
+                .status(DeploymentJobStatus.RUNNING)
+                .message("Stack deployment running")
+                .startedAt(Instant.now())
+                .build());
+
+        try {
+            List<List<Integer>> layers = stack.getLayers();
+            for (int layerIndex = 0; layerIndex < layers.size(); layerIndex++) {
+                int currentLayer = layerIndex;
+                updateStack(stackId, current -> current.toBuilder().currentLayer(currentLayer).build());
+
+                List<String> failures = deployLayer(stackId, layers.get(layerIndex), stack.getBranches());
+                if (!failures.isEmpty()) {
+                    String message = "Layer " + layerIndex + " failed: " + String.join("; ", failures);
+                    log.error("Stack deployment {} stopped. {}", stackId, message);
+                    finishStack(stackId, DeploymentJobStatus.FAILED, message);
+                    return;
+                }
+            }
+            log.info("Stack deployment {} completed successfully", stackId);
+            finishStack(stackId, DeploymentJobStatus.SUCCEEDED, "Stack deployed successfully");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finishStack(stackId, DeploymentJobStatus.FAILED, "Stack deployment interrupted");
+        } catch (Exception e) {
+            log.error("Stack deployment {} failed: {}", stackId, e.getMessage());
+            finishStack(stackId, DeploymentJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Deploys all applications of a layer in parallel and waits until they are running.
+     * Applications that are already running are skipped. Applications are deployed as {@link DeploymentType#LATEST},
+     * which checks out the branch as is: unlike a classic deployment, a stack never pushes a deploy branch.
+     *
+     * @param stackId  the ID of the stack deployment
+     * @param layer    the IDs of the applications of the layer
+     * @param branches the branch to deploy for each application
+     * @return a description of every application that could not be deployed, empty on success
+     * @throws InterruptedException if the coordinator is interrupted while waiting
+     */
+    private List<String> deployLayer(UUID stackId, List<Integer> layer, Map<Integer, String> branches) throws InterruptedException {
+        List<String> failures = new ArrayList<>();
+        Map<Integer, UUID> submitted = new LinkedHashMap<>();
+
+        for (Integer applicationId : layer) {
+            if (Boolean.TRUE.equals(deploymentManagerService.getDeploymentStatus(applicationId).getIsRunning())) {
+                log.info("Application ID {} is already running, skipping it in stack {}", applicationId, stackId);
+                updateStack(stackId, current -> current.toBuilder()
+                        .skippedApplicationIds(append(current.getSkippedApplicationIds(), applicationId))
+                        .build());
+                continue;
+            }
+            try {
+                DeploymentJobDto job = deploymentJobService.submit(applicationId, branches.get(applicationId), DeploymentType.LATEST, null, null, false);
+                submitted.put(applicationId, job.getJobId());
+                updateStack(stackId, current -> {
+                    Map<Integer, UUID> jobIds = new HashMap<>(current.getJobIds());
+                    jobIds.put(applicationId, job.getJobId());
+                    return current.toBuilder().jobIds(Map.copyOf(jobIds)).build();
+                });
+            } catch (SpringOpsException e) {
+                failures.add("application ID " + applicationId + ": " + e.getMessage());
+            }
+        }
+
+        Duration timeout = Duration.ofMinutes(applicationConfig.getDeploymentStacksJobTimeoutMinutes());
+        for (Map.Entry<Integer, UUID> entry : submitted.entrySet()) {
+            Integer applicationId = entry.getKey();
+            try {
+                DeploymentJobDto job = deploymentJobService.awaitCompletion(entry.getValue(), timeout);
+                if (job.getStatus() != DeploymentJobStatus.SUCCEEDED) {
+                    failures.add("application ID " + applicationId + ": " + job.getMessage());
+                } else if (!Boolean.TRUE.equals(deploymentManagerService.getDeploymentStatus(applicationId).getIsRunning())) {
+                    failures.add("application ID " + applicationId + ": not running after deployment");
+                }
+            } catch (SpringOpsException e) {
+                failures.add("application ID " + applicationId + ": " + e.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    private void finishStack(UUID stackId, DeploymentJobStatus status, String message) {
+        updateStack(stackId, current -> current.toBuilder()
+                .status(status)
+                .message(message)
+                .finishedAt(Instant.now())
+                .build());
+    }
+
+    private static List<Integer> append(List<Integer> list, Integer value) {
+        List<Integer> result = new ArrayList<>(list);
+        result.add(value);
+        return List.copyOf(result);
+    }
+
+    /**
+     * Atomically replaces the state of a stack deployment.
+     *
+     * @param stackId the ID of the stack deployment to update
+     * @param updater function producing the new state from the current one
+     * @return the updated DeploymentStackDto
+     */
+    private DeploymentStackDto updateStack(UUID stackId, UnaryOperator<DeploymentStackDto> updater) {
+        return stacks.computeIfPresent(stackId, (id, current) -> updater.apply(current));
+    }
+
+    /**
+     * Removes the oldest finished stack deployments once the configured history size is exceeded.
+     */
+    private void evictFinishedStacks() {
+        int historySize = applicationConfig.getDeploymentStacksHistorySize();
+        List<DeploymentStackDto> finished = stacks.values().stream()
+                .filter(stack -> !stack.isActive())
+                .sorted(Comparator.comparing(DeploymentStackDto::getSubmittedAt))
+                .toList();
+
+        for (int i = 0; i < finished.size() - historySize; i++) {
+            stacks.remove(finished.get(i).getStackId());
+        }
+    }
+}
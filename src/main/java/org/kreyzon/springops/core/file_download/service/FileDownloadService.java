@@ -0,0 +1,191 @@
+package org.kreyzon.springops.core.file_download.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.common.utils.LogFileUtils;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service building the responses of file downloads without buffering the files in the heap.
+ * <ul>
+ *     <li>Full downloads are handed to the servlet container's sendfile support, so the kernel copies the file
+ *     to the socket; without it, and for {@code Range} requests, the file is streamed by Spring.</li>
+ *     <li>Clients accepting gzip get compressed segments as stored, with a {@code Content-Encoding} header, and
+ *     other files compressed on the fly if enabled; other clients get segments decompressed on the fly.</li>
+ *     <li>ETags are derived from the file identity, size and modification time, so they cost no read of the
+ *     file, and conditional requests for an unchanged file are answered with {@code 304 Not Modified}.</li>
+ * </ul>
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileDownloadService {
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private static final String GZIP = "gzip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ApplicationConfig applicationConfig;
+
+    /**
+     * Builds the download response of a file.
+     *
+     * @param path        the file to download, already resolved by the caller inside a directory it may serve
+     * @param contentType the content type of the decompressed file
+     * @param request     the current request
+     * @return the response, or null if the request was answered with {@code 304 Not Modified}
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the file cannot be read
+     */
+    public ResponseEntity<?> download(Path path, MediaType contentType, ServletWebRequest request) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            log.error("Failed to read attributes of file to download: {}", path, e);
+            throw new SpringOpsException("File not found", HttpStatus.NOT_FOUND);
+        }
+
+        boolean compressed = LogFileUtils.isCompressed(path);
+        boolean ranged = request.getHeader(HttpHeaders.RANGE) != null;
+        boolean gzipEncoded = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                && (compressed || (!ranged && Boolean.TRUE.equals(applicationConfig.getLogDownloadGzipEnabled())));
+
+        // Sets the ETag and Last-Modified headers, or answers 304 if the client already has this representation
+        if (request.checkNotModified(etag(attributes, compressed, gzipEncoded), attributes.lastModifiedTime().toMillis())) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(downloadName(path)).build());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (gzipEncoded) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            return compressed
+                    ? sendFile(path, attributes.size(), headers, request)
+                    : ResponseEntity.ok().headers(headers).body(compress(path));
+        }
+        return compressed
+                ? ResponseEntity.ok().headers(headers).body(decompress(path))
+                : sendFile(path, attributes.size(), headers, request);
+    }
+
+    /**
+     * Sends a file as stored, through sendfile when the container supports it.
+     */
+    private ResponseEntity<?> sendFile(Path path, long size, HttpHeaders headers, ServletWebRequest request) {
+        HttpServletRequest servletRequest = request.getRequest();
+        if (request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(servletRequest.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            // The container writes the file after the handler returns, the response only carries the headers
+            servletRequest.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, path.toAbsolutePath().toString());
+            servletRequest.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+            servletRequest.setAttribute(SENDFILE_END_ATTRIBUTE, size);
+            headers.setContentLength(size);
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(path));
+    }
+
+    private static StreamingResponseBody compress(Path path) {
+        return out -> {
+            try (InputStream in = Files.newInputStream(path)) {
+                GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE) {
+                    {
+                        // Logs compress well even at the fastest level, favour throughput
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+                in.transferTo(gzip);
+                gzip.finish();
+            }
+        };
+    }
+
+    private static StreamingResponseBody decompress(Path path) {
+        return out -> {
+            try (InputStream in = LogFileUtils.openDecompressed(path)) {
+                in.transferTo(out);
+            }
+        };
+    }
+
+    /**
+     * Builds the ETag of a representation of a file. The encoding is part of the tag, since the
+     * stored and the decompressed or compressed content of the same file are different representations.
+     */
+    private static String etag(BasicFileAttributes attributes, boolean compressed, boolean gzipEncoded) {
+        String encoding = compressed == gzipEncoded ? "" : gzipEncoded ? "-gzip" : "-identity";
+        return "\"" + Integer.toHexString(Objects.hashCode(attributes.fileKey())) + "-"
+                + Long.toHexString(attributes.size()) + "-"
+                + Long.toHexString(attributes.lastModifiedTime().toMillis()) + encoding + "\"";
+    }
+
+    private static String downloadName(Path path) {
+        String name = path.getFileName().toString();
+        return LogFileUtils.isCompressed(path)
+                ? name.substring(0, name.length() - LogFileUtils.COMPRESSED_SUFFIX.length())
+                : name;
+    }
+
+    /**
+     * Tells whether an {@code Accept-Encoding} header accepts gzip with a non-zero quality.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(GZIP)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,211 @@
+package org.kreyzon.springops.core.jvm_metrics.service;
+
+import com.sun.tools.attach.VirtualMachine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.dto.application_stats.JvmMetricsDto;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.stereotype.Service;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Service collecting JVM level metrics of deployed applications.
+ * SpringOps attaches to each managed JVM on the same host through the Attach API, starts its local
+ * management agent and reads the platform MXBeans over the local JMX connector. Nothing has to be
+ * installed in or configured for the applications. Connections are kept open between samples.
+ * Processes that cannot be attached to (not a JVM, another user, no attach support) are retried
+ * only after a back-off.
+ * The Attach API lives in the {@code jdk.attach} module, which JRE-only runtimes do not ship. Without it,
+ * JVM metrics are not collected and the other application stats are sampled as usual.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JvmMetricsService {
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private static final Duration ATTACH_RETRY_INTERVAL = Duration.ofMinutes(10);
+
+    private final ApplicationConfig applicationConfig;
+
+    /**
+     * Open JMX connections, keyed by JVM PID.
+     */
+    private final Map<Long, JMXConnector> connectors = new ConcurrentHashMap<>();
+
+    /**
+     * Time of the last failed attach, keyed by JVM PID.
+     */
+    private final Map<Long, Instant> attachFailures = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the Attach API is available in the running JDK.
+     */
+    private volatile boolean attachApiAvailable = ModuleLayer.boot().findModule("jdk.attach").isPresent();
+
+    /**
+     * Logs once at startup when JVM metrics are enabled but cannot be collected.
+     */
+    @PostConstruct
+    public void checkAttachApi() {
+        if (Boolean.TRUE.equals(applicationConfig.getJvmMetricsEnabled()) && !attachApiAvailable) {
+            log.warn("JVM metrics are enabled but the jdk.attach module is not available, run SpringOps on a full JDK to collect them");
+        }
+    }
+
+    /**
+     * Samples the JVM metrics of a deployed application.
+     *
+     * @param pid the recorded process ID of the deployment, usually the launcher shell of the JVM
+     * @return the JVM metrics, or empty if disabled, the Attach API is not available or the process is not an attachable JVM
+     */
+    public Optional<JvmMetricsDto> sample(int pid) {
+        if (!Boolean.TRUE.equals(applicationConfig.getJvmMetricsEnabled()) || !attachApiAvailable) {
+            return Optional.empty();
+        }
+        closeDeadConnections();
+
+        Optional<ProcessHandle> jvm = findJvm(pid);
+        if (jvm.isEmpty()) {
+            return Optional.empty();
+        }
+        long jvmPid = jvm.get().pid();
+        Instant lastFailure = attachFailures.get(jvmPid);
+        if (lastFailure != null && lastFailure.plus(ATTACH_RETRY_INTERVAL).isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+
+        try {
+            JMXConnector connector = connectors.get(jvmPid);
+            if (connector == null) {
+                connector = connect(jvmPid);
+                connectors.put(jvmPid, connector);
+                attachFailures.remove(jvmPid);
+            }
+            return Optional.of(read(connector.getMBeanServerConnection()));
+        } catch (LinkageError e) {
+            log.warn("JVM metrics disabled, the Attach API cannot be loaded: {}", e.getMessage());
+            attachApiAvailable = false;
+            return Optional.empty();
+        } catch (Exception e) {
+            log.debug("Failed to read JVM metrics of PID {}: {}", jvmPid, e.getMessage());
+            close(connectors.remove(jvmPid));
+            attachFailures.put(jvmPid, Instant.now());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Closes all open JMX connections.
+     */
+    @PreDestroy
+    public void closeAll() {
+        connectors.values().forEach(this::close);
+        connectors.clear();
+    }
+
+    /**
+     * Finds the JVM of a deployment: the process itself or its first descendant running {@code java}.
+     *
+     * @param pid the recorded process ID
+     * @return the JVM process, or empty if none is found
+     */
+    private Optional<ProcessHandle> findJvm(int pid) {
+        return ProcessHandle.of(pid)
+                .flatMap(process -> Stream.concat(Stream.of(process), process.descendants())
+                        .filter(handle -> handle.info().command()
+                                .map(command -> command.endsWith("/java") || command.equals("java"))
+                                .orElse(false))
+                        .findFirst());
+    }
+
+    /**
+     * Attaches to a JVM, starts its local management agent and connects to it.
+     *
+     * @param jvmPid the process ID of the JVM
+     * @return the JMX connection
+     * @throws Exception if the JVM cannot be attached to or connected
+     */
+    private JMXConnector connect(long jvmPid) throws Exception {
+        VirtualMachine virtualMachine = VirtualMachine.attach(String.valueOf(jvmPid));
+        String address;
+        try {
+            address = virtualMachine.startLocalManagementAgent();
+        } finally {
+            virtualMachine.detach();
+        }
+        log.info("Attached to JVM with PID {}", jvmPid);
+        return JMXConnectorFactory.connect(new JMXServiceURL(address));
+    }
+
+    private JvmMetricsDto read(MBeanServerConnection connection) throws IOException {
+        MemoryMXBean memory = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+        ThreadMXBean threads = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.THREAD_MXBEAN_NAME, ThreadMXBean.class);
+        ClassLoadingMXBean classLoading = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.CLASS_LOADING_MXBEAN_NAME, ClassLoadingMXBean.class);
+
+        long gcCount = 0;
+        long gcTimeMs = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getPlatformMXBeans(connection, GarbageCollectorMXBean.class)) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcTimeMs += Math.max(0, collector.getCollectionTime());
+        }
+
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        return new JvmMetricsDto(
+                heap.getUsed() / BYTES_PER_MB,
+                heap.getCommitted() / BYTES_PER_MB,
+                gcCount,
+                gcTimeMs,
+                threads.getThreadCount(),
+                classLoading.getLoadedClassCount()
+        );
+    }
+
+    /**
+     * Drops the connections and attach failures of JVMs that have exited.
+     */
+    private void closeDeadConnections() {
+        connectors.keySet().removeIf(jvmPid -> {
+            if (ProcessHandle.of(jvmPid).map(ProcessHandle::isAlive).orElse(false)) {
+                return false;
+            }
+            close(connectors.get(jvmPid));
+            return true;
+        });
+        attachFailures.keySet().removeIf(jvmPid -> ProcessHandle.of(jvmPid).isEmpty());
+    }
+
+    private void close(JMXConnector connector) {
+        if (connector == null) {
+            return;
+        }
+        try {
+            connector.close();
+        } catch (IOException e) {
+            log.debug("Failed to close JMX connection: {}", e.getMessage());
+        }
+    }
+}
@@ -2,15 +2,20 @@ package org.kreyzon.springops.core.logs.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.kreyzon.springops.common.dto.logs.ApplicationLogDto;
+import org.kreyzon.springops.common.dto.logs.LogChunkDto;
+import org.kreyzon.springops.common.dto.logs.LogSearchResultDto;
 import org.kreyzon.springops.config.ApplicationConfig;
 import org.kreyzon.springops.core.application.service.ApplicationLookupService;
+import org.kreyzon.springops.core.file_download.service.FileDownloadService;
 import org.kreyzon.springops.core.logs.service.LogService;
 import org.kreyzon.springops.setup.service.SetupService;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -26,6 +31,8 @@ public class LogController {
 
     private final LogService logService;
 
+    private final FileDownloadService fileDownloadService;
+
     private final ApplicationConfig applicationConfig;
 
     private final ApplicationLookupService applicationLookupService;
@@ -44,21 +51,101 @@ public class LogController {
     }
 
     /**
-     * Endpoint to stream logs for a specific application.
+     * Endpoint to download a log file of a specific application.
+     * The file is sent without copying it through the heap, gzip-encoded for clients accepting it,
+     * and HTTP {@code Range} and conditional requests are honored. Compressed segments are downloaded
+     * under their name without the {@code .gz} suffix.
      *
-     * @param applicationId the ID of the application whose logs are to be streamed
-     * @return a ResponseBodyEmitter that streams the log content
+     * @param applicationId the ID of the application whose logs are to be downloaded
+     * @param filename      the name of the log file
+     * @param request       the current request
+     * @return the log file content
      */
     @GetMapping("/{applicationId}/download")
-    public ResponseEntity<byte[]> downloadLogFile(
+    public ResponseEntity<?> downloadLogFile(
+            @PathVariable Integer applicationId,
+            @RequestParam String filename,
+            ServletWebRequest request) {
+
+        Path path = logService.downloadLogFile(applicationId, filename);
+        return fileDownloadService.download(path, MediaType.TEXT_PLAIN, request);
+    }
+
+    /**
+     * Endpoint to read a page of a log file starting at a byte offset.
+     * Pages end on a line boundary; the next page starts at the returned {@code nextOffset}.
+     *
+     * @param applicationId the ID of the application
+     * @param filename      the name of the log file
+     * @param offset        the byte offset to start at
+     * @param limit         the maximum number of bytes to return
+     * @return the page of the log file
+     */
+    @GetMapping("/{applicationId}/page")
+    public ResponseEntity<LogChunkDto> readLogPage(
+            @PathVariable Integer applicationId,
+            @RequestParam String filename,
+            @RequestParam(defaultValue = "0") long offset,
+            @RequestParam(defaultValue = "65536") int limit) {
+        return ResponseEntity.ok(logService.readLogPage(applicationId, filename, offset, limit));
+    }
+
+    /**
+     * Endpoint to read the last lines of a log file.
+     *
+     * @param applicationId the ID of the application
+     * @param filename      the name of the log file
+     * @param lines         the number of lines to return
+     * @return the last lines of the log file
+     */
+    @GetMapping("/{applicationId}/tail")
+    public ResponseEntity<LogChunkDto> tailLogFile(
             @PathVariable Integer applicationId,
-            @RequestParam String filename) {
+            @RequestParam String filename,
+            @RequestParam(defaultValue = "200") int lines) {
+        return ResponseEntity.ok(logService.tailLogFile(applicationId, filename, lines));
+    }
 
-        byte[] fileContent = logService.downloadLogFile(applicationId, filename);
+    /**
+     * Endpoint to follow a log file as it is written, like {@code tail -f}.
+     * A reconnecting client resumes after the last line it received through the {@code Last-Event-ID} header.
+     *
+     * @param applicationId the ID of the application
+     * @param filename      the name of the log file
+     * @param lines         the number of recent lines to send first
+     * @param lastEventId   the byte offset following the last received line, sent by reconnecting clients
+     * @return an SseEmitter streaming {@code line} and {@code reset} events
+     */
+    @GetMapping(value = "/{applicationId}/follow", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followLogFile(
+            @PathVariable Integer applicationId,
+            @RequestParam(defaultValue = "app.log") String filename,
+            @RequestParam(defaultValue = "100") int lines,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return logService.followLogFile(applicationId, filename, lastEventId, lines);
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.TEXT_PLAIN)
-                .body(fileContent);
+    /**
+     * Endpoint to search the log files of an application.
+     * Lines holding all the terms of the query are returned with their surrounding lines;
+     * a term ending with {@code *} matches any word starting with it.
+     *
+     * @param applicationId the ID of the application
+     * @param query         the terms to search for, separated by spaces
+     * @param filename      the name of the log file to search, all log files if omitted
+     * @param context       the number of lines to return before and after each matching line
+     * @param page          the index of the page, starting at 0
+     * @param size          the maximum number of matches per page
+     * @return the page of matching lines
+     */
+    @GetMapping("/{applicationId}/search")
+    public ResponseEntity<LogSearchResultDto> searchLogs(
+            @PathVariable Integer applicationId,
+            @RequestParam String query,
+            @RequestParam(required = false) String filename,
+            @RequestParam(defaultValue = "2") int context,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(logService.searchLogs(applicationId, query, filename, context, page, size));
     }
-}
\ No newline at end of file
+}
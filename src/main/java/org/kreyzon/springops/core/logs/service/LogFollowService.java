@@ -0,0 +1,440 @@
+package org.kreyzon.springops.core.logs.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.sse.SseSubscriber;
+import org.kreyzon.springops.common.utils.LogFileUtils;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service following log files as they grow and pushing new lines to SSE subscribers, like {@code tail -f}.
+ * Each file is read by a single shared tailer however many viewers follow it, and all tailers are polled
+ * by one scheduled task that tracks their read position. A file that shrinks is treated as truncated and
+ * re-read from the start, whether it was truncated by a log rotation through {@link #truncate(Path, RotationCopy)}
+ * or externally; a file replaced by another one at the same path is treated as rotated, the old file is read to
+ * its end before switching to the new one. Truncating through {@link #truncate(Path, RotationCopy)} lets followers
+ * get every line written up to the truncation even if the file grows back past the read position before the next poll.
+ * Lines are queued per subscriber under the tailer lock and sent on virtual threads, so a slow client never
+ * holds up the poller, a rotation or the other subscribers; clients falling too far behind are dropped.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LogFollowService {
+
+    /**
+     * Timeout applied to SSE connections, in milliseconds.
+     */
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private static final int READ_BLOCK_SIZE = 64 * 1024;
+
+    private final ApplicationConfig applicationConfig;
+
+    private final Map<Path, FileTailer> tailers = new ConcurrentHashMap<>();
+
+    private final ExecutorService deliveryExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("springops-follow-", 0).factory());
+
+    /**
+     * Copy of a log file being rotated, completed right before the file is truncated.
+     */
+    @FunctionalInterface
+    public interface RotationCopy {
+
+        /**
+         * Copies the bytes appended to the log file since the previous call.
+         *
+         * @return the number of bytes of the file copied so far
+         * @throws IOException if the file cannot be copied
+         */
+        long copyRemaining() throws IOException;
+    }
+
+    /**
+     * Follows a log file. Recent lines are replayed first, then new lines are pushed as they are written.
+     * Each {@code line} event carries the byte offset following the line as its ID, so a reconnecting client
+     * resumes from its {@code Last-Event-ID}; a {@code reset} event signals that the file was truncated or rotated.
+     *
+     * @param path       the log file, already validated by the caller
+     * @param fromOffset the byte offset to replay from, or null to replay the last {@code lines} lines
+     * @param lines      the number of lines to replay when no offset is given
+     * @return an SseEmitter delivering the lines of the file
+     */
+    public SseEmitter follow(Path path, Long fromOffset, int lines) {
+        return follow(new SseEmitter(EMITTER_TIMEOUT_MS), path, fromOffset, lines);
+    }
+
+    /**
+     * Follows a log file into the given emitter, see {@link #follow(Path, Long, int)}.
+     *
+     * @param emitter    the emitter delivering the lines of the file
+     * @param path       the log file, already validated by the caller
+     * @param fromOffset the byte offset to replay from, or null to replay the last {@code lines} lines
+     * @param lines      the number of lines to replay when no offset is given
+     * @return the given emitter
+     */
+    public SseEmitter follow(SseEmitter emitter, Path path, Long fromOffset, int lines) {
+        SseSubscriber subscriber = new SseSubscriber(emitter, deliveryExecutor, applicationConfig.getSseMaxPendingChars());
+        while (true) {
+            FileTailer tailer = tailers.computeIfAbsent(path, this::openTailer);
+            if (tailer == null) {
+                subscriber.end();
+                return emitter;
+            }
+            if (tailer.subscribe(subscriber, fromOffset, lines)) {
+                return emitter;
+            }
+            // The tailer was closed concurrently by the poller, open a new one
+            tailers.remove(path, tailer);
+        }
+    }
+
+    /**
+     * Reads the new content of all followed files and closes tailers without subscribers.
+     */
+    @Scheduled(fixedDelayString = "${application.log-follow-poll-millis:500}")
+    public void poll() {
+        tailers.forEach((path, tailer) -> {
+            if (!tailer.poll()) {
+                tailers.remove(path, tailer);
+                log.debug("Stopped following log file {}", path);
+            }
+        });
+    }
+
+    /**
+     * Truncates a log file on behalf of a log rotation. The copy is completed until it holds the whole file and the
+     * file is truncated right away, under the tailer lock when the file is followed. Followers are sent the lines
+     * written up to the truncation, then a {@code reset} event, and the file is followed from its start again.
+     * <p>
+     * The application keeps appending without any coordination, so only a line written between the last size check
+     * and the truncation, a window of a system call, can still be lost.
+     *
+     * @param path the log file to truncate
+     * @param copy the copy of the file, which may already hold most of its content
+     * @throws IOException if the file cannot be copied or truncated
+     */
+    public void truncate(Path path, RotationCopy copy) throws IOException {
+        FileTailer tailer = tailers.get(path);
+        if (tailer == null || !tailer.truncate(copy)) {
+            try (FileChannel writer = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                // Copy again the lines appended while copying, until the copy holds the whole file
+                long copied;
+                do {
+                    copied = copy.copyRemaining();
+                } while (writer.size() > copied);
+                writer.truncate(0);
+            }
+        }
+    }
+
+    /**
+     * Closes all tailers and their subscribers.
+     */
+    @PreDestroy
+    public void closeAll() {
+        tailers.values().forEach(FileTailer::close);
+        tailers.clear();
+        deliveryExecutor.shutdown();
+    }
+
+    private FileTailer openTailer(Path path) {
+        try {
+            FileTailer tailer = new FileTailer(path, applicationConfig.getLogReadMaxBytes());
+            log.debug("Following log file {}", path);
+            return tailer;
+        } catch (IOException e) {
+            log.warn("Failed to follow log file {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Object fileKey(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Shared reader of a single log file and its subscribers.
+     * All operations lock on the tailer so replayed and live lines are queued in order; the lock is never held
+     * while writing to a subscriber.
+     */
+    private static final class FileTailer {
+
+        private final Path path;
+
+        private final int maxBytes;
+
+        private final List<SseSubscriber> subscribers = new ArrayList<>();
+
+        /**
+         * Bytes of the line being written, not terminated yet.
+         */
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+        private FileChannel channel;
+
+        private Object fileKey;
+
+        /**
+         * Offset up to which the file has been read.
+         */
+        private long position;
+
+        /**
+         * Offset following the last complete line read.
+         */
+        private long lineEnd;
+
+        private boolean closed = false;
+
+        private FileTailer(Path path, int maxBytes) throws IOException {
+            this.path = path;
+            this.maxBytes = maxBytes;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.fileKey = fileKey(path);
+            // Start after the last complete line, a partial last line is delivered once terminated
+            long size = channel.size();
+            this.lineEnd = size > 0 ? lastLineEnd(size) : 0;
+            this.position = lineEnd;
+        }
+
+        private synchronized boolean subscribe(SseSubscriber subscriber, Long fromOffset, int lines) {
+            if (closed) {
+                return false;
+            }
+            try {
+                long limit = Math.max(0, lineEnd - maxBytes);
+                long start;
+                boolean partialFirstLine = false;
+                if (fromOffset != null && fromOffset >= limit && fromOffset <= lineEnd) {
+                    start = fromOffset;
+                } else {
+                    start = LogFileUtils.findTailStart(channel, lineEnd, lines, limit);
+                    partialFirstLine = start > 0 && start == limit;
+                }
+                replay(subscriber, start, partialFirstLine);
+            } catch (IOException e) {
+                log.debug("Failed to replay log file {}: {}", path, e.getMessage());
+                subscriber.getEmitter().completeWithError(e);
+                return true;
+            }
+            subscribers.add(subscriber);
+            SseEmitter emitter = subscriber.getEmitter();
+            emitter.onCompletion(() -> removeSubscriber(subscriber));
+            emitter.onTimeout(() -> removeSubscriber(subscriber));
+            emitter.onError(e -> removeSubscriber(subscriber));
+            return true;
+        }
+
+        /**
+         * Reads the content appended since the last poll and pushes it to the subscribers.
+         *
+         * @return false if the tailer has no subscribers left and has been closed
+         */
+        private synchronized boolean poll() {
+            subscribers.removeIf(subscriber -> !subscriber.isOpen());
+            if (subscribers.isEmpty()) {
+                close();
+                return false;
+            }
+            try {
+                if (channel.size() < position) {
+                    restart("truncated");
+                }
+                drain(maxBytes);
+
+                Object currentKey = fileKey(path);
+                if (currentKey != null && !currentKey.equals(fileKey) && position >= channel.size()) {
+                    FileChannel rotated = FileChannel.open(path, StandardOpenOption.READ);
+                    flushPending();
+                    channel.close();
+                    channel = rotated;
+                    fileKey = currentKey;
+                    restart("rotated");
+                    drain(maxBytes);
+                }
+            } catch (IOException e) {
+                log.debug("Failed to read followed log file {}: {}", path, e.getMessage());
+            }
+            return true;
+        }
+
+        /**
+         * Completes the copy and delivers the lines of the file until nothing new was appended, truncates the file
+         * and restarts from its beginning.
+         *
+         * @param copy the copy of the file being rotated
+         * @return false if the tailer is closed and the file was not truncated
+         */
+        private synchronized boolean truncate(RotationCopy copy) throws IOException {
+            if (closed) {
+                return false;
+            }
+            try (FileChannel writer = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                long copied;
+                do {
+                    copied = copy.copyRemaining();
+                    // The truncated content cannot be read afterwards, deliver all of it
+                    drain(Long.MAX_VALUE);
+                } while (writer.size() > copied);
+                writer.truncate(0);
+            }
+            flushPending();
+            restart("rotated");
+            return true;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            subscribers.forEach(SseSubscriber::end);
+            subscribers.clear();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close log file {}: {}", path, e.getMessage());
+            }
+        }
+
+        private synchronized void removeSubscriber(SseSubscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        /**
+         * Reads the new bytes of the file. Polls read at most {@code maxBytes} so one busy file cannot starve the others.
+         *
+         * @param budget the maximum number of bytes to read
+         */
+        private void drain(long budget) throws IOException {
+            long size = channel.size();
+            while (position < size && budget > 0) {
+                int length = (int) Math.min(READ_BLOCK_SIZE, Math.min(size - position, budget));
+                byte[] bytes = read(position, length);
+                for (int i = 0; i < bytes.length; i++) {
+                    if (bytes[i] == '\n') {
+                        lineEnd = position + i + 1;
+                        broadcast(pendingLine(), lineEnd);
+                    } else {
+                        pending.write(bytes[i]);
+                        if (pending.size() >= maxBytes) {
+                            // Deliver overlong lines in pieces instead of buffering them whole
+                            lineEnd = position + i + 1;
+                            broadcast(pendingLine(), lineEnd);
+                        }
+                    }
+                }
+                position += length;
+                budget -= length;
+            }
+        }
+
+        /**
+         * Starts reading the current channel from its beginning.
+         *
+         * @param reason the reason sent to the subscribers
+         */
+        private void restart(String reason) {
+            log.debug("Log file {} was {}, following it from the start", path, reason);
+            pending.reset();
+            position = 0;
+            lineEnd = 0;
+            subscribers.removeIf(subscriber -> !subscriber.send("0", "reset", reason));
+        }
+
+        /**
+         * Delivers the unterminated last line of a rotated file.
+         */
+        private void flushPending() {
+            if (pending.size() > 0) {
+                lineEnd = position;
+                broadcast(pendingLine(), lineEnd);
+            }
+        }
+
+        private void replay(SseSubscriber subscriber, long start, boolean skipPartialFirstLine) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            boolean skipping = skipPartialFirstLine;
+            long offset = start;
+            while (offset < lineEnd) {
+                int length = (int) Math.min(READ_BLOCK_SIZE, lineEnd - offset);
+                byte[] bytes = read(offset, length);
+                for (int i = 0; i < bytes.length; i++) {
+                    if (bytes[i] != '\n') {
+                        line.write(bytes[i]);
+                        continue;
+                    }
+                    if (!skipping && !send(subscriber, decode(line), offset + i + 1)) {
+                        return;
+                    }
+                    skipping = false;
+                    line.reset();
+                }
+                offset += length;
+            }
+        }
+
+        private void broadcast(String line, long nextOffset) {
+            subscribers.removeIf(subscriber -> !send(subscriber, line, nextOffset));
+        }
+
+        private String pendingLine() {
+            String line = decode(pending);
+            pending.reset();
+            return line;
+        }
+
+        private long lastLineEnd(long size) throws IOException {
+            long start = LogFileUtils.findTailStart(channel, size, 1, Math.max(0, size - maxBytes));
+            byte[] last = read(size - 1, 1);
+            // A file ending with a line break is made of complete lines only
+            return last[0] == '\n' ? size : start;
+        }
+
+        private byte[] read(long offset, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            return buffer.position() == length ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+        }
+
+        private static String decode(ByteArrayOutputStream bytes) {
+            String line = bytes.toString(StandardCharsets.UTF_8);
+            return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+        }
+
+        private static boolean send(SseSubscriber subscriber, String line, long nextOffset) {
+            return subscriber.send(String.valueOf(nextOffset), "line", line);
+        }
+    }
+}
@@ -0,0 +1,659 @@
+package org.kreyzon.springops.core.logs.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.dto.logs.LogSearchMatchDto;
+import org.kreyzon.springops.common.dto.logs.LogSearchResultDto;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service maintaining a search index over the log files of the applications.
+ * Each file is split into chunks of about {@value #CHUNK_BYTES} bytes ending on a line break; the index keeps
+ * the offset and first line number of every chunk and, for every token, the chunks it occurs in. Files are
+ * indexed incrementally from where the previous pass stopped, and from the start again once truncated or
+ * replaced. A search only reads the chunks holding all of its terms and checks their lines one by one.
+ * <p>
+ * Tokens are runs of letters, digits and underscores compared case-insensitively, tokens longer than
+ * {@value #MAX_TOKEN_LENGTH} bytes are not indexed. A line matches when it holds every term of the query,
+ * a term ending with {@code *} matching any token starting with it.
+ * <p>
+ * To bound the memory of the index, numbers and hexadecimal identifiers such as PIDs, commit SHAs and UUIDs,
+ * which are mostly unique, are not indexed, and each file indexes at most the configured number of distinct
+ * tokens. Such terms are still found: they do not narrow down the chunks to read, and chunks indexed once the
+ * limit was reached are always read. Files are indexed in steps of {@value #INDEX_STEP_BYTES} bytes; a search
+ * indexes at most one step of each file and reports itself as partial when a file is not fully indexed yet,
+ * the scheduled refresh indexes the rest.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LogIndexService {
+
+    private static final int CHUNK_BYTES = 128 * 1024;
+
+    private static final int READ_BLOCK_SIZE = 64 * 1024;
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final int INDEX_STEP_BYTES = 4 * 1024 * 1024;
+
+    private final ApplicationConfig applicationConfig;
+
+    private final Map<Path, FileIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Lists the log files of a directory, most recently modified first.
+     *
+     * @param directory the logs directory
+     * @return the {@code .log} files of the directory, empty if the directory does not exist
+     */
+    public List<Path> listLogFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".log"))
+                    .sorted(Comparator.comparingLong((Path file) -> file.toFile().lastModified()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list log files of {}: {}", directory, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Indexes the content written to the log files of the given directories since the previous pass.
+     * Indexes of files no longer present in these directories are dropped.
+     *
+     * @param directories the logs directories of all applications
+     */
+    public void refresh(Collection<Path> directories) {
+        Set<Path> files = new HashSet<>();
+        directories.forEach(directory -> files.addAll(listLogFiles(directory)));
+        indexes.keySet().removeIf(path -> !files.contains(path));
+        files.forEach(path -> update(path, true));
+        log.debug("Indexed {} log files", indexes.size());
+    }
+
+    /**
+     * Drops the index of a file, which is indexed again from its start on the next refresh or search.
+     * Used when a file is truncated by a log rotation, as it may grow back before the truncation is noticed.
+     *
+     * @param path the log file
+     */
+    public void invalidate(Path path) {
+        indexes.remove(path);
+    }
+
+    /**
+     * Searches log files for the lines holding all the terms of a query.
+     * The files are brought up to date first, so lines written since the last refresh are found too, unless
+     * more than one indexing step is pending: the indexed part of such a file is searched and the result is partial.
+     *
+     * @param files   the files to search, in the order the results are returned
+     * @param query   the terms to search for, separated by spaces
+     * @param context the number of lines to return before and after each matching line
+     * @param page    the index of the page, starting at 0
+     * @param size    the maximum number of matches per page
+     * @return the page of matching lines
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the query has no searchable term
+     */
+    public LogSearchResultDto search(List<Path> files, String query, int context, int page, int size) {
+        List<Term> terms = parse(query);
+        if (terms.isEmpty()) {
+            throw new SpringOpsException("Query must contain at least one word", HttpStatus.BAD_REQUEST);
+        }
+
+        Matches matches = new Matches((long) page * size, size + 1);
+        boolean partial = false;
+        for (Path file : files) {
+            if (matches.isFull()) {
+                break;
+            }
+            FileIndex index = update(file, false);
+            if (index == null) {
+                continue;
+            }
+            partial |= !index.isComplete();
+            try {
+                index.search(terms, context, matches);
+            } catch (IOException e) {
+                log.warn("Failed to search log file {}: {}", file, e.getMessage());
+            }
+        }
+
+        boolean hasMore = matches.found.size() > size;
+        List<LogSearchMatchDto> found = hasMore ? matches.found.subList(0, size) : matches.found;
+        return new LogSearchResultDto(query, List.copyOf(found), page, size, hasMore, partial);
+    }
+
+    /**
+     * Indexes the content of a file appended since the previous update.
+     *
+     * @param path          the log file
+     * @param untilComplete whether to index the whole content, or at most one step of it
+     * @return the index of the file, or null if the file cannot be read
+     */
+    private FileIndex update(Path path, boolean untilComplete) {
+        FileIndex index = indexes.computeIfAbsent(path, file -> new FileIndex(file, applicationConfig.getLogIndexMaxTokens()));
+        try {
+            // The index is locked step by step only, so a search waits for one step at most
+            boolean complete;
+            do {
+                complete = index.update(INDEX_STEP_BYTES);
+            } while (untilComplete && !complete);
+            return index;
+        } catch (NoSuchFileException e) {
+            indexes.remove(path, index);
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to index log file {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Splits a query into terms, using the same rules as the indexed content.
+     *
+     * @param query the query
+     * @return the terms of the query
+     */
+    private static List<Term> parse(String query) {
+        List<Term> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = tokenize(word.getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < tokens.size(); i++) {
+                terms.add(new Term(tokens.get(i), prefix && i == tokens.size() - 1));
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> tokenize(byte[] bytes) {
+        List<String> tokens = new ArrayList<>();
+        Tokenizer tokenizer = new Tokenizer();
+        for (byte b : bytes) {
+            tokenizer.accept(b, tokens::add);
+        }
+        tokenizer.flush(tokens::add);
+        return tokens;
+    }
+
+    /**
+     * Tells whether a token looks like a number or a hexadecimal identifier, which are not indexed.
+     */
+    private static boolean isIdentifier(String token) {
+        boolean digit = false;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c < 'a' || c > 'f') {
+                return false;
+            }
+        }
+        return digit;
+    }
+
+    private static Object fileKey(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Term of a query.
+     *
+     * @param text   the lower-case token
+     * @param prefix whether the term matches any token starting with it
+     */
+    private record Term(String text, boolean prefix) {
+
+        private boolean matches(String token) {
+            return prefix ? token.startsWith(text) : token.equals(text);
+        }
+
+        /**
+         * Tells whether all the tokens matching the term are indexed, so the index can narrow down the chunks to read.
+         * A prefix made of hexadecimal digits only may match identifiers.
+         */
+        private boolean indexed() {
+            if (!prefix) {
+                return !isIdentifier(text);
+            }
+            return text.chars().anyMatch(c -> (c < '0' || c > '9') && (c < 'a' || c > 'f'));
+        }
+    }
+
+    /**
+     * Line read back from an indexed file.
+     */
+    private record Line(long number, long offset, byte[] bytes) {
+
+        private String text() {
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+        }
+
+        private boolean matches(List<Term> terms) {
+            // Cheap substring check first, most lines of a candidate chunk do not hold the terms
+            for (Term term : terms) {
+                if (!containsIgnoreCase(bytes, term.text().getBytes(StandardCharsets.UTF_8))) {
+                    return false;
+                }
+            }
+            List<String> tokens = tokenize(bytes);
+            return terms.stream().allMatch(term -> tokens.stream().anyMatch(term::matches));
+        }
+    }
+
+    /**
+     * Tells whether bytes contain a lower-case sequence, ignoring the case of ASCII letters.
+     */
+    private static boolean containsIgnoreCase(byte[] bytes, byte[] lower) {
+        outer:
+        for (int i = 0; i <= bytes.length - lower.length; i++) {
+            for (int j = 0; j < lower.length; j++) {
+                byte b = bytes[i + j];
+                if ((b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b) != lower[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Matches collected by a search across files, skipping those of the previous pages.
+     */
+    private static final class Matches {
+
+        private final List<LogSearchMatchDto> found = new ArrayList<>();
+
+        private final int limit;
+
+        private long toSkip;
+
+        private Matches(long toSkip, int limit) {
+            this.toSkip = toSkip;
+            this.limit = limit;
+        }
+
+        private boolean skip() {
+            if (toSkip > 0) {
+                toSkip--;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isFull() {
+            return found.size() >= limit;
+        }
+    }
+
+    /**
+     * Splits bytes into lower-case tokens, keeping its state across calls so content can be fed in blocks.
+     * Bytes of multibyte UTF-8 characters are token bytes, so words in any script are tokens.
+     */
+    private static final class Tokenizer {
+
+        private final byte[] buffer = new byte[MAX_TOKEN_LENGTH];
+
+        private int length;
+
+        private boolean overlong;
+
+        private void accept(byte b, Consumer<String> sink) {
+            boolean tokenByte = (b >= '0' && b <= '9') || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || b == '_' || b < 0;
+            if (!tokenByte) {
+                flush(sink);
+            } else if (length < MAX_TOKEN_LENGTH) {
+                buffer[length++] = b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+            } else {
+                overlong = true;
+            }
+        }
+
+        private void flush(Consumer<String> sink) {
+            if (length > 0 && !overlong) {
+                sink.accept(new String(buffer, 0, length, StandardCharsets.UTF_8));
+            }
+            length = 0;
+            overlong = false;
+        }
+
+        private void reset() {
+            length = 0;
+            overlong = false;
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free list of the chunks a token occurs in.
+     * Chunks are indexed in order, so adding only has to compare with the last chunk.
+     */
+    private static final class Postings {
+
+        private int[] chunks = new int[2];
+
+        private int size;
+
+        private void add(int chunk) {
+            if (size > 0 && chunks[size - 1] == chunk) {
+                return;
+            }
+            if (size == chunks.length) {
+                chunks = Arrays.copyOf(chunks, size * 2);
+            }
+            chunks[size++] = chunk;
+        }
+
+        private void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(chunks[i]);
+            }
+        }
+    }
+
+    /**
+     * Index of a single log file. All operations lock on the index, so a search sees a consistent state.
+     */
+    private static final class FileIndex {
+
+        private final Path path;
+
+        private final int maxTokens;
+
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+
+        private final Tokenizer tokenizer = new Tokenizer();
+
+        private final Consumer<String> sink = this::post;
+
+        private long[] chunkOffsets = new long[16];
+
+        private long[] chunkFirstLines = new long[16];
+
+        private int chunkCount;
+
+        private Object fileKey;
+
+        /**
+         * Offset up to which the file has been indexed.
+         */
+        private long indexed;
+
+        /**
+         * Number of complete lines indexed.
+         */
+        private long lines;
+
+        private boolean atLineStart = true;
+
+        /**
+         * First chunk holding a token not indexed because the file reached the maximum number of tokens.
+         */
+        private int unindexedFrom = Integer.MAX_VALUE;
+
+        /**
+         * Whether the file was indexed up to its size when last updated.
+         */
+        private boolean complete = false;
+
+        private FileIndex(Path path, int maxTokens) {
+            this.path = path;
+            this.maxTokens = maxTokens;
+        }
+
+        /**
+         * Indexes the content appended since the previous update, or the file from its start if it was truncated
+         * or replaced.
+         *
+         * @param maxBytes the maximum number of bytes to index
+         * @return true if the file is indexed up to its size
+         */
+        private synchronized boolean update(long maxBytes) throws IOException {
+            Object currentKey = fileKey(path);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < indexed || (fileKey != null && !Objects.equals(currentKey, fileKey))) {
+                    log.debug("Log file {} was truncated or replaced, indexing it from the start", path);
+                    reset();
+                }
+                fileKey = currentKey;
+
+                long start = indexed;
+                long end = Math.min(size, indexed + maxBytes);
+                ByteBuffer buffer = ByteBuffer.allocate(READ_BLOCK_SIZE);
+                while (indexed < end) {
+                    buffer.clear().limit((int) Math.min(READ_BLOCK_SIZE, end - indexed));
+                    int read = channel.read(buffer, indexed);
+                    if (read <= 0) {
+                        break;
+                    }
+                    byte[] bytes = buffer.array();
+                    for (int i = 0; i < read; i++) {
+                        index(bytes[i], indexed + i);
+                    }
+                    indexed += read;
+                }
+                if (indexed > start) {
+                    log.debug("Indexed {} bytes of log file {}", indexed - start, path);
+                }
+                complete = indexed >= size;
+                return complete;
+            }
+        }
+
+        private synchronized boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * Searches the chunks holding all the terms and collects their matching lines.
+         */
+        private synchronized void search(List<Term> terms, int context, Matches matches) throws IOException {
+            BitSet candidates = new BitSet(chunkCount);
+            candidates.set(0, chunkCount);
+            for (Term term : terms) {
+                if (!term.indexed()) {
+                    // Checked on the lines of the candidate chunks only
+                    continue;
+                }
+                BitSet chunks = new BitSet(chunkCount);
+                if (term.prefix()) {
+                    postings.subMap(term.text(), true, term.text() + Character.MAX_VALUE, false)
+                            .values().forEach(list -> list.addTo(chunks));
+                } else if (postings.containsKey(term.text())) {
+                    postings.get(term.text()).addTo(chunks);
+                }
+                chunks.set(Math.min(unindexedFrom, chunkCount), chunkCount);
+                candidates.and(chunks);
+                if (candidates.isEmpty()) {
+                    return;
+                }
+            }
+
+            String filename = path.getFileName().toString();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                Map<Integer, List<Line>> cache = new HashMap<>();
+                for (int chunk = candidates.nextSetBit(0); chunk >= 0 && !matches.isFull(); chunk = candidates.nextSetBit(chunk + 1)) {
+                    List<Line> chunkLines = readChunk(channel, chunk, cache);
+                    for (int i = 0; i < chunkLines.size() && !matches.isFull(); i++) {
+                        Line line = chunkLines.get(i);
+                        if (!line.matches(terms) || matches.skip()) {
+                            continue;
+                        }
+                        matches.found.add(new LogSearchMatchDto(filename, line.number(), line.offset(), line.text(),
+                                before(channel, chunk, i, context, cache), after(channel, chunk, i, context, cache)));
+                    }
+                }
+            }
+        }
+
+        private void index(byte b, long offset) {
+            if (atLineStart) {
+                if (chunkCount == 0 || offset - chunkOffsets[chunkCount - 1] >= CHUNK_BYTES) {
+                    startChunk(offset);
+                }
+                atLineStart = false;
+            }
+            if (b == '\n') {
+                tokenizer.flush(sink);
+                lines++;
+                atLineStart = true;
+            } else {
+                tokenizer.accept(b, sink);
+            }
+        }
+
+        private void startChunk(long offset) {
+            if (chunkCount == chunkOffsets.length) {
+                chunkOffsets = Arrays.copyOf(chunkOffsets, chunkCount * 2);
+                chunkFirstLines = Arrays.copyOf(chunkFirstLines, chunkCount * 2);
+            }
+            chunkOffsets[chunkCount] = offset;
+            chunkFirstLines[chunkCount] = lines + 1;
+            chunkCount++;
+        }
+
+        private void post(String token) {
+            if (isIdentifier(token)) {
+                return;
+            }
+            Postings list = postings.get(token);
+            if (list == null) {
+                if (postings.size() >= maxTokens) {
+                    unindexedFrom = Math.min(unindexedFrom, chunkCount - 1);
+                    return;
+                }
+                list = new Postings();
+                postings.put(token, list);
+            }
+            list.add(chunkCount - 1);
+        }
+
+        private void reset() {
+            postings.clear();
+            tokenizer.reset();
+            chunkCount = 0;
+            indexed = 0;
+            lines = 0;
+            atLineStart = true;
+            unindexedFrom = Integer.MAX_VALUE;
+        }
+
+        private List<String> before(FileChannel channel, int chunk, int index, int count, Map<Integer, List<Line>> cache) throws IOException {
+            Deque<String> before = new ArrayDeque<>();
+            List<Line> current = readChunk(channel, chunk, cache);
+            int i = index - 1;
+            while (before.size() < count) {
+                if (i < 0) {
+                    if (--chunk < 0) {
+                        break;
+                    }
+                    current = readChunk(channel, chunk, cache);
+                    i = current.size() - 1;
+                    continue;
+                }
+                before.addFirst(current.get(i--).text());
+            }
+            return List.copyOf(before);
+        }
+
+        private List<String> after(FileChannel channel, int chunk, int index, int count, Map<Integer, List<Line>> cache) throws IOException {
+            List<String> after = new ArrayList<>();
+            List<Line> current = readChunk(channel, chunk, cache);
+            int i = index + 1;
+            while (after.size() < count) {
+                if (i >= current.size()) {
+                    if (++chunk >= chunkCount) {
+                        break;
+                    }
+                    current = readChunk(channel, chunk, cache);
+                    i = 0;
+                    continue;
+                }
+                after.add(current.get(i++).text());
+            }
+            return after;
+        }
+
+        /**
+         * Reads the complete lines of a chunk, keeping the few chunks last read of the current search.
+         */
+        private List<Line> readChunk(FileChannel channel, int chunk, Map<Integer, List<Line>> cache) throws IOException {
+            List<Line> cached = cache.get(chunk);
+            if (cached != null) {
+                return cached;
+            }
+            long start = chunkOffsets[chunk];
+            long end = chunk + 1 < chunkCount ? chunkOffsets[chunk + 1] : indexed;
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+
+            List<Line> chunkLines = new ArrayList<>();
+            byte[] bytes = buffer.array();
+            long number = chunkFirstLines[chunk];
+            int lineStart = 0;
+            for (int i = 0; i < buffer.position(); i++) {
+                if (bytes[i] == '\n') {
+                    chunkLines.add(new Line(number++, start + lineStart, Arrays.copyOfRange(bytes, lineStart, i)));
+                    lineStart = i + 1;
+                }
+            }
+            if (cache.size() >= 4) {
+                cache.clear();
+            }
+            cache.put(chunk, chunkLines);
+            return chunkLines;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package org.kreyzon.springops.core.logs.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.utils.LogFileUtils;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service rotating the output log of the launched applications into compressed segments.
+ * Applications are started detached by {@code run_project.sh} and keep appending to {@code app.log}, or
+ * {@code app-<port>.log} for instances on another port than the application port, across SpringOps restarts,
+ * so the file is rotated by copy and truncate: its content is compressed into an {@code app-<timestamp>.log.gz}
+ * segment next to it, then it is truncated and the application keeps appending from the start. The log is
+ * rotated when the application is started, once it exceeds the configured size and once the configured interval
+ * has elapsed; segments past the configured count or age are deleted.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LogRotationService {
+
+    /**
+     * Name of the output log written by {@code run_project.sh} for instances on the application port.
+     */
+    public static final String APPLICATION_LOG = "app.log";
+
+    private static final String LOG_SUFFIX = ".log";
+
+    /**
+     * Names of the output logs, {@code app.log} and the {@code app-<port>.log} of other ports.
+     */
+    private static final Pattern APPLICATION_LOG_PATTERN = Pattern.compile("app(-\\d+)?\\.log");
+
+    private static final String SEGMENT_SUFFIX = LOG_SUFFIX + LogFileUtils.COMPRESSED_SUFFIX;
+
+    private static final DateTimeFormatter SEGMENT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final int COMPRESS_BUFFER_SIZE = 64 * 1024;
+
+    private final ApplicationConfig applicationConfig;
+
+    private final LogFollowService logFollowService;
+
+    private final LogIndexService logIndexService;
+
+    /**
+     * Time of the last rotation, keyed by log file.
+     */
+    private final Map<Path, Instant> lastRotations = new ConcurrentHashMap<>();
+
+    /**
+     * Rotates the output logs of the given directories that are due, and deletes their expired segments.
+     *
+     * @param directories the logs directories of all applications
+     * @return the number of rotated logs
+     */
+    public int rotateAll(Collection<Path> directories) {
+        int rotated = 0;
+        for (Path directory : directories) {
+            for (Path logFile : listApplicationLogs(directory)) {
+                if (rotateIfDue(logFile)) {
+                    rotated++;
+                }
+                deleteExpiredSegments(logFile);
+            }
+        }
+        return rotated;
+    }
+
+    /**
+     * Returns the name of the output log of an instance running on a port other than the application port.
+     *
+     * @param port the port of the instance
+     * @return the name of the output log file
+     */
+    public static String applicationLogName(Integer port) {
+        return "app-" + port + LOG_SUFFIX;
+    }
+
+    /**
+     * Rotates a log file if it exceeds the configured size or was last rotated more than the configured interval ago.
+     *
+     * @param logFile the log file
+     * @return true if the file was rotated
+     */
+    public boolean rotateIfDue(Path logFile) {
+        if (!Files.isRegularFile(logFile)) {
+            return false;
+        }
+        try {
+            long size = Files.size(logFile);
+            Instant lastRotation = lastRotations.computeIfAbsent(logFile, this::latestSegmentTime);
+            Duration interval = Duration.ofHours(applicationConfig.getLogRotationIntervalHours());
+            boolean due = size >= applicationConfig.getLogRotationMaxBytes()
+                    || (size > 0 && !lastRotation.plus(interval).isAfter(Instant.now()));
+            return due && rotate(logFile).isPresent();
+        } catch (IOException e) {
+            log.warn("Failed to rotate log file {}: {}", logFile, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Compresses the content of a log file into a new segment and truncates the file.
+     * The bulk of the file is compressed first, then the copy is completed and the file truncated together
+     * through {@link LogFollowService#truncate(Path, LogFollowService.RotationCopy)}, so lines appended while
+     * compressing are included as well.
+     *
+     * @param logFile the log file
+     * @return the created segment, or empty if the file is missing or empty
+     * @throws IOException if the segment cannot be written or the file cannot be truncated
+     */
+    public synchronized Optional<Path> rotate(Path logFile) throws IOException {
+        lastRotations.put(logFile, Instant.now());
+        if (!Files.isRegularFile(logFile) || Files.size(logFile) == 0) {
+            return Optional.empty();
+        }
+
+        Path segment = nextSegmentPath(logFile);
+        Path temporary = segment.resolveSibling("." + segment.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary), COMPRESS_BUFFER_SIZE)) {
+            SegmentCopy copy = new SegmentCopy(channel, Channels.newChannel(out));
+            // Compress outside of the tailer lock, only what is appended meanwhile is copied while holding it
+            copy.copyRemaining();
+            logFollowService.truncate(logFile, copy);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, segment, StandardCopyOption.ATOMIC_MOVE);
+        logIndexService.invalidate(logFile);
+
+        log.info("Rotated log file {} into {}", logFile, segment.getFileName());
+        return Optional.of(segment);
+    }
+
+    /**
+     * Deletes the segments of a log file beyond the configured count or older than the configured retention.
+     *
+     * @param logFile the log file
+     * @return the number of deleted segments
+     */
+    public int deleteExpiredSegments(Path logFile) {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(applicationConfig.getLogRotationRetentionDays()));
+        List<Path> segments = listSegments(logFile);
+        int deleted = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            try {
+                if (i >= applicationConfig.getLogRotationMaxSegments()
+                        || Files.getLastModifiedTime(segment).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(segment);
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete log segment {}: {}", segment, e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired segments of log file {}", deleted, logFile);
+        }
+        return deleted;
+    }
+
+    /**
+     * Lists the output logs of a logs directory.
+     *
+     * @param directory the logs directory
+     * @return the output logs in the directory
+     */
+    private List<Path> listApplicationLogs(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> APPLICATION_LOG_PATTERN.matcher(file.getFileName().toString()).matches())
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list output logs of directory {}: {}", directory, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Lists the segments of a log file, newest first.
+     *
+     * @param logFile the log file
+     * @return the segments of the file
+     */
+    private List<Path> listSegments(Path logFile) {
+        // The segments of app.log must not include the ones of app-<port>.log, which share their prefix
+        Pattern segmentPattern = Pattern.compile(Pattern.quote(segmentPrefix(logFile)) + "\\d{8}-\\d{6}(-\\d+)?"
+                + Pattern.quote(SEGMENT_SUFFIX));
+        Path directory = logFile.getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> segmentPattern.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong((Path file) -> file.toFile().lastModified()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list segments of log file {}: {}", logFile, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private Instant latestSegmentTime(Path logFile) {
+        return listSegments(logFile).stream()
+                .findFirst()
+                .flatMap(segment -> {
+                    try {
+                        return Optional.of(Files.getLastModifiedTime(segment).toInstant());
+                    } catch (IOException e) {
+                        return Optional.empty();
+                    }
+                })
+                .orElseGet(Instant::now);
+    }
+
+    private Path nextSegmentPath(Path logFile) {
+        String name = segmentPrefix(logFile) + LocalDateTime.now().format(SEGMENT_TIMESTAMP);
+        Path segment = logFile.resolveSibling(name + SEGMENT_SUFFIX);
+        for (int i = 1; Files.exists(segment); i++) {
+            segment = logFile.resolveSibling(name + "-" + i + SEGMENT_SUFFIX);
+        }
+        return segment;
+    }
+
+    private static String segmentPrefix(Path logFile) {
+        String name = logFile.getFileName().toString();
+        return (name.endsWith(LOG_SUFFIX) ? name.substring(0, name.length() - LOG_SUFFIX.length()) : name) + "-";
+    }
+
+    /**
+     * Copy of a log file into a segment, resuming where the previous copy stopped.
+     */
+    private static final class SegmentCopy implements LogFollowService.RotationCopy {
+
+        private final FileChannel source;
+
+        private final WritableByteChannel target;
+
+        private long copied = 0;
+
+        private SegmentCopy(FileChannel source, WritableByteChannel target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public long copyRemaining() throws IOException {
+            long size;
+            while ((size = source.size()) > copied) {
+                copied += source.transferTo(copied, size - copied, target);
+            }
+            return copied;
+        }
+    }
+}
@@ -3,7 +3,10 @@ package org.kreyzon.springops.core.logs.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.kreyzon.springops.common.dto.logs.ApplicationLogDto;
+import org.kreyzon.springops.common.dto.logs.LogChunkDto;
+import org.kreyzon.springops.common.dto.logs.LogSearchResultDto;
 import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.common.utils.LogFileUtils;
 import org.kreyzon.springops.config.ApplicationConfig;
 import org.kreyzon.springops.core.application.entity.Application;
 import org.kreyzon.springops.core.application.service.ApplicationLookupService;
@@ -12,6 +15,7 @@ import org.kreyzon.springops.setup.service.SetupService;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -24,6 +28,10 @@ import java.util.stream.Collectors;
 
 /**
  * Service class for streaming logs of different applications.
+ * Log files can reach several gigabytes, so they are never loaded whole: downloads are streamed
+ * and pages and tails are read with bounded positional reads. Searches go through an incrementally
+ * maintained index instead of scanning the files. The rotated, gzip-compressed segments of the output log
+ * are listed with the other logs and decompressed transparently when read.
  *
  * @author Lorenzo Orlando
  * @email orlandolorenzo@kreyzon.com
@@ -33,12 +41,22 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LogService {
 
+    private static final int MAX_SEARCH_CONTEXT_LINES = 20;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 500;
+
     private final ApplicationConfig applicationConfig;
 
     private final ApplicationLookupService applicationLookupService;
 
     private final SetupService setupService;
 
+    private final LogFollowService logFollowService;
+
+    private final LogIndexService logIndexService;
+
+    private final LogRotationService logRotationService;
+
     /**
      * Lists all application logs for the specified application.
      *
@@ -59,7 +77,8 @@ public class LogService {
         try (var pathsStream = Files.list(Paths.get(logsPath))) {
             List<Path> allLogs = pathsStream
                     .filter(Files::isRegularFile)
-                    .filter(file -> file.getFileName().toString().endsWith(".log"))
+                    .filter(file -> file.getFileName().toString().endsWith(".log")
+                            || file.getFileName().toString().endsWith(".log" + LogFileUtils.COMPRESSED_SUFFIX))
                     .toList();
 
             List<ApplicationLogDto> result = new ArrayList<>();
@@ -86,36 +105,170 @@ public class LogService {
 
 
     /**
-     * Downloads a specific log file for the given application.
+     * Resolves a specific log file for the given application, to be streamed by the caller.
      *
      * @param applicationId the ID of the application whose log file is to be downloaded
      * @param filename      the name of the log file to be downloaded
-     * @return byte array containing the contents of the log file
+     * @return the path of the log file, possibly a compressed segment
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the log file does not exist
      */
-    public byte[] downloadLogFile(Integer applicationId, String filename) {
+    public Path downloadLogFile(Integer applicationId, String filename) {
         log.info("Downloading log file '{}' for application with ID: {}", filename, applicationId);
+        return resolveLogFile(applicationId, filename);
+    }
 
-        Application application = applicationLookupService.findEntityById(applicationId);
-        Setup setup = setupService.getSetup();
+    /**
+     * Reads a page of a log file starting at a byte offset.
+     *
+     * @param applicationId the ID of the application
+     * @param filename      the name of the log file
+     * @param offset        the byte offset to start at
+     * @param limit         the maximum number of bytes to return, capped by the configured maximum
+     * @return the page, ending on a line boundary
+     */
+    public LogChunkDto readLogPage(Integer applicationId, String filename, long offset, int limit) {
+        Path path = resolveLogFile(applicationId, filename);
+        try {
+            return LogFileUtils.readPage(path, offset, boundedReadSize(limit));
+        } catch (IOException e) {
+            log.error("Failed to read log file: {}", path, e);
+            throw new SpringOpsException("Error reading log file", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 
-        String logFilePath = setup.getFilesRoot() + "/" +
-                applicationConfig.getRootDirectoryName() + "/" +
-                applicationConfig.getDirectoryApplications() + "/" +
-                application.getName().toLowerCase().replace(" ", "-") + "/logs/" + filename;
+    /**
+     * Reads the last lines of a log file.
+     *
+     * @param applicationId the ID of the application
+     * @param filename      the name of the log file
+     * @param lines         the number of lines to return
+     * @return the last lines, limited to the configured maximum read size
+     */
+    public LogChunkDto tailLogFile(Integer applicationId, String filename, int lines) {
+        Path path = resolveLogFile(applicationId, filename);
+        try {
+            return LogFileUtils.tail(path, lines, applicationConfig.getLogReadMaxBytes());
+        } catch (IOException e) {
+            log.error("Failed to read log file: {}", path, e);
+            throw new SpringOpsException("Error reading log file", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 
-        Path path = Paths.get(logFilePath);
+    /**
+     * Follows a log file as it is written, like {@code tail -f}.
+     *
+     * @param applicationId the ID of the application
+     * @param filename      the name of the log file
+     * @param fromOffset    the byte offset to resume from, or null to start with the last lines
+     * @param lines         the number of lines to replay when no offset is given
+     * @return an SseEmitter streaming the lines of the log file
+     */
+    public SseEmitter followLogFile(Integer applicationId, String filename, Long fromOffset, int lines) {
+        Path path = resolveUncompressedLogFile(applicationId, filename);
+        log.info("Following log file '{}' for application with ID: {}", filename, applicationId);
+        return logFollowService.follow(path, fromOffset, Math.max(0, lines));
+    }
 
+    /**
+     * Searches the log files of an application for the lines holding all the terms of a query.
+     *
+     * @param applicationId the ID of the application
+     * @param query         the terms to search for, separated by spaces; a term ending with {@code *} is a prefix
+     * @param filename      the name of the log file to search, or null to search all of them, newest first;
+     *                      compressed segments are not indexed
+     * @param context       the number of lines to return before and after each matching line
+     * @param page          the index of the page, starting at 0
+     * @param size          the maximum number of matches per page
+     * @return the page of matching lines
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the query or the paging parameters are invalid
+     */
+    public LogSearchResultDto searchLogs(Integer applicationId, String query, String filename, int context, int page, int size) {
+        if (context < 0 || context > MAX_SEARCH_CONTEXT_LINES) {
+            throw new SpringOpsException("Context must be between 0 and " + MAX_SEARCH_CONTEXT_LINES, HttpStatus.BAD_REQUEST);
+        }
+        if (page < 0 || size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new SpringOpsException("Page must not be negative and size must be between 1 and " + MAX_SEARCH_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+        log.info("Searching logs of application with ID {} for '{}'", applicationId, query);
+
+        List<Path> files = filename != null
+                ? List.of(resolveUncompressedLogFile(applicationId, filename))
+                : logIndexService.listLogFiles(logsDirectory(applicationLookupService.findEntityById(applicationId)));
+        return logIndexService.search(files, query, context, page, size);
+    }
+
+    /**
+     * Indexes the content written to the log files of all applications since the previous refresh.
+     */
+    public void refreshLogIndexes() {
+        logIndexService.refresh(logsDirectories());
+    }
+
+    /**
+     * Rotates the output logs of all applications that are due, and deletes their expired segments.
+     *
+     * @return the number of rotated logs
+     */
+    public int rotateApplicationLogs() {
+        return logRotationService.rotateAll(logsDirectories());
+    }
+
+    /**
+     * Resolves a log file of an application.
+     *
+     * @param applicationId the ID of the application
+     * @param filename      the name of the log file
+     * @return the path of the log file
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the filename points outside the logs directory,
+     *                            or {@link HttpStatus#NOT_FOUND} if the log file does not exist
+     */
+    private Path resolveLogFile(Integer applicationId, String filename) {
+        Path logsPath = logsDirectory(applicationLookupService.findEntityById(applicationId));
+        Path path = logsPath.resolve(filename).normalize();
+
+        if (!path.startsWith(logsPath)) {
+            log.error("Log file '{}' is outside of the logs directory: {}", filename, logsPath);
+            throw new SpringOpsException("Invalid log file name", HttpStatus.BAD_REQUEST);
+        }
         if (!Files.exists(path) || !Files.isRegularFile(path)) {
-            log.error("Log file '{}' not found at path: {}", filename, logFilePath);
+            log.error("Log file '{}' not found at path: {}", filename, path);
             throw new SpringOpsException("Log file not found", HttpStatus.NOT_FOUND);
         }
+        return path;
+    }
 
-        try {
-            return Files.readAllBytes(path);
-        } catch (IOException e) {
-            log.error("Failed to read log file: {}", logFilePath, e);
-            throw new RuntimeException("Error reading log file", e);
+    /**
+     * Resolves a log file that is not a compressed segment, for the operations reading it positionally.
+     *
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the log file is a compressed segment
+     */
+    private Path resolveUncompressedLogFile(Integer applicationId, String filename) {
+        Path path = resolveLogFile(applicationId, filename);
+        if (LogFileUtils.isCompressed(path)) {
+            throw new SpringOpsException("Compressed log segments can only be downloaded, paged or tailed", HttpStatus.BAD_REQUEST);
         }
+        return path;
     }
 
+    private List<Path> logsDirectories() {
+        return applicationLookupService.findAllEntities().stream()
+                .map(this::logsDirectory)
+                .toList();
+    }
+
+    private Path logsDirectory(Application application) {
+        Setup setup = setupService.getSetup();
+        return Paths.get(setup.getFilesRoot(),
+                applicationConfig.getRootDirectoryName(),
+                applicationConfig.getDirectoryApplications(),
+                application.getName().toLowerCase().replace(" ", "-"),
+                "logs").normalize();
+    }
+
+    private int boundedReadSize(int limit) {
+        if (limit <= 0) {
+            throw new SpringOpsException("Limit must be positive", HttpStatus.BAD_REQUEST);
+        }
+        return Math.min(limit, applicationConfig.getLogReadMaxBytes());
+    }
 }
@@ -0,0 +1,34 @@
+package org.kreyzon.springops.core.maven_repository.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.kreyzon.springops.core.maven_repository.service.MavenRepositoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the shared local Maven repositories.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@RestController
+@RequestMapping("/maven-repositories")
+@RequiredArgsConstructor
+public class MavenRepositoryController {
+
+    private final MavenRepositoryService mavenRepositoryService;
+
+    /**
+     * Starts resolving the dependencies of a branch in the background, typically as soon as the
+     * branch has been selected and before the deployment is submitted.
+     *
+     * @param applicationId the ID of the application
+     * @param branchName    the selected branch
+     * @return a ResponseEntity with a 202 status once the prefetch is scheduled or already pending
+     */
+    @PostMapping("/prefetch")
+    public ResponseEntity<Void> prefetch(@RequestParam Integer applicationId, @RequestParam String branchName) {
+        mavenRepositoryService.prefetchDependencies(applicationId, branchName);
+        return ResponseEntity.accepted().build();
+    }
+}
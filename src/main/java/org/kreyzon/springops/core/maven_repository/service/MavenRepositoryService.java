@@ -0,0 +1,203 @@
+package org.kreyzon.springops.core.maven_repository.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.common.utils.GitUtils;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.config.annotations.Audit;
+import org.kreyzon.springops.core.application.entity.Application;
+import org.kreyzon.springops.core.application.service.ApplicationLookupService;
+import org.kreyzon.springops.core.os_info.service.OsInfoService;
+import org.kreyzon.springops.core.script_registry.service.ScriptRegistryService;
+import org.kreyzon.springops.core.system_version.entity.SystemVersion;
+import org.kreyzon.springops.setup.service.SetupService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service managing the shared local Maven repositories.
+ * Every Maven system version owns one local repository shared by all applications built with it,
+ * and dependencies can be pre-resolved in the background so that deployments do not pay for
+ * dependency downloads on their critical path.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@Slf4j
+public class MavenRepositoryService {
+
+    private final ApplicationLookupService applicationLookupService;
+
+    private final ApplicationConfig applicationConfig;
+
+    private final SetupService setupService;
+
+    private final OsInfoService osInfoService;
+
+    private final ScriptRegistryService scriptRegistryService;
+
+    private final ThreadPoolTaskExecutor mavenPrefetchExecutor;
+
+    /**
+     * Prefetches currently queued or running, keyed by application ID and branch.
+     */
+    private final Set<String> pendingPrefetches = ConcurrentHashMap.newKeySet();
+
+    public MavenRepositoryService(ApplicationLookupService applicationLookupService,
+                                  ApplicationConfig applicationConfig,
+                                  SetupService setupService,
+                                  OsInfoService osInfoService,
+                                  ScriptRegistryService scriptRegistryService,
+                                  @Qualifier("mavenPrefetchExecutor") ThreadPoolTaskExecutor mavenPrefetchExecutor) {
+        this.applicationLookupService = applicationLookupService;
+        this.applicationConfig = applicationConfig;
+        this.setupService = setupService;
+        this.osInfoService = osInfoService;
+        this.scriptRegistryService = scriptRegistryService;
+        this.mavenPrefetchExecutor = mavenPrefetchExecutor;
+    }
+
+    /**
+     * Resolves the shared local repository of a Maven system version, creating it if needed.
+     *
+     * @param mavenVersion the Maven system version
+     * @return the path of the local repository
+     */
+    public String resolveRepositoryPath(SystemVersion mavenVersion) {
+        Path repositoryPath = Paths.get(
+                setupService.getSetup().getFilesRoot(),
+                applicationConfig.getRootDirectoryName(),
+                applicationConfig.getDirectoryMavenRepositories(),
+                mavenVersion.getId().toString()
+        );
+        try {
+            Files.createDirectories(repositoryPath);
+        } catch (IOException e) {
+            log.warn("Failed to create Maven repository directory {}: {}", repositoryPath, e.getMessage());
+        }
+        return repositoryPath.toString();
+    }
+
+    /**
+     * Returns the additional Maven options configured for an application.
+     *
+     * @param application the application being built
+     * @return the Maven options, e.g. {@code --offline} and {@code -T 4}
+     */
+    public List<String> buildOptions(Application application) {
+        List<String> options = new ArrayList<>();
+        if (application.isMavenOffline()) {
+            options.add("--offline");
+        }
+        if (application.getMavenThreads() != null && !application.getMavenThreads().isBlank()) {
+            options.add("-T");
+            options.add(application.getMavenThreads().trim());
+        }
+        return options;
+    }
+
+    /**
+     * Schedules the background resolution of all dependencies of a branch into the shared
+     * local repository of the application's Maven version.
+     * Requests for a branch that is already being resolved are ignored.
+     *
+     * @param applicationId the ID of the application
+     * @param branchName    the branch whose dependencies should be resolved
+     * @return true if a new prefetch was scheduled, false if one is already pending
+     * @throws SpringOpsException with {@link HttpStatus#BAD_REQUEST} if the system versions or the Git token are missing
+     * @throws SpringOpsException with {@link HttpStatus#SERVICE_UNAVAILABLE} if the prefetch queue is full
+     */
+    @Audit
+    public boolean prefetchDependencies(Integer applicationId, String branchName) {
+        Application application = applicationLookupService.findEntityById(applicationId);
+
+        SystemVersion javaVersion = application.getJavaSystemVersion();
+        SystemVersion mavenVersion = application.getMvnSystemVersion();
+        if (javaVersion == null || mavenVersion == null) {
+            throw new SpringOpsException("Java and Maven system versions must be set to resolve dependencies", HttpStatus.BAD_REQUEST);
+        }
+        String gitToken = applicationConfig.getGitToken();
+        if (gitToken == null || gitToken.isEmpty()) {
+            throw new SpringOpsException("Git token is not configured", HttpStatus.BAD_REQUEST);
+        }
+
+        String key = applicationId + ":" + branchName;
+        if (!pendingPrefetches.add(key)) {
+            log.info("Dependency prefetch for application ID {} on branch {} is already pending", applicationId, branchName);
+            return false;
+        }
+
+        String repositoryUrl = GitUtils.resolveCloneUrl(application.getGitProjectSshUrl(), application.getGitProjectHttpsUrl(), gitToken);
+        String repositoryPath = resolveRepositoryPath(mavenVersion);
+
+        try {
+            mavenPrefetchExecutor.execute(() -> {
+                try {
+                    runPrefetch(applicationId, repositoryUrl, branchName, javaVersion.getPath(), mavenVersion.getPath(), repositoryPath);
+                } finally {
+                    pendingPrefetches.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            pendingPrefetches.remove(key);
+            log.error("Dependency prefetch queue is full, rejecting prefetch for application ID {}", applicationId);
+            throw new SpringOpsException("Too many dependency prefetches in progress, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        log.info("Scheduled dependency prefetch for application ID {} on branch {}", applicationId, branchName);
+        return true;
+    }
+
+    /**
+     * Runs the prefetch script. Failures are only logged: a cold repository just means the next
+     * online build resolves the dependencies itself.
+     */
+    private void runPrefetch(Integer applicationId, String repositoryUrl, String branchName,
+                             String javaPath, String mavenPath, String repositoryPath) {
+        long startTime = System.currentTimeMillis();
+        try {
+            String scriptName = "prefetch_dependencies.sh";
+            Path script = scriptRegistryService.resolve(osInfoService.determineOsType(), scriptName);
+
+            Process process = new ProcessBuilder("/bin/bash", script.toString(),
+                    repositoryUrl, branchName, javaPath, mavenPath, repositoryPath)
+                    .redirectErrorStream(true)
+                    .start();
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    log.debug("[{}] {}", scriptName, line);
+                }
+            }
+
+            int exitCode = process.waitFor();
+            long timeTaken = (System.currentTimeMillis() - startTime) / 1000;
+            if (exitCode == 0) {
+                log.info("Resolved dependencies for application ID {} on branch {} in {}s", applicationId, branchName, timeTaken);
+            } else {
+                log.warn("Dependency prefetch for application ID {} on branch {} failed with exit code {}", applicationId, branchName, exitCode);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Dependency prefetch for application ID {} was interrupted", applicationId);
+        } catch (Exception e) {
+            log.error("Dependency prefetch for application ID {} failed: {}", applicationId, e.getMessage());
+        }
+    }
+}
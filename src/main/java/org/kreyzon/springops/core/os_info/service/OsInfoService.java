@@ -6,14 +6,12 @@ import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
 import org.apache.commons.exec.PumpStreamHandler;
 import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.core.script_registry.service.ScriptRegistryService;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -28,6 +26,14 @@ import java.util.Objects;
 @Slf4j
 public class OsInfoService {
 
+    private final ScriptRegistryService scriptRegistryService;
+
+    /**
+     * OS type detected on first use. The OS does not change while SpringOps is running,
+     * so deployment steps do not need to run the OS information script again.
+     */
+    private volatile String osType;
+
     /**
      * Path to the shell script that retrieves OS information.
      * This script should be placed in the resources directory of the project.
@@ -59,18 +65,9 @@ public class OsInfoService {
      * @throws IOException If an error occurs while executing the script or reading its output.
      */
     private String executeScript(String scriptName) throws IOException {
-        InputStream scriptStream = getClass().getClassLoader().getResourceAsStream("scripts/" + scriptName);
-        if (scriptStream == null) {
-            log.error("Script not found: {}", scriptName);
-            throw new IOException("Script not found in resources/scripts/: " + scriptName);
-        }
-
-        File tempScript = File.createTempFile("springops-script-", ".sh");
-        tempScript.deleteOnExit();
-        Files.copy(scriptStream, tempScript.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        tempScript.setExecutable(true);
+        Path script = scriptRegistryService.resolve(scriptName);
 
-        CommandLine cmdLine = new CommandLine(tempScript.getAbsolutePath());
+        CommandLine cmdLine = new CommandLine(script.toFile());
 
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         PumpStreamHandler streamHandler = new PumpStreamHandler(outputStream);
@@ -113,14 +110,20 @@ public class OsInfoService {
      * @return The OS type as a string, either "debian", "suse", or "Error" if an error occurs.
      */
     public String determineOsType() {
+        String cachedOsType = osType;
+        if (cachedOsType != null) {
+            return cachedOsType;
+        }
         try {
             Map<String, String> osInfo = getOsInfo();
             String osName = osInfo.getOrDefault("operatingSystem", "").toLowerCase();
 
             if (osName.contains("debian") || osName.contains("mac")) {
-                return "debian";
+                osType = "debian";
+                return osType;
             } else if (osName.contains("suse")) {
-                return "suse";
+                osType = "suse";
+                return osType;
             } else {
                 throw new SpringOpsException("Unsupported OS type: " + osName,
                         org.springframework.http.HttpStatus.BAD_REQUEST);
@@ -0,0 +1,139 @@
+package org.kreyzon.springops.core.partition_maintenance.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Service maintaining the time partitions of the {@code application_stats} (daily) and {@code audits} (monthly) tables.
+ * Partitions are created ahead of time, so inserts never miss a partition, and retention drops whole expired
+ * partitions instead of deleting rows, which takes constant time and leaves no bloat behind.
+ * Partitions are named {@code <table>_p<period>} after the UTC day or month they hold, which is how their
+ * bounds are recognised again when dropping them.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceService {
+
+    public static final PartitionedTable APPLICATION_STATS = new PartitionedTable("application_stats", ChronoUnit.DAYS, "yyyyMMdd", 7, true);
+
+    public static final PartitionedTable AUDITS = new PartitionedTable("audits", ChronoUnit.MONTHS, "yyyyMM", 2, false);
+
+    private static final List<PartitionedTable> TABLES = List.of(APPLICATION_STATS, AUDITS);
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the partitions of the current and upcoming periods of every partitioned table.
+     * Runs at startup, in case SpringOps was down longer than the partitions created ahead cover.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createUpcomingPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (PartitionedTable table : TABLES) {
+            LocalDate period = table.periodStart(today);
+            for (int i = 0; i <= table.periodsAhead(); i++) {
+                createPartition(table, period);
+                period = period.plus(1, table.unit());
+            }
+        }
+    }
+
+    /**
+     * Detaches and drops the partitions of a table whose whole period is older than a cutoff.
+     * The partition holding the cutoff is kept, so up to one period more than the retention may remain.
+     *
+     * @param table  the partitioned table
+     * @param cutoff rows older than this time may be dropped, in UTC
+     * @return the number of dropped partitions
+     */
+    public int dropPartitionsOlderThan(PartitionedTable table, LocalDateTime cutoff) {
+        int dropped = 0;
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class, table.name())) {
+            LocalDate period = table.parsePeriod(partition);
+            if (period == null || period.plus(1, table.unit()).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("Dropped expired partition {} of {}", partition, table.name());
+            dropped++;
+        }
+        return dropped;
+    }
+
+    private void createPartition(PartitionedTable table, LocalDate period) {
+        String from = table.bound(period);
+        String to = table.bound(period.plus(1, table.unit()));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.partitionName(period)
+                + " PARTITION OF " + table.name() + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    /**
+     * A table range-partitioned by time.
+     *
+     * @param name         the table name
+     * @param unit         the period held by a partition, days or months
+     * @param suffixFormat the date format of the partition name suffix
+     * @param periodsAhead the number of partitions created ahead of the current period
+     * @param timeZoned    whether the partition key is a {@code TIMESTAMPTZ}, bounds are then given in UTC
+     */
+    public record PartitionedTable(String name, ChronoUnit unit, String suffixFormat, int periodsAhead, boolean timeZoned) {
+
+        private LocalDate periodStart(LocalDate date) {
+            return unit == ChronoUnit.MONTHS ? date.withDayOfMonth(1) : date;
+        }
+
+        private String partitionName(LocalDate period) {
+            return name + "_p" + period.format(DateTimeFormatter.ofPattern(suffixFormat));
+        }
+
+        private String bound(LocalDate period) {
+            return period + " 00:00:00" + (timeZoned ? "+00" : "");
+        }
+
+        /**
+         * Parses the period of a partition from its name.
+         *
+         * @param partition the partition name
+         * @return the first day of the period, or null if the name does not follow the naming scheme
+         */
+        private LocalDate parsePeriod(String partition) {
+            String prefix = name + "_p";
+            if (!partition.startsWith(prefix)) {
+                return null;
+            }
+            String suffix = partition.substring(prefix.length());
+            try {
+                return unit == ChronoUnit.MONTHS
+                        ? LocalDate.parse(suffix + "01", DateTimeFormatter.ofPattern(suffixFormat + "dd"))
+                        : LocalDate.parse(suffix, DateTimeFormatter.ofPattern(suffixFormat));
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.kreyzon.springops.core.port_inspector.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.enums.DeploymentStatus;
+import org.kreyzon.springops.common.utils.DeploymentUtils;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.deployment.entity.Deployment;
+import org.kreyzon.springops.core.deployment.repository.DeploymentRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service resolving the TCP ports managed processes listen on.
+ * On Linux the listening sockets are read from {@code /proc/net/tcp} and {@code /proc/net/tcp6} and matched
+ * to processes through the socket inodes in {@code /proc/<pid>/fd}, for all managed PIDs in a single pass.
+ * Results are cached for a short interval, so repeated status requests do not rescan {@code /proc}.
+ * Hosts without {@code /proc} fall back to {@code lsof}.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortInspectorService {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private static final List<Path> TCP_TABLES = List.of(PROC.resolve("net/tcp"), PROC.resolve("net/tcp6"));
+
+    /**
+     * State code of listening sockets in the {@code /proc/net/tcp} tables.
+     */
+    private static final String LISTEN_STATE = "0A";
+
+    private static final String SOCKET_LINK_PREFIX = "socket:[";
+
+    private final DeploymentRepository deploymentRepository;
+
+    private final ApplicationConfig applicationConfig;
+
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of());
+
+    /**
+     * Returns the ports a process, or any of its descendants, listens on.
+     *
+     * @param os  the operating system type, used by the {@code lsof} fallback
+     * @param pid the process ID
+     * @return the ports as a comma-separated string, or an empty string if none are found
+     */
+    public String getListeningPorts(String os, Integer pid) {
+        if (pid == null) {
+            return "";
+        }
+        if (!Files.isReadable(TCP_TABLES.get(0))) {
+            return DeploymentUtils.getListeningPorts(os, pid);
+        }
+
+        Snapshot current = snapshot;
+        if (current.isExpired(applicationConfig.getListeningPortsCacheMillis()) || !current.ports().containsKey(pid)) {
+            current = refresh(pid);
+        }
+        return current.ports().getOrDefault(pid, List.of()).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Rescans the listening ports of all RUNNING deployments and the requested PID.
+     *
+     * @param requestedPid the PID that triggered the refresh
+     * @return the new snapshot
+     */
+    private synchronized Snapshot refresh(Integer requestedPid) {
+        Snapshot current = snapshot;
+        if (!current.isExpired(applicationConfig.getListeningPortsCacheMillis()) && current.ports().containsKey(requestedPid)) {
+            return current;
+        }
+
+        Set<Integer> pids = deploymentRepository.findByStatus(DeploymentStatus.RUNNING).stream()
+                .map(Deployment::getPid)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        pids.add(requestedPid);
+
+        Map<Long, Integer> listeningInodes = readListeningInodes();
+        Map<Integer, List<Integer>> ports = new HashMap<>();
+        for (Integer pid : pids) {
+            ports.put(pid, resolvePorts(pid, listeningInodes));
+        }
+
+        Snapshot refreshed = new Snapshot(System.currentTimeMillis(), Map.copyOf(ports));
+        snapshot = refreshed;
+        return refreshed;
+    }
+
+    /**
+     * Reads the listening sockets of the TCP tables.
+     *
+     * @return the listening port of each socket inode
+     */
+    private Map<Long, Integer> readListeningInodes() {
+        Map<Long, Integer> inodes = new HashMap<>();
+        for (Path table : TCP_TABLES) {
+            try (BufferedReader reader = Files.newBufferedReader(table)) {
+                reader.readLine(); // header
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // sl local_address rem_address st tx_queue:rx_queue tr:tm->when retrnsmt uid timeout inode
+                    String[] fields = line.trim().split("\\s+");
+                    if (fields.length < 10 || !LISTEN_STATE.equals(fields[3])) {
+                        continue;
+                    }
+                    String localAddress = fields[1];
+                    int port = Integer.parseInt(localAddress.substring(localAddress.lastIndexOf(':') + 1), 16);
+                    inodes.put(Long.parseLong(fields[9]), port);
+                }
+            } catch (NoSuchFileException e) {
+                log.debug("TCP table {} is not available", table);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to read TCP table {}: {}", table, e.getMessage());
+            }
+        }
+        return inodes;
+    }
+
+    /**
+     * Resolves the listening ports of a process and its descendants.
+     * The recorded PID is the launcher shell, the JVM holding the sockets is one of its children.
+     *
+     * @param pid             the process ID
+     * @param listeningInodes the listening port of each socket inode
+     * @return the sorted, distinct listening ports
+     */
+    private List<Integer> resolvePorts(Integer pid, Map<Long, Integer> listeningInodes) {
+        Optional<ProcessHandle> process = ProcessHandle.of(pid);
+        if (process.isEmpty()) {
+            return List.of();
+        }
+        return Stream.concat(Stream.of(process.get()), process.get().descendants())
+                .flatMap(handle -> socketInodes(handle.pid()))
+                .map(listeningInodes::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Lists the socket inodes referenced by the file descriptors of a process.
+     *
+     * @param pid the process ID
+     * @return the socket inodes, empty if the descriptors cannot be read
+     */
+    private Stream<Long> socketInodes(long pid) {
+        List<Long> inodes = new ArrayList<>();
+        try (Stream<Path> descriptors = Files.list(PROC.resolve(pid + "/fd"))) {
+            descriptors.forEach(descriptor -> {
+                try {
+                    String target = Files.readSymbolicLink(descriptor).toString();
+                    if (target.startsWith(SOCKET_LINK_PREFIX)) {
+                        inodes.add(Long.parseLong(target.substring(SOCKET_LINK_PREFIX.length(), target.length() - 1)));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // The descriptor was closed while listing
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Failed to list descriptors of PID {}: {}", pid, e.getMessage());
+        }
+        return inodes.stream();
+    }
+
+    /**
+     * Listening ports of the managed processes at a point in time.
+     */
+    private record Snapshot(long takenAtMillis, Map<Integer, List<Integer>> ports) {
+
+        private boolean isExpired(long maxAgeMillis) {
+            return System.currentTimeMillis() - takenAtMillis > maxAgeMillis;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.kreyzon.springops.core.process_liveness.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.enums.DeploymentStatus;
+import org.kreyzon.springops.core.deployment.entity.Deployment;
+import org.kreyzon.springops.core.deployment.repository.DeploymentRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service tracking whether the processes of managed deployments are alive.
+ * A single snapshot of all RUNNING deployment PIDs is refreshed periodically through {@link ProcessHandle},
+ * so status endpoints, dependency checks and schedulers read memory instead of probing the OS on every call.
+ * The start time of each process is remembered, so a PID reused by an unrelated process is not reported as alive.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessLivenessService {
+
+    private final DeploymentRepository deploymentRepository;
+
+    /**
+     * Liveness of every known PID, refreshed as a whole by {@link #refreshSnapshot()}.
+     */
+    private volatile Map<Integer, Liveness> snapshot = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether a process is alive according to the latest snapshot.
+     * PIDs not in the snapshot yet, e.g. just launched, are checked immediately and added to it.
+     *
+     * @param pid the process ID, may be null
+     * @return true if the process is alive
+     */
+    public boolean isAlive(Integer pid) {
+        if (pid == null) {
+            return false;
+        }
+        Liveness liveness = snapshot.get(pid);
+        return liveness != null ? liveness.alive() : isAliveNow(pid);
+    }
+
+    /**
+     * Checks whether a process is alive bypassing the snapshot, and records the result in it.
+     * Meant for decisions that must not act on a stale answer, such as killing a process.
+     *
+     * @param pid the process ID, may be null
+     * @return true if the process is alive
+     */
+    public boolean isAliveNow(Integer pid) {
+        if (pid == null) {
+            return false;
+        }
+        Map<Integer, Liveness> current = snapshot;
+        Liveness liveness = probe(pid, current.get(pid));
+        current.put(pid, liveness);
+        return liveness.alive();
+    }
+
+    /**
+     * Records that a process has been stopped, so readers do not have to wait for the next refresh.
+     *
+     * @param pid the process ID
+     */
+    public void markStopped(Integer pid) {
+        if (pid != null) {
+            snapshot.put(pid, new Liveness(false, null));
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the PIDs of all RUNNING deployments.
+     */
+    @Scheduled(fixedDelayString = "${application.process-liveness-refresh-millis:5000}")
+    public void refreshSnapshot() {
+        Map<Integer, Liveness> previous = snapshot;
+        Map<Integer, Liveness> refreshed = new ConcurrentHashMap<>();
+        deploymentRepository.findByStatus(DeploymentStatus.RUNNING).stream()
+                .map(Deployment::getPid)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(pid -> refreshed.put(pid, probe(pid, previous.get(pid))));
+        snapshot = refreshed;
+        log.debug("Refreshed liveness of {} processes", refreshed.size());
+    }
+
+    /**
+     * Probes a process through {@link ProcessHandle}, without forking.
+     *
+     * @param pid      the process ID
+     * @param previous the previous liveness of the PID, may be null
+     * @return the current liveness
+     */
+    private Liveness probe(int pid, Liveness previous) {
+        Optional<ProcessHandle> process = ProcessHandle.of(pid);
+        if (process.isEmpty() || !process.get().isAlive()) {
+            return new Liveness(false, null);
+        }
+        Instant startInstant = process.get().info().startInstant().orElse(null);
+        if (previous != null && previous.startInstant() != null && startInstant != null && !previous.startInstant().equals(startInstant)) {
+            log.warn("PID {} has been reused by another process", pid);
+            return new Liveness(false, previous.startInstant());
+        }
+        return new Liveness(true, startInstant);
+    }
+
+    /**
+     * Liveness of a PID and the start time of the process it belonged to when first seen alive.
+     */
+    private record Liveness(boolean alive, Instant startInstant) {
+    }
+}
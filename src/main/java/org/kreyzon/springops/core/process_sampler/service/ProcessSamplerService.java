@@ -0,0 +1,180 @@
+package org.kreyzon.springops.core.process_sampler.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsDto;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import oshi.SystemInfo;
+import oshi.hardware.GlobalMemory;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+import oshi.software.os.linux.LinuxOperatingSystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Service sampling the CPU and memory usage of managed processes.
+ * On Linux the counters are read directly from {@code /proc/<pid>/stat} and {@code /proc/<pid>/status}
+ * for the process and all its descendants, since the recorded PID is the launcher shell and the JVM is its child.
+ * CPU usage is the delta of consumed CPU time between two samples of the same PID, i.e. the current usage
+ * rather than a lifetime average; 100% means one fully used core. Host memory comes from a single shared
+ * OSHI instance, which also serves as fallback on hosts without {@code /proc}.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@Slf4j
+public class ProcessSamplerService {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    /**
+     * Samples older than this are discarded, so PIDs no longer sampled do not accumulate.
+     */
+    private static final Duration SAMPLE_RETENTION = Duration.ofMinutes(15);
+
+    private final OperatingSystem operatingSystem;
+
+    private final GlobalMemory memory;
+
+    private final boolean procAvailable;
+
+    private final long clockTicksPerSecond;
+
+    /**
+     * Previous CPU sample of each PID, used to compute the usage since then.
+     */
+    private final Map<Integer, CpuSample> previousSamples = new ConcurrentHashMap<>();
+
+    public ProcessSamplerService() {
+        SystemInfo systemInfo = new SystemInfo();
+        this.operatingSystem = systemInfo.getOperatingSystem();
+        this.memory = systemInfo.getHardware().getMemory();
+        this.procAvailable = Files.isReadable(PROC.resolve("self/stat"));
+        this.clockTicksPerSecond = procAvailable ? LinuxOperatingSystem.getHz() : 0;
+    }
+
+    /**
+     * Samples the resource usage of a process and its descendants.
+     *
+     * @param pid the process ID
+     * @return the process RSS in MB, its CPU usage in percent and the available host memory in MB
+     * @throws SpringOpsException with {@link HttpStatus#NOT_FOUND} if the process does not exist
+     */
+    public ApplicationStatsDto sample(int pid) {
+        double availableMb = memory.getAvailable() / BYTES_PER_MB;
+        return procAvailable ? sampleProc(pid, availableMb) : sampleOshi(pid, availableMb);
+    }
+
+    private ApplicationStatsDto sampleProc(int pid, double availableMb) {
+        ProcessHandle process = ProcessHandle.of(pid)
+                .orElseThrow(() -> new SpringOpsException("Process with PID " + pid + " does not exist", HttpStatus.NOT_FOUND));
+        List<Long> tree = Stream.concat(Stream.of(process), process.descendants())
+                .map(ProcessHandle::pid)
+                .toList();
+
+        long cpuTicks = 0;
+        long rssKb = 0;
+        for (long member : tree) {
+            cpuTicks += readCpuTicks(member);
+            rssKb += readRssKb(member);
+        }
+
+        long now = System.nanoTime();
+        evictStaleSamples(now);
+        CpuSample current = new CpuSample(cpuTicks, now, process.info().startInstant().orElse(null));
+        CpuSample previous = previousSamples.put(pid, current);
+
+        double cpuPercent;
+        if (previous != null && sameProcess(previous, current)) {
+            cpuPercent = percent(cpuTicks - previous.cpuTicks(), now - previous.nanoTime());
+        } else {
+            // First sample of this process: average over its lifetime until a delta is available
+            long lifetimeNanos = current.startInstant() != null
+                    ? Duration.between(current.startInstant(), Instant.now()).toNanos()
+                    : 0;
+            cpuPercent = percent(cpuTicks, lifetimeNanos);
+        }
+
+        return new ApplicationStatsDto(Math.round(rssKb / 1024.0), cpuPercent, availableMb, null, null, null);
+    }
+
+    private ApplicationStatsDto sampleOshi(int pid, double availableMb) {
+        OSProcess process = operatingSystem.getProcess(pid);
+        if (process == null) {
+            throw new SpringOpsException("Process with PID " + pid + " does not exist", HttpStatus.NOT_FOUND);
+        }
+        long rssMb = Math.round(process.getResidentSetSize() / BYTES_PER_MB);
+        return new ApplicationStatsDto(rssMb, process.getProcessCpuLoadCumulative() * 100.0, availableMb, null, null, null);
+    }
+
+    /**
+     * Reads the user and system CPU time consumed by a process.
+     *
+     * @param pid the process ID
+     * @return the consumed CPU time in clock ticks, 0 if the process has exited
+     */
+    private long readCpuTicks(long pid) {
+        try {
+            String stat = Files.readString(PROC.resolve(pid + "/stat"));
+            // The command name may contain spaces and parentheses, the fields start after the last ')'
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            // fields[0] is field 3 (state), utime and stime are fields 14 and 15
+            return Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads the resident set size of a process.
+     *
+     * @param pid the process ID
+     * @return the RSS in kB, 0 if the process has exited or is a kernel thread
+     */
+    private long readRssKb(long pid) {
+        try (Stream<String> lines = Files.lines(PROC.resolve(pid + "/status"))) {
+            Optional<String> vmRss = lines.filter(line -> line.startsWith("VmRSS:")).findFirst();
+            return vmRss.map(line -> Long.parseLong(line.substring("VmRSS:".length()).trim().split("\\s+")[0])).orElse(0L);
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private double percent(long cpuTicks, long elapsedNanos) {
+        if (elapsedNanos <= 0 || cpuTicks <= 0) {
+            return 0.0;
+        }
+        double cpuSeconds = (double) cpuTicks / clockTicksPerSecond;
+        return cpuSeconds / (elapsedNanos / 1_000_000_000.0) * 100.0;
+    }
+
+    private static boolean sameProcess(CpuSample previous, CpuSample current) {
+        return previous.startInstant() == null || previous.startInstant().equals(current.startInstant());
+    }
+
+    private void evictStaleSamples(long now) {
+        long retentionNanos = SAMPLE_RETENTION.toNanos();
+        previousSamples.values().removeIf(sample -> now - sample.nanoTime() > retentionNanos);
+    }
+
+    /**
+     * CPU time consumed by a process tree at a point in time.
+     */
+    private record CpuSample(long cpuTicks, long nanoTime, Instant startInstant) {
+    }
+}
@@ -0,0 +1,94 @@
+package org.kreyzon.springops.core.process_supervisor.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.enums.DeploymentStatus;
+import org.kreyzon.springops.core.deployment.entity.Deployment;
+import org.kreyzon.springops.core.deployment.repository.DeploymentRepository;
+import org.kreyzon.springops.core.process_liveness.service.ProcessLivenessService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service supervising the processes of running deployments.
+ * An {@link ProcessHandle#onExit()} callback is registered for every launched process, so a deployment
+ * is marked STOPPED with its exit time as soon as its process dies, crashes included, without polling.
+ * After a SpringOps restart the supervisor re-attaches to the processes of all RUNNING deployments.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessSupervisorService {
+
+    private final DeploymentRepository deploymentRepository;
+
+    private final ProcessLivenessService processLivenessService;
+
+    /**
+     * Supervised PIDs, keyed by deployment ID.
+     */
+    private final Map<Integer, Integer> supervised = new ConcurrentHashMap<>();
+
+    /**
+     * Re-attaches to the processes of all RUNNING deployments.
+     * Deployments whose process is already gone are marked STOPPED.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reattach() {
+        int attached = 0;
+        for (Deployment deployment : deploymentRepository.findByStatus(DeploymentStatus.RUNNING)) {
+            if (supervise(deployment.getId(), deployment.getPid())) {
+                attached++;
+            }
+        }
+        log.info("Supervising {} running deployment processes", attached);
+    }
+
+    /**
+     * Starts supervising the process of a deployment.
+     *
+     * @param deploymentId the ID of the deployment
+     * @param pid          the process ID of the deployment, may be null
+     * @return true if the process is alive and now supervised, false if it has already exited
+     */
+    public boolean supervise(Integer deploymentId, Integer pid) {
+        Optional<ProcessHandle> process = pid != null ? ProcessHandle.of(pid) : Optional.empty();
+        if (process.isEmpty() || !process.get().isAlive()) {
+            onExit(deploymentId, pid);
+            return false;
+        }
+        if (supervised.putIfAbsent(deploymentId, pid) != null) {
+            return true;
+        }
+        process.get().onExit().thenRun(() -> onExit(deploymentId, pid));
+        log.debug("Supervising PID {} of deployment ID {}", pid, deploymentId);
+        return true;
+    }
+
+    /**
+     * Records the exit of a deployment's process.
+     *
+     * @param deploymentId the ID of the deployment
+     * @param pid          the process ID that exited, may be null
+     */
+    private void onExit(Integer deploymentId, Integer pid) {
+        supervised.remove(deploymentId);
+        processLivenessService.markStopped(pid);
+        try {
+            if (deploymentRepository.markStopped(deploymentId, Instant.now()) > 0) {
+                log.info("Process {} of deployment ID {} exited, deployment marked as stopped", pid, deploymentId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to record exit of process {} for deployment ID {}: {}", pid, deploymentId, e.getMessage());
+        }
+    }
+}
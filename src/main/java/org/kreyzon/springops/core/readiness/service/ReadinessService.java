@@ -0,0 +1,218 @@
+package org.kreyzon.springops.core.readiness.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.common.dto.readiness.ReadinessProbeDto;
+import org.kreyzon.springops.common.dto.readiness.ReadinessResultDto;
+import org.kreyzon.springops.common.enums.ReadinessProbeType;
+import org.kreyzon.springops.common.utils.ReadinessUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Service that waits for a launched application to become ready.
+ * The configured probe is polled with exponential backoff until it succeeds, the process exits
+ * or the timeout expires, so fast applications are reported as soon as they are up and slow
+ * ones are not declared healthy before they actually are.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@Slf4j
+public class ReadinessService {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(100);
+
+    private static final Duration MAXIMUM_BACKOFF = Duration.ofSeconds(2);
+
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * Maximum number of log bytes inspected per probe attempt.
+     */
+    private static final int MAXIMUM_LOG_CHUNK = 1024 * 1024;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(PROBE_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    /**
+     * Waits until the application running as {@code pid} is ready according to the probe.
+     *
+     * @param probe    the probe configuration
+     * @param pid      the process ID of the launched application
+     * @param progress receives human readable progress messages
+     * @return the outcome of the probe, including the measured time-to-ready
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public ReadinessResultDto awaitReadiness(ReadinessProbeDto probe, long pid, Consumer<String> progress) throws InterruptedException {
+        Optional<ProcessHandle> process = ProcessHandle.of(pid);
+        Instant probeStart = Instant.now();
+        Instant launchedAt = process.flatMap(handle -> handle.info().startInstant())
+                .filter(start -> !start.isAfter(probeStart))
+                .orElse(probeStart);
+        Instant deadline = probeStart.plus(probe.timeout());
+        LogMatcher logMatcher = probe.type() == ReadinessProbeType.LOG
+                ? new LogMatcher(Paths.get(probe.logFile()), Pattern.compile(targetOrDefault(probe)), probe.logOffset())
+                : null;
+
+        progress.accept("Waiting up to " + probe.timeout().toSeconds() + "s for " + describe(probe));
+        Duration backoff = INITIAL_BACKOFF;
+        while (true) {
+            if (process.isEmpty() || !process.get().isAlive()) {
+                return new ReadinessResultDto(false, elapsedSince(launchedAt), "Process " + pid + " exited before becoming ready");
+            }
+            if (check(probe, logMatcher)) {
+                long timeToReady = elapsedSince(launchedAt);
+                log.info("Process {} ready after {} ms ({})", pid, timeToReady, describe(probe));
+                return new ReadinessResultDto(true, timeToReady, "Application ready after " + timeToReady + " ms");
+            }
+
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            if (remaining.isNegative() || remaining.isZero()) {
+                return new ReadinessResultDto(false, elapsedSince(launchedAt),
+                        "Application not ready within " + probe.timeout().toSeconds() + "s (" + describe(probe) + ")");
+            }
+            Thread.sleep(Math.min(backoff.toMillis(), remaining.toMillis()));
+            Duration doubled = backoff.multipliedBy(2);
+            backoff = doubled.compareTo(MAXIMUM_BACKOFF) > 0 ? MAXIMUM_BACKOFF : doubled;
+        }
+    }
+
+    /**
+     * Runs a single probe attempt.
+     *
+     * @param probe      the probe configuration
+     * @param logMatcher the incremental log matcher, only used by log probes
+     * @return true if the application is ready
+     */
+    private boolean check(ReadinessProbeDto probe, LogMatcher logMatcher) {
+        return switch (probe.type()) {
+            case PROCESS -> true;
+            case TCP -> isPortOpen(probe.port());
+            case HTTP -> isHttpReady(probe.port(), targetOrDefault(probe));
+            case LOG -> logMatcher.matches();
+        };
+    }
+
+    private boolean isPortOpen(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), (int) PROBE_TIMEOUT.toMillis());
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean isHttpReady(int port, String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(PROBE_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String targetOrDefault(ReadinessProbeDto probe) {
+        if (probe.target() != null && !probe.target().isBlank()) {
+            return probe.target();
+        }
+        return probe.type() == ReadinessProbeType.LOG ? ReadinessUtils.DEFAULT_LOG_PATTERN : ReadinessUtils.DEFAULT_HTTP_PATH;
+    }
+
+    private static String describe(ReadinessProbeDto probe) {
+        return switch (probe.type()) {
+            case PROCESS -> "process to be running";
+            case TCP -> "TCP port " + probe.port();
+            case HTTP -> "HTTP GET " + targetOrDefault(probe) + " on port " + probe.port();
+            case LOG -> "log line matching '" + targetOrDefault(probe) + "'";
+        };
+    }
+
+    private static long elapsedSince(Instant start) {
+        return Math.max(0, Duration.between(start, Instant.now()).toMillis());
+    }
+
+    /**
+     * Matches log lines incrementally: every attempt only reads what was appended since the previous one.
+     * Matching starts at the size the log had at launch, so output of a previous run appended to the same
+     * file cannot report the new instance as ready.
+     */
+    private static final class LogMatcher {
+
+        private final Path logFile;
+
+        private final Pattern pattern;
+
+        private long offset;
+
+        private LogMatcher(Path logFile, Pattern pattern, long offset) {
+            this.logFile = logFile;
+            this.pattern = pattern;
+            this.offset = offset;
+        }
+
+        private boolean matches() {
+            if (!Files.exists(logFile)) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < offset) {
+                    offset = 0;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size - offset, MAXIMUM_LOG_CHUNK));
+                channel.read(buffer, offset);
+                byte[] bytes = buffer.array();
+                int length = buffer.position();
+
+                // Only consume complete lines, a partial line is read again on the next attempt
+                int end = length;
+                while (end > 0 && bytes[end - 1] != '\n') {
+                    end--;
+                }
+                if (end == 0 && length < MAXIMUM_LOG_CHUNK) {
+                    return false;
+                }
+                if (end == 0) {
+                    end = length;
+                }
+                offset += end;
+
+                String chunk = new String(bytes, 0, end, StandardCharsets.UTF_8);
+                return chunk.lines().anyMatch(line -> pattern.matcher(line).find());
+            } catch (IOException e) {
+                log.debug("Failed to read log file {}: {}", logFile, e.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package org.kreyzon.springops.core.script_registry.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Registry of the shell scripts bundled with SpringOps.
+ * The scripts are extracted from the classpath once at startup into a directory named after the
+ * checksum of their contents, so every release gets its own directory and an unchanged release
+ * reuses the files already on disk. Callers receive stable paths and never copy scripts themselves.
+ * <p>
+ * Other SpringOps instances sharing the scripts directory, for example the previous release during an
+ * upgrade, may still run the scripts of another version. Each instance holds a shared lock on the
+ * {@value #LOCK_FILE} file of the version it uses, and the directory of another version is only removed
+ * once it is unlocked and was last used more than the configured number of days ago. A damaged version
+ * directory is moved aside rather than deleted, as scripts may still be running from it.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScriptRegistryService {
+
+    /**
+     * Classpath pattern matching all bundled scripts.
+     */
+    private static final String SCRIPTS_PATTERN = "classpath*:scripts/**/*.sh";
+
+    /**
+     * Path segment preceding the script path relative to the scripts root.
+     */
+    private static final String SCRIPTS_ROOT = "/scripts/";
+
+    /**
+     * Number of hex characters of the checksum used as version directory name.
+     */
+    private static final int VERSION_LENGTH = 16;
+
+    private static final Set<PosixFilePermission> SCRIPT_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+
+    /**
+     * File of a version directory locked by the instances using the version.
+     */
+    private static final String LOCK_FILE = ".lock";
+
+    /**
+     * Infix of the names of staging and damaged directories, which are not versions in use.
+     */
+    private static final String TEMPORARY_INFIX = ".tmp-";
+
+    private final ApplicationConfig applicationConfig;
+
+    private Map<String, byte[]> contents = Map.of();
+
+    private volatile Map<String, Path> scripts = Map.of();
+
+    /**
+     * Shared lock held on the version directory in use, or null.
+     */
+    private FileLock versionLock;
+
+    /**
+     * Extracts the bundled scripts, unless the current version is already present and intact,
+     * and removes the directories of previous versions no longer in use.
+     *
+     * @throws IOException if the scripts cannot be read or written
+     */
+    @PostConstruct
+    public synchronized void materializeScripts() throws IOException {
+        if (contents.isEmpty()) {
+            contents = loadScripts();
+        }
+        String version = checksum(contents).substring(0, VERSION_LENGTH);
+
+        Path root = Paths.get(applicationConfig.getDirectoryScripts()).toAbsolutePath();
+        Path versionDirectory = root.resolve(version);
+        Files.createDirectories(root);
+
+        if (isIntact(versionDirectory)) {
+            log.info("Reusing {} scripts in {}", contents.size(), versionDirectory);
+        } else {
+            extract(root, versionDirectory);
+            log.info("Extracted {} scripts to {}", contents.size(), versionDirectory);
+        }
+        lockVersion(versionDirectory);
+        // The modification time of a version directory tells when it was last used
+        Files.setLastModifiedTime(versionDirectory, FileTime.from(Instant.now()));
+        deleteStaleVersions(root, version);
+
+        Map<String, Path> resolved = new HashMap<>();
+        contents.keySet().forEach(name -> resolved.put(name, versionDirectory.resolve(name)));
+        scripts = Map.copyOf(resolved);
+    }
+
+    /**
+     * Releases the lock on the version directory in use.
+     */
+    @PreDestroy
+    public synchronized void releaseVersion() {
+        if (versionLock == null) {
+            return;
+        }
+        try {
+            versionLock.channel().close();
+        } catch (IOException e) {
+            log.debug("Failed to release scripts lock: {}", e.getMessage());
+        }
+        versionLock = null;
+    }
+
+    /**
+     * Resolves the path of an OS specific script.
+     *
+     * @param os         the OS type, e.g. {@code debian} or {@code suse}
+     * @param scriptName the name of the script
+     * @return the path of the executable script
+     * @throws IOException if the script does not exist
+     */
+    public Path resolve(String os, String scriptName) throws IOException {
+        return resolve(os + "/" + scriptName);
+    }
+
+    /**
+     * Resolves the path of a script relative to the scripts root, e.g. {@code os_info.sh}.
+     * If the extracted file has been removed in the meantime (for example by a temp directory
+     * cleaner), the scripts are extracted again.
+     *
+     * @param scriptPath the path of the script relative to the scripts root
+     * @return the path of the executable script
+     * @throws IOException if the script does not exist
+     */
+    public Path resolve(String scriptPath) throws IOException {
+        Path path = scripts.get(scriptPath);
+        if (path == null) {
+            throw new IOException("Script not found in resources/scripts/: " + scriptPath);
+        }
+        if (!Files.isExecutable(path)) {
+            log.warn("Script {} is missing on disk, extracting scripts again", path);
+            materializeScripts();
+            path = scripts.get(scriptPath);
+        }
+        return path;
+    }
+
+    /**
+     * Reads all bundled scripts from the classpath.
+     *
+     * @return the script contents keyed by path relative to the scripts root, sorted by path
+     * @throws IOException if a script cannot be read
+     */
+    private Map<String, byte[]> loadScripts() throws IOException {
+        Map<String, byte[]> loaded = new TreeMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(SCRIPTS_PATTERN)) {
+            String url = resource.getURL().toString();
+            String name = url.substring(url.lastIndexOf(SCRIPTS_ROOT) + SCRIPTS_ROOT.length());
+            try (InputStream inputStream = resource.getInputStream()) {
+                loaded.put(name, inputStream.readAllBytes());
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IOException("No scripts found in resources/scripts/");
+        }
+        return loaded;
+    }
+
+    /**
+     * Writes the scripts to a staging directory and moves it into place atomically.
+     * A damaged directory of the same version is moved aside first, so scripts running from it are not removed.
+     *
+     * @param root             the scripts root directory
+     * @param versionDirectory the directory of the current version
+     * @throws IOException if the scripts cannot be written
+     */
+    private void extract(Path root, Path versionDirectory) throws IOException {
+        Path staging = Files.createTempDirectory(root, versionDirectory.getFileName() + TEMPORARY_INFIX);
+        try {
+            for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+                Path target = staging.resolve(entry.getKey());
+                Files.createDirectories(target.getParent());
+                Files.write(target, entry.getValue());
+                makeExecutable(target);
+            }
+            if (Files.exists(versionDirectory)) {
+                Path damaged = root.resolve(versionDirectory.getFileName() + TEMPORARY_INFIX + "damaged-" + System.currentTimeMillis());
+                Files.move(versionDirectory, damaged, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(staging, versionDirectory, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteRecursively(staging);
+            // Another instance may have extracted the same version concurrently
+            if (!isIntact(versionDirectory)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a version directory contains all scripts, executable and with the expected content.
+     *
+     * @param versionDirectory the directory to check
+     * @return true if every script is present and unchanged
+     */
+    private boolean isIntact(Path versionDirectory) {
+        if (!Files.isDirectory(versionDirectory)) {
+            return false;
+        }
+        try {
+            for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+                Path script = versionDirectory.resolve(entry.getKey());
+                if (!Files.isExecutable(script) || !Arrays.equals(Files.readAllBytes(script), entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Takes a shared lock on the version directory in use, releasing the lock on the previous one.
+     * The lock only keeps other instances from removing the directory, failing to take it is not fatal.
+     *
+     * @param versionDirectory the directory of the current version
+     */
+    private void lockVersion(Path versionDirectory) {
+        releaseVersion();
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(versionDirectory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            versionLock = channel.tryLock(0, Long.MAX_VALUE, true);
+            if (versionLock == null) {
+                channel.close();
+                log.warn("Could not lock scripts directory {}, it is being removed by another instance", versionDirectory);
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            log.warn("Failed to lock scripts directory {}: {}", versionDirectory, e.getMessage());
+            closeQuietly(channel);
+        }
+    }
+
+    /**
+     * Removes the directories of other script versions, and the leftover staging and damaged directories,
+     * that are not locked by an instance and were last used more than the configured retention ago.
+     *
+     * @param root    the scripts root directory
+     * @param version the current version
+     */
+    private void deleteStaleVersions(Path root, String version) {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(applicationConfig.getScriptsRetentionDays()));
+        try (Stream<Path> stream = Files.list(root)) {
+            for (Path path : stream.toList()) {
+                if (path.getFileName().toString().equals(version) || !Files.isDirectory(path)) {
+                    continue;
+                }
+                try {
+                    if (Files.getLastModifiedTime(path).toInstant().isBefore(cutoff) && !isLocked(path)) {
+                        log.info("Removing stale scripts directory {}", path);
+                        deleteRecursively(path);
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to remove stale scripts directory {}: {}", path, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to remove stale scripts directories in {}: {}", root, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether an instance holds the lock of a version directory.
+     *
+     * @param versionDirectory the directory to check
+     * @return true if the directory is locked, or if its lock cannot be checked
+     */
+    private static boolean isLocked(Path versionDirectory) {
+        Path lockFile = versionDirectory.resolve(LOCK_FILE);
+        if (!Files.exists(lockFile)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock lock = channel.tryLock()) {
+            return lock == null;
+        } catch (IOException | OverlappingFileLockException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close scripts lock file: {}", e.getMessage());
+        }
+    }
+
+    private static void makeExecutable(Path path) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, SCRIPT_PERMISSIONS);
+        } catch (UnsupportedOperationException e) {
+            path.toFile().setExecutable(true, true);
+        }
+    }
+
+    private static String checksum(Map<String, byte[]> scriptContents) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            scriptContents.forEach((name, content) -> {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update(content);
+            });
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            for (Path file : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -3,19 +3,25 @@ package org.kreyzon.springops.scheduled;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsDto;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsSampleDto;
 import org.kreyzon.springops.common.dto.deployment.DeploymentDto;
-import org.kreyzon.springops.common.exception.SpringOpsException;
-import org.kreyzon.springops.common.utils.PidUtils;
-import org.kreyzon.springops.core.application.entity.Application;
-import org.kreyzon.springops.core.application.service.ApplicationLookupService;
+import org.kreyzon.springops.config.ApplicationConfig;
 import org.kreyzon.springops.core.application_stats.service.ApplicationStatsService;
 import org.kreyzon.springops.core.deployment.service.DeploymentService;
-import org.springframework.http.HttpStatus;
+import org.kreyzon.springops.core.jvm_metrics.service.JvmMetricsService;
+import org.kreyzon.springops.core.process_sampler.service.ProcessSamplerService;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Scheduled task to update application statistics.
@@ -32,12 +38,16 @@ public class ApplicationStatsScheduled {
 
     private final ApplicationStatsService applicationStatsService;
 
-    private final ApplicationLookupService applicationLookupService;
+    private final ProcessSamplerService processSamplerService;
+
+    private final JvmMetricsService jvmMetricsService;
+
+    private final ApplicationConfig applicationConfig;
 
     /**
-     * Scheduled task that runs every 2 minutes to update application statistics.
-     * It retrieves active deployments, fetches their CPU and memory usage,
-     * and saves the statistics in the database.
+     * Scheduled task that runs every minute to update application statistics.
+     * The active deployments are sampled concurrently, one virtual thread each, within a shared deadline.
+     * A failed or late sample only drops that deployment's row; the others are saved together in a single batch.
      */
     @Scheduled(fixedRate = 60000)
     public void updateApplicationStatus() {
@@ -51,33 +61,78 @@ public class ApplicationStatsScheduled {
 
         log.info("Found {} active deployments: {}", deployments.size(), deployments);
 
-        deployments.forEach(deployment -> {
-            try {
-                Application application = applicationLookupService.findEntityById(deployment.getApplicationId());
-                ApplicationStatsDto statsDto = PidUtils.getCpuMemUsage(deployment.getPid());
-                applicationStatsService.save(statsDto, deployment.getPid(), deployment.getApplicationId(), OffsetDateTime.now().toString());
+        OffsetDateTime timestamp = OffsetDateTime.now();
+        List<ApplicationStatsSampleDto> samples = new ArrayList<>();
+        int failed = 0;
+        int timedOut = 0;
 
-            } catch (Exception e) {
-                throw new SpringOpsException("Failed to retrieve CPU and memory usage for deployment with PID: " + deployment.getPid(), HttpStatus.INTERNAL_SERVER_ERROR);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("springops-stats-", 0).factory());
+        try {
+            List<Future<ApplicationStatsSampleDto>> futures = deployments.stream()
+                    .map(deployment -> executor.submit(() -> sample(deployment)))
+                    .toList();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(applicationConfig.getStatsSampleTimeoutSeconds());
+            for (int i = 0; i < futures.size(); i++) {
+                Future<ApplicationStatsSampleDto> future = futures.get(i);
+                Integer pid = deployments.get(i).getPid();
+                try {
+                    samples.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    timedOut++;
+                    log.warn("Timed out sampling CPU and memory usage for deployment with PID: {}", pid);
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.warn("Failed to retrieve CPU and memory usage for deployment with PID {}: {}", pid, e.getCause().getMessage());
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while sampling application stats, saving the {} samples collected so far", samples.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int saved = applicationStatsService.saveAll(samples, timestamp);
+        log.info("Saved application stats for {} of {} deployments ({} failed, {} timed out)",
+                saved, deployments.size(), failed, timedOut);
+    }
+
+    /**
+     * Samples the process and JVM statistics of a deployment.
+     *
+     * @param deployment the deployment to sample
+     * @return the sample
+     */
+    private ApplicationStatsSampleDto sample(DeploymentDto deployment) {
+        ApplicationStatsDto statsDto = processSamplerService.sample(deployment.getPid())
+                .withJvm(jvmMetricsService.sample(deployment.getPid()).orElse(null));
+        log.debug("Successfully sampled application stats for deployment with PID: {}", deployment.getPid());
+        return new ApplicationStatsSampleDto(deployment.getApplicationId(), deployment.getPid(), statsDto);
+    }
 
-            log.debug("Successfully updated application stats for deployment with PID: {}", deployment.getPid());
-        });
+    /**
+     * Scheduled task that runs every minute to roll the raw statistics up into the one-minute,
+     * fifteen-minute and hourly tiers. Only elapsed buckets are written, the latest one is recomputed
+     * on the next run so samples saved late are still counted.
+     */
+    @Scheduled(cron = "30 * * * * ?")
+    public void rollUpStats() {
+        try {
+            applicationStatsService.rollUp();
+        } catch (Exception e) {
+            log.error("Failed to roll up application stats: {}", e.getMessage());
+        }
     }
 
     /**
      * Scheduled task that runs every hour to delete old application statistics.
-     * It removes statistics older than 1 day from the database.
+     * Raw samples and each rollup tier are deleted once past their configured retention.
      */
     @Scheduled(cron = "0 0 * * * ?")
     public void deleteOldStats() {
-        int days = 1;
-        log.info("Deleting old application stats older than {} day(s)", days);
-        boolean success = applicationStatsService.deleteStatsOlderThanDays(days);
-        if (success) {
-            log.info("Successfully deleted old application stats older than {} day(s)", days);
-        } else {
-            log.warn("No old application stats found to delete older than {} day(s)", days);
-        }
+        log.info("Deleting expired application stats");
+        applicationStatsService.deleteExpiredStats();
     }
 }
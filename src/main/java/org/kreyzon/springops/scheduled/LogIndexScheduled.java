@@ -0,0 +1,37 @@
+package org.kreyzon.springops.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.core.logs.service.LogService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task keeping the log search index up to date.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LogIndexScheduled {
+
+    private final LogService logService;
+
+    /**
+     * Scheduled task indexing the lines written to the application logs since its previous run,
+     * so searches only have to catch up with the last few lines. Runs on its own thread, the scheduler
+     * pool is not held while a large log is indexed.
+     */
+    @Async("logIndexExecutor")
+    @Scheduled(fixedDelayString = "${application.log-index-refresh-millis:60000}")
+    public void refreshLogIndexes() {
+        try {
+            logService.refreshLogIndexes();
+        } catch (Exception e) {
+            log.error("Failed to refresh the log search index", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.kreyzon.springops.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.core.logs.service.LogService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task rotating the output logs of the launched applications.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LogRotationScheduled {
+
+    private final LogService logService;
+
+    /**
+     * Scheduled task that runs every minute to rotate the output logs past their size or age limit
+     * and delete the segments past their retention. Runs on its own thread, the scheduler pool is not
+     * held while large logs are compressed.
+     */
+    @Async("logRotationExecutor")
+    @Scheduled(fixedRate = 60000)
+    public void rotateApplicationLogs() {
+        try {
+            int rotated = logService.rotateApplicationLogs();
+            if (rotated > 0) {
+                log.info("Rotated {} application logs", rotated);
+            }
+        } catch (Exception e) {
+            log.error("Failed to rotate application logs", e);
+        }
+    }
+}
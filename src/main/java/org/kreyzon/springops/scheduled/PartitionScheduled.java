@@ -0,0 +1,34 @@
+package org.kreyzon.springops.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kreyzon.springops.core.partition_maintenance.service.PartitionMaintenanceService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task creating the upcoming partitions of the time-partitioned tables.
+ *
+ * @author Lorenzo Orlando
+ * @email orlandolorenzo@kreyzon.com
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PartitionScheduled {
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    /**
+     * Scheduled task that runs daily to create the partitions of the upcoming days and months.
+     */
+    @Scheduled(cron = "0 15 0 * * ?")
+    public void createUpcomingPartitions() {
+        try {
+            partitionMaintenanceService.createUpcomingPartitions();
+            log.info("Created upcoming table partitions");
+        } catch (Exception e) {
+            log.error("Failed to create upcoming table partitions", e);
+        }
+    }
+}
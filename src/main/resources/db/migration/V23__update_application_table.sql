@@ -0,0 +1,5 @@
+ALTER TABLE applications
+ADD COLUMN IF NOT EXISTS
+    maven_offline BOOLEAN NOT NULL DEFAULT FALSE,
+ADD COLUMN IF NOT EXISTS
+    maven_threads VARCHAR (10);
@@ -0,0 +1,7 @@
+ALTER TABLE applications
+ADD COLUMN IF NOT EXISTS
+    readiness_probe_type VARCHAR (20) NOT NULL DEFAULT 'TCP',
+ADD COLUMN IF NOT EXISTS
+    readiness_probe_target VARCHAR (255),
+ADD COLUMN IF NOT EXISTS
+    readiness_timeout_seconds INT NOT NULL DEFAULT 120;
@@ -0,0 +1,2 @@
+ALTER TABLE deployments
+ADD COLUMN time_to_ready_ms INT;
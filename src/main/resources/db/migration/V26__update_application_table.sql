@@ -0,0 +1,3 @@
+ALTER TABLE applications
+ADD COLUMN IF NOT EXISTS
+    alternate_port INT;
@@ -0,0 +1,4 @@
+ALTER TABLE deployments
+ADD COLUMN IF NOT EXISTS port INT,
+ADD COLUMN IF NOT EXISTS previous_pid INT,
+ADD COLUMN IF NOT EXISTS previous_port INT;
@@ -0,0 +1,2 @@
+ALTER TABLE deployments
+ADD COLUMN stopped_at TIMESTAMP;
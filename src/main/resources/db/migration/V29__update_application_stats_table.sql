@@ -0,0 +1,7 @@
+ALTER TABLE application_stats
+ADD COLUMN heap_used_mb DOUBLE PRECISION,       -- JVM heap used in MB
+ADD COLUMN heap_committed_mb DOUBLE PRECISION,  -- JVM heap committed in MB
+ADD COLUMN gc_count BIGINT,                     -- total collections across all collectors
+ADD COLUMN gc_time_ms BIGINT,                   -- total collection time across all collectors
+ADD COLUMN thread_count INTEGER,                -- live JVM threads
+ADD COLUMN loaded_classes INTEGER;              -- currently loaded classes
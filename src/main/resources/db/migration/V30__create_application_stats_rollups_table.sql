@@ -0,0 +1,30 @@
+CREATE TABLE application_stats_rollups (
+   id                  BIGSERIAL PRIMARY KEY,
+   application_id      INTEGER NOT NULL REFERENCES applications(id) ON DELETE CASCADE,
+   resolution_seconds  INTEGER NOT NULL,           -- bucket width: 60, 900 or 3600
+   bucket_start        TIMESTAMPTZ NOT NULL,
+   sample_count        INTEGER NOT NULL,           -- raw samples aggregated in the bucket
+   memory_mb_min       DOUBLE PRECISION NOT NULL,
+   memory_mb_avg       DOUBLE PRECISION NOT NULL,
+   memory_mb_max       DOUBLE PRECISION NOT NULL,
+   memory_mb_p95       DOUBLE PRECISION NOT NULL,
+   cpu_load_min        DOUBLE PRECISION NOT NULL,
+   cpu_load_avg        DOUBLE PRECISION NOT NULL,
+   cpu_load_max        DOUBLE PRECISION NOT NULL,
+   cpu_load_p95        DOUBLE PRECISION NOT NULL,
+   avail_mem_mb_avg    DOUBLE PRECISION NOT NULL,
+   heap_used_mb_min    DOUBLE PRECISION,           -- JVM columns are null when no sample had JVM metrics
+   heap_used_mb_avg    DOUBLE PRECISION,
+   heap_used_mb_max    DOUBLE PRECISION,
+   heap_used_mb_p95    DOUBLE PRECISION,
+   heap_committed_mb_avg DOUBLE PRECISION,
+   gc_count_max        BIGINT,                     -- cumulative counters, the latest value of the bucket
+   gc_time_ms_max      BIGINT,
+   thread_count_max    INTEGER,
+   loaded_classes_max  INTEGER,
+   UNIQUE (application_id, resolution_seconds, bucket_start)
+);
+
+CREATE INDEX idx_application_stats_rollups_resolution_bucket ON application_stats_rollups(resolution_seconds, bucket_start);
+
+CREATE INDEX idx_application_stats_timestamp ON application_stats("timestamp");
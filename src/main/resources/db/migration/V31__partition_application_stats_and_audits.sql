@@ -0,0 +1,93 @@
+-- Range-partitions application_stats by day and audits by month, so retention drops whole partitions.
+-- Primary and unique keys of a partitioned table must include the partition key.
+-- Later partitions are created ahead of time by PartitionMaintenanceService.
+
+-- application_stats ---------------------------------------------------------------------------------
+
+ALTER SEQUENCE application_stats_id_seq OWNED BY NONE;
+ALTER TABLE application_stats RENAME TO application_stats_legacy;
+ALTER TABLE application_stats_legacy RENAME CONSTRAINT application_stats_pkey TO application_stats_legacy_pkey;
+ALTER TABLE application_stats_legacy RENAME CONSTRAINT application_stats_pid_timestamp_key TO application_stats_legacy_pid_timestamp_key;
+DROP INDEX idx_pid_timestamp;
+DROP INDEX idx_application_stats_timestamp;
+
+CREATE TABLE application_stats (
+   id                 INTEGER NOT NULL DEFAULT nextval('application_stats_id_seq'),
+   pid                INTEGER NOT NULL,
+   application_id     INTEGER NOT NULL REFERENCES applications(id) ON DELETE CASCADE,
+   timestamp          TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+   memory_mb          DOUBLE PRECISION NOT NULL,  -- process RSS in MB
+   cpu_load           DOUBLE PRECISION NOT NULL,  -- process CPU (0.0–1.0)
+   avail_mem_mb       DOUBLE PRECISION NOT NULL,  -- total free system memory in MB
+   heap_used_mb       DOUBLE PRECISION,           -- JVM heap used in MB
+   heap_committed_mb  DOUBLE PRECISION,           -- JVM heap committed in MB
+   gc_count           BIGINT,                     -- total collections across all collectors
+   gc_time_ms         BIGINT,                     -- total collection time across all collectors
+   thread_count       INTEGER,                    -- live JVM threads
+   loaded_classes     INTEGER,                    -- currently loaded classes
+   PRIMARY KEY (id, timestamp),
+   UNIQUE (pid, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE application_stats_id_seq OWNED BY application_stats.id;
+
+CREATE INDEX idx_application_stats_application_timestamp ON application_stats(application_id, timestamp);
+
+-- Daily partitions (UTC) from the oldest sample up to a week ahead
+DO $$
+DECLARE
+    day DATE := COALESCE((SELECT MIN(timestamp AT TIME ZONE 'UTC')::DATE FROM application_stats_legacy),
+                         (NOW() AT TIME ZONE 'UTC')::DATE);
+BEGIN
+    WHILE day <= (NOW() AT TIME ZONE 'UTC')::DATE + 7 LOOP
+        EXECUTE format('CREATE TABLE application_stats_p%s PARTITION OF application_stats FOR VALUES FROM (%L) TO (%L)',
+                       to_char(day, 'YYYYMMDD'), day::TEXT || ' 00:00:00+00', (day + 1)::TEXT || ' 00:00:00+00');
+        day := day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO application_stats (id, pid, application_id, timestamp, memory_mb, cpu_load, avail_mem_mb,
+                               heap_used_mb, heap_committed_mb, gc_count, gc_time_ms, thread_count, loaded_classes)
+SELECT id, pid, application_id, timestamp, memory_mb, cpu_load, avail_mem_mb,
+       heap_used_mb, heap_committed_mb, gc_count, gc_time_ms, thread_count, loaded_classes
+FROM application_stats_legacy;
+
+DROP TABLE application_stats_legacy;
+
+-- audits --------------------------------------------------------------------------------------------
+
+ALTER SEQUENCE audits_id_seq OWNED BY NONE;
+ALTER TABLE audits RENAME TO audits_legacy;
+ALTER TABLE audits_legacy RENAME CONSTRAINT audits_pkey TO audits_legacy_pkey;
+
+CREATE TABLE audits (
+    id INTEGER NOT NULL DEFAULT nextval('audits_id_seq'),
+    user_id UUID NOT NULL,
+    action VARCHAR(255) NOT NULL,
+    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    details JSONB,
+    PRIMARY KEY (id, timestamp),
+    FOREIGN KEY (user_id) REFERENCES "user"(id)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audits_id_seq OWNED BY audits.id;
+
+CREATE INDEX idx_audits_timestamp ON audits(timestamp);
+
+-- Monthly partitions from the oldest audit up to two months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT MIN(timestamp) FROM audits_legacy), NOW()))::DATE;
+BEGIN
+    WHILE month <= date_trunc('month', NOW())::DATE + INTERVAL '2 months' LOOP
+        EXECUTE format('CREATE TABLE audits_p%s PARTITION OF audits FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYYMM'), month::TEXT, (month + INTERVAL '1 month')::DATE::TEXT);
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO audits (id, user_id, action, timestamp, details)
+SELECT id, user_id, action, COALESCE(timestamp, CURRENT_TIMESTAMP), details
+FROM audits_legacy;
+
+DROP TABLE audits_legacy;
@@ -0,0 +1,2 @@
+ALTER TABLE deployments
+ADD COLUMN commit_sha VARCHAR(40);
@@ -4,6 +4,12 @@ JAVA_BIN_PATH=$1
 MAVEN_BIN_PATH=$2
 PROJECT_DIR=$3
 JAVA_VERSION=$4
+LOCAL_REPO=$5
+# Any further arguments are passed to Maven as-is (e.g. --offline, -T 4)
+shift 5 2>/dev/null || shift $#
+MAVEN_OPTIONS=("$@")
+# Number of trailing build output lines kept in the result, the full output is only streamed
+OUTPUT_TAIL_LINES=50
 
 EXIT_CODE=0
 STATUS="SUCCESS"
@@ -40,16 +46,21 @@ function finish() {
 }
 
 
-if [ -z "$JAVA_BIN_PATH" ] || [ -z "$MAVEN_BIN_PATH" ] || [ -z "$PROJECT_DIR" ] || [ -z "$JAVA_VERSION" ]; then
-  fail 1 "Usage: $0 <JAVA_BIN_PATH> <MAVEN_BIN_PATH> <PROJECT_DIR> <JAVA_VERSION>" ""
+if [ -z "$JAVA_BIN_PATH" ] || [ -z "$MAVEN_BIN_PATH" ] || [ -z "$PROJECT_DIR" ] || [ -z "$JAVA_VERSION" ] || [ -z "$LOCAL_REPO" ]; then
+  fail 1 "Usage: $0 <JAVA_BIN_PATH> <MAVEN_BIN_PATH> <PROJECT_DIR> <JAVA_VERSION> <LOCAL_REPO> [MAVEN_OPTIONS...]" ""
 fi
 
 cd "$PROJECT_DIR" || fail 1 "Failed to enter project directory: $PROJECT_DIR" ""
 
 JAVA_HOME="${JAVA_BIN_PATH%/bin}"
 
-BUILD_OUTPUT=$(JAVA_HOME="$JAVA_HOME" "$MAVEN_BIN_PATH/mvn" clean install --no-transfer-progress -Dmaven.compiler.release="$JAVA_VERSION" -DskipTests 2>&1)
-STATUS_CODE=$?
+# Stream the build output while keeping its end for the result
+BUILD_LOG=$(mktemp)
+JAVA_HOME="$JAVA_HOME" "$MAVEN_BIN_PATH/mvn" clean install --no-transfer-progress -Dmaven.compiler.release="$JAVA_VERSION" -DskipTests \
+  -Dmaven.repo.local="$LOCAL_REPO" "${MAVEN_OPTIONS[@]}" 2>&1 | tee "$BUILD_LOG"
+STATUS_CODE=${PIPESTATUS[0]}
+BUILD_OUTPUT=$(tail -n "$OUTPUT_TAIL_LINES" "$BUILD_LOG")
+rm -f "$BUILD_LOG"
 
 if [ $STATUS_CODE -ne 0 ]; then
   fail $STATUS_CODE "Build failed" "$BUILD_OUTPUT"
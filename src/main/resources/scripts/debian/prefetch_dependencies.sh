@@ -0,0 +1,72 @@
+#!/bin/bash
+
+GIT_URL=$1
+BRANCH=$2
+JAVA_BIN_PATH=$3
+MAVEN_BIN_PATH=$4
+LOCAL_REPO=$5
+
+EXIT_CODE=0
+STATUS="SUCCESS"
+MESSAGE="Dependencies resolved successfully"
+OUTPUT=""
+DATA="[]"
+WORK_DIR=""
+
+function fail() {
+  EXIT_CODE=$1
+  STATUS="FAILURE"
+  MESSAGE="$2"
+  DATA="[]"
+  OUTPUT="$3"
+  finish
+}
+
+function finish() {
+  [ -n "$WORK_DIR" ] && rm -rf "$WORK_DIR"
+
+  JSON=$(jq -n \
+    --argjson exitCode "$EXIT_CODE" \
+    --arg output "$OUTPUT" \
+    --arg status "$STATUS" \
+    --arg message "$MESSAGE" \
+    --argjson data "$DATA" \
+    '{
+      exitCode: $exitCode,
+      output: $output,
+      status: $status,
+      message: $message,
+      data: $data
+    }')
+
+  echo "springops-result=${JSON}"
+  exit "$EXIT_CODE"
+}
+
+if [ -z "$GIT_URL" ] || [ -z "$BRANCH" ] || [ -z "$JAVA_BIN_PATH" ] || [ -z "$MAVEN_BIN_PATH" ] || [ -z "$LOCAL_REPO" ]; then
+  fail 1 "Usage: $0 <GIT_URL> <BRANCH> <JAVA_BIN_PATH> <MAVEN_BIN_PATH> <LOCAL_REPO>" ""
+fi
+
+# Work on a throwaway shallow clone so the deployment mirror and source tree are never touched
+WORK_DIR=$(mktemp -d)
+CLONE_OUTPUT=$(git clone --quiet --depth 1 --single-branch --branch "$BRANCH" "$GIT_URL" "$WORK_DIR/source" 2>&1)
+if [ $? -ne 0 ]; then
+  fail 1 "Failed to clone branch $BRANCH" "$CLONE_OUTPUT"
+fi
+
+mkdir -p "$LOCAL_REPO"
+cd "$WORK_DIR/source" || fail 1 "Failed to enter $WORK_DIR/source" ""
+
+JAVA_HOME="${JAVA_BIN_PATH%/bin}"
+
+RESOLVE_LOG=$(mktemp -p "$WORK_DIR")
+JAVA_HOME="$JAVA_HOME" "$MAVEN_BIN_PATH/mvn" --batch-mode --no-transfer-progress \
+  -Dmaven.repo.local="$LOCAL_REPO" dependency:go-offline 2>&1 | tee "$RESOLVE_LOG"
+STATUS_CODE=${PIPESTATUS[0]}
+OUTPUT=$(cat "$RESOLVE_LOG")
+
+if [ $STATUS_CODE -ne 0 ]; then
+  fail $STATUS_CODE "Dependency resolution failed" "$OUTPUT"
+fi
+
+finish
@@ -5,7 +5,9 @@ JAR_NAME=$3
 PORT=$4
 JAVA_MIN=$5
 JAVA_MAX=$6
-shift 6
+# Output log of the instance, each port has its own so blue/green instances never share one
+LOG_FILE=$7
+shift 7
 ENV_VARS=("$@")
 
 JAVA_MIN=${JAVA_MIN:-512m}
@@ -47,14 +49,15 @@ cd "$SOURCE_DIR" || fail 1 "Failed to cd into $SOURCE_DIR" ""
 JAR_PATH=$(find "$SOURCE_DIR" -name "$JAR_NAME" | head -n 1)
 [[ ! -f "$JAR_PATH" ]] && fail 1 "Jar file $JAR_NAME not found in $SOURCE_DIR" ""
 
-LOGS_BASE_DIR="$SOURCE_DIR/../logs"
-mkdir -p "$LOGS_BASE_DIR"
+LOG_FILE=${LOG_FILE:-"$SOURCE_DIR/../logs/app.log"}
+mkdir -p "$(dirname "$LOG_FILE")"
 
 ENV_FILE="$(dirname "$JAR_PATH")/.env"
-LOG_FILE="$LOGS_BASE_DIR/app.log"
 
 > "$ENV_FILE"
-echo "---- Starting application ----" > "$LOG_FILE"
+# Append to the log, SpringOps reads the output of this run from the size the log had at launch
+LOG_START=$(stat -c %s "$LOG_FILE" 2>/dev/null || echo 0)
+echo "---- Starting application ----" >> "$LOG_FILE"
 echo "Using Xms=$JAVA_MIN, Xmx=$JAVA_MAX" >> "$LOG_FILE"
 
 for var in "${ENV_VARS[@]}"; do
@@ -67,14 +70,14 @@ echo "Executing: $CMD_LINE" >> "$LOG_FILE"
 
 nohup bash -c "$CMD_LINE" >> "$LOG_FILE" 2>&1 &
 PID=$!
-sleep 2
 
+# Only catch immediate launch failures here, readiness is probed by SpringOps
 if ps -p $PID >/dev/null; then
-  MESSAGE="Application started successfully"
-  DATA="[\"$JAR_NAME\", $PID]"
+  MESSAGE="Application launched"
+  DATA="[\"$JAR_NAME\", $PID, \"$LOG_FILE\"]"
   echo "Application started with PID $PID" >> "$LOG_FILE"
 else
-  fail 1 "Application failed to start" "$(cat "$LOG_FILE")"
+  fail 1 "Application failed to start" "$(tail -c +$((LOG_START + 1)) "$LOG_FILE")"
 fi
 
 finish
@@ -3,6 +3,9 @@ GIT_URL=$1
 BRANCH=$2
 CLONE_DIR=$3
 DEPLOY_TYPE=$4
+MIRROR_DIR=$5
+# Optional, checked out instead of the tip of the branch, e.g. when rolling back
+COMMIT=$6
 
 EXIT_CODE=0
 OUTPUT=""
@@ -41,43 +44,80 @@ function finish() {
   exit "$EXIT_CODE"
 }
 
-if [ -z "$GIT_URL" ] || [ -z "$BRANCH" ] || [ -z "$CLONE_DIR" ] || [ -z "$DEPLOY_TYPE" ]; then
-  fail 1 "Missing required arguments: <GIT_URL> <BRANCH> <CLONE_DIR> <DEPLOY_TYPE>" ""
+# Collects the git output of this run, concurrent deployments must not share the file
+OUTPUT_LOG=$(mktemp "${TMPDIR:-/tmp}/springops-update.XXXXXX")
+trap 'rm -f "$OUTPUT_LOG"' EXIT
+
+if [ -z "$GIT_URL" ] || [ -z "$BRANCH" ] || [ -z "$CLONE_DIR" ] || [ -z "$DEPLOY_TYPE" ] || [ -z "$MIRROR_DIR" ]; then
+  fail 1 "Missing required arguments: <GIT_URL> <BRANCH> <CLONE_DIR> <DEPLOY_TYPE> <MIRROR_DIR>" ""
+fi
+
+# Keep a persistent bare mirror per application and only fetch what changed
+if [ ! -f "$MIRROR_DIR/HEAD" ]; then
+  rm -rf "$MIRROR_DIR"
+  git init --bare "$MIRROR_DIR" 2>&1 | tee -a "$OUTPUT_LOG"
+  git --git-dir="$MIRROR_DIR" remote add origin "$GIT_URL" 2>&1 | tee -a "$OUTPUT_LOG"
+else
+  git --git-dir="$MIRROR_DIR" remote set-url origin "$GIT_URL" 2>&1 | tee -a "$OUTPUT_LOG"
 fi
 
-rm -rf "$CLONE_DIR" 2>&1 | tee /tmp/script_output.log
-mkdir -p "$CLONE_DIR" 2>&1 | tee -a /tmp/script_output.log
+# Drop the previous worktree before fetching so no branch is checked out
+git --git-dir="$MIRROR_DIR" worktree remove --force "$CLONE_DIR" >/dev/null 2>&1
+rm -rf "$CLONE_DIR" 2>&1 | tee -a "$OUTPUT_LOG"
+git --git-dir="$MIRROR_DIR" worktree prune 2>&1 | tee -a "$OUTPUT_LOG"
 
-git clone --verbose --single-branch -b "$BRANCH" "$GIT_URL" "$CLONE_DIR" 2>&1 | tee -a /tmp/script_output.log
+git --git-dir="$MIRROR_DIR" fetch --verbose --force origin "+refs/heads/$BRANCH:refs/heads/$BRANCH" 2>&1 | tee -a "$OUTPUT_LOG"
+if [ ${PIPESTATUS[0]} -ne 0 ] && [ -z "$COMMIT" ]; then
+  fail 1 "Git fetch failed" "$(cat "$OUTPUT_LOG")"
+fi
+
+TARGET="refs/heads/$BRANCH"
+if [ -n "$COMMIT" ]; then
+  # The branch may have moved or been deleted since the commit was deployed
+  if ! git --git-dir="$MIRROR_DIR" cat-file -e "$COMMIT^{commit}" 2>/dev/null; then
+    git --git-dir="$MIRROR_DIR" fetch --verbose origin "$COMMIT" 2>&1 | tee -a "$OUTPUT_LOG"
+    if [ ${PIPESTATUS[0]} -ne 0 ]; then
+      fail 1 "Commit $COMMIT is not available in the repository" "$(cat "$OUTPUT_LOG")"
+    fi
+  fi
+  TARGET="$COMMIT"
+fi
+
+mkdir -p "$(dirname "$CLONE_DIR")" 2>&1 | tee -a "$OUTPUT_LOG"
+git --git-dir="$MIRROR_DIR" worktree add --force --detach "$CLONE_DIR" "$TARGET" 2>&1 | tee -a "$OUTPUT_LOG"
 if [ ${PIPESTATUS[0]} -ne 0 ]; then
-  fail 1 "Git clone failed" "$(cat /tmp/script_output.log)"
+  fail 1 "Git worktree checkout failed" "$(cat "$OUTPUT_LOG")"
 fi
 
-cd "$CLONE_DIR" || fail 1 "Failed to cd into $CLONE_DIR" "$(cat /tmp/script_output.log)"
+cd "$CLONE_DIR" || fail 1 "Failed to cd into $CLONE_DIR" "$(cat "$OUTPUT_LOG")"
+
+# Deploy branches only live on origin, drop the ones left in the mirror by rollbacks and earlier versions
+git --git-dir="$MIRROR_DIR" for-each-ref --format='delete %(refname)' refs/heads/deploy/ | git --git-dir="$MIRROR_DIR" update-ref --stdin 2>&1 | tee -a "$OUTPUT_LOG"
+
+COMMIT_SHA=$(git rev-parse HEAD 2>/dev/null)
 
 if [ "$DEPLOY_TYPE" == "CLASSIC" ]; then
   DEPLOY_BRANCH="deploy/$TIMESTAMP"
-  git checkout -b "$DEPLOY_BRANCH" 2>&1 | tee -a /tmp/script_output.log
+  git push origin "HEAD:refs/heads/$DEPLOY_BRANCH" 2>&1 | tee -a "$OUTPUT_LOG"
   if [ ${PIPESTATUS[0]} -ne 0 ]; then
-    fail 1 "Failed to create deploy branch $DEPLOY_BRANCH" "$(cat /tmp/script_output.log)"
+    fail 1 "Failed to push deploy branch $DEPLOY_BRANCH" "$(cat "$OUTPUT_LOG")"
   fi
 
-  git push origin "$DEPLOY_BRANCH" 2>&1 | tee -a /tmp/script_output.log
-  if [ ${PIPESTATUS[0]} -ne 0 ]; then
-    fail 1 "Failed to push deploy branch $DEPLOY_BRANCH" "$(cat /tmp/script_output.log)"
-  fi
-
-  MESSAGE="Cloned and created deploy branch $DEPLOY_BRANCH"
-  DATA="[\"$DEPLOY_BRANCH\"]"
+  MESSAGE="Cloned and pushed deploy branch $DEPLOY_BRANCH"
+  DATA="[\"$DEPLOY_BRANCH\", \"$COMMIT_SHA\"]"
 else
   DEPLOY_BRANCH="$BRANCH"
-  git checkout "$DEPLOY_BRANCH" 2>&1 | tee -a /tmp/script_output.log
+  git checkout --detach "$COMMIT_SHA" 2>&1 | tee -a "$OUTPUT_LOG"
   if [ ${PIPESTATUS[0]} -ne 0 ]; then
-    fail 1 "Failed to checkout existing branch $DEPLOY_BRANCH" "$(cat /tmp/script_output.log)"
+    fail 1 "Failed to checkout existing branch $DEPLOY_BRANCH" "$(cat "$OUTPUT_LOG")"
+  fi
+  if [ -n "$COMMIT" ]; then
+    MESSAGE="Cloned and checked out commit $COMMIT_SHA of branch $DEPLOY_BRANCH"
+  else
+    MESSAGE="Cloned and checked out branch $DEPLOY_BRANCH"
   fi
-  MESSAGE="Cloned and reused branch $DEPLOY_BRANCH for rollback"
-  DATA="[\"$DEPLOY_BRANCH\"]"
+  DATA="[\"$DEPLOY_BRANCH\", \"$COMMIT_SHA\"]"
 fi
 
-OUTPUT="$(cat /tmp/script_output.log)"
+OUTPUT="$(cat "$OUTPUT_LOG")"
 finish
\ No newline at end of file
@@ -7,7 +7,9 @@ JAR_NAME=$3
 PORT=$4
 JAVA_MIN=${5:-512m}
 JAVA_MAX=${6:-1024m}
-shift 6
+# Output log of the instance, each port has its own so blue/green instances never share one
+LOG_FILE=${7:-}
+shift 7
 ENV_VARS=("$@")
 
 EXIT_CODE=0
@@ -48,11 +50,12 @@ if [ ! -f "$JAR_PATH" ]; then
   fail 1 "Jar file $JAR_NAME not found in $SOURCE_DIR" ""
 fi
 
-LOGS_BASE_DIR="$SOURCE_DIR/../logs"
-mkdir -p "$LOGS_BASE_DIR"
-LOG_FILE="$LOGS_BASE_DIR/app.log"
+LOG_FILE=${LOG_FILE:-"$SOURCE_DIR/../logs/app.log"}
+mkdir -p "$(dirname "$LOG_FILE")"
 
-echo "---- Starting application ----" > "$LOG_FILE"
+# Append to the log, SpringOps reads the output of this run from the size the log had at launch
+LOG_START=$(stat -c %s "$LOG_FILE" 2>/dev/null || echo 0)
+echo "---- Starting application ----" >> "$LOG_FILE"
 echo "Using Xms=$JAVA_MIN, Xmx=$JAVA_MAX" >> "$LOG_FILE"
 
 # Export environment variables
@@ -67,14 +70,14 @@ echo "Executing: $RUN_CMD" >> "$LOG_FILE"
 
 nohup bash -c "$RUN_CMD" >> "$LOG_FILE" 2>&1 &
 PID=$!
-sleep 2
 
+# Only catch immediate launch failures here, readiness is probed by SpringOps
 if ps -p $PID > /dev/null; then
-  MESSAGE="Application started successfully"
-  DATA="[\"$JAR_NAME\", $PID]"
+  MESSAGE="Application launched"
+  DATA="[\"$JAR_NAME\", $PID, \"$LOG_FILE\"]"
   echo "Application started with PID $PID" >> "$LOG_FILE"
 else
-  fail 1 "Application failed to start" "$(cat "$LOG_FILE")"
+  fail 1 "Application failed to start" "$(tail -c +$((LOG_START + 1)) "$LOG_FILE")"
 fi
 
 finish
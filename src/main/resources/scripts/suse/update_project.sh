@@ -5,6 +5,9 @@ GIT_URL=$1
 BRANCH=$2
 CLONE_DIR=$3
 DEPLOY_TYPE=$4
+MIRROR_DIR=$5
+# Optional, checked out instead of the tip of the branch, e.g. when rolling back
+COMMIT=${6:-}
 
 EXIT_CODE=0
 OUTPUT=""
@@ -42,35 +45,70 @@ function finish() {
   exit "$EXIT_CODE"
 }
 
-if [ -z "$GIT_URL" ] || [ -z "$BRANCH" ] || [ -z "$CLONE_DIR" ] || [ -z "$DEPLOY_TYPE" ]; then
-  fail 1 "Missing required arguments: <GIT_URL> <BRANCH> <CLONE_DIR> <DEPLOY_TYPE>"
+if [ -z "$GIT_URL" ] || [ -z "$BRANCH" ] || [ -z "$CLONE_DIR" ] || [ -z "$DEPLOY_TYPE" ] || [ -z "$MIRROR_DIR" ]; then
+  fail 1 "Missing required arguments: <GIT_URL> <BRANCH> <CLONE_DIR> <DEPLOY_TYPE> <MIRROR_DIR>"
 fi
 
+# Keep a persistent bare mirror per application and only fetch what changed
+if [ ! -f "$MIRROR_DIR/HEAD" ]; then
+  rm -rf "$MIRROR_DIR" 2>&1 || true
+  OUT=$(git init --bare "$MIRROR_DIR" 2>&1) || fail 1 "Failed to initialize mirror $MIRROR_DIR"
+  OUTPUT="${OUTPUT}${OUT}\n"
+  OUT=$(git --git-dir="$MIRROR_DIR" remote add origin "$GIT_URL" 2>&1) || fail 1 "Failed to configure mirror remote"
+  OUTPUT="${OUTPUT}${OUT}\n"
+else
+  OUT=$(git --git-dir="$MIRROR_DIR" remote set-url origin "$GIT_URL" 2>&1) || fail 1 "Failed to configure mirror remote"
+  OUTPUT="${OUTPUT}${OUT}\n"
+fi
+
+# Drop the previous worktree before fetching so no branch is checked out
+git --git-dir="$MIRROR_DIR" worktree remove --force "$CLONE_DIR" >/dev/null 2>&1 || true
 rm -rf "$CLONE_DIR" 2>&1 || true
-mkdir -p "$CLONE_DIR" 2>&1 || fail 1 "Failed to create directory $CLONE_DIR"
+git --git-dir="$MIRROR_DIR" worktree prune 2>&1 || true
+
+OUT=$(git --git-dir="$MIRROR_DIR" fetch --verbose --force origin "+refs/heads/$BRANCH:refs/heads/$BRANCH" 2>&1) || [ -n "$COMMIT" ] || fail 1 "Git fetch failed"
+OUTPUT="${OUTPUT}${OUT}\n"
+
+TARGET="refs/heads/$BRANCH"
+if [ -n "$COMMIT" ]; then
+  # The branch may have moved or been deleted since the commit was deployed
+  if ! git --git-dir="$MIRROR_DIR" cat-file -e "$COMMIT^{commit}" 2>/dev/null; then
+    OUT=$(git --git-dir="$MIRROR_DIR" fetch --verbose origin "$COMMIT" 2>&1) || fail 1 "Commit $COMMIT is not available in the repository"
+    OUTPUT="${OUTPUT}${OUT}\n"
+  fi
+  TARGET="$COMMIT"
+fi
 
-OUT=$(git clone --verbose --single-branch -b "$BRANCH" "$GIT_URL" "$CLONE_DIR" 2>&1) || fail 1 "Git clone failed"
+mkdir -p "$(dirname "$CLONE_DIR")" 2>&1 || fail 1 "Failed to create directory $(dirname "$CLONE_DIR")"
+OUT=$(git --git-dir="$MIRROR_DIR" worktree add --force --detach "$CLONE_DIR" "$TARGET" 2>&1) || fail 1 "Git worktree checkout failed"
 OUTPUT="${OUTPUT}${OUT}\n"
 
 cd "$CLONE_DIR" || fail 1 "Failed to cd into $CLONE_DIR"
 
+# Deploy branches only live on origin, drop the ones left in the mirror by rollbacks and earlier versions
+OUT=$(git --git-dir="$MIRROR_DIR" for-each-ref --format='delete %(refname)' refs/heads/deploy/ | git --git-dir="$MIRROR_DIR" update-ref --stdin 2>&1) || fail 1 "Failed to prune deploy branches from the mirror"
+OUTPUT="${OUTPUT}${OUT}"
+
+COMMIT_SHA=$(git rev-parse HEAD 2>&1) || fail 1 "Failed to resolve checked out commit"
+
 if [ "$DEPLOY_TYPE" = "CLASSIC" ]; then
   DEPLOY_BRANCH="deploy/$TIMESTAMP"
 
-  OUT=$(git checkout -b "$DEPLOY_BRANCH" 2>&1) || fail 1 "Failed to create deploy branch $DEPLOY_BRANCH"
-  OUTPUT="${OUTPUT}${OUT}\n"
-
-  OUT=$(git push origin "$DEPLOY_BRANCH" 2>&1) || fail 1 "Failed to push deploy branch $DEPLOY_BRANCH"
+  OUT=$(git push origin "HEAD:refs/heads/$DEPLOY_BRANCH" 2>&1) || fail 1 "Failed to push deploy branch $DEPLOY_BRANCH"
   OUTPUT="${OUTPUT}${OUT}\n"
 
-  MESSAGE="Cloned and created deploy branch $DEPLOY_BRANCH"
-  DATA="[\"$DEPLOY_BRANCH\"]"
+  MESSAGE="Cloned and pushed deploy branch $DEPLOY_BRANCH"
+  DATA="[\"$DEPLOY_BRANCH\", \"$COMMIT_SHA\"]"
 else
   DEPLOY_BRANCH="$BRANCH"
-  OUT=$(git checkout "$DEPLOY_BRANCH" 2>&1) || fail 1 "Failed to checkout existing branch $DEPLOY_BRANCH"
+  OUT=$(git checkout --detach "$COMMIT_SHA" 2>&1) || fail 1 "Failed to checkout existing branch $DEPLOY_BRANCH"
   OUTPUT="${OUTPUT}${OUT}\n"
-  MESSAGE="Cloned and reused branch $DEPLOY_BRANCH for rollback"
-  DATA="[\"$DEPLOY_BRANCH\"]"
+  if [ -n "$COMMIT" ]; then
+    MESSAGE="Cloned and checked out commit $COMMIT_SHA of branch $DEPLOY_BRANCH"
+  else
+    MESSAGE="Cloned and checked out branch $DEPLOY_BRANCH"
+  fi
+  DATA="[\"$DEPLOY_BRANCH\", \"$COMMIT_SHA\"]"
 fi
 
 finish
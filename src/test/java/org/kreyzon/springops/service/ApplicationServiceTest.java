@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.kreyzon.springops.common.dto.application.ApplicationDto;
 import org.kreyzon.springops.common.dto.deployment.DeploymentStatusDto;
 import org.kreyzon.springops.common.dto.system_version.SystemVersionDto;
+import org.kreyzon.springops.common.enums.ReadinessProbeType;
 import org.kreyzon.springops.common.exception.SpringOpsException;
 import org.kreyzon.springops.config.ApplicationConfig;
 import org.kreyzon.springops.core.application.entity.Application;
@@ -47,7 +48,7 @@ class ApplicationServiceTest {
         return new ApplicationDto(
                 1, "MyApp", null, "desc", Instant.now(),
                 10, 11, "https://git", "sshtest", 8080,
-                "512m", "1024m"
+                "512m", "1024m", false, null, ReadinessProbeType.TCP, null, 120, null
         );
     }
 
@@ -138,7 +139,7 @@ class ApplicationServiceTest {
         ApplicationDto dto = new ApplicationDto(
                 2, "OtherApp", "valid-path", "desc", Instant.now(),
                 10, 11, "https://git", "testssh", 8080,
-                "512m", "1024m"
+                "512m", "1024m", false, null, ReadinessProbeType.TCP, null, 120, null
         );
 
         Application existing = new Application();
@@ -153,6 +154,34 @@ class ApplicationServiceTest {
         assertThrows(SpringOpsException.class, () -> applicationService.update(2, dto));
     }
 
+    @Test
+    void save_shouldThrowIfMavenThreadsInvalid() {
+        mockVersionSystems();
+
+        ApplicationDto dto = new ApplicationDto(
+                1, "MyApp", null, "desc", Instant.now(),
+                10, 11, "https://git", "sshtest", 8080,
+                "512m", "1024m", false, "many", ReadinessProbeType.TCP, null, 120, null
+        );
+
+        assertThrows(SpringOpsException.class, () -> applicationService.save(dto));
+        verify(applicationRepository, never()).save(any());
+    }
+
+    @Test
+    void save_shouldThrowIfAlternatePortEqualsPort() {
+        mockVersionSystems();
+
+        ApplicationDto dto = new ApplicationDto(
+                1, "MyApp", null, "desc", Instant.now(),
+                10, 11, "https://git", "sshtest", 8080,
+                "512m", "1024m", false, null, ReadinessProbeType.TCP, null, 120, 8080
+        );
+
+        assertThrows(SpringOpsException.class, () -> applicationService.save(dto));
+        verify(applicationRepository, never()).save(any());
+    }
+
     @Test
     void save_shouldSucceed() {
         ApplicationDto dto = validDto();
@@ -245,7 +274,13 @@ class ApplicationServiceTest {
                 "ssh@gittest",
                 8080,
                 "512m",
-                "1024m"
+                "1024m",
+                false,
+                null,
+                ReadinessProbeType.TCP,
+                null,
+                120,
+                null
         );
     }
 }
@@ -0,0 +1,70 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsDto;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsSampleDto;
+import org.kreyzon.springops.common.dto.deployment.DeploymentDto;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.application_stats.service.ApplicationStatsService;
+import org.kreyzon.springops.core.deployment.service.DeploymentService;
+import org.kreyzon.springops.core.jvm_metrics.service.JvmMetricsService;
+import org.kreyzon.springops.core.process_sampler.service.ProcessSamplerService;
+import org.kreyzon.springops.scheduled.ApplicationStatsScheduled;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ApplicationStatsScheduledTest {
+
+    private DeploymentService deploymentService;
+    private ApplicationStatsService applicationStatsService;
+    private ProcessSamplerService processSamplerService;
+    private ApplicationStatsScheduled applicationStatsScheduled;
+
+    @BeforeEach
+    void setUp() {
+        deploymentService = mock(DeploymentService.class);
+        applicationStatsService = mock(ApplicationStatsService.class);
+        processSamplerService = mock(ProcessSamplerService.class);
+        JvmMetricsService jvmMetricsService = mock(JvmMetricsService.class);
+        when(jvmMetricsService.sample(anyInt())).thenReturn(Optional.empty());
+
+        ApplicationConfig applicationConfig = new ApplicationConfig();
+        applicationConfig.setStatsSampleTimeoutSeconds(1);
+
+        applicationStatsScheduled = new ApplicationStatsScheduled(deploymentService, applicationStatsService,
+                processSamplerService, jvmMetricsService, applicationConfig);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateApplicationStatus_shouldSaveRemainingSamplesWhenOneFailsOrHangs() {
+        when(deploymentService.findActiveRunningDeployments()).thenReturn(List.of(
+                DeploymentDto.builder().pid(100).applicationId(1).build(),
+                DeploymentDto.builder().pid(200).applicationId(2).build(),
+                DeploymentDto.builder().pid(300).applicationId(3).build()
+        ));
+        ApplicationStatsDto stats = new ApplicationStatsDto(128, 1.5, 2048.0, null, null, null);
+        when(processSamplerService.sample(100)).thenReturn(stats);
+        when(processSamplerService.sample(200)).thenThrow(new SpringOpsException("Process with PID 200 does not exist", HttpStatus.NOT_FOUND));
+        when(processSamplerService.sample(300)).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return stats;
+        });
+
+        applicationStatsScheduled.updateApplicationStatus();
+
+        ArgumentCaptor<List<ApplicationStatsSampleDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(applicationStatsService).saveAll(captor.capture(), any());
+        assertEquals(List.of(new ApplicationStatsSampleDto(1, 100, stats)), captor.getValue());
+    }
+}
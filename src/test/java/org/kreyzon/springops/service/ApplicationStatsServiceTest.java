@@ -0,0 +1,96 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.application_stats.repository.ApplicationStatsRepository;
+import org.kreyzon.springops.core.application_stats.repository.ApplicationStatsRollupRepository;
+import org.kreyzon.springops.core.application_stats.service.ApplicationStatsService;
+import org.kreyzon.springops.core.partition_maintenance.service.PartitionMaintenanceService;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ApplicationStatsServiceTest {
+
+    private ApplicationStatsRepository applicationStatsRepository;
+    private ApplicationStatsRollupRepository applicationStatsRollupRepository;
+    private ApplicationStatsService applicationStatsService;
+
+    @BeforeEach
+    void setUp() {
+        applicationStatsRepository = mock(ApplicationStatsRepository.class);
+        applicationStatsRollupRepository = mock(ApplicationStatsRollupRepository.class);
+
+        ApplicationConfig applicationConfig = new ApplicationConfig();
+        applicationConfig.setStatsRawRetentionHours(24);
+        applicationConfig.setStatsMinuteRetentionDays(7);
+        applicationConfig.setStatsFifteenMinutesRetentionDays(90);
+        applicationConfig.setStatsHourRetentionDays(730);
+        applicationConfig.setStatsMaxPoints(1000);
+
+        applicationStatsService = new ApplicationStatsService(applicationStatsRepository, applicationStatsRollupRepository,
+                mock(PartitionMaintenanceService.class), applicationConfig);
+    }
+
+    @Test
+    void getStatsOverTimePeriod_shouldReadRawSamplesForRecentPeriods() {
+        OffsetDateTime now = OffsetDateTime.now();
+        when(applicationStatsRepository.findByApplicationIdAndTimestampBetweenOrderByTimestamp(eq(1), any(), any())).thenReturn(List.of());
+
+        applicationStatsService.getStatsOverTimePeriod(1, now.minusHours(1).toString(), now.toString());
+
+        verify(applicationStatsRepository).findByApplicationIdAndTimestampBetweenOrderByTimestamp(eq(1), any(), any());
+        verifyNoInteractions(applicationStatsRollupRepository);
+    }
+
+    @Test
+    void getStatsOverTimePeriod_shouldReadFinestRollupCoveringThePeriod() {
+        OffsetDateTime now = OffsetDateTime.now();
+        when(applicationStatsRollupRepository.findByApplicationIdAndResolutionSecondsAndBucketStartBetweenOrderByBucketStart(
+                eq(1), anyInt(), any(), any())).thenReturn(List.of());
+
+        applicationStatsService.getStatsOverTimePeriod(1, now.minusDays(3).toString(), now.toString());
+        applicationStatsService.getStatsOverTimePeriod(1, now.minusDays(30).toString(), now.toString());
+        applicationStatsService.getStatsOverTimePeriod(1, now.minusDays(365).toString(), now.toString());
+
+        verify(applicationStatsRollupRepository).findByApplicationIdAndResolutionSecondsAndBucketStartBetweenOrderByBucketStart(eq(1), eq(60), any(), any());
+        verify(applicationStatsRollupRepository).findByApplicationIdAndResolutionSecondsAndBucketStartBetweenOrderByBucketStart(eq(1), eq(900), any(), any());
+        verify(applicationStatsRollupRepository).findByApplicationIdAndResolutionSecondsAndBucketStartBetweenOrderByBucketStart(eq(1), eq(3600), any(), any());
+        verifyNoInteractions(applicationStatsRepository);
+    }
+
+    @Test
+    void getBucketedStats_shouldWidenStepToBoundThePoints() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        applicationStatsService.getBucketedStats(1, now.minusDays(30).toString(), now.toString(), 60, 100);
+
+        // 30 days in at most 100 buckets needs 26182s buckets, read from hourly rollups and rounded up to 8 hours
+        verify(applicationStatsRepository).findRollupBuckets(eq(1), eq(3600), any(), any(), eq(28800));
+    }
+
+    @Test
+    void getBucketedStats_shouldReadRawSamplesForStepsBelowOneMinute() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        applicationStatsService.getBucketedStats(1, now.minusMinutes(30).toString(), now.toString(), 10, null);
+
+        verify(applicationStatsRepository).findRawBuckets(eq(1), any(), any(), eq(10));
+    }
+
+    @Test
+    void getBucketedStats_shouldThrowIfStartIsNotBeforeEnd() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        assertThrows(SpringOpsException.class,
+                () -> applicationStatsService.getBucketedStats(1, now.toString(), now.minusHours(1).toString(), 60, null));
+    }
+}
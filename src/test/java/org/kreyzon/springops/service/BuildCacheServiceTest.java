@@ -0,0 +1,127 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.common.dto.deployment.DeploymentContextDto;
+import org.kreyzon.springops.common.enums.DeploymentType;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.build_cache.service.BuildCacheService;
+import org.kreyzon.springops.core.system_version.entity.SystemVersion;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildCacheServiceTest {
+
+    private static final List<String> BUILD_ARGS = List.of("clean", "install", "-DskipTests");
+
+    @TempDir
+    Path tempDir;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private BuildCacheService buildCacheService;
+
+    private Path cachePath;
+
+    @BeforeEach
+    void setUp() {
+        applicationConfig.setBuildCacheMaxEntries(2);
+        buildCacheService = new BuildCacheService(applicationConfig);
+        cachePath = tempDir.resolve("build-cache");
+    }
+
+    @Test
+    void computeKey_shouldDependOnCommitToolchainsAndBuildArguments() {
+        DeploymentContextDto context = context("21", "/opt/java-21", "3.9.9", "/opt/maven");
+        String key = buildCacheService.computeKey("abc123", context, BUILD_ARGS);
+
+        assertTrue(key.matches("[0-9a-f]{64}"));
+        assertEquals(key, buildCacheService.computeKey("abc123", context("21", "/opt/java-21", "3.9.9", "/opt/maven"), BUILD_ARGS));
+        assertNotEquals(key, buildCacheService.computeKey("def456", context, BUILD_ARGS));
+        assertNotEquals(key, buildCacheService.computeKey("abc123", context("17", "/opt/java-21", "3.9.9", "/opt/maven"), BUILD_ARGS));
+        assertNotEquals(key, buildCacheService.computeKey("abc123", context("21", "/opt/java-21-patched", "3.9.9", "/opt/maven"), BUILD_ARGS));
+        assertNotEquals(key, buildCacheService.computeKey("abc123", context("21", "/opt/java-21", "3.8.8", "/opt/maven"), BUILD_ARGS));
+        assertNotEquals(key, buildCacheService.computeKey("abc123", context("21", "/opt/java-21", "3.9.9", "/opt/maven-3"), BUILD_ARGS));
+        assertNotEquals(key, buildCacheService.computeKey("abc123", context, List.of("clean", "install", "-DskipTests", "-o")));
+    }
+
+    @Test
+    void restore_shouldMissWhenNothingWasStored() {
+        assertEquals(Optional.empty(), buildCacheService.restore(cachePath.toString(), "missing", tempDir.resolve("target")));
+    }
+
+    @Test
+    void restore_shouldCopyJarsAndReturnTheJarSelectedByTheBuild() throws Exception {
+        // Sorted by name, the plain and sources jars come first
+        Path built = target("build", "app-1.0-plain.jar", "app-1.0-sources.jar", "app-1.0.jar");
+        buildCacheService.store(cachePath.toString(), "key", built, "app-1.0.jar");
+
+        Path target = tempDir.resolve("worktree").resolve("target");
+        Optional<String> restored = buildCacheService.restore(cachePath.toString(), "key", target);
+
+        assertEquals(Optional.of("app-1.0.jar"), restored);
+        assertEquals("app-1.0.jar", Files.readString(target.resolve("app-1.0.jar")));
+        assertTrue(Files.exists(target.resolve("app-1.0-sources.jar")));
+    }
+
+    @Test
+    void restore_shouldMissWhenEntryDoesNotRecordItsSelectedJar() throws Exception {
+        Path entry = Files.createDirectories(cachePath.resolve("key"));
+        Files.writeString(entry.resolve("app-1.0.jar"), "app-1.0.jar");
+        Files.createFile(entry.resolve(".complete"));
+
+        assertEquals(Optional.empty(), buildCacheService.restore(cachePath.toString(), "key", tempDir.resolve("target")));
+    }
+
+    @Test
+    void store_shouldEvictLeastRecentlyUsedEntries() throws Exception {
+        Path built = target("build", "app.jar");
+        buildCacheService.store(cachePath.toString(), "first", built, "app.jar");
+        buildCacheService.store(cachePath.toString(), "second", built, "app.jar");
+        Files.setLastModifiedTime(cachePath.resolve("first"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(cachePath.resolve("second"), FileTime.fromMillis(2000));
+
+        buildCacheService.store(cachePath.toString(), "third", built, "app.jar");
+
+        assertFalse(Files.exists(cachePath.resolve("first")));
+        assertTrue(Files.exists(cachePath.resolve("second")));
+        assertTrue(Files.exists(cachePath.resolve("third")));
+    }
+
+    private Path target(String name, String... jars) throws Exception {
+        Path directory = Files.createDirectories(tempDir.resolve(name));
+        for (String jar : jars) {
+            Files.writeString(directory.resolve(jar), jar);
+        }
+        return directory;
+    }
+
+    private static DeploymentContextDto context(String javaVersion, String javaPath, String mavenVersion, String mavenPath) {
+        return new DeploymentContextDto(
+                "https://example.com/demo.git",
+                "/apps/demo/source",
+                "/apps/demo/mirror",
+                "/apps/demo/build-cache",
+                "/apps/demo/logs/app.log",
+                SystemVersion.builder().version(javaVersion).path(javaPath).build(),
+                SystemVersion.builder().version(mavenVersion).path(mavenPath).build(),
+                "/apps/m2",
+                List.of(),
+                "main",
+                null,
+                DeploymentType.LATEST,
+                "",
+                8080,
+                "512m",
+                "1024m",
+                null
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.core.deployment_stack.service.DependencyGraph;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    private final Map<Integer, Set<Integer>> graph = Map.of(
+            1, Set.of(),
+            2, Set.of(1),
+            3, Set.of(1),
+            4, Set.of(2, 3),
+            5, Set.of()
+    );
+
+    @Test
+    void closure_shouldIncludeTransitiveDependencies() {
+        assertEquals(Set.of(1, 2, 3, 4), DependencyGraph.closure(graph, List.of(4)));
+    }
+
+    @Test
+    void closure_shouldThrowIfApplicationMissing() {
+        assertThrows(SpringOpsException.class, () -> DependencyGraph.closure(graph, List.of(42)));
+    }
+
+    @Test
+    void layers_shouldGroupIndependentApplications() {
+        List<List<Integer>> layers = DependencyGraph.layers(graph, Set.of(1, 2, 3, 4, 5));
+
+        assertEquals(List.of(List.of(1, 5), List.of(2, 3), List.of(4)), layers);
+    }
+
+    @Test
+    void layers_shouldThrowOnCycle() {
+        Map<Integer, Set<Integer>> cyclic = Map.of(1, Set.of(2), 2, Set.of(1));
+
+        assertThrows(SpringOpsException.class, () -> DependencyGraph.layers(cyclic, Set.of(1, 2)));
+    }
+}
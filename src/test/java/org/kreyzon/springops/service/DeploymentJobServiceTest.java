@@ -0,0 +1,168 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kreyzon.springops.common.dto.deployment.CommandResultDto;
+import org.kreyzon.springops.common.dto.deployment_job.DeploymentJobDto;
+import org.kreyzon.springops.common.enums.DeploymentJobStatus;
+import org.kreyzon.springops.common.enums.DeploymentType;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.application.service.ApplicationLookupService;
+import org.kreyzon.springops.core.deployment.service.DeploymentManagerService;
+import org.kreyzon.springops.core.deployment_job.service.DeploymentJobOutputService;
+import org.kreyzon.springops.core.deployment_job.service.DeploymentJobService;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentJobServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Mock
+    private DeploymentManagerService deploymentManagerService;
+
+    @Mock
+    private ApplicationLookupService applicationLookupService;
+
+    @Mock
+    private DeploymentJobOutputService deploymentJobOutputService;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor deploymentExecutor;
+
+    private DeploymentJobService deploymentJobService;
+
+    @BeforeEach
+    void setUp() {
+        applicationConfig.setDeploymentJobsHistorySize(10);
+        deploymentExecutor = new ThreadPoolTaskExecutor();
+        deploymentExecutor.setCorePoolSize(1);
+        deploymentExecutor.setMaxPoolSize(1);
+        deploymentExecutor.setQueueCapacity(0);
+        deploymentExecutor.initialize();
+        deploymentJobService = new DeploymentJobService(deploymentManagerService, applicationLookupService,
+                applicationConfig, deploymentExecutor, deploymentJobOutputService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        deploymentExecutor.shutdown();
+    }
+
+    @Test
+    void submit_shouldReturnQueuedJobAndRunDeploymentAsynchronously() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(deploymentManagerService.manageDeployment(eq(1), eq("main"), eq(DeploymentType.LATEST), isNull(), eq(8080), eq(false), any()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+                    return List.of(result(0), result(0));
+                });
+
+        DeploymentJobDto job = deploymentJobService.submit(1, "main", DeploymentType.LATEST, null, 8080, false);
+
+        assertEquals(DeploymentJobStatus.QUEUED, job.getStatus());
+        assertTrue(started.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        assertEquals(DeploymentJobStatus.RUNNING, deploymentJobService.findById(job.getJobId()).getStatus());
+        release.countDown();
+
+        DeploymentJobDto finished = deploymentJobService.awaitCompletion(job.getJobId(), TIMEOUT);
+        assertEquals(DeploymentJobStatus.SUCCEEDED, finished.getStatus());
+        assertEquals(2, finished.getResults().size());
+        assertNotNull(finished.getFinishedAt());
+        verify(deploymentManagerService).manageDeployment(1, "main", DeploymentType.LATEST, null, 8080, false, job.getJobId());
+        verify(deploymentJobOutputService).open(job.getJobId());
+        verify(deploymentJobOutputService).complete(job.getJobId());
+    }
+
+    @Test
+    void submit_shouldMarkJobFailedWhenCommandFails() throws Exception {
+        when(deploymentManagerService.manageDeployment(any(), any(), any(), any(), any(), anyBoolean(), any()))
+                .thenReturn(List.of(result(0), result(1)));
+
+        DeploymentJobDto job = deploymentJobService.submit(1, "main", DeploymentType.LATEST, null, null, false);
+
+        assertEquals(DeploymentJobStatus.FAILED, deploymentJobService.awaitCompletion(job.getJobId(), TIMEOUT).getStatus());
+    }
+
+    @Test
+    void submit_shouldRejectWithConflictWhenJobIsAlreadyActiveForApplication() throws Exception {
+        CountDownLatch started = blockDeployments();
+        DeploymentJobDto first = deploymentJobService.submit(1, "main", DeploymentType.LATEST, null, null, false);
+        assertTrue(started.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+
+        SpringOpsException exception = assertThrows(SpringOpsException.class,
+                () -> deploymentJobService.submit(1, "develop", DeploymentType.LATEST, null, null, false));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getHttpStatus());
+        assertEquals(List.of(first.getJobId()), deploymentJobService.findAll(1).stream().map(DeploymentJobDto::getJobId).toList());
+    }
+
+    @Test
+    void submit_shouldRejectWithServiceUnavailableWhenQueueIsFull() throws Exception {
+        CountDownLatch started = blockDeployments();
+        deploymentJobService.submit(1, "main", DeploymentType.LATEST, null, null, false);
+        assertTrue(started.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+
+        SpringOpsException exception = assertThrows(SpringOpsException.class,
+                () -> deploymentJobService.submit(2, "main", DeploymentType.LATEST, null, null, false));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        assertTrue(deploymentJobService.findAll(2).isEmpty());
+        verify(deploymentJobOutputService).remove(any(UUID.class));
+    }
+
+    @Test
+    void submit_shouldNotCreateJobForUnknownApplication() {
+        when(applicationLookupService.findEntityById(99))
+                .thenThrow(new SpringOpsException("Application with ID '99' does not exist", HttpStatus.NOT_FOUND));
+
+        SpringOpsException exception = assertThrows(SpringOpsException.class,
+                () -> deploymentJobService.submit(99, "main", DeploymentType.LATEST, null, null, false));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+        assertTrue(deploymentJobService.findAll(null).isEmpty());
+        verifyNoInteractions(deploymentManagerService);
+    }
+
+    /**
+     * Makes deployments block until the test ends, keeping the single executor thread busy.
+     *
+     * @return a latch released once a deployment has started
+     */
+    private CountDownLatch blockDeployments() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(deploymentManagerService.manageDeployment(any(), any(), any(), any(), any(), anyBoolean(), any()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+                    return List.of(result(0));
+                });
+        return started;
+    }
+
+    private static CommandResultDto result(int exitCode) {
+        return CommandResultDto.builder().exitCode(exitCode).status(exitCode == 0 ? "success" : "error").build();
+    }
+}
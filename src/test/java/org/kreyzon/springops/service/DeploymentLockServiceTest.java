@@ -0,0 +1,53 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.deployment_lock.service.DeploymentLockService;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DeploymentLockServiceTest {
+
+    private DeploymentLockService deploymentLockService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationConfig applicationConfig = mock(ApplicationConfig.class);
+        when(applicationConfig.getDeploymentLockAdvisoryEnabled()).thenReturn(false);
+
+        deploymentLockService = new DeploymentLockService(mock(DataSource.class), applicationConfig);
+    }
+
+    @Test
+    void acquire_shouldRejectConcurrentOperationOnSameApplication() throws Exception {
+        try (DeploymentLockService.Lease ignored = deploymentLockService.acquire(1, "deploy")) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> CompletableFuture.runAsync(() -> deploymentLockService.acquire(1, "kill")).get());
+            assertInstanceOf(SpringOpsException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void acquire_shouldAllowOtherApplications() throws Exception {
+        try (DeploymentLockService.Lease ignored = deploymentLockService.acquire(1, "deploy")) {
+            CompletableFuture.runAsync(() -> deploymentLockService.acquire(2, "deploy").close()).get();
+        }
+    }
+
+    @Test
+    void acquire_shouldBeReentrantAndReleasedOnClose() throws Exception {
+        try (DeploymentLockService.Lease outer = deploymentLockService.acquire(1, "deploy");
+             DeploymentLockService.Lease inner = deploymentLockService.acquire(1, "kill")) {
+            assertNotNull(inner);
+        }
+
+        CompletableFuture.runAsync(() -> deploymentLockService.acquire(1, "kill").close()).get();
+    }
+}
@@ -0,0 +1,371 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.common.dto.deployment.DeploymentDto;
+import org.kreyzon.springops.common.dto.readiness.ReadinessProbeDto;
+import org.kreyzon.springops.common.dto.readiness.ReadinessResultDto;
+import org.kreyzon.springops.common.enums.DeploymentStatus;
+import org.kreyzon.springops.common.enums.DeploymentType;
+import org.kreyzon.springops.common.enums.ReadinessProbeType;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.common.utils.GitUtils;
+import org.kreyzon.springops.common.utils.PortUtils;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.application.entity.Application;
+import org.kreyzon.springops.core.application.service.ApplicationLookupService;
+import org.kreyzon.springops.core.application_env.service.ApplicationEnvService;
+import org.kreyzon.springops.core.build_cache.service.BuildCacheService;
+import org.kreyzon.springops.core.deployment.entity.Deployment;
+import org.kreyzon.springops.core.deployment.service.DeploymentManagerService;
+import org.kreyzon.springops.core.deployment.service.DeploymentService;
+import org.kreyzon.springops.core.deployment_job.service.DeploymentJobOutputService;
+import org.kreyzon.springops.core.deployment_lock.service.DeploymentLockService;
+import org.kreyzon.springops.core.logs.service.LogRotationService;
+import org.kreyzon.springops.core.maven_repository.service.MavenRepositoryService;
+import org.kreyzon.springops.core.os_info.service.OsInfoService;
+import org.kreyzon.springops.core.port_inspector.service.PortInspectorService;
+import org.kreyzon.springops.core.process_liveness.service.ProcessLivenessService;
+import org.kreyzon.springops.core.process_supervisor.service.ProcessSupervisorService;
+import org.kreyzon.springops.core.readiness.service.ReadinessService;
+import org.kreyzon.springops.core.script_registry.service.ScriptRegistryService;
+import org.kreyzon.springops.core.system_version.entity.SystemVersion;
+import org.kreyzon.springops.setup.domain.Setup;
+import org.kreyzon.springops.setup.service.SetupService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpStatus;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentManagerServiceTest {
+
+    private static final int APPLICATION_PORT = 8080;
+
+    private static final int ALTERNATE_PORT = 8081;
+
+    /**
+     * PID of the instance started by the fake run script; never a valid Linux PID.
+     */
+    private static final int NEW_PID = Integer.MAX_VALUE;
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ApplicationLookupService applicationLookupService;
+    @Mock
+    private SetupService setupService;
+    @Mock
+    private ApplicationEnvService applicationEnvService;
+    @Mock
+    private DeploymentService deploymentService;
+    @Mock
+    private OsInfoService osInfoService;
+    @Mock
+    private DeploymentJobOutputService deploymentJobOutputService;
+    @Mock
+    private BuildCacheService buildCacheService;
+    @Mock
+    private MavenRepositoryService mavenRepositoryService;
+    @Mock
+    private ScriptRegistryService scriptRegistryService;
+    @Mock
+    private ReadinessService readinessService;
+    @Mock
+    private DeploymentLockService deploymentLockService;
+    @Mock
+    private ProcessLivenessService processLivenessService;
+    @Mock
+    private PortInspectorService portInspectorService;
+    @Mock
+    private ProcessSupervisorService processSupervisorService;
+    @Mock
+    private LogRotationService logRotationService;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private final List<Process> processes = new ArrayList<>();
+
+    private MockedStatic<GitUtils> gitUtils;
+
+    private MockedStatic<PortUtils> portUtils;
+
+    private Application application;
+
+    private Path applicationPath;
+
+    private DeploymentManagerService deploymentManagerService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        applicationConfig.setGitToken("token");
+        applicationConfig.setRootDirectoryName("springops");
+        applicationConfig.setDirectoryApplications("applications");
+        applicationConfig.setDirectorySource("source");
+        applicationConfig.setDirectoryMirror("mirror");
+        applicationConfig.setDirectoryBuildCache("build-cache");
+        applicationConfig.setDisplayProcessLogs(false);
+        applicationConfig.setBlueGreenStopTimeoutSeconds(1);
+
+        application = new Application();
+        application.setId(1);
+        application.setName("Demo App");
+        application.setGitProjectHttpsUrl("https://example.com/demo.git");
+        application.setPort(APPLICATION_PORT);
+        application.setAlternatePort(ALTERNATE_PORT);
+        application.setJavaSystemVersion(SystemVersion.builder().version("21").path("/opt/java").build());
+        application.setMvnSystemVersion(SystemVersion.builder().version("3.9").path("/opt/maven").build());
+        application.setReadinessProbeType(ReadinessProbeType.PROCESS);
+        application.setReadinessTimeoutSeconds(5);
+        application.setDependencies(new HashSet<>());
+        applicationPath = tempDir.resolve("springops").resolve("applications").resolve("demo-app");
+
+        Path scripts = Files.createDirectories(tempDir.resolve("scripts"));
+        script(scripts, "update_project.sh", "[\"main\",\"abc123\"]");
+        script(scripts, "build_project.sh", "[\"demo.jar\"]");
+        script(scripts, "run_project.sh", "[\"demo.jar\"," + NEW_PID + ",\"$7\"]");
+
+        // Lenient, tests override the branch lookup and not every test reaches the clone URL
+        gitUtils = mockStatic(GitUtils.class, withSettings().strictness(Strictness.LENIENT));
+        gitUtils.when(() -> GitUtils.branchExists(anyString(), eq("main"), anyString())).thenReturn(true);
+        gitUtils.when(() -> GitUtils.resolveCloneUrl(any(), anyString(), anyString())).thenReturn("https://token@example.com/demo.git");
+        portUtils = mockStatic(PortUtils.class);
+        portUtils.when(() -> PortUtils.isPortOccupied(anyInt())).thenReturn(false);
+
+        lenient().when(applicationLookupService.findEntityWithDependenciesById(1)).thenReturn(application);
+        lenient().when(setupService.getSetup()).thenReturn(Setup.builder().filesRoot(tempDir.toString()).build());
+        lenient().when(osInfoService.determineOsType()).thenReturn("debian");
+        lenient().when(mavenRepositoryService.resolveRepositoryPath(any())).thenReturn(tempDir.resolve("m2").toString());
+        lenient().when(scriptRegistryService.resolve(anyString(), anyString()))
+                .thenAnswer(invocation -> scripts.resolve(invocation.<String>getArgument(1)));
+        lenient().when(readinessService.awaitReadiness(any(), anyLong(), any()))
+                .thenReturn(new ReadinessResultDto(true, 100, "Application is ready"));
+        lenient().when(deploymentService.save(any())).thenReturn(DeploymentDto.builder().id(10).build());
+
+        deploymentManagerService = new DeploymentManagerService(applicationLookupService, applicationConfig, setupService,
+                applicationEnvService, deploymentService, osInfoService, deploymentJobOutputService, buildCacheService,
+                mavenRepositoryService, scriptRegistryService, readinessService, deploymentLockService,
+                processLivenessService, portInspectorService, processSupervisorService, logRotationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gitUtils.close();
+        portUtils.close();
+        processes.forEach(Process::destroyForcibly);
+    }
+
+    @Test
+    void manageDeployment_shouldDeployOnAlternatePortWhenActiveInstanceServesApplicationPort() throws Exception {
+        // Deployments recorded before ports were tracked ran on the application port
+        runningInstance(NEW_PID - 1, null);
+
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.CLASSIC, null, null, true, null);
+
+        DeploymentDto deployment = savedDeployment();
+        assertEquals(ALTERNATE_PORT, deployment.getPort());
+        assertEquals(NEW_PID - 1, deployment.getPreviousPid());
+        assertEquals(APPLICATION_PORT, deployment.getPreviousPort());
+        assertEquals(applicationPath.resolve("source-" + ALTERNATE_PORT).toString(), scriptArguments("update_project.sh").get(2));
+        Path logFile = applicationPath.resolve("logs").resolve("app-" + ALTERNATE_PORT + ".log");
+        verify(logRotationService).rotate(logFile);
+        assertEquals(logFile.toString(), readinessProbe().logFile());
+    }
+
+    @Test
+    void manageDeployment_shouldDeployOnApplicationPortWhenActiveInstanceServesAlternatePort() throws Exception {
+        runningInstance(NEW_PID - 1, ALTERNATE_PORT);
+
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.CLASSIC, null, null, true, null);
+
+        DeploymentDto deployment = savedDeployment();
+        assertEquals(APPLICATION_PORT, deployment.getPort());
+        assertEquals(ALTERNATE_PORT, deployment.getPreviousPort());
+        assertEquals(applicationPath.resolve("source").toString(), scriptArguments("update_project.sh").get(2));
+        Path logFile = applicationPath.resolve("logs").resolve("app.log");
+        verify(logRotationService).rotate(logFile);
+        assertEquals(logFile.toString(), readinessProbe().logFile());
+    }
+
+    @Test
+    void manageDeployment_shouldStopReplacedInstanceWithSigtermAfterSwitchOver() throws Exception {
+        Process replaced = start("sleep", "60");
+        int replacedPid = (int) replaced.pid();
+        runningInstance(replacedPid, APPLICATION_PORT);
+
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.CLASSIC, null, null, true, null);
+
+        assertTrue(replaced.waitFor(5, TimeUnit.SECONDS));
+        // 128 + SIGTERM, the instance was not killed
+        assertEquals(143, replaced.exitValue());
+        InOrder inOrder = inOrder(deploymentService, processLivenessService);
+        inOrder.verify(deploymentService).save(any());
+        inOrder.verify(processLivenessService).markStopped(replacedPid);
+    }
+
+    @Test
+    void manageDeployment_shouldKillReplacedInstanceStillAliveAfterStopTimeout() throws Exception {
+        Process replaced = start("bash", "-c", "trap '' TERM; echo ready; while true; do sleep 0.1; done");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(replaced.getInputStream()))) {
+            // Wait for the trap to be installed
+            assertEquals("ready", reader.readLine());
+        }
+        int replacedPid = (int) replaced.pid();
+        runningInstance(replacedPid, APPLICATION_PORT);
+
+        long start = System.currentTimeMillis();
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.CLASSIC, null, null, true, null);
+
+        assertTrue(System.currentTimeMillis() - start >= 1000);
+        assertTrue(replaced.waitFor(5, TimeUnit.SECONDS));
+        // 128 + SIGKILL
+        assertEquals(137, replaced.exitValue());
+        verify(processLivenessService).markStopped(replacedPid);
+    }
+
+    @Test
+    void manageDeployment_shouldKeepReplacedInstanceWhenNewInstanceIsNotReady() throws Exception {
+        Process replaced = start("sleep", "60");
+        runningInstance((int) replaced.pid(), APPLICATION_PORT);
+        when(readinessService.awaitReadiness(any(), anyLong(), any()))
+                .thenReturn(new ReadinessResultDto(false, 0, "Readiness timed out"));
+
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.CLASSIC, null, null, true, null);
+
+        assertTrue(replaced.isAlive());
+        verify(deploymentService, never()).save(any());
+        verify(processLivenessService, never()).markStopped((int) replaced.pid());
+    }
+
+    @Test
+    void manageDeployment_shouldRotateOutputLogBeforeStartingApplication() throws Exception {
+        Path logFile = applicationPath.resolve("logs").resolve("app.log");
+        Path runArguments = tempDir.resolve("scripts").resolve("run_project.sh.args");
+        when(logRotationService.rotate(logFile)).thenAnswer(invocation -> {
+            assertFalse(Files.exists(runArguments), "run_project.sh was started before the log was rotated");
+            return Optional.empty();
+        });
+
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.CLASSIC, null, null, false, null);
+
+        verify(logRotationService).rotate(logFile);
+        assertEquals(logFile.toString(), scriptArguments("run_project.sh").get(6));
+        assertEquals(APPLICATION_PORT, savedDeployment().getPort());
+    }
+
+    @Test
+    void manageDeployment_shouldStartApplicationWhenOutputLogRotationFails() throws Exception {
+        Path logFile = Files.createDirectories(applicationPath.resolve("logs")).resolve("app.log");
+        Files.writeString(logFile, "Started DemoApplication in 2.1 seconds\n");
+        when(logRotationService.rotate(any())).thenThrow(new IOException("No space left on device"));
+
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.CLASSIC, null, null, false, null);
+
+        assertTrue(Files.exists(tempDir.resolve("scripts").resolve("run_project.sh.args")));
+        assertEquals(APPLICATION_PORT, savedDeployment().getPort());
+        // The output of the previous run must not satisfy the readiness probe of the new one
+        assertEquals(Files.size(logFile), readinessProbe().logOffset());
+    }
+
+    @Test
+    void manageDeployment_shouldRecordDeployedCommit() throws Exception {
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.LATEST, null, null, false, null);
+
+        assertEquals("", scriptArguments("update_project.sh").get(5));
+        assertEquals("main", savedDeployment().getBranch());
+        assertEquals("abc123", savedDeployment().getCommitSha());
+    }
+
+    @Test
+    void manageDeployment_shouldCheckOutRecordedCommitOnRollback() throws Exception {
+        // The branch has moved or was deleted since the commit was deployed
+        gitUtils.when(() -> GitUtils.branchExists(anyString(), eq("main"), anyString())).thenReturn(false);
+
+        deploymentManagerService.manageDeployment(1, "main", DeploymentType.ROLLBACK, "abc123", null, false, null);
+
+        assertEquals("ROLLBACK", scriptArguments("update_project.sh").get(3));
+        assertEquals("abc123", scriptArguments("update_project.sh").get(5));
+        assertEquals(DeploymentType.ROLLBACK, savedDeployment().getType());
+        assertEquals("abc123", savedDeployment().getCommitSha());
+    }
+
+    @Test
+    void manageDeployment_shouldRejectMissingBranchWithoutCommit() {
+        gitUtils.when(() -> GitUtils.branchExists(anyString(), eq("main"), anyString())).thenReturn(false);
+
+        SpringOpsException exception = assertThrows(SpringOpsException.class,
+                () -> deploymentManagerService.manageDeployment(1, "main", DeploymentType.ROLLBACK, null, null, false, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertFalse(Files.exists(tempDir.resolve("scripts").resolve("update_project.sh.args")));
+    }
+
+    /**
+     * Records a running deployment of the application.
+     */
+    private void runningInstance(int pid, Integer port) {
+        Deployment deployment = Deployment.builder()
+                .pid(pid)
+                .port(port)
+                .status(DeploymentStatus.RUNNING)
+                .type(DeploymentType.LATEST)
+                .build();
+        when(deploymentService.findByApplicationId(1)).thenReturn(List.of(deployment));
+        when(processLivenessService.isAliveNow(pid)).thenReturn(true);
+    }
+
+    /**
+     * Writes a fake deployment script recording its arguments and reporting the given result data.
+     */
+    private void script(Path directory, String name, String data) throws Exception {
+        Files.writeString(directory.resolve(name), """
+                printf '%%s\\n' "$@" > "$0.args"
+                echo "processing %s"
+                echo "springops-result={\\"exitCode\\":0,\\"output\\":\\"\\",\\"status\\":\\"SUCCESS\\",\\"message\\":\\"done\\",\\"data\\":%s}"
+                """.formatted(name, data.replace("\"", "\\\"")));
+    }
+
+    private List<String> scriptArguments(String name) throws Exception {
+        return Files.readAllLines(tempDir.resolve("scripts").resolve(name + ".args"));
+    }
+
+    private DeploymentDto savedDeployment() {
+        ArgumentCaptor<DeploymentDto> captor = ArgumentCaptor.forClass(DeploymentDto.class);
+        verify(deploymentService).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private ReadinessProbeDto readinessProbe() throws Exception {
+        ArgumentCaptor<ReadinessProbeDto> captor = ArgumentCaptor.forClass(ReadinessProbeDto.class);
+        verify(readinessService).awaitReadiness(captor.capture(), eq((long) NEW_PID), any());
+        return captor.getValue();
+    }
+
+    private Process start(String... command) throws Exception {
+        Process process = new ProcessBuilder(command).start();
+        processes.add(process);
+        return process;
+    }
+}
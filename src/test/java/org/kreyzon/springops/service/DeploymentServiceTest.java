@@ -0,0 +1,89 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.application.entity.Application;
+import org.kreyzon.springops.core.application.service.ApplicationLookupService;
+import org.kreyzon.springops.core.deployment.repository.DeploymentRepository;
+import org.kreyzon.springops.core.deployment.service.DeploymentService;
+import org.kreyzon.springops.core.process_liveness.service.ProcessLivenessService;
+import org.kreyzon.springops.setup.domain.Setup;
+import org.kreyzon.springops.setup.service.SetupService;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DeploymentRepository deploymentRepository;
+
+    @Mock
+    private ApplicationLookupService applicationLookupService;
+
+    @Mock
+    private SetupService setupService;
+
+    @Mock
+    private ProcessLivenessService processLivenessService;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private DeploymentService deploymentService;
+
+    private Path logsDirectory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        applicationConfig.setRootDirectoryName("springops");
+        applicationConfig.setDirectoryApplications("applications");
+        deploymentService = new DeploymentService(deploymentRepository, applicationLookupService, setupService,
+                applicationConfig, processLivenessService);
+
+        Application application = new Application();
+        application.setName("Demo App");
+        Setup setup = new Setup();
+        setup.setFilesRoot(tempDir.toString());
+        when(applicationLookupService.findAllEntities()).thenReturn(List.of(application));
+        when(setupService.getSetup()).thenReturn(setup);
+
+        logsDirectory = Files.createDirectories(tempDir.resolve("springops/applications/demo-app/logs"));
+    }
+
+    @Test
+    void downloadLogFile_shouldResolveDeployLogInsideLogsDirectory() throws Exception {
+        Path log = Files.writeString(logsDirectory.resolve("deploy-2026-10-17T12:00:00Z.log"), "deployed\n");
+
+        Path result = deploymentService.downloadLogFile(log.toString());
+
+        assertEquals(log.toAbsolutePath().normalize(), result);
+    }
+
+    @Test
+    void downloadLogFile_shouldRejectFilesOutsideLogsDirectories() throws Exception {
+        Path secret = Files.writeString(tempDir.resolve("secret.txt"), "secret\n");
+
+        SpringOpsException absolute = assertThrows(SpringOpsException.class,
+                () -> deploymentService.downloadLogFile(secret.toString()));
+        SpringOpsException traversal = assertThrows(SpringOpsException.class,
+                () -> deploymentService.downloadLogFile(logsDirectory.resolve("../../../../secret.txt").toString()));
+
+        assertEquals(HttpStatus.NOT_FOUND, absolute.getHttpStatus());
+        assertEquals(HttpStatus.NOT_FOUND, traversal.getHttpStatus());
+    }
+}
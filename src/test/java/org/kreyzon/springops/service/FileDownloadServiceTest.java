@@ -0,0 +1,103 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.file_download.service.FileDownloadService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileDownloadServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private final FileDownloadService fileDownloadService = new FileDownloadService(applicationConfig);
+
+    @BeforeEach
+    void setUp() {
+        applicationConfig.setLogDownloadGzipEnabled(true);
+    }
+
+    @Test
+    void download_shouldHandFileToSendfileWhenSupported() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "content\n");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/logs");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        ResponseEntity<?> response = fileDownloadService.download(log, MediaType.TEXT_PLAIN, webRequest(request));
+
+        assertNull(response.getBody());
+        assertEquals(8, response.getHeaders().getContentLength());
+        assertEquals(log.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(8L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void download_shouldServeStoredSegmentGzipEncodedWhenAccepted() throws Exception {
+        Path segment = tempDir.resolve("app-20261017-120000.log.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(segment))) {
+            out.write("content\n".getBytes());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/logs");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        ResponseEntity<?> response = fileDownloadService.download(segment, MediaType.TEXT_PLAIN, webRequest(request));
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("app-20261017-120000.log", response.getHeaders().getContentDisposition().getFilename());
+        assertInstanceOf(FileSystemResource.class, response.getBody());
+    }
+
+    @Test
+    void download_shouldDecompressSegmentForClientsNotAcceptingGzip() throws Exception {
+        Path segment = tempDir.resolve("app-20261017-120000.log.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(segment))) {
+            out.write("content\n".getBytes());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/logs");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+
+        ResponseEntity<?> response = fileDownloadService.download(segment, MediaType.TEXT_PLAIN, webRequest(request));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(body);
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("content\n", body.toString());
+    }
+
+    @Test
+    void download_shouldAnswerNotModifiedForMatchingETag() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "content\n");
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        fileDownloadService.download(log, MediaType.TEXT_PLAIN, new ServletWebRequest(new MockHttpServletRequest("GET", "/logs"), first));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/logs");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        assertNull(fileDownloadService.download(log, MediaType.TEXT_PLAIN, new ServletWebRequest(request, second)));
+        assertEquals(304, second.getStatus());
+    }
+
+    private static ServletWebRequest webRequest(MockHttpServletRequest request) {
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
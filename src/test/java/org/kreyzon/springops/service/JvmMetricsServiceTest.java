@@ -0,0 +1,111 @@
+package org.kreyzon.springops.service;
+
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.common.dto.application_stats.JvmMetricsDto;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.jvm_metrics.service.JvmMetricsService;
+import org.mockito.MockedStatic;
+
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JvmMetricsServiceTest {
+
+    private static final int CURRENT_PID = (int) ProcessHandle.current().pid();
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private JvmMetricsService jvmMetricsService;
+
+    private MockedStatic<VirtualMachine> virtualMachines;
+
+    private MockedStatic<JMXConnectorFactory> connectorFactory;
+
+    @BeforeEach
+    void setUp() {
+        applicationConfig.setJvmMetricsEnabled(true);
+        jvmMetricsService = new JvmMetricsService(applicationConfig);
+        virtualMachines = mockStatic(VirtualMachine.class);
+        connectorFactory = mockStatic(JMXConnectorFactory.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jvmMetricsService.closeAll();
+        virtualMachines.close();
+        connectorFactory.close();
+    }
+
+    @Test
+    void sample_shouldReturnEmptyWhenDisabled() {
+        applicationConfig.setJvmMetricsEnabled(false);
+
+        assertEquals(Optional.empty(), jvmMetricsService.sample(CURRENT_PID));
+        virtualMachines.verifyNoInteractions();
+    }
+
+    @Test
+    void sample_shouldReturnEmptyWhenProcessIsNotAJvm() throws Exception {
+        Process sleep = new ProcessBuilder("sleep", "30").start();
+        try {
+            assertEquals(Optional.empty(), jvmMetricsService.sample((int) sleep.pid()));
+            virtualMachines.verifyNoInteractions();
+        } finally {
+            sleep.destroyForcibly();
+        }
+    }
+
+    @Test
+    void sample_shouldReadMetricsOverLocalManagementAgentAndReuseConnection() throws Exception {
+        VirtualMachine virtualMachine = mock(VirtualMachine.class);
+        when(virtualMachine.startLocalManagementAgent()).thenReturn("service:jmx:rmi:///jndi/rmi://localhost:1/jmxrmi");
+        virtualMachines.when(() -> VirtualMachine.attach(anyString())).thenReturn(virtualMachine);
+        JMXConnector connector = mock(JMXConnector.class);
+        when(connector.getMBeanServerConnection()).thenReturn(ManagementFactory.getPlatformMBeanServer());
+        connectorFactory.when(() -> JMXConnectorFactory.connect(any(JMXServiceURL.class))).thenReturn(connector);
+
+        JvmMetricsDto metrics = jvmMetricsService.sample(CURRENT_PID).orElseThrow();
+        assertTrue(jvmMetricsService.sample(CURRENT_PID).isPresent());
+
+        assertTrue(metrics.heapUsedMb() > 0);
+        assertTrue(metrics.heapCommittedMb() >= metrics.heapUsedMb());
+        assertTrue(metrics.threadCount() > 0);
+        assertTrue(metrics.loadedClasses() > 0);
+        verify(virtualMachine).detach();
+        virtualMachines.verify(() -> VirtualMachine.attach(String.valueOf(CURRENT_PID)), times(1));
+    }
+
+    @Test
+    void sample_shouldNotRetryAttachBeforeBackOff() {
+        virtualMachines.when(() -> VirtualMachine.attach(anyString()))
+                .thenThrow(new AttachNotSupportedException("no attach support"));
+
+        assertEquals(Optional.empty(), jvmMetricsService.sample(CURRENT_PID));
+        assertEquals(Optional.empty(), jvmMetricsService.sample(CURRENT_PID));
+
+        virtualMachines.verify(() -> VirtualMachine.attach(anyString()), times(1));
+    }
+
+    @Test
+    void sample_shouldStopSamplingWhenAttachApiCannotBeLoaded() {
+        virtualMachines.when(() -> VirtualMachine.attach(anyString()))
+                .thenThrow(new NoClassDefFoundError("com/sun/tools/attach/VirtualMachine"));
+
+        assertEquals(Optional.empty(), jvmMetricsService.sample(CURRENT_PID));
+        assertEquals(Optional.empty(), jvmMetricsService.sample(CURRENT_PID));
+
+        virtualMachines.verify(() -> VirtualMachine.attach(anyString()), times(1));
+    }
+}
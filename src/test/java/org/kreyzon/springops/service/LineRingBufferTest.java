@@ -0,0 +1,51 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.core.deployment_job.service.LineRingBuffer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineRingBufferTest {
+
+    @Test
+    void since_shouldReturnAllLinesWhenNotFull() {
+        LineRingBuffer buffer = new LineRingBuffer(3);
+        buffer.append("a");
+        buffer.append("b");
+
+        List<LineRingBuffer.Entry> entries = buffer.since(0);
+
+        assertEquals(List.of(new LineRingBuffer.Entry(0, "a"), new LineRingBuffer.Entry(1, "b")), entries);
+    }
+
+    @Test
+    void since_shouldSkipOverwrittenLines() {
+        LineRingBuffer buffer = new LineRingBuffer(2);
+        buffer.append("a");
+        buffer.append("b");
+        buffer.append("c");
+
+        List<LineRingBuffer.Entry> entries = buffer.since(0);
+
+        assertEquals(List.of(new LineRingBuffer.Entry(1, "b"), new LineRingBuffer.Entry(2, "c")), entries);
+        assertEquals(3, buffer.nextSequence());
+    }
+
+    @Test
+    void since_shouldResumeFromGivenSequence() {
+        LineRingBuffer buffer = new LineRingBuffer(5);
+        buffer.append("a");
+        buffer.append("b");
+        buffer.append("c");
+
+        assertEquals(List.of(new LineRingBuffer.Entry(2, "c")), buffer.since(2));
+        assertTrue(buffer.since(3).isEmpty());
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new LineRingBuffer(0));
+    }
+}
@@ -0,0 +1,49 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.common.dto.logs.LogChunkDto;
+import org.kreyzon.springops.common.utils.LogFileUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFileUtilsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readPage_shouldEndOnLineBoundaryAndChainPages() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "first\nsecond\nthird\n");
+
+        LogChunkDto first = LogFileUtils.readPage(log, 0, 10);
+        LogChunkDto second = LogFileUtils.readPage(log, first.nextOffset(), 100);
+
+        assertEquals("first\n", first.content());
+        assertFalse(first.eof());
+        assertEquals("second\nthird\n", second.content());
+        assertTrue(second.eof());
+    }
+
+    @Test
+    void tail_shouldReturnLastLines() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "one\ntwo\nthree\nfour\n");
+
+        LogChunkDto tail = LogFileUtils.tail(log, 2, 1024);
+
+        assertEquals("three\nfour\n", tail.content());
+        assertEquals(Files.size(log), tail.nextOffset());
+    }
+
+    @Test
+    void tail_shouldDropPartialLineWhenLimitedByMaxBytes() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "a long first line\nshort\nend\n");
+
+        LogChunkDto tail = LogFileUtils.tail(log, 10, 12);
+
+        assertEquals("short\nend\n", tail.content());
+    }
+}
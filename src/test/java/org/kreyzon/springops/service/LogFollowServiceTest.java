@@ -0,0 +1,177 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.logs.service.LogFollowService;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFollowServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private LogFollowService logFollowService;
+
+    @BeforeEach
+    void setUp() {
+        applicationConfig.setLogReadMaxBytes(1024 * 1024);
+        applicationConfig.setSseMaxPendingChars(1024L * 1024);
+        logFollowService = new LogFollowService(applicationConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logFollowService.closeAll();
+    }
+
+    @Test
+    void follow_shouldReplayRecentLinesThenPushAppendedLines() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "first\nsecond\n");
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        logFollowService.follow(emitter, log, null, 10);
+        Files.writeString(log, "third\n", StandardOpenOption.APPEND);
+        logFollowService.poll();
+
+        assertEquals(List.of("line 6 first", "line 13 second", "line 19 third"), emitter.await(3));
+    }
+
+    @Test
+    void follow_shouldResumeFromOffset() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "first\nsecond\nthird\n");
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        logFollowService.follow(emitter, log, 6L, 10);
+
+        assertEquals(List.of("line 13 second", "line 19 third"), emitter.await(2));
+    }
+
+    @Test
+    void poll_shouldRestartFromStartWhenFileIsTruncated() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "first line\n");
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        logFollowService.follow(emitter, log, null, 10);
+        Files.writeString(log, "new\n");
+        logFollowService.poll();
+
+        assertEquals(List.of("line 11 first line", "reset 0 truncated", "line 4 new"), emitter.await(3));
+    }
+
+    @Test
+    void poll_shouldReadRotatedFileToItsEndBeforeSwitching() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "old\n");
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        logFollowService.follow(emitter, log, null, 10);
+        Files.writeString(log, "last\n", StandardOpenOption.APPEND);
+        Files.move(log, tempDir.resolve("app.log.1"));
+        Files.writeString(log, "new\n");
+        logFollowService.poll();
+
+        assertEquals(List.of("line 4 old", "line 9 last", "reset 0 rotated", "line 4 new"), emitter.await(4));
+    }
+
+    @Test
+    void truncate_shouldDeliverLinesUpToTruncationThenReset() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "before\n");
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        logFollowService.follow(emitter, log, null, 10);
+        Files.writeString(log, "unread\n", StandardOpenOption.APPEND);
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        logFollowService.truncate(log, copyAppending(log, copy, "late\n"));
+
+        assertEquals(0, Files.size(log));
+        assertEquals("before\nunread\nlate\n", copy.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of("line 7 before", "line 14 unread", "line 19 late", "reset 0 rotated"), emitter.await(4));
+    }
+
+    @Test
+    void truncate_shouldCopyLinesAppendedWhileCopyingUnfollowedFile() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "before\n");
+
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        logFollowService.truncate(log, copyAppending(log, copy, "late\n"));
+
+        assertEquals(0, Files.size(log));
+        assertEquals("before\nlate\n", copy.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Copies the file into the given stream, appending a line to the file after the first copy like a running
+     * application would.
+     */
+    private static LogFollowService.RotationCopy copyAppending(Path log, ByteArrayOutputStream copy, String line) {
+        boolean[] appended = {false};
+        return () -> {
+            byte[] content = Files.readAllBytes(log);
+            copy.write(content, copy.size(), content.length - copy.size());
+            if (!appended[0]) {
+                appended[0] = true;
+                Files.writeString(log, line, StandardOpenOption.APPEND);
+            }
+            return copy.size();
+        };
+    }
+
+    /**
+     * Emitter recording the events sent to it as {@code <name> <id> <data>}.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String event = builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining());
+            String id = "";
+            String name = "";
+            String data = "";
+            for (String field : event.split("\n")) {
+                if (field.startsWith("id:")) {
+                    id = field.substring(3);
+                } else if (field.startsWith("event:")) {
+                    name = field.substring(6);
+                } else if (field.startsWith("data:")) {
+                    data = field.substring(5);
+                }
+            }
+            synchronized (events) {
+                events.add(name + " " + id + " " + data);
+                events.notifyAll();
+            }
+        }
+
+        /**
+         * Waits for the given number of events, which are sent asynchronously.
+         */
+        private List<String> await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            synchronized (events) {
+                while (events.size() < count && System.currentTimeMillis() < deadline) {
+                    events.wait(100);
+                }
+                return List.copyOf(events);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.common.dto.logs.LogSearchMatchDto;
+import org.kreyzon.springops.common.dto.logs.LogSearchResultDto;
+import org.kreyzon.springops.common.exception.SpringOpsException;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.logs.service.LogIndexService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogIndexServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private LogIndexService logIndexService;
+
+    @BeforeEach
+    void setUp() {
+        applicationConfig.setLogIndexMaxTokens(1000);
+        logIndexService = new LogIndexService(applicationConfig);
+    }
+
+    @Test
+    void search_shouldReturnMatchingLinesWithContext() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"),
+                "starting\nINFO ready\nERROR java.lang.NullPointerException: boom\n\tat Foo.bar(Foo.java:1)\nINFO done\n");
+
+        LogSearchResultDto result = logIndexService.search(List.of(log), "nullpointer* error", 1, 0, 10);
+
+        assertEquals(1, result.matches().size());
+        LogSearchMatchDto match = result.matches().getFirst();
+        assertEquals(3, match.lineNumber());
+        assertEquals("starting\nINFO ready\n".length(), match.offset());
+        assertEquals(List.of("INFO ready"), match.before());
+        assertEquals(List.of("\tat Foo.bar(Foo.java:1)"), match.after());
+    }
+
+    @Test
+    void search_shouldIndexAppendedLinesAndRestartAfterTruncation() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "first timeout\n");
+        logIndexService.refresh(List.of(tempDir));
+
+        Files.writeString(log, "second timeout\n", StandardOpenOption.APPEND);
+        assertEquals(2, logIndexService.search(List.of(log), "timeout", 0, 0, 10).matches().size());
+
+        Files.writeString(log, "restarted\n", StandardOpenOption.TRUNCATE_EXISTING);
+        assertTrue(logIndexService.search(List.of(log), "timeout", 0, 0, 10).matches().isEmpty());
+        assertEquals(1, logIndexService.search(List.of(log), "restarted", 0, 0, 10).matches().size());
+    }
+
+    @Test
+    void search_shouldPaginateMatches() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            content.append("request ").append(i).append(" failed\n");
+        }
+        Path log = Files.writeString(tempDir.resolve("app.log"), content);
+
+        LogSearchResultDto first = logIndexService.search(List.of(log), "failed", 0, 0, 2);
+        LogSearchResultDto last = logIndexService.search(List.of(log), "failed", 0, 2, 2);
+
+        assertTrue(first.hasMore());
+        assertEquals(List.of(1L, 2L), first.matches().stream().map(LogSearchMatchDto::lineNumber).toList());
+        assertFalse(last.hasMore());
+        assertEquals("request 4 failed", last.matches().getFirst().line());
+    }
+
+    @Test
+    void search_shouldFindIdentifiersThatAreNotIndexed() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"),
+                "started with pid 4242\nbuilt commit deadbeef12\nrequest 9f3c-41aa done\n");
+
+        assertEquals(1, logIndexService.search(List.of(log), "4242", 0, 0, 10).matches().size());
+        assertEquals(1, logIndexService.search(List.of(log), "dead*", 0, 0, 10).matches().size());
+        assertEquals(3L, logIndexService.search(List.of(log), "9f3c done", 0, 0, 10).matches().getFirst().lineNumber());
+        assertTrue(logIndexService.search(List.of(log), "4243", 0, 0, 10).matches().isEmpty());
+    }
+
+    @Test
+    void search_shouldFindTokensBeyondTheTokenLimit() throws Exception {
+        applicationConfig.setLogIndexMaxTokens(2);
+        Path log = Files.writeString(tempDir.resolve("app.log"), "alpha beta\ngamma delta\n");
+
+        LogSearchResultDto result = logIndexService.search(List.of(log), "delta", 0, 0, 10);
+
+        assertEquals(List.of("gamma delta"), result.matches().stream().map(LogSearchMatchDto::line).toList());
+    }
+
+    @Test
+    void search_shouldReportPartialResultUntilFileIsFullyIndexed() throws Exception {
+        String filler = "filler line\n".repeat(512 * 1024);
+        Path log = Files.writeString(tempDir.resolve("app.log"), filler + "needle found\n");
+
+        LogSearchResultDto cold = logIndexService.search(List.of(log), "needle", 0, 0, 10);
+        assertTrue(cold.partial());
+        assertTrue(cold.matches().isEmpty());
+
+        logIndexService.refresh(List.of(tempDir));
+        LogSearchResultDto indexed = logIndexService.search(List.of(log), "needle", 0, 0, 10);
+        assertFalse(indexed.partial());
+        assertEquals(1, indexed.matches().size());
+    }
+
+    @Test
+    void search_shouldRejectQueryWithoutWords() {
+        assertThrows(SpringOpsException.class, () -> logIndexService.search(List.of(), " -- ", 0, 0, 10));
+    }
+}
@@ -0,0 +1,131 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.common.dto.logs.LogChunkDto;
+import org.kreyzon.springops.common.utils.LogFileUtils;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.logs.service.LogFollowService;
+import org.kreyzon.springops.core.logs.service.LogIndexService;
+import org.kreyzon.springops.core.logs.service.LogRotationService;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LogRotationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private LogIndexService logIndexService;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private LogRotationService logRotationService;
+
+    @BeforeEach
+    void setUp() {
+        applicationConfig.setLogRotationMaxBytes(1024L);
+        applicationConfig.setLogRotationIntervalHours(24);
+        applicationConfig.setLogRotationMaxSegments(2);
+        applicationConfig.setLogRotationRetentionDays(30);
+        LogFollowService logFollowService = new LogFollowService(applicationConfig);
+        logRotationService = new LogRotationService(applicationConfig, logFollowService, logIndexService);
+    }
+
+    @Test
+    void rotate_shouldCompressContentIntoReadableSegmentAndTruncate() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "first\nsecond\n");
+
+        Path segment = logRotationService.rotate(log).orElseThrow();
+
+        assertEquals(0, Files.size(log));
+        assertTrue(segment.getFileName().toString().matches("app-\\d{8}-\\d{6}\\.log\\.gz"));
+        LogChunkDto page = LogFileUtils.readPage(segment, 6, 100);
+        assertEquals("second\n", page.content());
+        assertTrue(page.eof());
+        assertEquals("second\n", LogFileUtils.tail(segment, 1, 1024).content());
+        verify(logIndexService).invalidate(log);
+    }
+
+    @Test
+    void rotateIfDue_shouldOnlyRotateLogsAboveMaxBytes() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "small\n");
+        assertFalse(logRotationService.rotateIfDue(log));
+
+        Files.writeString(log, "x".repeat(2048));
+        assertTrue(logRotationService.rotateIfDue(log));
+    }
+
+    @Test
+    void deleteExpiredSegments_shouldKeepNewestSegmentsWithinRetention() throws Exception {
+        Path log = tempDir.resolve("app.log");
+        Instant now = Instant.now();
+        Path newest = segment("app-20261017-120000.log.gz", now);
+        Path older = segment("app-20261016-120000.log.gz", now.minus(1, ChronoUnit.DAYS));
+        Path oldest = segment("app-20261015-120000.log.gz", now.minus(2, ChronoUnit.DAYS));
+        Path expired = segment("app-20260101-120000.log.gz", now.minus(60, ChronoUnit.DAYS));
+        Path deployLog = segment("deploy-2026-01-01.log", now.minus(60, ChronoUnit.DAYS));
+
+        assertEquals(2, logRotationService.deleteExpiredSegments(log));
+
+        assertTrue(Files.exists(newest));
+        assertTrue(Files.exists(older));
+        assertFalse(Files.exists(oldest));
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(deployLog));
+    }
+
+    @Test
+    void rotateAll_shouldRotateTheLogOfEachPortSeparately() throws Exception {
+        Path log = Files.writeString(tempDir.resolve("app.log"), "x".repeat(2048));
+        Path alternateLog = Files.writeString(tempDir.resolve("app-8081.log"), "y".repeat(2048));
+        Path deployLog = Files.writeString(tempDir.resolve("deploy-2026-01-01.log"), "z".repeat(2048));
+
+        assertEquals(2, logRotationService.rotateAll(List.of(tempDir)));
+
+        assertEquals(0, Files.size(log));
+        assertEquals(0, Files.size(alternateLog));
+        assertEquals(2048, Files.size(deployLog));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            List<String> segments = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".gz"))
+                    .toList();
+            assertEquals(1, segments.stream().filter(name -> name.matches("app-\\d{8}-\\d{6}\\.log\\.gz")).count());
+            assertEquals(1, segments.stream().filter(name -> name.matches("app-8081-\\d{8}-\\d{6}\\.log\\.gz")).count());
+        }
+    }
+
+    @Test
+    void deleteExpiredSegments_shouldIgnoreSegmentsOfOtherPorts() throws Exception {
+        Path log = tempDir.resolve("app.log");
+        Instant now = Instant.now();
+        Path alternateSegment = segment("app-8081-20260101-120000.log.gz", now.minus(60, ChronoUnit.DAYS));
+        Path expired = segment("app-20260101-120000.log.gz", now.minus(60, ChronoUnit.DAYS));
+
+        assertEquals(1, logRotationService.deleteExpiredSegments(log));
+
+        assertTrue(Files.exists(alternateSegment));
+        assertFalse(Files.exists(expired));
+    }
+
+    private Path segment(String name, Instant modified) throws Exception {
+        Path segment = Files.writeString(tempDir.resolve(name), "");
+        Files.setLastModifiedTime(segment, FileTime.from(modified));
+        return segment;
+    }
+}
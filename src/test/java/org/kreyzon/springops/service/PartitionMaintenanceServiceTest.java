@@ -0,0 +1,53 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.core.partition_maintenance.service.PartitionMaintenanceService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PartitionMaintenanceServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        partitionMaintenanceService = new PartitionMaintenanceService(jdbcTemplate);
+    }
+
+    @Test
+    void dropPartitionsOlderThan_shouldDropOnlyPartitionsEntirelyBeforeCutoff() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("application_stats")))
+                .thenReturn(List.of("application_stats_p20261014", "application_stats_p20261015", "application_stats_p20261016", "application_stats_extra"));
+
+        int dropped = partitionMaintenanceService.dropPartitionsOlderThan(PartitionMaintenanceService.APPLICATION_STATS,
+                LocalDateTime.of(2026, 10, 16, 8, 0));
+
+        assertEquals(2, dropped);
+        verify(jdbcTemplate).execute("DROP TABLE application_stats_p20261014");
+        verify(jdbcTemplate).execute("DROP TABLE application_stats_p20261015");
+        verify(jdbcTemplate, never()).execute("DROP TABLE application_stats_p20261016");
+        verify(jdbcTemplate, never()).execute("DROP TABLE application_stats_extra");
+    }
+
+    @Test
+    void dropPartitionsOlderThan_shouldParseMonthlyPartitions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audits")))
+                .thenReturn(List.of("audits_p202509", "audits_p202510"));
+
+        int dropped = partitionMaintenanceService.dropPartitionsOlderThan(PartitionMaintenanceService.AUDITS,
+                LocalDateTime.of(2025, 10, 17, 0, 0));
+
+        assertEquals(1, dropped);
+        verify(jdbcTemplate).execute("ALTER TABLE audits DETACH PARTITION audits_p202509");
+    }
+}
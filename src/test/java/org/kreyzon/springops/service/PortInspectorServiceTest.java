@@ -0,0 +1,45 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.deployment.repository.DeploymentRepository;
+import org.kreyzon.springops.core.port_inspector.service.PortInspectorService;
+
+import java.net.ServerSocket;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@EnabledOnOs(OS.LINUX)
+class PortInspectorServiceTest {
+
+    private final int currentPid = (int) ProcessHandle.current().pid();
+
+    private PortInspectorService portInspectorService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationConfig applicationConfig = mock(ApplicationConfig.class);
+        when(applicationConfig.getListeningPortsCacheMillis()).thenReturn(0L);
+
+        portInspectorService = new PortInspectorService(mock(DeploymentRepository.class), applicationConfig);
+    }
+
+    @Test
+    void getListeningPorts_shouldReportOpenServerSocket() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            String ports = portInspectorService.getListeningPorts("debian", currentPid);
+
+            assertTrue(Arrays.asList(ports.split(",")).contains(String.valueOf(serverSocket.getLocalPort())));
+        }
+    }
+
+    @Test
+    void getListeningPorts_shouldReturnEmptyForNullPid() {
+        assertEquals("", portInspectorService.getListeningPorts("debian", null));
+    }
+}
@@ -0,0 +1,53 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.common.enums.DeploymentStatus;
+import org.kreyzon.springops.core.deployment.entity.Deployment;
+import org.kreyzon.springops.core.deployment.repository.DeploymentRepository;
+import org.kreyzon.springops.core.process_liveness.service.ProcessLivenessService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProcessLivenessServiceTest {
+
+    private final int currentPid = (int) ProcessHandle.current().pid();
+
+    private DeploymentRepository deploymentRepository;
+    private ProcessLivenessService processLivenessService;
+
+    @BeforeEach
+    void setUp() {
+        deploymentRepository = mock(DeploymentRepository.class);
+        processLivenessService = new ProcessLivenessService(deploymentRepository);
+    }
+
+    @Test
+    void isAlive_shouldReturnFalseForNullPid() {
+        assertFalse(processLivenessService.isAlive(null));
+    }
+
+    @Test
+    void isAlive_shouldReadRefreshedSnapshot() {
+        Deployment deployment = new Deployment();
+        deployment.setPid(currentPid);
+        when(deploymentRepository.findByStatus(DeploymentStatus.RUNNING)).thenReturn(List.of(deployment));
+
+        processLivenessService.refreshSnapshot();
+
+        assertTrue(processLivenessService.isAlive(currentPid));
+    }
+
+    @Test
+    void markStopped_shouldBeVisibleBeforeNextRefresh() {
+        assertTrue(processLivenessService.isAlive(currentPid));
+
+        processLivenessService.markStopped(currentPid);
+
+        assertFalse(processLivenessService.isAlive(currentPid));
+        assertTrue(processLivenessService.isAliveNow(currentPid));
+    }
+}
@@ -0,0 +1,24 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.common.dto.application_stats.ApplicationStatsDto;
+import org.kreyzon.springops.core.process_sampler.service.ProcessSamplerService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessSamplerServiceTest {
+
+    private final ProcessSamplerService processSamplerService = new ProcessSamplerService();
+
+    @Test
+    void sample_shouldReportCurrentProcessUsage() {
+        int pid = (int) ProcessHandle.current().pid();
+
+        processSamplerService.sample(pid);
+        ApplicationStatsDto stats = processSamplerService.sample(pid);
+
+        assertTrue(stats.memoryMb() > 0);
+        assertTrue(stats.cpuLoad() >= 0.0);
+        assertTrue(stats.availMemMb() > 0.0);
+    }
+}
@@ -0,0 +1,43 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.kreyzon.springops.core.deployment.repository.DeploymentRepository;
+import org.kreyzon.springops.core.process_liveness.service.ProcessLivenessService;
+import org.kreyzon.springops.core.process_supervisor.service.ProcessSupervisorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProcessSupervisorServiceTest {
+
+    private DeploymentRepository deploymentRepository;
+    private ProcessSupervisorService processSupervisorService;
+
+    @BeforeEach
+    void setUp() {
+        deploymentRepository = mock(DeploymentRepository.class);
+        processSupervisorService = new ProcessSupervisorService(deploymentRepository, new ProcessLivenessService(deploymentRepository));
+    }
+
+    @Test
+    void supervise_shouldMarkDeploymentStoppedWhenPidIsGone() {
+        assertFalse(processSupervisorService.supervise(1, null));
+
+        verify(deploymentRepository).markStopped(eq(1), any());
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void supervise_shouldMarkDeploymentStoppedWhenProcessExits() throws Exception {
+        Process process = new ProcessBuilder("sleep", "0.2").start();
+
+        assertTrue(processSupervisorService.supervise(2, (int) process.pid()));
+
+        verify(deploymentRepository, timeout(5000)).markStopped(eq(2), any());
+    }
+}
@@ -0,0 +1,151 @@
+package org.kreyzon.springops.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.common.dto.readiness.ReadinessProbeDto;
+import org.kreyzon.springops.common.dto.readiness.ReadinessResultDto;
+import org.kreyzon.springops.common.enums.ReadinessProbeType;
+import org.kreyzon.springops.core.readiness.service.ReadinessService;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadinessServiceTest {
+
+    private static final String STARTED = "Started DemoApplication in 2.1 seconds\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final ReadinessService readinessService = new ReadinessService();
+
+    private final List<String> progress = new ArrayList<>();
+
+    private Process application;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        application = new ProcessBuilder("sleep", "60").start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        application.destroyForcibly();
+    }
+
+    @Test
+    void awaitReadiness_shouldReportRunningProcessReadyForProcessProbe() throws Exception {
+        ReadinessResultDto result = readinessService.awaitReadiness(probe(ReadinessProbeType.PROCESS, null, null, null, 0, 5), application.pid(), progress::add);
+
+        assertTrue(result.ready());
+        assertEquals(List.of("Waiting up to 5s for process to be running"), progress);
+    }
+
+    @Test
+    void awaitReadiness_shouldFailWhenProcessExitsBeforeBecomingReady() throws Exception {
+        application.destroyForcibly().waitFor(5, TimeUnit.SECONDS);
+
+        ReadinessResultDto result = readinessService.awaitReadiness(probe(ReadinessProbeType.PROCESS, null, null, null, 0, 5), application.pid(), progress::add);
+
+        assertFalse(result.ready());
+        assertEquals("Process " + application.pid() + " exited before becoming ready", result.message());
+    }
+
+    @Test
+    void awaitReadiness_shouldReportReadyOnceTcpPortAcceptsConnections() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            ReadinessResultDto result = readinessService.awaitReadiness(probe(ReadinessProbeType.TCP, null, serverSocket.getLocalPort(), null, 0, 5), application.pid(), progress::add);
+
+            assertTrue(result.ready());
+        }
+    }
+
+    @Test
+    void awaitReadiness_shouldTimeOutWhenTcpPortStaysClosed() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+
+        long start = System.nanoTime();
+        ReadinessResultDto result = readinessService.awaitReadiness(probe(ReadinessProbeType.TCP, null, port, null, 0, 1), application.pid(), progress::add);
+
+        assertFalse(result.ready());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 1000);
+        assertEquals("Application not ready within 1s (TCP port " + port + ")", result.message());
+    }
+
+    @Test
+    void awaitReadiness_shouldRetryHttpProbeWithBackoffUntilSuccessfulStatus() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/health", exchange -> {
+            int status = requests.incrementAndGet() < 3 ? 503 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            long start = System.nanoTime();
+            ReadinessResultDto result = readinessService.awaitReadiness(probe(ReadinessProbeType.HTTP, "/health", server.getAddress().getPort(), null, 0, 10), application.pid(), progress::add);
+
+            assertTrue(result.ready());
+            assertEquals(3, requests.get());
+            // Two failed attempts, waiting 100 ms then 200 ms
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 300);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void awaitReadiness_shouldMatchLogLinesWrittenAfterLaunch() throws Exception {
+        Path logFile = Files.writeString(tempDir.resolve("app.log"), "---- Starting application ----\n");
+        long launchOffset = Files.size(logFile);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(300);
+                // A partial line is only matched once it is complete
+                Files.writeString(logFile, "Started Demo", StandardOpenOption.APPEND);
+                Thread.sleep(300);
+                Files.writeString(logFile, "Application in 2.1 seconds\n", StandardOpenOption.APPEND);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        ReadinessResultDto result = readinessService.awaitReadiness(probe(ReadinessProbeType.LOG, null, null, logFile, launchOffset, 10), application.pid(), progress::add);
+        writer.join();
+
+        assertTrue(result.ready());
+    }
+
+    @Test
+    void awaitReadiness_shouldIgnoreLogLinesOfPreviousRun() throws Exception {
+        Path logFile = Files.writeString(tempDir.resolve("app.log"), STARTED + "---- Starting application ----\n");
+        long launchOffset = STARTED.length();
+
+        ReadinessResultDto result = readinessService.awaitReadiness(probe(ReadinessProbeType.LOG, null, null, logFile, launchOffset, 1), application.pid(), progress::add);
+
+        assertFalse(result.ready());
+    }
+
+    private static ReadinessProbeDto probe(ReadinessProbeType type, String target, Integer port, Path logFile, long logOffset, int timeoutSeconds) {
+        return new ReadinessProbeDto(type, target, port, logFile == null ? null : logFile.toString(), logOffset, Duration.ofSeconds(timeoutSeconds));
+    }
+}
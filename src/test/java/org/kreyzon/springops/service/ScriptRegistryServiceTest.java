@@ -0,0 +1,122 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kreyzon.springops.config.ApplicationConfig;
+import org.kreyzon.springops.core.script_registry.service.ScriptRegistryService;
+
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptRegistryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ApplicationConfig applicationConfig = new ApplicationConfig();
+
+    private ScriptRegistryService scriptRegistryService;
+
+    @BeforeEach
+    void setUp() {
+        applicationConfig.setDirectoryScripts(tempDir.toString());
+        applicationConfig.setScriptsRetentionDays(7);
+        scriptRegistryService = new ScriptRegistryService(applicationConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scriptRegistryService.releaseVersion();
+    }
+
+    @Test
+    void materializeScripts_shouldExtractScriptsIntoChecksumVersionedDirectory() throws Exception {
+        scriptRegistryService.materializeScripts();
+
+        Path script = scriptRegistryService.resolve("debian", "run_project.sh");
+        assertTrue(script.getParent().getParent().getFileName().toString().matches("[0-9a-f]{16}"));
+        assertEquals(tempDir, script.getParent().getParent().getParent());
+        assertTrue(Files.isExecutable(script));
+        assertArrayEquals(bundled("debian/run_project.sh"), Files.readAllBytes(script));
+    }
+
+    @Test
+    void materializeScripts_shouldReuseIntactVersion() throws Exception {
+        scriptRegistryService.materializeScripts();
+        Path script = scriptRegistryService.resolve("debian", "run_project.sh");
+        Object fileKey = Files.readAttributes(script, BasicFileAttributes.class).fileKey();
+
+        ScriptRegistryService restarted = new ScriptRegistryService(applicationConfig);
+        try {
+            restarted.materializeScripts();
+
+            assertEquals(script, restarted.resolve("debian", "run_project.sh"));
+            assertEquals(fileKey, Files.readAttributes(script, BasicFileAttributes.class).fileKey());
+        } finally {
+            restarted.releaseVersion();
+        }
+    }
+
+    @Test
+    void materializeScripts_shouldExtractDamagedVersionAgain() throws Exception {
+        scriptRegistryService.materializeScripts();
+        Path script = scriptRegistryService.resolve("debian", "run_project.sh");
+        Files.writeString(script, "echo tampered");
+
+        ScriptRegistryService restarted = new ScriptRegistryService(applicationConfig);
+        try {
+            restarted.materializeScripts();
+
+            assertArrayEquals(bundled("debian/run_project.sh"), Files.readAllBytes(restarted.resolve("debian", "run_project.sh")));
+        } finally {
+            restarted.releaseVersion();
+        }
+    }
+
+    @Test
+    void materializeScripts_shouldOnlyRemoveUnlockedVersionsPastRetention() throws Exception {
+        Instant expired = Instant.now().minus(30, ChronoUnit.DAYS);
+        Path stale = version("0000000000000000", expired);
+        Path recent = version("1111111111111111", Instant.now().minus(1, ChronoUnit.DAYS));
+        Path locked = version("2222222222222222", expired);
+
+        try (FileChannel channel = FileChannel.open(Files.createFile(locked.resolve(".lock")), StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            // The lock file changed the modification time of the directory
+            Files.setLastModifiedTime(locked, FileTime.from(expired));
+
+            scriptRegistryService.materializeScripts();
+        }
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(locked));
+        assertTrue(Files.exists(scriptRegistryService.resolve("debian", "run_project.sh")));
+    }
+
+    private Path version(String name, Instant lastUsed) throws Exception {
+        Path directory = Files.createDirectories(tempDir.resolve(name).resolve("debian"));
+        Files.writeString(directory.resolve("run_project.sh"), "echo old");
+        Files.setLastModifiedTime(directory.getParent(), FileTime.from(lastUsed));
+        return directory.getParent();
+    }
+
+    private static byte[] bundled(String script) throws Exception {
+        try (InputStream inputStream = ScriptRegistryServiceTest.class.getResourceAsStream("/scripts/" + script)) {
+            return Objects.requireNonNull(inputStream).readAllBytes();
+        }
+    }
+}
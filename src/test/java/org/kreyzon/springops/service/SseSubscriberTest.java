@@ -0,0 +1,98 @@
+package org.kreyzon.springops.service;
+
+import org.junit.jupiter.api.Test;
+import org.kreyzon.springops.common.sse.SseSubscriber;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseSubscriberTest {
+
+    @Test
+    void send_shouldDeliverEventsInOrderOnTheExecutor() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        List<Runnable> tasks = new ArrayList<>();
+        SseSubscriber subscriber = new SseSubscriber(emitter, tasks::add, 1024);
+
+        assertTrue(subscriber.send("0", "line", "first"));
+        assertTrue(subscriber.send("1", "line", "second"));
+        subscriber.end();
+
+        // Nothing is written by the producer, a single drain task sends everything
+        assertTrue(emitter.events.isEmpty());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        assertEquals(3, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("data:first"));
+        assertTrue(emitter.events.get(1).contains("data:second"));
+        assertTrue(emitter.events.get(2).contains("event:end"));
+        assertTrue(emitter.completed);
+        assertFalse(subscriber.isOpen());
+    }
+
+    @Test
+    void send_shouldDropSubscriberFallingTooFarBehind() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        List<Runnable> tasks = new ArrayList<>();
+        SseSubscriber subscriber = new SseSubscriber(emitter, tasks::add, 10);
+
+        assertTrue(subscriber.send("0", "line", "12345"));
+        assertFalse(subscriber.send("1", "line", "678901"));
+        assertFalse(subscriber.send("2", "line", "2"));
+
+        tasks.get(0).run();
+
+        assertTrue(emitter.events.isEmpty());
+        assertNotNull(emitter.error);
+        assertFalse(subscriber.isOpen());
+    }
+
+    @Test
+    void send_shouldDropSubscriberWhoseConnectionFailed() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        SseSubscriber subscriber = new SseSubscriber(emitter, Runnable::run, 1024);
+
+        subscriber.send("0", "line", "lost");
+
+        assertNotNull(emitter.error);
+        assertFalse(subscriber.send("1", "line", "ignored"));
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        private boolean failing = false;
+
+        private boolean completed = false;
+
+        private Throwable error;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            error = ex;
+        }
+    }
+}